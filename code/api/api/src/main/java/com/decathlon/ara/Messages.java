@@ -31,6 +31,7 @@ public final class Messages {
     public static final String NOT_FOUND_DEFECT = "The work item does not exist: please verify the ID, or it has perhaps been removed.";
     public static final String NOT_FOUND_ERROR = "The error does not exist: it has perhaps been removed.";
     public static final String NOT_FOUND_EXECUTION = "The execution does not exist: it has perhaps been removed.";
+    public static final String NOT_FOUND_EXECUTED_SCENARIO = "The executed scenario does not exist: it has perhaps been removed.";
     public static final String NOT_FOUND_FUNCTIONALITY = "The functionality does not exist: it has perhaps been removed.";
     public static final String NOT_FOUND_FUNCTIONALITY_FOLDER = "The folder does not exist: it has perhaps been removed.";
     public static final String NOT_FOUND_FUNCTIONALITY_OR_FOLDER = "The functionality or folder does not exist: it has perhaps been removed.";
@@ -18,6 +18,8 @@
 package com.decathlon.ara.ci.service;
 
 import com.decathlon.ara.ci.bean.PlannedIndexation;
+import com.decathlon.ara.ci.service.IndexingMetricsService.Outcome;
+import com.decathlon.ara.ci.service.IndexingMetricsService.Stage;
 import com.decathlon.ara.domain.CycleDefinition;
 import com.decathlon.ara.domain.Error;
 import com.decathlon.ara.domain.Execution;
@@ -28,6 +30,7 @@ import com.decathlon.ara.repository.custom.util.TransactionAppenderUtil;
 import com.decathlon.ara.service.ErrorService;
 import com.decathlon.ara.service.ExecutionFilesProcessorService;
 import com.decathlon.ara.service.ProblemDenormalizationService;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -58,16 +61,19 @@ public class ExecutionIndexerService {
 
     private final TransactionAppenderUtil transactionAppenderUtil;
 
+    private final IndexingMetricsService indexingMetricsService;
+
     public ExecutionIndexerService(ExecutionRepository executionRepository,
             ExecutionFilesProcessorService executionFilesProcessorService, ErrorService errorService,
             QualityEmailService qualityEmailService, ProblemDenormalizationService problemDenormalizationService,
-            TransactionAppenderUtil transactionAppenderUtil) {
+            TransactionAppenderUtil transactionAppenderUtil, IndexingMetricsService indexingMetricsService) {
         this.executionRepository = executionRepository;
         this.executionFilesProcessorService = executionFilesProcessorService;
         this.errorService = errorService;
         this.qualityEmailService = qualityEmailService;
         this.problemDenormalizationService = problemDenormalizationService;
         this.transactionAppenderUtil = transactionAppenderUtil;
+        this.indexingMetricsService = indexingMetricsService;
     }
 
     /**
@@ -103,6 +109,9 @@ public class ExecutionIndexerService {
         String link = rawExecutionFolder.getAbsolutePath() + File.separator;
         LOG.info("EXECUTION|Began execution indexing {}/{} for link {}", branch, cycle, link);
 
+        final String project = indexingMetricsService.getProjectTag(projectId);
+        Timer.Sample executionSample = indexingMetricsService.start();
+
         Optional<Execution> previousExecution = executionRepository.findByCycleDefinitionProjectIdAndJobLinkAndJobLinkNotNull(projectId, link);
         List<Long> existingErrorIds = getErrorIds(previousExecution);
 
@@ -111,22 +120,30 @@ public class ExecutionIndexerService {
         if (!processedExecution.isPresent()) {
             LOG.warn("EXECUTION|Could not extract any execution from the directory {}", link);
             LOG.warn("EXECUTION|Some of the files may be incorrect, please check again");
+            indexingMetricsService.countExecution(project, Outcome.SKIPPED);
             return;
         }
 
+        Timer.Sample saveSample = indexingMetricsService.start();
         final Execution savedExecution = executionRepository.save(processedExecution.get());
+        indexingMetricsService.recordStage(saveSample, Stage.SAVE, project, null);
 
         List<Long> newErrorIds = getErrorIds(Optional.of(savedExecution));
         newErrorIds.removeAll(existingErrorIds);
         if (!newErrorIds.isEmpty()) {
+            Timer.Sample problemsSample = indexingMetricsService.start();
             final Set<Problem> updatedProblems = errorService.autoAssignProblemsToNewErrors(projectId, newErrorIds);
             problemDenormalizationService.updateFirstAndLastSeenDateTimes(updatedProblems);
+            indexingMetricsService.recordStage(problemsSample, Stage.PROBLEMS, project, null);
         }
 
         if (JobStatus.DONE.equals(savedExecution.getStatus())) {
             transactionAppenderUtil.doAfterCommit(() -> safelySendQualityEmail(savedExecution));
         }
 
+        indexingMetricsService.recordStage(executionSample, Stage.EXECUTION, project, null);
+        indexingMetricsService.countExecution(project, Outcome.INDEXED);
+
         String url = processedExecution.get().getJobUrl();
         LOG.info("EXECUTION|Ended indexing execution {}/{} job URL {} and link {}", branch, cycle, url, link);
     }
@@ -0,0 +1,198 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.ci.service;
+
+import org.springframework.stereotype.Service;
+
+import com.decathlon.ara.domain.Project;
+import com.decathlon.ara.domain.enumeration.Technology;
+import com.decathlon.ara.repository.ProjectRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Micrometer meters of the execution indexing pipeline, to know where the indexing time of each execution goes.<br>
+ * Stages are timed with a {@link Timer.Sample} started by {@link #start()}, then stopped by one of the record methods.
+ */
+@Service
+public class IndexingMetricsService {
+
+    /**
+     * Timer of each indexing stage, tagged by stage, project and technology
+     */
+    public static final String STAGE_TIMER = "ara.indexing.stage";
+
+    /**
+     * Counter of the executions, tagged by project and outcome
+     */
+    public static final String EXECUTIONS_COUNTER = "ara.indexing.executions";
+
+    /**
+     * Counter of the executed scenarios, tagged by project and technology
+     */
+    public static final String SCENARIOS_COUNTER = "ara.indexing.scenarios";
+
+    /**
+     * Timer of the asset uploads (screenshots and HTTP logs), tagged by technology, storage and outcome
+     */
+    public static final String ASSETS_TIMER = "ara.indexing.assets";
+
+    static final String TAG_STAGE = "stage";
+
+    static final String TAG_PROJECT = "project";
+
+    static final String TAG_TECHNOLOGY = "technology";
+
+    static final String TAG_OUTCOME = "outcome";
+
+    static final String TAG_STORAGE = "storage";
+
+    /**
+     * Tag value of the stages that do not depend on a technology, or of an unknown project
+     */
+    static final String NONE = "none";
+
+    public enum Stage {
+        UNZIP("unzip"),
+        BUILD_INFORMATION("build-information"),
+        CYCLE_DEFINITION("cycle-definition"),
+        SCENARIOS("scenarios"),
+        QUALITY("quality"),
+        SAVE("save"),
+        PROBLEMS("problems"),
+        EXECUTION("execution");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+    }
+
+    public enum Outcome {
+        INDEXED,
+        SKIPPED,
+        FAILED;
+
+        public String getTag() {
+            return name().toLowerCase();
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    private final ProjectRepository projectRepository;
+
+    public IndexingMetricsService(MeterRegistry meterRegistry, ProjectRepository projectRepository) {
+        this.meterRegistry = meterRegistry;
+        this.projectRepository = projectRepository;
+    }
+
+    /**
+     * @return the sample to give to a record method once the timed stage is over
+     */
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    /**
+     * @param projectId the ID of a project
+     * @return the code of the project, to tag the meters with (the project is usually already loaded in the indexing
+     * transaction, so this does not cost an additional query)
+     */
+    public String getProjectTag(Long projectId) {
+        if (projectId == null) {
+            return NONE;
+        }
+        return projectRepository.findById(projectId)
+                .map(Project::getCode)
+                .orElse(String.valueOf(projectId));
+    }
+
+    /**
+     * @param sample     the sample started at the beginning of the stage
+     * @param stage      the indexing stage that just ended
+     * @param project    the code of the project being indexed
+     * @param technology the technology of the indexed run, or null if the stage does not depend on it
+     */
+    public void recordStage(Timer.Sample sample, Stage stage, String project, Technology technology) {
+        sample.stop(Timer.builder(STAGE_TIMER)
+                .description("Duration of the stages of the execution indexing")
+                .tag(TAG_STAGE, stage.getTag())
+                .tag(TAG_PROJECT, tagValue(project))
+                .tag(TAG_TECHNOLOGY, tagValue(technology))
+                .register(meterRegistry));
+    }
+
+    /**
+     * @param project the code of the project being indexed
+     * @param outcome what happened to the execution
+     */
+    public void countExecution(String project, Outcome outcome) {
+        Counter.builder(EXECUTIONS_COUNTER)
+                .description("Number of indexed, skipped or failed executions")
+                .tag(TAG_PROJECT, tagValue(project))
+                .tag(TAG_OUTCOME, outcome.getTag())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * @param project    the code of the project being indexed
+     * @param technology the technology of the indexed run
+     * @param count      the number of executed scenarios parsed from the run reports
+     */
+    public void countScenarios(String project, Technology technology, int count) {
+        Counter.builder(SCENARIOS_COUNTER)
+                .description("Number of executed scenarios parsed from the reports")
+                .tag(TAG_PROJECT, tagValue(project))
+                .tag(TAG_TECHNOLOGY, tagValue(technology))
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    /**
+     * @param sample     the sample started before saving the asset
+     * @param technology the technology of the report containing the asset
+     * @param storage    where the asset is saved (file, ssh...)
+     * @param saved      true if the asset was saved, false if it failed (the asset URL is then null)
+     */
+    public void recordAsset(Timer.Sample sample, Technology technology, String storage, boolean saved) {
+        sample.stop(Timer.builder(ASSETS_TIMER)
+                .description("Duration of the asset uploads")
+                .tag(TAG_TECHNOLOGY, tagValue(technology))
+                .tag(TAG_STORAGE, storage)
+                .tag(TAG_OUTCOME, saved ? "saved" : "failed")
+                .register(meterRegistry));
+    }
+
+    private static String tagValue(String value) {
+        return value == null ? NONE : value;
+    }
+
+    private static String tagValue(Technology technology) {
+        return technology == null ? NONE : technology.name().toLowerCase();
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.decathlon.ara.purge.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.decathlon.ara.common.NotGonnaHappenException;
+import com.decathlon.ara.domain.projection.CompactedScenarioCount;
+import com.decathlon.ara.repository.ErrorRepository;
+import com.decathlon.ara.repository.ExecutedScenarioRepository;
+import com.decathlon.ara.repository.RunRepository;
+import com.decathlon.ara.scenario.cucumber.util.ScenarioExtractorUtil;
+import com.decathlon.ara.util.JsonUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+/**
+ * Compact the runs of old executions, to reduce their storage and query cost while keeping their quality trends:
+ * <ul>
+ * <li>the passed executed scenarios are removed, and replaced by their counts per severity and functionalities in
+ * {@link com.decathlon.ara.domain.Run#getCompactedScenarioCounts()},</li>
+ * <li>the failed executed scenarios, their errors and problem occurrences are kept, but their contents, exceptions and
+ * asset URLs are removed.</li>
+ * </ul>
+ */
+@Service
+public class ExecutionCompactionService {
+
+    /**
+     * Maximum number of executed scenario IDs per delete statement
+     */
+    static final int DELETE_BATCH_SIZE = 1000;
+
+    private final RunRepository runRepository;
+
+    private final ExecutedScenarioRepository executedScenarioRepository;
+
+    private final ErrorRepository errorRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ExecutionCompactionService(RunRepository runRepository, ExecutedScenarioRepository executedScenarioRepository,
+            ErrorRepository errorRepository, TransactionTemplate transactionTemplate) {
+        this.runRepository = runRepository;
+        this.executedScenarioRepository = executedScenarioRepository;
+        this.errorRepository = errorRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Compact a chunk of runs in its own transaction.
+     *
+     * @param runIds the IDs of the runs to compact (all of them are marked as compacted, even without any passed
+     *               scenario)
+     * @return the number of removed passed executed scenarios
+     */
+    public int compactRuns(List<Long> runIds) {
+        final Integer removedScenarios = transactionTemplate.execute(status -> {
+            final List<Object[]> passedScenarios = executedScenarioRepository.findPassedByRunIds(runIds);
+            final Map<Long, List<CompactedScenarioCount>> countsByRunId = countPassedScenarios(runIds, passedScenarios);
+
+            final List<Long> passedScenarioIds = passedScenarios.stream()
+                    .map(passedScenario -> (Long) passedScenario[0])
+                    .toList();
+            for (int from = 0; from < passedScenarioIds.size(); from += DELETE_BATCH_SIZE) {
+                executedScenarioRepository.deleteAllByIdInBatch(passedScenarioIds.subList(from, Math.min(from + DELETE_BATCH_SIZE, passedScenarioIds.size())));
+            }
+            errorRepository.clearExceptionByRunIds(runIds);
+            executedScenarioRepository.clearContentAndAssetsByRunIds(runIds);
+            countsByRunId.forEach((runId, counts) -> runRepository.updateCompactedScenarioCounts(runId.longValue(), toJson(counts)));
+            return Integer.valueOf(passedScenarioIds.size());
+        });
+        return removedScenarios == null ? 0 : removedScenarios.intValue();
+    }
+
+    /**
+     * @param runIds          the IDs of the compacted runs
+     * @param passedScenarios the ID, run ID, severity and name of the passed executed scenarios of these runs
+     * @return for each run (even without passed scenario), the counts of its passed executed scenarios per severity and
+     * functionalities
+     */
+    Map<Long, List<CompactedScenarioCount>> countPassedScenarios(Collection<Long> runIds, List<Object[]> passedScenarios) {
+        final Map<Long, Map<ScenarioGroup, Long>> groupCountsByRunId = new LinkedHashMap<>();
+        runIds.forEach(runId -> groupCountsByRunId.put(runId, new LinkedHashMap<>()));
+        for (Object[] passedScenario : passedScenarios) {
+            final ScenarioGroup group = new ScenarioGroup(
+                    (String) passedScenario[2],
+                    ScenarioExtractorUtil.extractFunctionalityIds((String) passedScenario[3]));
+            groupCountsByRunId
+                    .computeIfAbsent((Long) passedScenario[1], runId -> new LinkedHashMap<>())
+                    .merge(group, Long.valueOf(1), Long::sum);
+        }
+
+        final Map<Long, List<CompactedScenarioCount>> countsByRunId = new LinkedHashMap<>();
+        groupCountsByRunId.forEach((runId, groupCounts) -> {
+            final List<CompactedScenarioCount> counts = new ArrayList<>(groupCounts.size());
+            groupCounts.forEach((group, count) -> counts.add(new CompactedScenarioCount(group.severity(), group.functionalityIds(), count.longValue())));
+            countsByRunId.put(runId, counts);
+        });
+        return countsByRunId;
+    }
+
+    private static String toJson(List<CompactedScenarioCount> counts) {
+        try {
+            return JsonUtil.toString(counts);
+        } catch (JsonProcessingException e) {
+            throw new NotGonnaHappenException("JSON serializing should not have failed when serializing to a String", e);
+        }
+    }
+
+    private record ScenarioGroup(String severity, List<Long> functionalityIds) {
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.decathlon.ara.purge.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of the purge of the expired executions of a project, updated after each deleted chunk of executions
+ */
+public class PurgeProgress {
+
+    private final long projectId;
+
+    private final long totalExecutions;
+
+    private final AtomicLong deletedExecutions = new AtomicLong();
+
+    private final Instant startDateTime;
+
+    private volatile Instant endDateTime;
+
+    public PurgeProgress(long projectId, long totalExecutions, Instant startDateTime) {
+        this.projectId = projectId;
+        this.totalExecutions = totalExecutions;
+        this.startDateTime = startDateTime;
+    }
+
+    /**
+     * @param count the number of executions deleted by the last chunk
+     */
+    void addDeletedExecutions(int count) {
+        deletedExecutions.addAndGet(count);
+    }
+
+    /**
+     * @param endDateTime the date and time at which the last chunk was deleted
+     */
+    void finish(Instant endDateTime) {
+        this.endDateTime = endDateTime;
+    }
+
+    public long getProjectId() {
+        return projectId;
+    }
+
+    public long getTotalExecutions() {
+        return totalExecutions;
+    }
+
+    public long getDeletedExecutions() {
+        return deletedExecutions.get();
+    }
+
+    public Instant getStartDateTime() {
+        return startDateTime;
+    }
+
+    public Instant getEndDateTime() {
+        return endDateTime;
+    }
+
+    public boolean isDone() {
+        return endDateTime != null;
+    }
+
+    /**
+     * @return the percentage of the executions already deleted (100 if there was nothing to delete)
+     */
+    public int getPercentage() {
+        if (totalExecutions == 0) {
+            return 100;
+        }
+        return (int) Math.min(100, getDeletedExecutions() * 100 / totalExecutions);
+    }
+
+    /**
+     * @param now the current date and time
+     * @return the estimated date and time at which the purge will end, extrapolated from the speed of the chunks
+     * deleted so far, or null if no chunk was deleted yet
+     */
+    public Instant getEstimatedEndDateTime(Instant now) {
+        if (endDateTime != null) {
+            return endDateTime;
+        }
+        final long deleted = getDeletedExecutions();
+        if (deleted == 0) {
+            return null;
+        }
+        final long elapsedMillis = Duration.between(startDateTime, now).toMillis();
+        final long remaining = Math.max(0, totalExecutions - deleted);
+        return now.plusMillis(elapsedMillis * remaining / deleted);
+    }
+
+    public Instant getEstimatedEndDateTime() {
+        return getEstimatedEndDateTime(Instant.now());
+    }
+
+}
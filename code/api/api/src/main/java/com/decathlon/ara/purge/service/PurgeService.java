@@ -1,42 +1,101 @@
 package com.decathlon.ara.purge.service;
 
 import java.text.SimpleDateFormat;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
 import java.util.stream.IntStream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.util.Pair;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import com.decathlon.ara.domain.Execution;
+import com.decathlon.ara.repository.CountryDeploymentRepository;
+import com.decathlon.ara.repository.ErrorRepository;
+import com.decathlon.ara.repository.ExecutedScenarioRepository;
 import com.decathlon.ara.repository.ExecutionRepository;
+import com.decathlon.ara.repository.ProblemOccurrenceRepository;
+import com.decathlon.ara.repository.RunRepository;
 import com.decathlon.ara.service.ProjectService;
 import com.decathlon.ara.service.SettingService;
+import com.decathlon.ara.service.dto.purge.PurgeProgressDTO;
 import com.decathlon.ara.service.exception.NotFoundException;
 import com.decathlon.ara.service.support.Settings;
 import com.decathlon.ara.service.util.DateService;
 
 @Service
-@Transactional
 public class PurgeService {
 
     private static final Logger LOG = LoggerFactory.getLogger(PurgeService.class);
 
+    /**
+     * Number of executions deleted per transaction
+     */
+    @Value("${ara.purge.chunk-size:2000}")
+    private int chunkSize;
+
+    /**
+     * Number of projects purged at the same time
+     */
+    @Value("${ara.purge.parallelism:1}")
+    private int parallelism;
+
+    /**
+     * Number of runs compacted per transaction
+     */
+    @Value("${ara.purge.compaction-chunk-size:100}")
+    private int compactionChunkSize;
+
+    private final Map<Long, PurgeProgress> progresses = new ConcurrentHashMap<>();
+
     private final ExecutionRepository executionRepository;
 
+    private final RunRepository runRepository;
+
+    private final CountryDeploymentRepository countryDeploymentRepository;
+
+    private final ExecutedScenarioRepository executedScenarioRepository;
+
+    private final ErrorRepository errorRepository;
+
+    private final ProblemOccurrenceRepository problemOccurrenceRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutionCompactionService executionCompactionService;
+
     private final ProjectService projectService;
 
     private final SettingService settingService;
 
     private final DateService dateService;
 
-    public PurgeService(ExecutionRepository executionRepository, ProjectService projectService,
+    public PurgeService(ExecutionRepository executionRepository, RunRepository runRepository,
+            CountryDeploymentRepository countryDeploymentRepository, ExecutedScenarioRepository executedScenarioRepository,
+            ErrorRepository errorRepository, ProblemOccurrenceRepository problemOccurrenceRepository,
+            TransactionTemplate transactionTemplate, ExecutionCompactionService executionCompactionService, ProjectService projectService,
             SettingService settingService, DateService dateService) {
         this.executionRepository = executionRepository;
+        this.runRepository = runRepository;
+        this.countryDeploymentRepository = countryDeploymentRepository;
+        this.executedScenarioRepository = executedScenarioRepository;
+        this.errorRepository = errorRepository;
+        this.problemOccurrenceRepository = problemOccurrenceRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.executionCompactionService = executionCompactionService;
         this.projectService = projectService;
         this.settingService = settingService;
         this.dateService = dateService;
@@ -56,76 +115,187 @@ public class PurgeService {
         }
         LOG.info("Preparing purge for project '{}'", projectCode);
         purgeExecutionsByProjectId(projectId);
+        compactExecutionsByProjectId(projectId);
     }
 
     /**
-     * Purge executions by project id
+     * Purge executions by project id, by chunks of executions: only their IDs are loaded, and each chunk is deleted in
+     * its own transaction
      * @param projectId the project id
      */
     public void purgeExecutionsByProjectId(long projectId) {
-        var durationValue = settingService.get(projectId, Settings.EXECUTION_PURGE_DURATION_VALUE);
+        var purgeThresholdDate = getThresholdDate(projectId, Settings.EXECUTION_PURGE_DURATION_VALUE, Settings.EXECUTION_PURGE_DURATION_TYPE, "purge");
+        if (purgeThresholdDate.isEmpty()) {
+            return;
+        }
+
+        var numberOfExecutionsToDelete = executionRepository.countByCycleDefinitionProjectIdAndTestDateTimeBefore(projectId, purgeThresholdDate.get());
+        var executionsPlural = numberOfExecutionsToDelete > 1 ? "s" : "";
+
+        var simpleDateFormat = new SimpleDateFormat("dd/MM/yyyy");
+        LOG.info("Preparing to delete {} execution{} (older than {}), by chunks of {}...", numberOfExecutionsToDelete, executionsPlural, simpleDateFormat.format(purgeThresholdDate.get()), chunkSize);
+        var purgeRunStartDate = LocalDateTime.now();
+        var progress = new PurgeProgress(projectId, numberOfExecutionsToDelete, Instant.now());
+        progresses.put(projectId, progress);
+        var chunk = PageRequest.of(0, chunkSize);
+        var executionIdsToDelete = executionRepository.findIdsByProjectIdAndTestDateTimeBefore(projectId, purgeThresholdDate.get(), 0, chunk);
+        while (!executionIdsToDelete.isEmpty()) {
+            deleteExecutions(executionIdsToDelete);
+            progress.addDeletedExecutions(executionIdsToDelete.size());
+            var lastDeletedExecutionId = executionIdsToDelete.get(executionIdsToDelete.size() - 1);
+            executionIdsToDelete = executionRepository.findIdsByProjectIdAndTestDateTimeBefore(projectId, purgeThresholdDate.get(), lastDeletedExecutionId, chunk);
+            LOG.info("Purge progress for project {}: {}/{} execution{} deleted ({}%), estimated end at {}", projectId, progress.getDeletedExecutions(), numberOfExecutionsToDelete, executionsPlural, progress.getPercentage(), progress.getEstimatedEndDateTime());
+        }
+        progress.finish(Instant.now());
+        var purgeRunEndDate = LocalDateTime.now();
+        var purgeDurationDescription = dateService.getFormattedDurationBetween2Dates(purgeRunStartDate, purgeRunEndDate);
+        DateTimeFormatter detailedDateFormat = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss.SSS");
+        LOG.info("Purge ran from {} to {} - ({})", purgeRunStartDate.format(detailedDateFormat), purgeRunEndDate.format(detailedDateFormat), purgeDurationDescription);
+        LOG.info("{} execution{} successfully deleted", progress.getDeletedExecutions(), executionsPlural);
+    }
+
+    /**
+     * Compact executions by project id, by chunks of runs (each chunk is compacted in its own transaction): the passed
+     * scenarios are replaced by their counts, and the failed scenarios lose their contents, exceptions and asset URLs
+     * @param projectId the project id
+     * @see ExecutionCompactionService
+     */
+    public void compactExecutionsByProjectId(long projectId) {
+        var compactionThresholdDate = getThresholdDate(projectId, Settings.EXECUTION_COMPACTION_DURATION_VALUE, Settings.EXECUTION_COMPACTION_DURATION_TYPE, "compaction");
+        if (compactionThresholdDate.isEmpty()) {
+            return;
+        }
+
+        var compactedRuns = 0L;
+        var removedScenarios = 0L;
+        var chunk = PageRequest.of(0, compactionChunkSize);
+        var runIdsToCompact = runRepository.findIdsToCompactByProjectIdAndTestDateTimeBefore(projectId, compactionThresholdDate.get(), 0, chunk);
+        while (!runIdsToCompact.isEmpty()) {
+            removedScenarios += executionCompactionService.compactRuns(runIdsToCompact);
+            compactedRuns += runIdsToCompact.size();
+            var lastCompactedRunId = runIdsToCompact.get(runIdsToCompact.size() - 1);
+            runIdsToCompact = runRepository.findIdsToCompactByProjectIdAndTestDateTimeBefore(projectId, compactionThresholdDate.get(), lastCompactedRunId, chunk);
+        }
+        LOG.info("{} run{} successfully compacted ({} passed scenario{} replaced by counts)", compactedRuns, compactedRuns > 1 ? "s" : "", removedScenarios, removedScenarios > 1 ? "s" : "");
+    }
+
+    /**
+     * @param projectId         the project id
+     * @param durationValueCode the code of the setting holding the number of duration units to keep
+     * @param durationTypeCode  the code of the setting holding the duration unit (day, week...)
+     * @param operation         the retention operation (purge or compaction), for the logs
+     * @return the date before which the executions are purged or compacted, or empty if the settings are incorrect or
+     * the duration is negative (i.e. nothing to purge or compact)
+     */
+    private Optional<Date> getThresholdDate(long projectId, String durationValueCode, String durationTypeCode, String operation) {
+        var durationValue = settingService.get(projectId, durationValueCode);
 
         var durationValueAsInt = 0;
         try {
             durationValueAsInt = Integer.parseInt(durationValue);
         } catch (NumberFormatException exception) {
-            LOG.warn("No correct period unit found ({}). Purge aborted", durationValue);
-            return;
+            LOG.warn("No correct period unit found ({}). {} aborted", durationValue, StringUtils.capitalize(operation));
+            return Optional.empty();
         }
 
         if (durationValueAsInt < 0) {
-            LOG.info("No purge because the duration was negative ({})", durationValueAsInt);
-            return;
+            LOG.info("No {} because the duration was negative ({})", operation, durationValueAsInt);
+            return Optional.empty();
         }
         var valuePlural = durationValueAsInt > 1 ? "s" : "";
-        LOG.info("Retrieved duration value: {} unit{}", durationValue, valuePlural);
+        LOG.info("Retrieved {} duration value: {} unit{}", operation, durationValue, valuePlural);
 
-        var durationType = settingService.get(projectId, Settings.EXECUTION_PURGE_DURATION_TYPE);
+        var durationType = settingService.get(projectId, durationTypeCode);
         if (StringUtils.isBlank(durationType)) {
-            LOG.warn("No period found. Purge aborted");
-            return;
+            LOG.warn("No period found. {} aborted", StringUtils.capitalize(operation));
+            return Optional.empty();
         }
-        LOG.info("Retrieved duration period: {}{}", durationType.toLowerCase(), valuePlural);
+        LOG.info("Retrieved {} duration period: {}{}", operation, durationType.toLowerCase(), valuePlural);
 
         var periodDescription = (durationValueAsInt > 1 ? durationValueAsInt + " " : "") + durationType.toLowerCase() + valuePlural;
-        LOG.info("Preparing to delete all execution older than the last {}", periodDescription);
-        var purgeThresholdDate = dateService.getTodayDateMinusPeriod(durationValueAsInt, durationType);
-        if (purgeThresholdDate.isEmpty()) {
-            LOG.warn("Purge aborted, because the period was incorrect");
-            return;
+        LOG.info("Preparing the {} of all execution older than the last {}", operation, periodDescription);
+        var thresholdDate = dateService.getTodayDateMinusPeriod(durationValueAsInt, durationType);
+        if (thresholdDate.isEmpty()) {
+            LOG.warn("{} aborted, because the period was incorrect", StringUtils.capitalize(operation));
         }
+        return thresholdDate;
+    }
 
-        var executionsToDelete = executionRepository.findByCycleDefinitionProjectIdAndTestDateTimeBefore(projectId, purgeThresholdDate.get());
+    /**
+     * Delete a chunk of executions in its own transaction, to not lock the tables during the whole purge.<br>
+     * The children are deleted bottom-up with one set-based statement per table, instead of relying on the database
+     * cascades in a single huge statement.
+     *
+     * @param executionIds the IDs of the executions to delete
+     */
+    void deleteExecutions(List<Long> executionIds) {
+        transactionTemplate.execute(status -> {
+            problemOccurrenceRepository.deleteByExecutionIds(executionIds);
+            errorRepository.deleteByExecutionIds(executionIds);
+            executedScenarioRepository.deleteByExecutionIds(executionIds);
+            runRepository.deleteByExecutionIds(executionIds);
+            countryDeploymentRepository.deleteByExecutionIds(executionIds);
+            executionRepository.deleteAllByIdInBatch(executionIds);
+            return executionIds.size();
+        });
+    }
 
-        var numberOfDeletedExecutions = executionsToDelete.size();
-        var executionsPlural = numberOfDeletedExecutions > 1 ? "s" : "";
+    /**
+     * @param projectId the project id
+     * @return the progress of the running or last purge of the project since the application started, if any
+     */
+    public Optional<PurgeProgressDTO> getProgress(long projectId) {
+        return Optional.ofNullable(progresses.get(projectId)).map(PurgeService::toDTO);
+    }
 
-        var simpleDateFormat = new SimpleDateFormat("dd/MM/yyyy");
-        LOG.info("Preparing to delete {} execution{} (older than {})...", numberOfDeletedExecutions, executionsPlural, simpleDateFormat.format(purgeThresholdDate.get()));
-        var executionIdsToDelete = executionsToDelete.stream().map(Execution::getId).toList();
-        var purgeRunStartDate = LocalDateTime.now();
-        executionRepository.deleteAllByIdInBatch(executionIdsToDelete);
-        var purgeRunEndDate = LocalDateTime.now();
-        var purgeDurationDescription = dateService.getFormattedDurationBetween2Dates(purgeRunStartDate, purgeRunEndDate);
-        DateTimeFormatter detailedDateFormat = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss.SSS");
-        LOG.info("Purge ran from {} to {} - ({})", purgeRunStartDate.format(detailedDateFormat), purgeRunEndDate.format(detailedDateFormat), purgeDurationDescription);
-        LOG.info("{} execution{} successfully deleted", numberOfDeletedExecutions, executionsPlural);
+    private static PurgeProgressDTO toDTO(PurgeProgress progress) {
+        return new PurgeProgressDTO(
+                progress.getTotalExecutions(),
+                progress.getDeletedExecutions(),
+                progress.getPercentage(),
+                progress.isDone(),
+                toDate(progress.getStartDateTime()),
+                toDate(progress.getEndDateTime()),
+                toDate(progress.getEstimatedEndDateTime()));
+    }
+
+    private static Date toDate(Instant instant) {
+        return instant == null ? null : Date.from(instant);
     }
 
     /**
-     * Purge all projects executions
+     * Purge then compact all projects executions, several projects at a time if the purge parallelism is greater than 1
      */
     public void purgeAllProjects() {
         var projects = projectService.findAll();
         var projectsSize = projects.size();
-        IntStream
+        var projectPurges = IntStream
                 .range(0, projectsSize)
                 .mapToObj(index -> Pair.of(index, projects.get(index)))
-                .forEach(pair -> {
+                .<Runnable>map(pair -> () -> {
                     var currentProjectPosition = pair.getFirst() + 1;
                     var project = pair.getSecond();
                     LOG.info("Preparing purge for project '{}' ({}/{})", project.getCode(), currentProjectPosition, projectsSize);
-                    purgeExecutionsByProjectId(project.getId());
-                });
+                    try {
+                        purgeExecutionsByProjectId(project.getId());
+                        compactExecutionsByProjectId(project.getId());
+                    } catch (RuntimeException e) {
+                        LOG.error("Purge failed for project '{}'", project.getCode(), e);
+                    }
+                })
+                .toList();
+        if (parallelism <= 1 || projectsSize <= 1) {
+            projectPurges.forEach(Runnable::run);
+            return;
+        }
+        var executor = Executors.newFixedThreadPool(Math.min(parallelism, projectsSize), new CustomizableThreadFactory("Purge-"));
+        try {
+            CompletableFuture.allOf(projectPurges.stream()
+                    .map(projectPurge -> CompletableFuture.runAsync(projectPurge, executor))
+                    .toArray(CompletableFuture[]::new))
+                    .join();
+        } finally {
+            executor.shutdown();
+        }
     }
 }
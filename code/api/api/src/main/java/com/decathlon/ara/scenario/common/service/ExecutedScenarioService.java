@@ -17,14 +17,19 @@
 
 package com.decathlon.ara.scenario.common.service;
 
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -35,14 +40,14 @@ import com.decathlon.ara.domain.ExecutedScenario;
 import com.decathlon.ara.domain.Problem;
 import com.decathlon.ara.repository.ErrorRepository;
 import com.decathlon.ara.repository.ExecutedScenarioRepository;
-import com.decathlon.ara.repository.FunctionalityRepository;
-import com.decathlon.ara.scenario.cucumber.util.ScenarioExtractorUtil;
+import com.decathlon.ara.service.FunctionalityTeamService;
 import com.decathlon.ara.service.dto.error.ErrorWithProblemsDTO;
 import com.decathlon.ara.service.dto.executedscenario.ExecutedScenarioDTO;
 import com.decathlon.ara.service.dto.executedscenario.ExecutedScenarioWithRunAndTeamIdsAndExecutionAndErrorsAndProblemsDTO;
 import com.decathlon.ara.service.dto.problem.ProblemDTO;
 import com.decathlon.ara.service.dto.request.ExecutedScenarioHistoryInputDTO;
 import com.decathlon.ara.service.exception.BadRequestException;
+import com.decathlon.ara.service.exception.NotFoundException;
 import com.decathlon.ara.service.mapper.GenericMapper;
 
 /**
@@ -56,38 +61,58 @@ public class ExecutedScenarioService {
 
     private final ErrorRepository errorRepository;
 
-    private final FunctionalityRepository functionalityRepository;
+    private final FunctionalityTeamService functionalityTeamService;
 
     private final GenericMapper mapper;
 
     public ExecutedScenarioService(ExecutedScenarioRepository executedScenarioRepository,
-            ErrorRepository errorRepository, FunctionalityRepository functionalityRepository,
+            ErrorRepository errorRepository, FunctionalityTeamService functionalityTeamService,
             GenericMapper mapper) {
         this.executedScenarioRepository = executedScenarioRepository;
         this.errorRepository = errorRepository;
-        this.functionalityRepository = functionalityRepository;
+        this.functionalityTeamService = functionalityTeamService;
         this.mapper = mapper;
     }
 
     /**
      * @param projectId the ID of the project in which to work
-     * @param input     containing the mandatory cucumberId of the scenario to get history, and optional filter parameters
-     * @return history of the execution of a scenario by its cucumberId
-     * @throws BadRequestException if the mandatory cucumberId is null or empty
+     * @param input     containing the mandatory cucumberId of the scenario to get history, optional filter parameters,
+     *                  and an optional page (limit and cursor)
+     * @return history of the execution of a scenario by its cucumberId, sorted by test date-time, country, type, line
+     * then ID (when paginated, the page contains the most recent executions before the cursor, still sorted from the
+     * oldest to the most recent: its first executed scenario is the cursor of the next page)
+     * @throws BadRequestException if the mandatory cucumberId is null or empty, or if the cursor does not exist
      */
     public List<ExecutedScenarioWithRunAndTeamIdsAndExecutionAndErrorsAndProblemsDTO> findHistory(long projectId, ExecutedScenarioHistoryInputDTO input) throws BadRequestException {
         if (StringUtils.isEmpty(input.getCucumberId())) {
             throw new BadRequestException(Messages.RULE_EXECUTED_SCENARIO_HISTORY_MANDATORY_CUCUMBER_ID, Entities.EXECUTED_SCENARIO, "mandatory_cucumber_id");
         }
 
-        final List<ExecutedScenario> executedScenarios = executedScenarioRepository.findHistory(
+        ExecutedScenario before = null;
+        if (input.getBeforeId() != null) {
+            before = executedScenarioRepository.findOne(projectId, input.getBeforeId().longValue());
+            if (before == null) {
+                throw new NotFoundException(Messages.NOT_FOUND_EXECUTED_SCENARIO, Entities.EXECUTED_SCENARIO);
+            }
+        }
+        final Pageable page = (input.getLimit() == null || input.getLimit().intValue() < 1 ? Pageable.unpaged() : PageRequest.of(0, input.getLimit().intValue()));
+
+        // The page is selected from the most recent executions: put it back from the oldest to the most recent
+        final List<ExecutedScenario> executedScenarios = new ArrayList<>(executedScenarioRepository.findHistory(
                 projectId,
                 input.getCucumberId(),
-                input.getBranch(),
-                input.getCycleName(),
-                input.getCountryCode(),
-                input.getRunTypeCode(),
-                input.getDuration());
+                StringUtils.trimToNull(input.getBranch()),
+                StringUtils.trimToNull(input.getCycleName()),
+                StringUtils.trimToNull(input.getCountryCode()),
+                StringUtils.trimToNull(input.getRunTypeCode()),
+                input.getDuration().map(ExecutedScenarioService::startDateOf).orElse(null),
+                before == null ? null : before.getRun().getExecution().getTestDateTime(),
+                before == null ? null : before.getRun().getCountry().getCode(),
+                before == null ? null : before.getRun().getType().getCode(),
+                before == null ? null : Integer.valueOf(before.getLine()),
+                input.getBeforeId(),
+                page));
+        Collections.reverse(executedScenarios);
 
         final List<ExecutedScenarioWithRunAndTeamIdsAndExecutionAndErrorsAndProblemsDTO> dtoList =
                 mapper.mapCollection(executedScenarios, ExecutedScenarioWithRunAndTeamIdsAndExecutionAndErrorsAndProblemsDTO.class);
@@ -98,6 +123,10 @@ public class ExecutedScenarioService {
         return dtoList;
     }
 
+    private static Date startDateOf(Period duration) {
+        return Date.from(LocalDateTime.now().minus(duration).atZone(ZoneId.systemDefault()).toInstant());
+    }
+
     /**
      * Return the basic informations of an executed scenario from its id.
      *
@@ -121,12 +150,9 @@ public class ExecutedScenarioService {
     }
 
     private void assignTeamsToExecutedScenarios(long projectId, List<ExecutedScenarioWithRunAndTeamIdsAndExecutionAndErrorsAndProblemsDTO> executedScenarios) {
-        final Map<Long, Long> functionalityTeamIds = functionalityRepository.getFunctionalityTeamIds(projectId);
+        final Map<Long, Long> functionalityTeamIds = functionalityTeamService.getFunctionalityTeamIds(projectId);
         for (ExecutedScenarioWithRunAndTeamIdsAndExecutionAndErrorsAndProblemsDTO executedScenario : executedScenarios) {
-            executedScenario.setTeamIds(ScenarioExtractorUtil.extractFunctionalityIds(executedScenario.getName()).stream()
-                    .map(functionalityTeamIds::get)
-                    .filter(Objects::nonNull) // Unknown functionality IDs have null team IDs
-                    .collect(Collectors.toSet()));
+            executedScenario.setTeamIds(FunctionalityTeamService.getTeamIds(functionalityTeamIds, executedScenario.getName()));
         }
     }
 
@@ -13,7 +13,6 @@ import com.decathlon.ara.service.exception.NotFoundException;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -70,40 +69,157 @@ public class ScenarioUploader {
         List<Scenario> newScenarios = scenarioExtractor.get(source);
 
         // Check functionality IDs
-        // (first get all functionalities with their remaining scenarios eagerly-fetched)
+        // (first get all functionalities with their scenarios eagerly-fetched)
         Set<Functionality> functionalities = functionalityRepository.findAllByProjectIdAndType(projectId, FunctionalityType.FUNCTIONALITY);
+        Map<Long, Functionality> functionalitiesById = functionalities.stream()
+                .collect(Collectors.toMap(Functionality::getId, Function.identity()));
 
-        functionalities = deleteScenariosFromSameSource(source, functionalities);
-
-        assignWrongFunctionalityIds(functionalities, newScenarios);
+        List<Set<Long>> coveredFunctionalityIds = assignWrongFunctionalityIds(functionalitiesById.keySet(), newScenarios);
         assignWrongSeverityCode(getSeverityCodes(projectId), newScenarios);
         assignWrongCountryCodes(getCountryCodes(projectId), newScenarios);
-        // Save the new scenarios
-        newScenarios = scenarioRepository.saveAll(newScenarios);
-        LOG.info("SCENARIO|{} scenarios updated for source {}", newScenarios.size(), sourceCode);
-
-        // Re-assign new scenarios to functionalities
-        assignCoverage(functionalities, newScenarios);
-        computeAggregates(functionalities);
-        functionalityRepository.saveAll(functionalities);
-        LOG.info("SCENARIO|{} features updated for source {}", functionalities.size(), sourceCode);
+
+        // Only insert, update or delete the scenarios that changed since the previous upload of the source
+        Set<Functionality> touchedFunctionalities = mergeScenarios(source, functionalitiesById, newScenarios, coveredFunctionalityIds);
+        computeAggregates(touchedFunctionalities);
+        functionalityRepository.saveAll(touchedFunctionalities);
+        LOG.info("SCENARIO|{} features updated for source {}", touchedFunctionalities.size(), sourceCode);
         LOG.info("SCENARIO|Coverage complete!");
     }
 
-    private Set<Functionality> deleteScenariosFromSameSource(Source source, Set<Functionality> functionalities) {
-        var functionalitiesWithoutSourceScenarios = functionalities.stream()
-                .map(f -> Pair.of(f, f.getScenarios().stream().filter(s -> !s.getSource().equals(source)).toList()))
-                .map(p -> Pair.of(p.getFirst(), new TreeSet<>(p.getSecond())))
-                .map(p -> {
-                    var f = p.getFirst();
-                    var s = p.getSecond();
-                    f.setScenarios(s);
-                    return f;
-                })
+    /**
+     * Apply the uploaded scenarios of a source as a difference over its existing scenarios: a scenario is matched with
+     * an existing one by its (feature file, line), then inserted, updated (only if one of its fields changed) or deleted.
+     * Functionalities only gain or lose the scenarios whose coverage changed.
+     *
+     * @param source                  the source of the uploaded scenarios
+     * @param functionalitiesById     the functionalities of the project (excluding folders) with their scenarios, by ID
+     * @param uploadedScenarios       the scenarios extracted from the uploaded report
+     * @param coveredFunctionalityIds for each uploaded scenario (in the same order), the IDs of the functionalities it covers
+     * @return the functionalities that gained or lost scenarios, or whose scenarios changed
+     */
+    private Set<Functionality> mergeScenarios(Source source, Map<Long, Functionality> functionalitiesById,
+            List<Scenario> uploadedScenarios, List<Set<Long>> coveredFunctionalityIds) {
+        Map<Long, List<Functionality>> coveringFunctionalities = getCoveringFunctionalitiesByScenarioId(source, functionalitiesById.values());
+        Map<ScenarioKey, Deque<Scenario>> existingScenarios = new HashMap<>();
+        for (Scenario existingScenario : scenarioRepository.findAllBySourceId(source.getId())) {
+            existingScenarios.computeIfAbsent(ScenarioKey.of(existingScenario), k -> new ArrayDeque<>()).add(existingScenario);
+        }
+
+        Set<Functionality> touchedFunctionalities = new HashSet<>();
+        List<Scenario> insertedScenarios = new ArrayList<>();
+        List<Set<Long>> insertedCoveredFunctionalityIds = new ArrayList<>();
+        int updatedCount = 0;
+        for (int i = 0; i < uploadedScenarios.size(); i++) {
+            Scenario uploadedScenario = uploadedScenarios.get(i);
+            Set<Long> newCoverage = coveredFunctionalityIds.get(i);
+            Deque<Scenario> candidates = existingScenarios.get(ScenarioKey.of(uploadedScenario));
+            Scenario existingScenario = candidates == null ? null : candidates.poll();
+            if (existingScenario == null) {
+                insertedScenarios.add(uploadedScenario);
+                insertedCoveredFunctionalityIds.add(newCoverage);
+                continue;
+            }
+
+            List<Functionality> oldCovering = coveringFunctionalities.getOrDefault(existingScenario.getId(), Collections.emptyList());
+            Set<Long> oldCoverage = oldCovering.stream().map(Functionality::getId).collect(Collectors.toSet());
+            boolean changed = hasChanged(existingScenario, uploadedScenario);
+            if (changed || !oldCoverage.equals(newCoverage)) {
+                // Scenarios are stored in sorted sets: remove them before changing their sort keys (name, line...)
+                oldCovering.forEach(functionality -> functionality.removeScenario(existingScenario));
+                if (changed) {
+                    copyFields(uploadedScenario, existingScenario);
+                    updatedCount++;
+                }
+                newCoverage.forEach(id -> functionalitiesById.get(id).addScenario(existingScenario));
+                touchedFunctionalities.addAll(oldCovering);
+                newCoverage.forEach(id -> touchedFunctionalities.add(functionalitiesById.get(id)));
+            }
+        }
+
+        List<Scenario> deletedScenarios = existingScenarios.values().stream()
+                .flatMap(Deque::stream)
                 .toList();
-        functionalitiesWithoutSourceScenarios = functionalityRepository.saveAll(functionalitiesWithoutSourceScenarios);
-        scenarioRepository.deleteAllBySource(source);
-        return new HashSet<>(functionalitiesWithoutSourceScenarios);
+        for (Scenario deletedScenario : deletedScenarios) {
+            List<Functionality> oldCovering = coveringFunctionalities.getOrDefault(deletedScenario.getId(), Collections.emptyList());
+            oldCovering.forEach(functionality -> functionality.removeScenario(deletedScenario));
+            touchedFunctionalities.addAll(oldCovering);
+        }
+        scenarioRepository.deleteAll(deletedScenarios);
+
+        insertedScenarios = scenarioRepository.saveAll(insertedScenarios);
+        Map<Long, List<Scenario>> insertedScenariosByFunctionalityId = indexScenariosByFunctionalityId(insertedScenarios, insertedCoveredFunctionalityIds);
+        assignCoverage(functionalitiesById, insertedScenariosByFunctionalityId);
+        insertedScenariosByFunctionalityId.keySet().forEach(id -> touchedFunctionalities.add(functionalitiesById.get(id)));
+
+        LOG.info("SCENARIO|{} scenarios inserted, {} updated and {} deleted for source {} ({} unchanged)",
+                insertedScenarios.size(), updatedCount, deletedScenarios.size(), source.getCode(),
+                uploadedScenarios.size() - insertedScenarios.size() - updatedCount);
+        return touchedFunctionalities;
+    }
+
+    /**
+     * @param source          the source of the scenarios
+     * @param functionalities the functionalities with their scenarios
+     * @return the functionalities covered by each scenario of the source, by scenario ID
+     */
+    private static Map<Long, List<Functionality>> getCoveringFunctionalitiesByScenarioId(Source source, Collection<Functionality> functionalities) {
+        Map<Long, List<Functionality>> coveringFunctionalities = new HashMap<>();
+        for (Functionality functionality : functionalities) {
+            for (Scenario scenario : functionality.getScenarios()) {
+                if (source.equals(scenario.getSource())) {
+                    coveringFunctionalities.computeIfAbsent(scenario.getId(), id -> new ArrayList<>()).add(functionality);
+                }
+            }
+        }
+        return coveringFunctionalities;
+    }
+
+    /**
+     * @param existingScenario the scenario stored in database
+     * @param uploadedScenario the same scenario, as extracted from the uploaded report
+     * @return true if any of the fields extracted from the report is different
+     */
+    static boolean hasChanged(Scenario existingScenario, Scenario uploadedScenario) {
+        return !Objects.equals(existingScenario.getFeatureFile(), uploadedScenario.getFeatureFile())
+                || !Objects.equals(existingScenario.getFeatureName(), uploadedScenario.getFeatureName())
+                || !Objects.equals(existingScenario.getFeatureTags(), uploadedScenario.getFeatureTags())
+                || !Objects.equals(existingScenario.getTags(), uploadedScenario.getTags())
+                || existingScenario.isIgnored() != uploadedScenario.isIgnored()
+                || !Objects.equals(existingScenario.getCountryCodes(), uploadedScenario.getCountryCodes())
+                || !Objects.equals(existingScenario.getSeverity(), uploadedScenario.getSeverity())
+                || !Objects.equals(existingScenario.getName(), uploadedScenario.getName())
+                || !Objects.equals(existingScenario.getWrongFunctionalityIds(), uploadedScenario.getWrongFunctionalityIds())
+                || !Objects.equals(existingScenario.getWrongCountryCodes(), uploadedScenario.getWrongCountryCodes())
+                || !Objects.equals(existingScenario.getWrongSeverityCode(), uploadedScenario.getWrongSeverityCode())
+                || existingScenario.getLine() != uploadedScenario.getLine()
+                || !Objects.equals(existingScenario.getContent(), uploadedScenario.getContent());
+    }
+
+    private static void copyFields(Scenario from, Scenario to) {
+        to.setFeatureFile(from.getFeatureFile());
+        to.setFeatureName(from.getFeatureName());
+        to.setFeatureTags(from.getFeatureTags());
+        to.setTags(from.getTags());
+        to.setIgnored(from.isIgnored());
+        to.setCountryCodes(from.getCountryCodes());
+        to.setSeverity(from.getSeverity());
+        to.setName(from.getName());
+        to.setWrongFunctionalityIds(from.getWrongFunctionalityIds());
+        to.setWrongCountryCodes(from.getWrongCountryCodes());
+        to.setWrongSeverityCode(from.getWrongSeverityCode());
+        to.setLine(from.getLine());
+        to.setContent(from.getContent());
+    }
+
+    /**
+     * Identity of a scenario inside its source, used to match an uploaded scenario with its already stored version
+     */
+    private static final record ScenarioKey(String featureFile, int line) {
+
+        static ScenarioKey of(Scenario scenario) {
+            return new ScenarioKey(scenario.getFeatureFile(), scenario.getLine());
+        }
+
     }
 
     @FunctionalInterface
@@ -112,18 +228,53 @@ public class ScenarioUploader {
     }
 
     /**
-     * @param functionalities the functionalities in which to assign the wrongFunctionalityIds, if any
-     * @param scenarios       the new scenarios to append to matching functionalities (excluding folders)
+     * Extract the functionality IDs of each scenario once: the unknown ones are assigned as wrongFunctionalityIds, and
+     * the known ones are returned to later index the scenarios by functionality.
+     *
+     * @param functionalityIds the IDs of the existing functionalities (excluding folders)
+     * @param scenarios        the new scenarios in which to assign the wrongFunctionalityIds, if any
+     * @return for each scenario (in the same order), the IDs of the existing functionalities it covers
      */
-    private static void assignWrongFunctionalityIds(Collection<Functionality> functionalities, List<Scenario> scenarios) {
+    static List<Set<Long>> assignWrongFunctionalityIds(Set<Long> functionalityIds, List<Scenario> scenarios) {
+        List<Set<Long>> coveredFunctionalityIds = new ArrayList<>(scenarios.size());
         for (Scenario scenario : scenarios) {
-            List<String> wrongFunctionalityIds = ScenarioExtractorUtil.extractWrongFunctionalityIds(scenario.getName(), functionalities);
-            if (wrongFunctionalityIds.isEmpty()) {
-                scenario.setWrongFunctionalityIds(null);
-            } else {
-                scenario.setWrongFunctionalityIds(String.join("\n", wrongFunctionalityIds));
+            Set<Long> coveredIds = new LinkedHashSet<>();
+            List<String> wrongFunctionalityIds = new ArrayList<>();
+            for (String maybeId : ScenarioExtractorUtil.extractFunctionalityIdCandidates(scenario.getName())) {
+                Long id = toLong(maybeId);
+                if (id != null && functionalityIds.contains(id)) {
+                    coveredIds.add(id);
+                } else {
+                    wrongFunctionalityIds.add(maybeId);
+                }
             }
+            scenario.setWrongFunctionalityIds(wrongFunctionalityIds.isEmpty() ? null : String.join("\n", wrongFunctionalityIds));
+            coveredFunctionalityIds.add(coveredIds);
         }
+        return coveredFunctionalityIds;
+    }
+
+    private static Long toLong(String maybeId) {
+        try {
+            return Long.valueOf(maybeId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @param scenarios               the saved scenarios
+     * @param coveredFunctionalityIds for each scenario (in the same order), the IDs of the existing functionalities it covers
+     * @return the scenarios, indexed by the ID of each functionality they cover
+     */
+    static Map<Long, List<Scenario>> indexScenariosByFunctionalityId(List<Scenario> scenarios, List<Set<Long>> coveredFunctionalityIds) {
+        Map<Long, List<Scenario>> scenariosByFunctionalityId = new HashMap<>();
+        for (int i = 0; i < scenarios.size(); i++) {
+            for (Long functionalityId : coveredFunctionalityIds.get(i)) {
+                scenariosByFunctionalityId.computeIfAbsent(functionalityId, id -> new ArrayList<>()).add(scenarios.get(i));
+            }
+        }
+        return scenariosByFunctionalityId;
     }
 
     /**
@@ -177,17 +328,14 @@ public class ScenarioUploader {
     }
 
     /**
-     * @param functionalities the functionalities in which to append matching scenarios for the list of new scenarios
-     * @param newScenarios    the new scenarios to append to matching functionalities (excluding folders)
+     * @param functionalitiesById        the functionalities in which to append matching scenarios, by ID
+     * @param scenariosByFunctionalityId the new scenarios to append, by ID of the functionalities they cover
      */
-    private static void assignCoverage(Collection<Functionality> functionalities, List<Scenario> newScenarios) {
-        for (Functionality functionality : functionalities) {
-            for (Scenario scenario : newScenarios) {
-                if (ScenarioExtractorUtil.extractFunctionalityIds(scenario.getName()).contains(functionality.getId())) {
-                    functionality.addScenario(scenario);
-                }
-            }
-        }
+    private static void assignCoverage(Map<Long, Functionality> functionalitiesById, Map<Long, List<Scenario>> scenariosByFunctionalityId) {
+        scenariosByFunctionalityId.forEach((functionalityId, scenarios) -> {
+            Functionality functionality = functionalitiesById.get(functionalityId);
+            scenarios.forEach(functionality::addScenario);
+        });
     }
 
     /**
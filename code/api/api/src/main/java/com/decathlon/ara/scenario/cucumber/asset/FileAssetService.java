@@ -19,6 +19,7 @@ package com.decathlon.ara.scenario.cucumber.asset;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 
 import org.apache.commons.io.FileUtils;
@@ -27,7 +28,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import com.decathlon.ara.ci.service.IndexingMetricsService;
 import com.decathlon.ara.configuration.AraConfiguration;
+import com.decathlon.ara.domain.enumeration.Technology;
+
+import io.micrometer.core.instrument.Timer;
 
 /**
  * Write to disk (can be a NFS mount-point or a Docker mounted volume binding... this is transparent) parts of the data
@@ -39,40 +44,54 @@ public class FileAssetService implements AssetService {
 
     private static final Logger LOG = LoggerFactory.getLogger(FileAssetService.class);
 
+    private static final String STORAGE = "file";
+
     private final AraConfiguration araConfiguration;
 
     private final FileNameService fileNameService;
 
-    public FileAssetService(AraConfiguration araConfiguration, FileNameService fileNameService) {
+    private final IndexingMetricsService indexingMetricsService;
+
+    public FileAssetService(AraConfiguration araConfiguration, FileNameService fileNameService,
+            IndexingMetricsService indexingMetricsService) {
         this.araConfiguration = araConfiguration;
         this.fileNameService = fileNameService;
+        this.indexingMetricsService = indexingMetricsService;
     }
 
     /**
      * Write a Cucumber scenario screenshot to disk.
      *
-     * @param screenshot   the PNG bytes of the screenshot
+     * @param screenshot   the stream of the PNG bytes of the screenshot
      * @param scenarioName the name of the scenario for which the screenshot was taken (date is prepended, and png
      *                     extension is appended to generate file name)
      * @return the complete URL of the file having been saved, or null if write failed
      */
     @Override
-    public String saveScreenshot(byte[] screenshot, String scenarioName) {
-        try {
-            // fileHomeFolder is something like /opt/assets
-            // subFolder is something like /screenshots
-            // The full path of the folder is then something like /opt/assets/screenshots
-            final String subFolder = araConfiguration.getFileScreenshotSubFolder();
-            final String absoluteFolderPath = araConfiguration.getFileHomeFolder() + subFolder;
-            final String fileName = fileNameService.generateReportFileName(scenarioName, "png");
-            final File file = new File(absoluteFolderPath + File.separator + fileName);
+    public String saveScreenshot(InputStream screenshot, String scenarioName) {
+        Timer.Sample sample = indexingMetricsService.start();
+        String url = writeScreenshot(screenshot, scenarioName);
+        indexingMetricsService.recordAsset(sample, Technology.CUCUMBER, STORAGE, url != null);
+        return url;
+    }
 
-            // Will create directories if they do not exist
-            FileUtils.writeByteArrayToFile(file, screenshot);
+    private String writeScreenshot(InputStream screenshot, String scenarioName) {
+        // fileHomeFolder is something like /opt/assets
+        // subFolder is something like /screenshots
+        // The full path of the folder is then something like /opt/assets/screenshots
+        final String subFolder = araConfiguration.getFileScreenshotSubFolder();
+        final String absoluteFolderPath = araConfiguration.getFileHomeFolder() + subFolder;
+        final String fileName = fileNameService.generateReportFileName(scenarioName, "png");
+        final File file = new File(absoluteFolderPath + File.separator + fileName);
+        try {
+            // Will create directories if they do not exist, and close the stream
+            FileUtils.copyInputStreamToFile(screenshot, file);
 
             return araConfiguration.getFileHttpAccess() + subFolder + "/" + fileName;
         } catch (IOException e) {
             LOG.warn("SCENARIO|cucumber|Screenshot saving failed: {}", e.getMessage(), e);
+            // The screenshot can be invalid after the first bytes were written: do not keep a truncated file
+            FileUtils.deleteQuietly(file);
             return null;
         }
     }
@@ -85,6 +104,13 @@ public class FileAssetService implements AssetService {
      */
     @Override
     public String saveHttpLogs(String html) {
+        Timer.Sample sample = indexingMetricsService.start();
+        String url = writeHttpLogs(html);
+        indexingMetricsService.recordAsset(sample, Technology.POSTMAN, STORAGE, url != null);
+        return url;
+    }
+
+    private String writeHttpLogs(String html) {
         try {
             // fileHomeFolder is something like /opt/assets
             // subFolder is something like /http-logs
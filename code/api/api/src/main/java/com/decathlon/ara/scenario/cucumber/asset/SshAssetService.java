@@ -17,15 +17,22 @@
 
 package com.decathlon.ara.scenario.cucumber.asset;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import com.decathlon.ara.ci.service.IndexingMetricsService;
 import com.decathlon.ara.configuration.AraConfiguration;
+import com.decathlon.ara.domain.enumeration.Technology;
 import com.decathlon.ara.scenario.cucumber.asset.ssh.SshClientHelper;
 import com.decathlon.ara.scenario.cucumber.asset.ssh.SshException;
 
+import io.micrometer.core.instrument.Timer;
+
 /**
  * Upload to SSH parts of the data from Cucumber and Postman reports.
  */
@@ -35,30 +42,43 @@ public class SshAssetService implements AssetService {
 
     private static final Logger LOG = LoggerFactory.getLogger(SshAssetService.class);
 
+    private static final String STORAGE = "ssh";
+
     private final AraConfiguration araConfiguration;
 
     private final FileNameService fileNameService;
 
+    private final IndexingMetricsService indexingMetricsService;
+
     // Not thread-safe booleans, but we're good: they protect a lazy-loaded idempotent process (directory creation)
     private boolean screenshotsFolderCreated;
     private boolean httpLogsFolderCreated;
 
-    public SshAssetService(AraConfiguration araConfiguration, FileNameService fileNameService) {
+    public SshAssetService(AraConfiguration araConfiguration, FileNameService fileNameService,
+            IndexingMetricsService indexingMetricsService) {
         this.araConfiguration = araConfiguration;
         this.fileNameService = fileNameService;
+        this.indexingMetricsService = indexingMetricsService;
     }
 
     /**
      * Upload a Cucumber scenario screenshot to a SSH server.
      *
-     * @param screenshot   the PNG bytes of the screenshot
+     * @param screenshot   the stream of the PNG bytes of the screenshot
      * @param scenarioName the name of the scenario for which the screenshot was taken (date is prepended, and png
      *                     extension is appended to generate file name)
      * @return the complete URL of the file having been saved, or null if upload failed
      */
     @Override
-    public String saveScreenshot(byte[] screenshot, String scenarioName) {
-        try (SshClientHelper sshClient = connect()) {
+    public String saveScreenshot(InputStream screenshot, String scenarioName) {
+        Timer.Sample sample = indexingMetricsService.start();
+        String url = uploadScreenshot(screenshot, scenarioName);
+        indexingMetricsService.recordAsset(sample, Technology.CUCUMBER, STORAGE, url != null);
+        return url;
+    }
+
+    private String uploadScreenshot(InputStream screenshot, String scenarioName) {
+        try (screenshot; SshClientHelper sshClient = connect()) {
             // sshRemoteHomeFolder is something like /opt/assets
             // subFolder is something like /screenshots
             // The full path of the folder is then something like /opt/assets/screenshots
@@ -74,7 +94,7 @@ public class SshAssetService implements AssetService {
             sshClient.put(absoluteFolderPath + "/" + fileName, screenshot);
 
             return araConfiguration.getSshHttpAccess() + subFolder + "/" + fileName;
-        } catch (SshException e) {
+        } catch (SshException | IOException e) {
             LOG.warn("SCENARIO|cucumber|Screenshot upload failed: {}", e.getMessage(), e);
             return null;
         }
@@ -88,6 +108,13 @@ public class SshAssetService implements AssetService {
      */
     @Override
     public String saveHttpLogs(String html) {
+        Timer.Sample sample = indexingMetricsService.start();
+        String url = uploadHttpLogs(html);
+        indexingMetricsService.recordAsset(sample, Technology.POSTMAN, STORAGE, url != null);
+        return url;
+    }
+
+    private String uploadHttpLogs(String html) {
         try (SshClientHelper sshClient = connect()) {
             // sshRemoteHomeFolder is something like /opt/assets
             // subFolder is something like /http-logs
@@ -20,6 +20,7 @@ package com.decathlon.ara.scenario.cucumber.asset.ssh;
 import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
 import java.util.Deque;
@@ -126,8 +127,20 @@ public class SshClientHelper implements Closeable {
      * @throws SshException when something goes wrong while interacting with the server
      */
     public void put(final String remoteFile, final byte[] bytes) throws SshException {
+        put(remoteFile, new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * Upload a binary file, streaming its content.
+     *
+     * @param remoteFile the remote file (to be created or updated) full path (absolute folder + file name) where to put
+     *                   the file content
+     * @param content    a binary file content, read until its end (it is not closed)
+     * @throws SshException when something goes wrong while interacting with the server or reading the content
+     */
+    public void put(final String remoteFile, final InputStream content) throws SshException {
         try {
-            getSftpChannel().put(new ByteArrayInputStream(bytes), remoteFile, ChannelSftp.OVERWRITE);
+            getSftpChannel().put(content, remoteFile, ChannelSftp.OVERWRITE);
         } catch (SftpException e) {
             throw new SshException("Cannot upload to " + remoteFile + BECAUSE + e.getMessage(), e);
         }
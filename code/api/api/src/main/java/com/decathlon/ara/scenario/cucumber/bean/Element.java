@@ -17,6 +17,7 @@
 
 package com.decathlon.ara.scenario.cucumber.bean;
 
+import java.io.InputStream;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -93,10 +94,10 @@ public class Element {
     /**
      * @return the extracted screenshot found in one of the steps of the scenario (usually the last one), if any
      */
-    public Optional<byte[]> extractScreenshot() {
+    public Optional<InputStream> extractScreenshot() {
         if (steps != null) {
             for (final Step step : steps) {
-                Optional<byte[]> screenshot = step.extractScreenshot();
+                Optional<InputStream> screenshot = step.extractScreenshot();
                 if (screenshot.isPresent()) {
                     return screenshot;
                 }
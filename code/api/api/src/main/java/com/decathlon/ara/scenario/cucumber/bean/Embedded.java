@@ -17,12 +17,14 @@
 
 package com.decathlon.ara.scenario.cucumber.bean;
 
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.Optional;
 
 import org.apache.commons.lang3.StringUtils;
 
+import com.decathlon.ara.lib.embed.consumer.Base64CharactersInputStream;
 import com.decathlon.ara.lib.embed.consumer.StructuredEmbeddingsExtractor;
 import com.decathlon.ara.lib.embed.consumer.StructuredEmbeddingsHolder;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -45,11 +47,12 @@ public class Embedded {
     }
 
     /**
-     * @return the extracted screenshot, if the embedding is an image
+     * @return the extracted screenshot, if the embedding is an image: the PNG bytes are decoded from the Base64 data
+     * while the stream is read, so a screenshot is never held twice in memory
      */
-    public Optional<byte[]> extractScreenshot() {
-        if ("image/png".equals(mimeType)) {
-            return getDecodedDataAsBytes();
+    public Optional<InputStream> extractScreenshot() {
+        if ("image/png".equals(mimeType) && StringUtils.isNotEmpty(data)) {
+            return Optional.of(Base64CharactersInputStream.decode(data));
         }
         return Optional.empty();
     }
@@ -72,14 +75,8 @@ public class Embedded {
      */
     public Optional<StructuredEmbeddingsHolder> extractStructuredEmbeddings() {
         if ("text/html".equals(getMimeType())) {
-            final Optional<String> textContent = getDecodedDataAsString();
-            if (textContent.isPresent()) {
-                final Optional<StructuredEmbeddingsHolder> maybeEmbeddings =
-                        new StructuredEmbeddingsExtractor().extract(textContent.get());
-                if (maybeEmbeddings.isPresent()) {
-                    return maybeEmbeddings;
-                }
-            }
+            // Most HTML embeddings are not structured ones: only decode what is needed to know it
+            return new StructuredEmbeddingsExtractor().extractFromBase64(data);
         }
         return Optional.empty();
     }
@@ -26,9 +26,14 @@ public enum Status {
 
     PASSED, FAILED, SKIPPED, PENDING, UNDEFINED, MISSING;
 
+    /**
+     * Computed once: it is written in the content of every step of every indexed scenario
+     */
+    private final String jsonValue = name().toLowerCase();
+
     @JsonValue
     public String getJsonValue() {
-        return name().toLowerCase();
+        return jsonValue;
     }
 
 }
@@ -17,6 +17,7 @@
 
 package com.decathlon.ara.scenario.cucumber.bean;
 
+import java.io.InputStream;
 import java.util.Optional;
 
 import com.decathlon.ara.lib.embed.consumer.StructuredEmbeddingsHolder;
@@ -44,10 +45,10 @@ public class Step implements ResultsWithMatch {
     /**
      * @return the extracted screenshot, if the step contains an embedding that is a video URL
      */
-    public Optional<byte[]> extractScreenshot() {
+    public Optional<InputStream> extractScreenshot() {
         if (embeddings != null) {
             for (Embedded embedding : embeddings) {
-                final Optional<byte[]> screenshot = embedding.extractScreenshot();
+                final Optional<InputStream> screenshot = embedding.extractScreenshot();
                 if (screenshot.isPresent()) {
                     return screenshot;
                 }
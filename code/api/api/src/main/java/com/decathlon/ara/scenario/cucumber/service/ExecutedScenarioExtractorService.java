@@ -37,6 +37,7 @@ import com.decathlon.ara.scenario.cucumber.asset.AssetService;
 import com.decathlon.ara.scenario.cucumber.bean.Element;
 import com.decathlon.ara.scenario.cucumber.bean.Feature;
 import com.decathlon.ara.scenario.cucumber.bean.Tag;
+import com.decathlon.ara.scenario.cucumber.support.StepDefinitionMatcher;
 import com.decathlon.ara.scenario.cucumber.util.CucumberReportUtil;
 import com.decathlon.ara.scenario.cucumber.util.ErrorExtractorUtil;
 import com.decathlon.ara.scenario.cucumber.util.ScenarioExtractorUtil;
@@ -65,13 +66,14 @@ public class ExecutedScenarioExtractorService {
      */
     public List<ExecutedScenario> extractExecutedScenarios(List<Feature> features, List<String> stepDefinitions, String runJobUrl) {
         final List<ExecutedScenario> executedScenarios = new ArrayList<>();
+        final StepDefinitionMatcher stepDefinitionMatcher = new StepDefinitionMatcher(stepDefinitions);
         ExecutedScenario lastBackground = null;
         for (Feature feature : features) {
             for (Element element : feature.getElements()) {
                 if (element.isBackground()) {
-                    lastBackground = extractBackground(stepDefinitions, element);
+                    lastBackground = extractBackground(stepDefinitionMatcher, element);
                 } else if (element.isScenario()) {
-                    executedScenarios.add(extractExecutedScenario(stepDefinitions, feature, element, runJobUrl, lastBackground));
+                    executedScenarios.add(extractExecutedScenario(stepDefinitionMatcher, feature, element, runJobUrl, lastBackground));
                     lastBackground = null;
                 }
             }
@@ -80,14 +82,14 @@ public class ExecutedScenarioExtractorService {
         return executedScenarios;
     }
 
-    private ExecutedScenario extractBackground(List<String> stepDefinitions, Element element) {
+    private ExecutedScenario extractBackground(StepDefinitionMatcher stepDefinitions, Element element) {
         ExecutedScenario background = new ExecutedScenario();
         background.setContent(CucumberReportUtil.extractScenarioContent(element, null));
         background.addErrors(ErrorExtractorUtil.extractErrors(stepDefinitions, element.getSteps(), null));
         return background;
     }
 
-    private ExecutedScenario extractExecutedScenario(List<String> stepDefinitions, Feature feature, Element scenario, String runJobUrl, ExecutedScenario lastBackground) {
+    private ExecutedScenario extractExecutedScenario(StepDefinitionMatcher stepDefinitions, Feature feature, Element scenario, String runJobUrl, ExecutedScenario lastBackground) {
         Set<String> featureTags = Tag.names(feature.getTags());
         Set<String> scenarioTags = Tag.names(scenario.getTags());
         Set<String> allTags = Sets.union(featureTags, scenarioTags);
@@ -131,7 +133,7 @@ public class ExecutedScenarioExtractorService {
         return structuredEmbeddings
                 .flatMap(e -> e.extractStringData("screenshotUrl"))
                 .orElseGet(() -> scenario.extractScreenshot()
-                        .map(bytes -> assetService.saveScreenshot(bytes, scenario.getName()))
+                        .map(screenshot -> assetService.saveScreenshot(screenshot, scenario.getName()))
                         .orElse(null));
     }
 
@@ -0,0 +1,168 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.cucumber.support;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The step definitions of a stepDefinitions.json, compiled once to match all the failed steps of a run.<br>
+ * The step definitions are indexed in a trie by their leading literal characters (eg. "^User goes to (.*)$" is indexed
+ * by "User goes to "), so a step name is only matched against the few step definitions whose leading literal is a
+ * prefix of the step name. The matches are then memoized by step name, as the same steps fail again and again.
+ */
+public class StepDefinitionMatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StepDefinitionMatcher.class);
+
+    /**
+     * The characters having a special meaning in a regular expression, outside a character class
+     */
+    private static final String META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    /**
+     * The quantifiers making the preceding character optional
+     */
+    private static final String OPTIONAL_QUANTIFIERS = "?*{";
+
+    private record CompiledStepDefinition(int index, String stepDefinition, Pattern pattern) {
+    }
+
+    private static final class Node {
+
+        private final Map<Character, Node> children = new HashMap<>();
+
+        private final List<CompiledStepDefinition> stepDefinitions = new ArrayList<>();
+
+    }
+
+    private final Node root = new Node();
+
+    private final Map<String, List<String>> matchesByStepName = new ConcurrentHashMap<>();
+
+    /**
+     * @param stepDefinitions the regular expressions of all the step definitions, as parsed from a stepDefinitions.json
+     */
+    public StepDefinitionMatcher(List<String> stepDefinitions) {
+        for (int i = 0; i < stepDefinitions.size(); i++) {
+            String stepDefinition = stepDefinitions.get(i);
+            try {
+                var compiledStepDefinition = new CompiledStepDefinition(i, stepDefinition, Pattern.compile(stepDefinition));
+                var node = root;
+                for (char character : getLeadingLiteral(stepDefinition).toCharArray()) {
+                    node = node.children.computeIfAbsent(Character.valueOf(character), c -> new Node());
+                }
+                node.stepDefinitions.add(compiledStepDefinition);
+            } catch (PatternSyntaxException e) {
+                LOG.error("Ignoring the step definition \"{}\": it is not a valid regular expression", stepDefinition, e);
+            }
+        }
+    }
+
+    /**
+     * @param stepName eg. "User goes to the product details page of product \"NrtP01\" model \"NrtP01M3\""
+     * @return all the step definitions fully matching the step name, in the order of the stepDefinitions.json
+     */
+    public List<String> getMatchingStepDefinitions(String stepName) {
+        return matchesByStepName.computeIfAbsent(stepName, this::findMatchingStepDefinitions);
+    }
+
+    private List<String> findMatchingStepDefinitions(String stepName) {
+        List<CompiledStepDefinition> candidates = new ArrayList<>(root.stepDefinitions);
+        var node = root;
+        for (int i = 0; i < stepName.length(); i++) {
+            node = node.children.get(Character.valueOf(stepName.charAt(i)));
+            if (node == null) {
+                break;
+            }
+            candidates.addAll(node.stepDefinitions);
+        }
+        candidates.sort(Comparator.comparingInt(CompiledStepDefinition::index));
+        return candidates.stream()
+                .filter(candidate -> candidate.pattern().matcher(stepName).matches())
+                .map(CompiledStepDefinition::stepDefinition)
+                .toList();
+    }
+
+    /**
+     * @param stepDefinition a valid regular expression
+     * @return the literal characters any text fully matching the regular expression starts with (can be empty)
+     */
+    static String getLeadingLiteral(String stepDefinition) {
+        if (hasTopLevelAlternation(stepDefinition)) {
+            return "";
+        }
+        StringBuilder literal = new StringBuilder();
+        int length = stepDefinition.length();
+        int i = stepDefinition.startsWith("^") ? 1 : 0;
+        while (i < length) {
+            char character = stepDefinition.charAt(i);
+            int next = i + 1;
+            if (character == '\\') {
+                if (next >= length || Character.isLetterOrDigit(stepDefinition.charAt(next))) {
+                    break; // A character class like \d, or a construct like \Q
+                }
+                character = stepDefinition.charAt(next++);
+            } else if (META_CHARACTERS.indexOf(character) >= 0) {
+                break;
+            }
+            if (next < length && OPTIONAL_QUANTIFIERS.indexOf(stepDefinition.charAt(next)) >= 0) {
+                break;
+            }
+            literal.append(character);
+            i = next;
+        }
+        return literal.toString();
+    }
+
+    /**
+     * @param stepDefinition a valid regular expression
+     * @return true if the regular expression has a '|' outside any group (eg. "^a$|^b$"): it has no common prefix
+     */
+    private static boolean hasTopLevelAlternation(String stepDefinition) {
+        int depth = 0;
+        boolean inCharacterClass = false;
+        for (int i = 0; i < stepDefinition.length(); i++) {
+            char character = stepDefinition.charAt(i);
+            if (character == '\\') {
+                i++;
+            } else if (inCharacterClass) {
+                inCharacterClass = character != ']';
+            } else if (character == '[') {
+                inCharacterClass = true;
+            } else if (character == '(') {
+                depth++;
+            } else if (character == ')') {
+                depth--;
+            } else if (character == '|' && depth == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
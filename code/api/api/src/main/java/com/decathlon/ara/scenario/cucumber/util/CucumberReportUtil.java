@@ -26,6 +26,7 @@ import com.decathlon.ara.scenario.cucumber.bean.Element;
 import com.decathlon.ara.scenario.cucumber.bean.Feature;
 import com.decathlon.ara.scenario.cucumber.bean.Hook;
 import com.decathlon.ara.scenario.cucumber.bean.Row;
+import com.decathlon.ara.scenario.cucumber.bean.Status;
 import com.decathlon.ara.scenario.cucumber.bean.Step;
 import com.decathlon.ara.util.JsonUtil;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -35,6 +36,25 @@ import com.fasterxml.jackson.core.type.TypeReference;
  */
 public class CucumberReportUtil {
 
+    private static final String BEFORE_HOOK = "@Before";
+
+    private static final String AFTER_HOOK = "@After";
+
+    /**
+     * Average length of a content line, to size the content buffer before rendering a scenario
+     */
+    private static final int ESTIMATED_LINE_LENGTH = 80;
+
+    /**
+     * Rendering buffers of huge scenarios are not kept by the indexing threads, to not retain their memory
+     */
+    private static final int MAX_RETAINED_BUFFER_CAPACITY = 1024 * 1024;
+
+    /**
+     * Reused by all scenarios rendered by a thread: only the resulting String is allocated for each scenario
+     */
+    private static final ThreadLocal<StringBuilder> CONTENT_BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
     private CucumberReportUtil() {
     }
 
@@ -65,21 +85,45 @@ public class CucumberReportUtil {
      * 266:skipped:| "Key 2" | "Value 2" |</code>
      */
     public static String extractScenarioContent(Element scenario, String backgroundContent) {
-        StringBuilder builder = new StringBuilder();
-        appendHooks(builder, scenario.getBefore(), "@Before");
-        if (StringUtils.isNotEmpty(backgroundContent)) {
-            newLine(builder)
-                    .append("0:element:Background:\n")
-                    .append(backgroundContent)
-                    .append("\n0:element:Scenario:");
+        StringBuilder builder = CONTENT_BUFFER.get();
+        builder.setLength(0);
+        builder.ensureCapacity(estimateContentLength(scenario, backgroundContent));
+        try {
+            appendHooks(builder, scenario.getBefore(), BEFORE_HOOK);
+            if (StringUtils.isNotEmpty(backgroundContent)) {
+                newLine(builder)
+                        .append("0:element:Background:\n")
+                        .append(backgroundContent)
+                        .append("\n0:element:Scenario:");
+            }
+            appendSteps(builder, scenario.getSteps());
+            appendHooks(builder, scenario.getAfter(), AFTER_HOOK);
+            return builder.toString();
+        } finally {
+            if (builder.capacity() > MAX_RETAINED_BUFFER_CAPACITY) {
+                CONTENT_BUFFER.remove();
+            }
+        }
+    }
+
+    /**
+     * @return a rough (but usually sufficient) length of the content, for the buffer to not grow several times while
+     * rendering a big scenario for the first time
+     */
+    private static int estimateContentLength(Element scenario, String backgroundContent) {
+        int lineCount = scenario.getBefore().length + scenario.getAfter().length;
+        for (Step step : scenario.getSteps()) {
+            lineCount += 1 + (step.getRows() == null ? 0 : step.getRows().length);
+            if (step.getDocString() != null && step.getDocString().getValue() != null) {
+                lineCount += 2;
+                lineCount += step.getDocString().getValue().length() / ESTIMATED_LINE_LENGTH;
+            }
         }
-        appendSteps(builder, scenario.getSteps());
-        appendHooks(builder, scenario.getAfter(), "@After");
-        return builder.toString();
+        return lineCount * ESTIMATED_LINE_LENGTH + (backgroundContent == null ? 0 : backgroundContent.length() + 64);
     }
 
     static int virtualHookLine(String hookName, int hookIndex) {
-        if ("@After".equals(hookName)) {
+        if (AFTER_HOOK.equals(hookName)) {
             return 100000 + hookIndex;
         } else { // Before
             return -100000 + hookIndex;
@@ -89,53 +133,68 @@ public class CucumberReportUtil {
     private static void appendHooks(StringBuilder builder, Hook[] hooks, String hookName) {
         for (int i = 0; i < hooks.length; i++) {
             Hook hook = hooks[i];
-            newLine(builder)
-                    .append(virtualHookLine(hookName, i)).append(":")
-                    .append(hook.getResult().getStatus().getJsonValue()).append(":")
-                    .append(hook.getResult().getDuration()).append(":")
+            appendLineStart(newLine(builder), virtualHookLine(hookName, i), hook.getResult().getStatus())
+                    .append(hook.getResult().getDuration()).append(':')
                     .append(hookName).append(' ').append(hook.getMatch().getLocation());
         }
     }
 
     private static void appendSteps(StringBuilder builder, Step[] steps) {
         for (Step step : steps) {
-            newLine(builder)
-                    .append(step.getLine()).append(":")
-                    .append(step.getResult().getStatus().getJsonValue()).append(":")
-                    .append(step.getResult().getDuration()).append(":")
+            appendLineStart(newLine(builder), step.getLine(), step.getResult().getStatus())
+                    .append(step.getResult().getDuration()).append(':')
                     .append(step.getKeyword()).append(step.getName());
             appendRows(builder, step);
             appendDocString(builder, step);
         }
     }
 
+    /**
+     * Append the doc-string of a step, one content line per doc-string line, without splitting it into new Strings.<br>
+     * Windows line breaks are considered as simple line breaks, and trailing line breaks are ignored.
+     *
+     * @param builder a String builder in which to append the doc-string
+     * @param step    the step containing (or not) a doc-string (appends nothing to the builder if the step has none)
+     */
     private static void appendDocString(StringBuilder builder, Step step) {
         if (step.getDocString() != null) {
             final Integer lineNumber = step.getLine();
-            final String status = step.getResult().getStatus().getJsonValue();
+            final Status status = step.getResult().getStatus();
             String docType = StringUtils.defaultString(step.getDocString().getContentType());
-            newLine(builder)
-                    .append(lineNumber).append(':')
-                    .append(status).append(":")
+            appendLineStart(newLine(builder), lineNumber, status)
                     .append("\"\"\"").append(docType);
-            final String[] lines = step.getDocString().getValue()
-                    .replace("\r\n", "\n")
-                    .split("\n");
-            for (String line : lines) {
-                builder
-                        .append('\n')
-                        .append(lineNumber).append(':')
-                        .append(status).append(":")
-                        .append(line);
+
+            final String value = step.getDocString().getValue();
+            int end = value.length();
+            if (value.indexOf('\n') < 0) {
+                appendLineStart(builder.append('\n'), lineNumber, status).append(value);
+            } else {
+                while (end > 0 && value.charAt(end - 1) == '\n') {
+                    end = withoutCarriageReturn(value, end - 1);
+                }
+                int lineStart = 0;
+                while (lineStart < end) {
+                    int lineBreak = value.indexOf('\n', lineStart);
+                    int lineEnd = (lineBreak < 0 || lineBreak >= end ? end : withoutCarriageReturn(value, lineBreak));
+                    appendLineStart(builder.append('\n'), lineNumber, status).append(value, lineStart, lineEnd);
+                    lineStart = (lineBreak < 0 || lineBreak >= end ? end : lineBreak + 1);
+                }
             }
-            builder
-                    .append('\n')
-                    .append(lineNumber).append(':')
-                    .append(status).append(":")
+
+            appendLineStart(builder.append('\n'), lineNumber, status)
                     .append("\"\"\"");
         }
     }
 
+    /**
+     * @param value     a multi-line String
+     * @param lineBreak the index of a '\n' in the value
+     * @return the index where the line ending with that line break really ends (before the '\r' of a "\r\n")
+     */
+    private static int withoutCarriageReturn(String value, int lineBreak) {
+        return lineBreak > 0 && value.charAt(lineBreak - 1) == '\r' ? lineBreak - 1 : lineBreak;
+    }
+
     /**
      * Append the rows of a step in a scenario from a parsed report.json Cucumber report of an execution. eg:
      * <code>265:skipped:| "Key 1" | "Value 1" |<br>
@@ -148,20 +207,40 @@ public class CucumberReportUtil {
         if (step.getRows() != null && step.getRows().length > 0) {
             int[] columnSizes = getColumnSizes(step.getRows());
             for (Row row : step.getRows()) {
-                newLine(builder)
-                        .append(row.getLine()).append(":")
-                        .append(step.getResult().getStatus().getJsonValue()).append(":");
+                appendLineStart(newLine(builder), row.getLine(), step.getResult().getStatus());
                 for (int i = 0; i < row.getCells().length; i++) {
                     String cell = row.getCells()[i];
                     boolean isNumeric = StringUtils.isNotEmpty(cell) && StringUtils.isNumeric(cell); // isNumeric() really means areDigits()
-                    cell = (isNumeric ? StringUtils.leftPad(cell, columnSizes[i]) : StringUtils.rightPad(cell, columnSizes[i]));
-                    builder.append("| ").append(cell).append(' ');
+                    int padding = columnSizes[i] - cell.length();
+                    builder.append("| ");
+                    if (isNumeric) {
+                        appendSpaces(builder, padding).append(cell);
+                    } else {
+                        appendSpaces(builder.append(cell), padding);
+                    }
+                    builder.append(' ');
                 }
-                builder.append("|");
+                builder.append('|');
             }
         }
     }
 
+    private static StringBuilder appendSpaces(StringBuilder builder, int count) {
+        for (int i = 0; i < count; i++) {
+            builder.append(' ');
+        }
+        return builder;
+    }
+
+    /**
+     * @return the builder, after having appended the "line:status:" start of a content line
+     */
+    private static StringBuilder appendLineStart(StringBuilder builder, Integer line, Status status) {
+        return builder
+                .append(line).append(':')
+                .append(status.getJsonValue()).append(':');
+    }
+
     /**
      * @param rows a list of rows containing cells
      * @return for each columns, the maximum string length of each cell of that column
@@ -26,6 +26,7 @@ import com.decathlon.ara.domain.Error;
 import com.decathlon.ara.scenario.cucumber.bean.Status;
 import com.decathlon.ara.scenario.cucumber.bean.Step;
 import com.decathlon.ara.scenario.cucumber.support.ResultsWithMatch;
+import com.decathlon.ara.scenario.cucumber.support.StepDefinitionMatcher;
 
 /**
  * A set of static functions with no dependency nor side-effect (no download, upload, database access...) that take a parsed Cucumber's report.json and extract errors in it.
@@ -35,7 +36,7 @@ public class ErrorExtractorUtil {
     private ErrorExtractorUtil() {
     }
 
-    public static List<Error> extractErrors(List<String> stepDefinitions, ResultsWithMatch[] stepsOrHooks, String hookName) {
+    public static List<Error> extractErrors(StepDefinitionMatcher stepDefinitions, ResultsWithMatch[] stepsOrHooks, String hookName) {
         final List<Error> errors = new ArrayList<>();
         if (stepsOrHooks != null) {
             for (int i = 0; i < stepsOrHooks.length; i++) {
@@ -49,7 +50,7 @@ public class ErrorExtractorUtil {
         return errors;
     }
 
-    private static Error extractError(List<String> stepDefinitions, final ResultsWithMatch stepOrHook, String hookName, int hookIndex) {
+    private static Error extractError(StepDefinitionMatcher stepDefinitions, final ResultsWithMatch stepOrHook, String hookName, int hookIndex) {
         final String errorMessage = extractErrorMessage(stepOrHook);
         if (StringUtils.isEmpty(errorMessage)) {
             return null;
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.ArrayUtils;
 
@@ -33,6 +34,9 @@ import com.decathlon.ara.scenario.cucumber.bean.Element;
 import com.decathlon.ara.scenario.cucumber.bean.Feature;
 import com.decathlon.ara.scenario.cucumber.bean.Tag;
 import com.decathlon.ara.scenario.postman.service.PostmanService;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.Sets;
 
 /**
@@ -46,7 +50,21 @@ public class ScenarioExtractorUtil {
     private static final Pattern FUNCTIONALITY_IDS_ZONE_PATTERN = Pattern.compile("F[uo]nction[n]?al[l]?it[yi][e]?[s]?[ \\t]([^:]+)[:](.*)", Pattern.CASE_INSENSITIVE);
     private static final Pattern FUNCTIONALITY_PATTERN_ON_ID = Pattern.compile("[^;]+([;]f[uo]nction[n]?al[l]?it[yi][e]?[s]?-[^:]+[:][-]*).*", Pattern.CASE_INSENSITIVE);
     private static final Pattern FUNCTIONALITY_PATTERN_ON_NAME = Pattern.compile("(F[uo]nction[n]?al[l]?it[yi][e]?[s]?[ \\t][^:]*[:][ \\t]*).*", Pattern.CASE_INSENSITIVE);
-    private static final String FUNCTIONALITY_IDS_SPLIT_PATTERN = "(,|&|and)";
+    private static final Pattern FOLDER_DELIMITER_PATTERN = Pattern.compile(PostmanService.FOLDER_DELIMITER, Pattern.LITERAL);
+    private static final Pattern FUNCTIONALITY_IDS_SPLIT_PATTERN = Pattern.compile("(,|&|and)");
+
+    /**
+     * Maximum number of scenario names whose functionality IDs are kept in {@link #FUNCTIONALITY_IDS_CACHE}
+     */
+    private static final int FUNCTIONALITY_IDS_CACHE_SIZE = 20_000;
+
+    /**
+     * The read endpoints (executions, history, teams of executed scenarios...) extract the functionality IDs of the
+     * same few thousand scenario names over and over: parse each name only once
+     */
+    private static final LoadingCache<String, List<Long>> FUNCTIONALITY_IDS_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(FUNCTIONALITY_IDS_CACHE_SIZE)
+            .build(CacheLoader.from(ScenarioExtractorUtil::parseFunctionalityIds));
 
     public static List<Scenario> extractScenarios(Source source, List<Feature> features) {
         List<Scenario> scenarios = new ArrayList<>();
@@ -91,7 +109,15 @@ public class ScenarioExtractorUtil {
         return scenario;
     }
 
+    /**
+     * @param scenarioName the name of a scenario, like "Functionalities 1, 2 &amp; 3: Title"
+     * @return the valid functionality IDs written in the scenario name (eg. [1, 2, 3]), as an unmodifiable list
+     */
     public static List<Long> extractFunctionalityIds(String scenarioName) {
+        return FUNCTIONALITY_IDS_CACHE.getUnchecked(scenarioName);
+    }
+
+    private static List<Long> parseFunctionalityIds(String scenarioName) {
         List<Long> ids = new ArrayList<>();
         for (final String maybeId : maybeIds(scenarioName)) {
             try {
@@ -100,16 +126,17 @@ public class ScenarioExtractorUtil {
                 // Will be output in scenario.wrong_functionality_ids"
             }
         }
-        return ids;
+        return List.copyOf(ids);
     }
 
     public static List<String> extractWrongFunctionalityIds(String scenarioName, Collection<Functionality> functionalities) {
+        Set<Long> functionalityIds = functionalities.stream()
+                .map(Functionality::getId)
+                .collect(Collectors.toSet());
         List<String> wrongIds = new ArrayList<>();
-        for (final String rawMaybeId : maybeIds(scenarioName)) {
-            String maybeId = rawMaybeId.trim();
+        for (final String maybeId : extractFunctionalityIdCandidates(scenarioName)) {
             try {
-                Long longId = Long.valueOf(maybeId);
-                if (functionalities.stream().noneMatch(f -> longId.equals(f.getId()))) {
+                if (!functionalityIds.contains(Long.valueOf(maybeId))) {
                     wrongIds.add(maybeId);
                 }
             } catch (final NumberFormatException e) {
@@ -119,6 +146,18 @@ public class ScenarioExtractorUtil {
         return wrongIds;
     }
 
+    /**
+     * @param scenarioName the name of a scenario, like "Functionalities 1, 2 &amp; 3: Title"
+     * @return the trimmed functionality IDs written in the scenario name, valid or not (eg. ["1", "2", "3"])
+     */
+    public static List<String> extractFunctionalityIdCandidates(String scenarioName) {
+        List<String> candidates = new ArrayList<>();
+        for (final String maybeId : maybeIds(scenarioName)) {
+            candidates.add(maybeId.trim());
+        }
+        return candidates;
+    }
+
     public static String removeFunctionalitiesFromScenarioCucumberId(String cucumberId) {
         if (cucumberId != null) {
             final Matcher matcher = FUNCTIONALITY_PATTERN_ON_ID.matcher(cucumberId);
@@ -145,10 +184,10 @@ public class ScenarioExtractorUtil {
 
     private static String[] maybeIds(String scenarioName) {
         String[] maybeIds = new String[0];
-        for (String scenarioNamePart : scenarioName.split(PostmanService.FOLDER_DELIMITER)) {
+        for (String scenarioNamePart : FOLDER_DELIMITER_PATTERN.split(scenarioName)) {
             final Matcher matcher = FUNCTIONALITY_IDS_ZONE_PATTERN.matcher(scenarioNamePart);
             if (matcher.matches()) {
-                maybeIds = ArrayUtils.addAll(maybeIds, matcher.group(1).split(FUNCTIONALITY_IDS_SPLIT_PATTERN));
+                maybeIds = ArrayUtils.addAll(maybeIds, FUNCTIONALITY_IDS_SPLIT_PATTERN.split(matcher.group(1)));
             }
         }
         return maybeIds;
@@ -30,6 +30,7 @@ import com.decathlon.ara.scenario.cucumber.bean.Argument;
 import com.decathlon.ara.scenario.cucumber.bean.Match;
 import com.decathlon.ara.scenario.cucumber.bean.Step;
 import com.decathlon.ara.scenario.cucumber.support.ResultsWithMatch;
+import com.decathlon.ara.scenario.cucumber.support.StepDefinitionMatcher;
 import com.decathlon.ara.util.JsonUtil;
 import com.fasterxml.jackson.core.type.TypeReference;
 
@@ -40,6 +41,29 @@ public class StepDefinitionUtil {
 
     private static final Logger LOG = LoggerFactory.getLogger(StepDefinitionUtil.class);
 
+    // See http://docs.oracle.com/javase/tutorial/essential/regex/literals.html
+    private static final Pattern REGULAR_EXPRESSION_SPECIAL_CHARACTER = Pattern.compile("([" +
+            "\\<" +
+            "\\(" +
+            "\\[" +
+            "\\{" +
+            "\\\\" +
+            "\\^" +
+            "\\-" +
+            "\\=" +
+            "\\$" +
+            "\\!" +
+            "\\|" +
+            "\\]" +
+            "\\}" +
+            "\\)" +
+            "\\?" +
+            "\\*" +
+            "\\+" +
+            "\\." +
+            "\\>" +
+            "])");
+
     private StepDefinitionUtil() {
     }
 
@@ -61,10 +85,10 @@ public class StepDefinitionUtil {
     /**
      * @param stepOrHook      the step or hook for which to compute the step definition
      * @param hookName        optional hook name to use as step definition if stepOrHook is a hook and therefore has no step definition
-     * @param stepDefinitions the parsed list of step definitions extracted from Cucumber
+     * @param stepDefinitions the step definitions extracted from Cucumber
      * @return the step definition of the step or the hook class+method of the hook
      */
-    public static String extractStepDefinition(ResultsWithMatch stepOrHook, String hookName, List<String> stepDefinitions) {
+    public static String extractStepDefinition(ResultsWithMatch stepOrHook, String hookName, StepDefinitionMatcher stepDefinitions) {
         String stepDefinition;
         Match match = stepOrHook.getMatch();
         if (StringUtils.isEmpty(hookName)) {
@@ -77,18 +101,13 @@ public class StepDefinitionUtil {
     }
 
     /**
-     * @param stepDefinitions the list of step definitions extracted from Cucumber
+     * @param stepDefinitions the step definitions extracted from Cucumber
      * @param stepName        eg. "User goes to the product details page of product \"NrtP01\" model \"NrtP01M3\""
      * @param arguments       eg. [ { "val": "NrtP01", "offset": 50 }, { "val": "NrtP01M3", "offset": 65 } ]
      * @return the match in stepDefinitions, or a simulated one (eg. "User goes to the product details page of product \"*\" model \"*\"")
      */
-    private static String getMatchingStepDefinition(List<String> stepDefinitions, String stepName, Argument[] arguments) {
-        List<String> matchingStepDefinitions = new ArrayList<>();
-        for (String stepDefinition : stepDefinitions) {
-            if (Pattern.compile(stepDefinition).matcher(stepName).matches()) {
-                matchingStepDefinitions.add(stepDefinition);
-            }
-        }
+    private static String getMatchingStepDefinition(StepDefinitionMatcher stepDefinitions, String stepName, Argument[] arguments) {
+        List<String> matchingStepDefinitions = stepDefinitions.getMatchingStepDefinitions(stepName);
 
         if (matchingStepDefinitions.isEmpty()) {
             LOG.error("Cannot find any matching step definition for \"{}\"", stepName);
@@ -136,28 +155,7 @@ public class StepDefinitionUtil {
     }
 
     private static String escapeRegularExpression(String text) {
-        // See http://docs.oracle.com/javase/tutorial/essential/regex/literals.html
-        String characters = "" +
-                "\\<" +
-                "\\(" +
-                "\\[" +
-                "\\{" +
-                "\\\\" +
-                "\\^" +
-                "\\-" +
-                "\\=" +
-                "\\$" +
-                "\\!" +
-                "\\|" +
-                "\\]" +
-                "\\}" +
-                "\\)" +
-                "\\?" +
-                "\\*" +
-                "\\+" +
-                "\\." +
-                "\\>";
-        return text.replaceAll("([" + characters + "])", "\\\\$1");
+        return REGULAR_EXPRESSION_SPECIAL_CHARACTER.matcher(text).replaceAll("\\\\$1");
     }
 
 }
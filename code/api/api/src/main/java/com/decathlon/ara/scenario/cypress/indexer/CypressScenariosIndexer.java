@@ -20,6 +20,7 @@ package com.decathlon.ara.scenario.cypress.indexer;
 import com.decathlon.ara.domain.ExecutedScenario;
 import com.decathlon.ara.domain.Run;
 import com.decathlon.ara.scenario.common.indexer.ScenariosIndexer;
+import com.decathlon.ara.scenario.cucumber.bean.Feature;
 import com.decathlon.ara.scenario.cucumber.indexer.CucumberScenariosIndexer;
 import com.decathlon.ara.scenario.cucumber.service.ExecutedScenarioExtractorService;
 import com.decathlon.ara.scenario.cypress.bean.media.CypressMedia;
@@ -28,9 +29,9 @@ import com.decathlon.ara.scenario.cypress.bean.media.CypressVideo;
 import com.decathlon.ara.scenario.cypress.settings.CypressSettings;
 import com.decathlon.ara.service.FileProcessorService;
 import com.decathlon.ara.service.TechnologySettingService;
+import com.decathlon.ara.util.ParsingUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.data.util.Pair;
 import org.springframework.stereotype.Component;
 
 import java.io.File;
@@ -95,59 +96,66 @@ public class CypressScenariosIndexer implements ScenariosIndexer {
                 })
                 .orElse(new ArrayList<>());
 
-        executedScenarios = cucumberReportFiles.stream()
-                .map(file -> Pair.of(file, getStepDefinitionsFile(file, stepDefinitionFiles)))
-                .map(pair -> Pair.of(
-                        cucumberScenariosIndexer.getCucumberFeaturesFromReport(pair.getFirst()),
-                        pair.getSecond().isPresent() ? cucumberScenariosIndexer.getCucumberStepDefinitions(pair.getSecond().get()) : new ArrayList<String>()))
-                .map(pair -> executedScenarioExtractorService.extractExecutedScenarios(pair.getFirst(), pair.getSecond(), run.getJobUrl()))
-                .flatMap(Collection::stream)
-                .toList();
+        Map<String, List<File>> stepDefinitionFilesByPrefix = indexFilesByPrefix(stepDefinitionFiles);
+        // Reports are independent from each other: parse them in parallel (the order of the scenarios is kept), but
+        // extract their scenarios one report after the other, as the extraction uploads the embedded screenshots
+        List<ParsedReport> reports = ParsingUtil.parseInParallel(cucumberReportFiles, file -> {
+            Optional<File> stepDefinitionsFile = getStepDefinitionsFile(file, stepDefinitionFilesByPrefix);
+            return new ParsedReport(cucumberScenariosIndexer.getCucumberFeaturesFromReport(file),
+                    stepDefinitionsFile.isPresent() ? cucumberScenariosIndexer.getCucumberStepDefinitions(stepDefinitionsFile.get()) : new ArrayList<String>());
+        });
+        for (ParsedReport report : reports) {
+            executedScenarios.addAll(executedScenarioExtractorService.extractExecutedScenarios(report.features(), report.stepDefinitions(), run.getJobUrl()));
+        }
 
         String mediaPath = technologySettingService.getSettingValue(projectId, CypressSettings.MEDIA_FILE_PATH).orElse("");
         List<CypressMedia> medias = fileProcessorService.getMappedObjectListFromFile(parentFolder, mediaPath, CypressMedia.class);
 
-        executedScenarios = executedScenarios.stream()
-                .map(scenario -> {
-                    Optional<Pair<Optional<String>, String>> mediaUrls = getSnapshotAndVideoUrls(scenario, medias);
-                    mediaUrls.ifPresent(pair -> {
-                        pair.getFirst().ifPresent(scenario::setScreenshotUrl);
-                        scenario.setVideoUrl(pair.getSecond());
-                    });
-                    return scenario;
-                })
-                .toList();
+        Map<String, IndexedMedia> mediasByFeature = indexMediasByFeature(medias);
+        for (ExecutedScenario scenario : executedScenarios) {
+            IndexedMedia media = mediasByFeature.get(scenario.getFeatureFile());
+            if (media != null) {
+                String snapshotUrl = media.snapshotUrlsById().get(scenario.getCucumberId());
+                if (snapshotUrl != null) {
+                    scenario.setScreenshotUrl(snapshotUrl);
+                }
+                scenario.setVideoUrl(media.videoUrl());
+            }
+        }
 
         return executedScenarios;
     }
 
     /**
-     * Get the matching step definitions file from a Cucumber report, if found
-     * @param cucumberReportFile the Cucumber report file
-     * @param stepDefinitionsFiles all the step definitions files
-     * @return a step definitions file, if any
+     * Index files by prefix, to pair each Cucumber report with its step definitions file without scanning them all
+     * @param files the files to index
+     * @return the files sharing each prefix, in their original order
      */
-    private Optional<File> getStepDefinitionsFile(File cucumberReportFile, List<File> stepDefinitionsFiles) {
-        return stepDefinitionsFiles.stream()
-                .filter(stepDefinitionsFile -> filesHaveTheSamePrefix(cucumberReportFile, stepDefinitionsFile))
-                .findFirst();
+    private Map<String, List<File>> indexFilesByPrefix(List<File> files) {
+        Map<String, List<File>> filesByPrefix = new HashMap<>();
+        for (File file : files) {
+            filesByPrefix.computeIfAbsent(getPrefixFromFile(file), prefix -> new ArrayList<>()).add(file);
+        }
+        return filesByPrefix;
     }
 
     /**
-     * Check whether 2 files share the same prefix
-     * @param file1 the first file
-     * @param file2 the second file
-     * @return true iff, the files have different names but share the same prefix
+     * Get the matching step definitions file from a Cucumber report, if found
+     * @param cucumberReportFile the Cucumber report file
+     * @param stepDefinitionsFilesByPrefix all the step definitions files, indexed by prefix
+     * @return a step definitions file, if any
      */
-    private Boolean filesHaveTheSamePrefix(File file1, File file2) {
-        if (file1.getName().equals(file2.getName())) {
-            LOG.info("The 2 compared files share the same name ({})!", file1.getName());
-            return false;
-        }
-
-        String prefix1 = getPrefixFromFile(file1);
-        String prefix2 = getPrefixFromFile(file2);
-        return prefix1.equals(prefix2);
+    private Optional<File> getStepDefinitionsFile(File cucumberReportFile, Map<String, List<File>> stepDefinitionsFilesByPrefix) {
+        String reportName = cucumberReportFile.getName();
+        return stepDefinitionsFilesByPrefix.getOrDefault(getPrefixFromFile(cucumberReportFile), Collections.emptyList()).stream()
+                .filter(stepDefinitionsFile -> {
+                    if (reportName.equals(stepDefinitionsFile.getName())) {
+                        LOG.info("The 2 compared files share the same name ({})!", reportName);
+                        return false;
+                    }
+                    return true;
+                })
+                .findFirst();
     }
 
     /**
@@ -157,28 +165,42 @@ public class CypressScenariosIndexer implements ScenariosIndexer {
      */
     private String getPrefixFromFile(File file) {
         String name = file.getName();
-        String[] splitName = name.split("\\.");
-        return splitName[0];
+        int dotIndex = name.indexOf('.');
+        return dotIndex < 0 ? name : name.substring(0, dotIndex);
     }
 
     /**
-     * Get the snapshots and videos urls matching an executed scenario, if found
-     * @param executedScenario the executed scenario
+     * Index the snapshots and videos urls by feature file, then the snapshots urls by scenario id: the first media of a
+     * feature, and the first snapshot of a scenario, win
      * @param availableMedias all the available videos and snapshots details
-     * @return a pair of snapshot and video urls, if any
+     * @return the medias of each feature file
+     */
+    private Map<String, IndexedMedia> indexMediasByFeature(List<CypressMedia> availableMedias) {
+        Map<String, IndexedMedia> mediasByFeature = new HashMap<>();
+        for (CypressMedia media : availableMedias) {
+            if (!mediasByFeature.containsKey(media.getFeature())) {
+                Map<String, String> snapshotUrlsById = new HashMap<>();
+                if (media.getSnapshots() != null) {
+                    for (CypressSnapshot snapshot : media.getSnapshots()) {
+                        snapshotUrlsById.putIfAbsent(snapshot.getId(), snapshot.getUrl());
+                    }
+                }
+                CypressVideo video = media.getVideo();
+                mediasByFeature.put(media.getFeature(), new IndexedMedia(snapshotUrlsById, video == null ? null : video.getUrl()));
+            }
+        }
+        return mediasByFeature;
+    }
+
+    /**
+     * The snapshots urls (by scenario id) and the video url of a feature file
+     */
+    private static record IndexedMedia(Map<String, String> snapshotUrlsById, String videoUrl) {
+    }
+
+    /**
+     * The features of a Cucumber report, and the step definitions paired with it
      */
-    private Optional<Pair<Optional<String>, String>> getSnapshotAndVideoUrls(ExecutedScenario executedScenario, List<CypressMedia> availableMedias) {
-        return availableMedias.stream()
-                .filter(media -> executedScenario.getFeatureFile().equals(media.getFeature()))
-                .findFirst()
-                .map(media -> {
-                    Optional<String> snapshotUrl = media.getSnapshots().stream()
-                            .filter(image -> executedScenario.getCucumberId().equals(image.getId()))
-                            .map(CypressSnapshot::getUrl)
-                            .findFirst();
-                    CypressVideo video = media.getVideo();
-                    String videoUrl = video.getUrl();
-                    return Pair.of(snapshotUrl, videoUrl);
-                });
+    private static record ParsedReport(List<Feature> features, List<String> stepDefinitions) {
     }
 }
@@ -54,7 +54,14 @@ public class GenericScenariosIndexer implements ScenariosIndexer {
     @Override
     public List<ExecutedScenario> getExecutedScenarios(File parentFolder, Run run, Long projectId) {
         String reportsFolderPath = technologySettingService.getSettingValue(projectId, GenericSettings.REPORTS_LOCATION).orElse("");
-        List<GenericExecutedScenarioReport> reports = fileProcessorService.getMappedObjectsFromDirectory(parentFolder, reportsFolderPath, GenericExecutedScenarioReport.class);
+        // The reports location is either a folder of JSON files (one per scenario), or a single file of concatenated reports
+        Optional<File> reportsFile = fileProcessorService.getMatchingSimpleFile(parentFolder, reportsFolderPath);
+        List<GenericExecutedScenarioReport> reports;
+        if (reportsFile.isPresent()) {
+            reports = fileProcessorService.getMappedObjectsFromConcatenatedFile(reportsFile.get(), GenericExecutedScenarioReport.class);
+        } else {
+            reports = fileProcessorService.getMappedObjectsFromDirectory(parentFolder, reportsFolderPath, GenericExecutedScenarioReport.class);
+        }
 
         return CollectionUtils.isEmpty(reports) ? new ArrayList<>() : reports
                 .stream()
@@ -25,7 +25,7 @@ public enum GenericSettings implements AvailableTechnologySettings {
     REPORTS_LOCATION(
             "reports.path",
             "Generic reports path",
-            "Generics reports are extracted from this path. Eg. \"/reports\", appended to the run's jobUrl.",
+            "Generics reports are extracted from this path: a folder of JSON files (one per scenario), or a single file of concatenated JSON reports (one per line). Eg. \"/reports\", appended to the run's jobUrl.",
             SettingType.STRING,
             "/reports",
             true
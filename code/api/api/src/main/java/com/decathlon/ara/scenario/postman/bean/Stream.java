@@ -17,8 +17,8 @@
 
 package com.decathlon.ara.scenario.postman.bean;
 
-import java.io.File;
-
+import com.decathlon.ara.scenario.postman.model.ResponseBodySpool;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -26,17 +26,18 @@ public class Stream {
 
     /**
      * The body of an HTTP response (or request) as a stream of bytes.<br>
-     * Can potentially be big, so while streaming the JSON file, the data is saved to a temporary file on disk and the field is set to false to avoid OutOfMemoryErrors. The file can then be removed (if request was a success) or uploaded (if the request was an error and we need the response stream data to debug it).<br>
+     * Can potentially be big, so while streaming the JSON file, the data is appended to the spool file of the report and the field is set to null to avoid OutOfMemoryErrors. The data can then be read back from the spool (if the request was an error and we need the response stream data to debug it).<br>
      * There is a "type":"Buffer" in the Stream object, but it might be for future expansion, as there is currently no other values.
      */
     private byte[] data;
 
     /**
-     * Temporary file used to temporarily dump the stream from {@code data}.
+     * Slice of the spool file where the stream from {@code data} was temporarily dumped.
      *
      * @see #data data for more detailed documentation of the process
      */
-    private File tempFile;
+    @JsonIgnore
+    private ResponseBodySpool.Slice spooledData;
 
     public byte[] getData() {
         return data;
@@ -46,12 +47,12 @@ public class Stream {
         this.data = data;
     }
 
-    public File getTempFile() {
-        return tempFile;
+    public ResponseBodySpool.Slice getSpooledData() {
+        return spooledData;
     }
 
-    public void setTempFile(File tempFile) {
-        this.tempFile = tempFile;
+    public void setSpooledData(ResponseBodySpool.Slice spooledData) {
+        this.spooledData = spooledData;
     }
 
 }
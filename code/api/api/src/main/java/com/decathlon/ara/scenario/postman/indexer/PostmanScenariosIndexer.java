@@ -95,7 +95,7 @@ public class PostmanScenariosIndexer implements ScenariosIndexer {
                     List<ExecutedScenario> currentFileExecutedScenarios = postmanService.postProcess(run, newmanParsingResult, postmanReportFile.getName(), requestPosition);
                     allExecutedScenarios.add(currentFileExecutedScenarios);
                 } finally {
-                    postmanService.deleteTempFiles(newmanParsingResult);
+                    postmanService.deleteResponseBodySpool(newmanParsingResult);
                 }
             }
         }
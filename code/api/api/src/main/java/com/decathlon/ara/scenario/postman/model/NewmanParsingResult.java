@@ -33,6 +33,11 @@ public class NewmanParsingResult {
 
     private List<Failure> failures;
 
+    /**
+     * The spool file of the HTTP response bodies of the executions, if any: to be closed once the report is processed
+     */
+    private ResponseBodySpool responseBodySpool;
+
     public Collection getCollection() {
         return collection;
     }
@@ -57,4 +62,12 @@ public class NewmanParsingResult {
         this.failures = failures;
     }
 
+    public ResponseBodySpool getResponseBodySpool() {
+        return responseBodySpool;
+    }
+
+    public void setResponseBodySpool(ResponseBodySpool responseBodySpool) {
+        this.responseBodySpool = responseBodySpool;
+    }
+
 }
@@ -0,0 +1,104 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.postman.model;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An append-only temporary file where the HTTP response bodies of a Newman report are spooled while streaming the
+ * report, to free up some RAM.<br>
+ * Each body is stored as a slice (offset and length) of the file, so a report with thousands of requests creates and
+ * deletes only one temporary file instead of one per request. The file is deleted when the spool is closed.
+ */
+public class ResponseBodySpool implements Closeable {
+
+    private final Path file;
+
+    private final FileChannel channel;
+
+    private long size;
+
+    public ResponseBodySpool() throws IOException {
+        this.file = Files.createTempFile("ara_execution_response_bodies_", ".bin");
+        this.channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.DELETE_ON_CLOSE);
+    }
+
+    /**
+     * @param data the body to append at the end of the spool file
+     * @return the slice of the spool file where the body was written
+     * @throws IOException if the body cannot be written (eg. no space left on device)
+     */
+    public synchronized Slice append(byte[] data) throws IOException {
+        final long offset = size;
+        final ByteBuffer buffer = ByteBuffer.wrap(data);
+        while (buffer.hasRemaining()) {
+            size += channel.write(buffer, size);
+        }
+        return new Slice(this, offset, data.length);
+    }
+
+    private byte[] read(long offset, int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, offset + buffer.position()) < 0) {
+                throw new EOFException("The response body spool " + file + " ends before " + (offset + length) + " bytes");
+            }
+        }
+        return buffer.array();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * A response body stored in a spool file
+     *
+     * @param spool  the spool file containing the body
+     * @param offset the position of the first byte of the body in the spool file
+     * @param length the number of bytes of the body
+     */
+    public record Slice(ResponseBodySpool spool, long offset, int length) {
+
+        /**
+         * @return the body, read from the spool file
+         * @throws IOException if the spool file cannot be read (eg. the spool was already closed)
+         */
+        public byte[] read() throws IOException {
+            return spool.read(offset, length);
+        }
+
+    }
+
+}
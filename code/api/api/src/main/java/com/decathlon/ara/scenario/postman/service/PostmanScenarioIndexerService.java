@@ -54,7 +54,9 @@ import com.decathlon.ara.scenario.postman.bean.Info;
 import com.decathlon.ara.scenario.postman.bean.ItemWithScripts;
 import com.decathlon.ara.scenario.postman.bean.Listen;
 import com.decathlon.ara.scenario.postman.util.JavaScriptCommentRemover;
+import com.decathlon.ara.util.ParsingUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 @Service
 public class PostmanScenarioIndexerService {
@@ -83,23 +85,36 @@ public class PostmanScenarioIndexerService {
      * @throws IOException if something goes wrong while reading the ZIP archive or parsing the JSON collection files
      */
     public List<Scenario> extractScenarios(Source source, File zipFile) throws IOException {
-        List<Scenario> scenarios = new ArrayList<>();
-
-        final FileSystem zip = FileSystems.newFileSystem(zipFile.toPath(), this.getClass().getClassLoader());
-
-        for (Path jsonFilePath : listJsonFilePaths(zip)) {
-            LOG.debug("SCENARIO|postman|Processing the file {}", jsonFilePath.toString());
-            try {
-                InputStream input = Files.newInputStream(jsonFilePath);
-                final CollectionWithScripts collection = objectMapper.readValue(input, CollectionWithScripts.class);
-                final String pathToStore = jsonFilePath.toString().substring(1); // Remove leading slash
-                scenarios.addAll(collectCollectionScenarios(collection, source, pathToStore));
-            } catch (IOException e) {
-                LOG.warn("SCENARIO|postman|The file {} was ignored...", jsonFilePath, e);
-            }
+        try (FileSystem zip = FileSystems.newFileSystem(zipFile.toPath(), this.getClass().getClassLoader())) {
+            // Collections are independent from each other: parse them in parallel, then keep the scenarios sorted by
+            // file path (the JSON files are listed sorted) and by request position in each file
+            final ObjectReader reader = objectMapper.readerFor(CollectionWithScripts.class);
+            return ParsingUtil.parseInParallel(listJsonFilePaths(zip), jsonFilePath -> extractFileScenarios(reader, source, jsonFilePath))
+                    .stream()
+                    .flatMap(List::stream)
+                    .collect(Collectors.toCollection(ArrayList::new));
         }
+    }
 
-        return scenarios;
+    /**
+     * Extract all Postman requests of a JSON collection file, and return them as Cucumber-scenarios equivalents.
+     *
+     * @param reader       the reader of Postman collections
+     * @param source       the source of the Postman collection in the Version Control System (also describes if root
+     *                     folders are country codes)
+     * @param jsonFilePath the path of the JSON collection file in the ZIP archive
+     * @return scenarios describing all the Postman requests of the file, or an empty list if the file cannot be parsed
+     */
+    private List<Scenario> extractFileScenarios(ObjectReader reader, Source source, Path jsonFilePath) {
+        LOG.debug("SCENARIO|postman|Processing the file {}", jsonFilePath);
+        try (InputStream input = Files.newInputStream(jsonFilePath)) {
+            final CollectionWithScripts collection = reader.readValue(input);
+            final String pathToStore = jsonFilePath.toString().substring(1); // Remove leading slash
+            return collectCollectionScenarios(collection, source, pathToStore);
+        } catch (IOException e) {
+            LOG.warn("SCENARIO|postman|The file {} was ignored...", jsonFilePath, e);
+            return Collections.emptyList();
+        }
     }
 
     /**
@@ -17,11 +17,8 @@
 
 package com.decathlon.ara.scenario.postman.service;
 
-import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
@@ -37,7 +34,6 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -68,6 +64,7 @@ import com.decathlon.ara.scenario.postman.bean.Stream;
 import com.decathlon.ara.scenario.postman.bean.Url;
 import com.decathlon.ara.scenario.postman.model.NewmanParsingResult;
 import com.decathlon.ara.scenario.postman.model.NewmanScenario;
+import com.decathlon.ara.scenario.postman.model.ResponseBodySpool;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -158,7 +155,7 @@ public class PostmanService {
      * and use RamUsageEstimator.sizeOf(object)</p>
      *
      * @param parser the parser, pointing to an open stream, ready to parse the Newman-generated report.json
-     * @param result the object where to return parsing result: at completion or if an exception occurs, it can contains temporary files that needs to be removed (after using them or not)
+     * @param result the object where to return parsing result: at completion or if an exception occurs, it can contain a response body spool file that needs to be removed (after using it or not)
      * @throws IOException on streaming error or the stream was not well-formed and JSON parsing failed
      */
     public void parse(JsonParser parser, NewmanParsingResult result) throws IOException {
@@ -205,7 +202,7 @@ public class PostmanService {
 
     /**
      * Parse the content of a "run" property of the root object of a Newman JSON report: read "executions" and "failures" properties, ignoring everything else.<br>
-     * Execution response body streams are saved to file, to free up some RAM.
+     * Execution response body streams are saved to a spool file, to free up some RAM.
      *
      * @param parser the parser, pointing to the START_OBJECT of the "run" object of an open stream
      * @param result the object where to put the read executions and failures
@@ -223,9 +220,8 @@ public class PostmanService {
 
             if (startingArray && "executions".equals(fieldName)) {
                 LOG.debug("SCENARIO|postman|[json:$.run] found executions: parsing it");
-                List<Execution> executions = new ArrayList<>();
-                result.setExecutions(executions);
-                parseExecutions(parser, executions);
+                result.setExecutions(new ArrayList<>());
+                parseExecutions(parser, result);
 
             } else if (startingArray && "failures".equals(fieldName)) {
                 LOG.debug("SCENARIO|postman|[json:$.run] found failures: parsing it");
@@ -239,13 +235,13 @@ public class PostmanService {
     }
 
     /**
-     * Parse the "executions" array, one value at a time, saving the response body streams to files on the go (to free up some RAM).
+     * Parse the "executions" array, one value at a time, saving the response body streams to a spool file on the go (to free up some RAM).
      *
-     * @param parser     the parser, pointing to the START_ARRAY of the "executions" array of an open stream
-     * @param executions the list where to put the read executions
+     * @param parser the parser, pointing to the START_ARRAY of the "executions" array of an open stream
+     * @param result the object where to put the read executions, and holding the response body spool file
      * @throws IOException if something goes wrong (streaming or parsing error)
      */
-    private void parseExecutions(JsonParser parser, List<Execution> executions) throws IOException {
+    private void parseExecutions(JsonParser parser, NewmanParsingResult result) throws IOException {
         while (!parser.isClosed()) {
             JsonToken jsonToken = parser.nextToken();
             if (jsonToken == JsonToken.END_ARRAY) {
@@ -255,20 +251,21 @@ public class PostmanService {
             if (jsonToken == JsonToken.START_OBJECT) {
                 LOG.debug("SCENARIO|postman|[json:$.run.executions] found execution: parsing it");
                 Execution execution = objectMapper.readValue(parser, Execution.class);
-                executions.add(execution); // Add BEFORE saving to file: if write fails (no space left), the "half-"file can be deleted
-                saveExecutionStreamToFile(execution);
+                result.getExecutions().add(execution);
+                saveExecutionStreamToSpool(execution, result);
             }
         }
     }
 
     /**
-     * Save the HTTP response body stream to file, if any, and set it to null (to free up some RAM).<br>
-     * While setting stream data to null, the stream tempFile is set.
+     * Append the HTTP response body stream to the spool file of the report, if any, and set it to null (to free up some RAM).<br>
+     * While setting stream data to null, the stream spooledData is set.
      *
      * @param execution the execution (may not contain any response not any stream data)
+     * @param result    the parsing result holding the response body spool file (created on the first body to save)
      * @throws IOException if something goes wrong (streaming or parsing error)
      */
-    void saveExecutionStreamToFile(Execution execution) throws IOException {
+    void saveExecutionStreamToSpool(Execution execution, NewmanParsingResult result) throws IOException {
         if (execution.getResponse() == null ||
                 execution.getResponse().getStream() == null ||
                 execution.getResponse().getStream().getData() == null) {
@@ -277,10 +274,10 @@ public class PostmanService {
 
         final Stream stream = execution.getResponse().getStream();
 
-        File file = File.createTempFile("ara_execution_response_stream_", ".bin");
-        file.deleteOnExit();
-        FileUtils.writeByteArrayToFile(file, stream.getData());
-        stream.setTempFile(file);
+        if (result.getResponseBodySpool() == null) {
+            result.setResponseBodySpool(new ResponseBodySpool());
+        }
+        stream.setSpooledData(result.getResponseBodySpool().append(stream.getData()));
         stream.setData(null);
     }
 
@@ -680,13 +677,6 @@ public class PostmanService {
         buildScenarioContents(newmanScenarios);
         buildScenarioErrors(newmanScenarios);
 
-        // We will only upload HTTP logs for failed requests, to not overload the server with too much details
-        for (NewmanScenario newmanScenario : newmanScenarios) {
-            if (newmanScenario.getFailures().isEmpty()) {
-                deleteTempFile(newmanScenario.getExecution().getResponse());
-            }
-        }
-
         final String collectionFileName = toCollectionFileName(run.getType().getSource(), newmanReportPath);
         final String collectionName = result.getCollection().getInfo().getName();
         for (NewmanScenario newmanScenario : newmanScenarios) {
@@ -703,37 +693,20 @@ public class PostmanService {
     }
 
     /**
-     * Delete the temporary file generated for a Newman request (removing the HTTP response body file),
-     * after having processed the file or after an exception was thrown during report processing, to clean up the server's temporary folder.
-     *
-     * @param response an HTTP response (can be null, with or without a body stream, itself with or without temporary file)
-     */
-    void deleteTempFile(Response response) {
-        if (response != null && response.getStream() != null) {
-            Stream stream = response.getStream();
-            final File tempFile = stream.getTempFile();
-            if (tempFile != null) {
-                try {
-                    Files.delete(Paths.get(tempFile.getPath()));
-                } catch (IOException e) {
-                    LOG.warn("SCENARIO|postman|Cannot delete temporary file {}", tempFile, e);
-                }
-                stream.setTempFile(null);
-            }
-        }
-    }
-
-    /**
-     * Delete all temporary files generated for the Newman requests (removing all HTTP response body files),
-     * after having processed the files or after an exception was thrown, to clean up the server's temporary folder.
+     * Delete the spool file of the HTTP response bodies of a Newman report (at once for all its requests),
+     * after having processed the report or after an exception was thrown, to clean up the server's temporary folder.
      *
      * @param newmanParsingResult the whole Newman parsing result from a Newman JSON report
      */
-    public void deleteTempFiles(NewmanParsingResult newmanParsingResult) {
-        if (newmanParsingResult.getExecutions() != null) {
-            for (Execution execution : newmanParsingResult.getExecutions()) {
-                deleteTempFile(execution.getResponse());
+    public void deleteResponseBodySpool(NewmanParsingResult newmanParsingResult) {
+        final ResponseBodySpool spool = newmanParsingResult.getResponseBodySpool();
+        if (spool != null) {
+            try {
+                spool.close();
+            } catch (IOException e) {
+                LOG.warn("SCENARIO|postman|Cannot delete the response body spool file {}", spool.getFile(), e);
             }
+            newmanParsingResult.setResponseBodySpool(null);
         }
     }
 
@@ -747,12 +720,7 @@ public class PostmanService {
     String uploadHttpLog(NewmanScenario newmanScenario) {
         if (!newmanScenario.getFailures().isEmpty()) {
             String html = generateHttpLogHtml(newmanScenario);
-
-            try {
-                return assetService.saveHttpLogs(html);
-            } finally {
-                deleteTempFile(newmanScenario.getExecution().getResponse());
-            }
+            return assetService.saveHttpLogs(html);
         }
         return null;
     }
@@ -875,20 +843,21 @@ public class PostmanService {
     }
 
     /**
-     * If any, reads the temp file containing the HTTP response body and append it as String (prettyified if JSON) in the build HTML.
+     * If any, reads the HTTP response body from the spool file and append it as String (prettyified if JSON) in the build HTML.
      *
      * @param html        the StringBuilder in which to append the body
-     * @param stream      only tmpFile is used (but it is NOT deleted by this method, to allow several retry attempts)
+     * @param stream      only spooledData is used (the spool is NOT deleted by this method, to allow several retry attempts)
      * @param contentType the content type of the file (charset is assumed UTF-8)
      */
     void appendResponseBody(StringBuilder html, Stream stream, String contentType) {
-        if (stream.getTempFile() != null) {
+        final ResponseBodySpool.Slice spooledData = stream.getSpooledData();
+        if (spooledData != null) {
             String fileContent;
             try {
-                fileContent = FileUtils.readFileToString(stream.getTempFile(), StandardCharsets.UTF_8);
+                fileContent = new String(spooledData.read(), StandardCharsets.UTF_8);
                 fileContent = prettyPrint(fileContent, contentType);
             } catch (IOException e) {
-                LOG.warn("SCENARIO|postman|Cannot read temporary file {}", stream.getTempFile(), e);
+                LOG.warn("SCENARIO|postman|Cannot read the response body from the spool file {}", spooledData.spool().getFile(), e);
                 fileContent = "Error in ARA while reading the content of the response received by Newman:\n" +
                         ExceptionUtils.getStackTrace(e);
             }
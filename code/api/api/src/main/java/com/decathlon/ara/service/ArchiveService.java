@@ -58,7 +58,9 @@ public class ArchiveService {
     }
 
     /**
-     * Unzip the given file to the given destination.
+     * Unzip the given file to the given destination.<br>
+     * The files keep the modification dates stored in the zip (if any), so that the same zip extracted twice gives the
+     * same files: this lets the incremental indexing recognize the runs that did not change between two uploads.
      *
      * @param inputStream the InputStream to the zip file to unzip.
      * @param destination the destination where to put the resulting tree hierarchy in the zip.
@@ -77,6 +79,9 @@ public class ArchiveService {
                 LOG.debug("Unzipping : {}", target.getAbsolutePath());
                 if (!entry.isDirectory()) {
                     this.writeEntry(zis, target);
+                    if (entry.getTime() != -1 && !target.setLastModified(entry.getTime())) {
+                        LOG.debug("Cannot set the modification date of {}", target.getAbsolutePath());
+                    }
                 }
                 entry = zis.getNextEntry();
             }
@@ -21,6 +21,8 @@ import com.decathlon.ara.ci.bean.Build;
 import com.decathlon.ara.ci.bean.CycleDef;
 import com.decathlon.ara.ci.bean.PlannedIndexation;
 import com.decathlon.ara.ci.bean.PlatformRule;
+import com.decathlon.ara.ci.service.IndexingMetricsService;
+import com.decathlon.ara.ci.service.IndexingMetricsService.Stage;
 import com.decathlon.ara.ci.service.QualityService;
 import com.decathlon.ara.common.NotGonnaHappenException;
 import com.decathlon.ara.domain.*;
@@ -37,6 +39,7 @@ import com.decathlon.ara.scenario.common.strategy.ScenariosIndexerStrategy;
 import com.decathlon.ara.service.support.Settings;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,6 +51,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.io.File;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -73,12 +77,14 @@ public class ExecutionFilesProcessorService {
 
     private final FileProcessorService fileProcessorService;
 
+    private final IndexingMetricsService indexingMetricsService;
+
     @Autowired
     public ExecutionFilesProcessorService(SettingService settingService, ObjectMapper objectMapper,
             ExecutionCompletionRequestRepository executionCompletionRequestRepository,
             ExecutionRepository executionRepository, CountryRepository countryRepository, TypeRepository typeRepository,
             QualityService qualityService, ScenariosIndexerStrategy scenariosIndexerStrategy,
-            FileProcessorService fileProcessorService) {
+            FileProcessorService fileProcessorService, IndexingMetricsService indexingMetricsService) {
         this.settingService = settingService;
         this.objectMapper = objectMapper;
         this.executionCompletionRequestRepository = executionCompletionRequestRepository;
@@ -88,6 +94,7 @@ public class ExecutionFilesProcessorService {
         this.qualityService = qualityService;
         this.scenariosIndexerStrategy = scenariosIndexerStrategy;
         this.fileProcessorService = fileProcessorService;
+        this.indexingMetricsService = indexingMetricsService;
     }
 
     /**
@@ -111,14 +118,21 @@ public class ExecutionFilesProcessorService {
         }
 
         Long projectId = cycleDefinition.getProjectId();
+        final String project = indexingMetricsService.getProjectTag(projectId);
         String buildInformationFilePath = settingService.get(projectId, Settings.EXECUTION_INDEXER_FILE_BUILD_INFORMATION_PATH);
+        Timer.Sample buildSample = indexingMetricsService.start();
         Optional<Build> build = getBuildFromFile(rawExecutionFile, buildInformationFilePath);
+        indexingMetricsService.recordStage(buildSample, Stage.BUILD_INFORMATION, project, null);
         if (!build.isPresent()) {
             LOG.warn("EXECUTION|The build information file ({}) in [{}] couldn't be processed", buildInformationFilePath, rawExecutionFile.getAbsolutePath());
             return Optional.empty();
         }
 
-        Optional<Execution> execution = getExecutionFromBuildAndCycleDefinition(build.get(), cycleDefinition);
+        Optional<Execution> previousExecution = executionRepository.findByProjectIdAndJobUrlOrJobLink(
+                projectId,
+                build.get().getUrl(),
+                build.get().getLink());
+        Optional<Execution> execution = getExecutionFromBuildAndCycleDefinition(build.get(), cycleDefinition, previousExecution);
 
         String buildUrl = build.get().getUrl();
         Optional<ExecutionCompletionRequest> completionRequest = (StringUtils.isEmpty(buildUrl) ? Optional.empty() : executionCompletionRequestRepository.findById(buildUrl));
@@ -129,7 +143,9 @@ public class ExecutionFilesProcessorService {
         }
 
         String cycleDefinitionFilePath = settingService.get(projectId, Settings.EXECUTION_INDEXER_FILE_CYCLE_DEFINITION_PATH);
+        Timer.Sample cycleDefSample = indexingMetricsService.start();
         Optional<CycleDef> cycleDef = fileProcessorService.getMappedObjectFromFile(rawExecutionFile, cycleDefinitionFilePath, CycleDef.class);
+        indexingMetricsService.recordStage(cycleDefSample, Stage.CYCLE_DEFINITION, project, null);
         if (!cycleDef.isPresent()) {
             if (JobStatus.DONE.equals(execution.get().getStatus()) || completionRequest.isPresent()) {
                 LOG.warn("EXECUTION|Cycle-run's cycle-definition JSON not found in done job (cycle deeply broken): indexing it as failed");
@@ -143,7 +159,9 @@ public class ExecutionFilesProcessorService {
         String qualityThresholds = getQualityThresholdsFromCycleDefinition(cycleDef.get());
         execution.get().setQualityThresholds(qualityThresholds);
 
-        Pair<List<CountryDeployment>, List<Run>> countryDeploymentsAndRuns = getCountryDeploymentsAndRunsPair(rawExecutionFile, cycleDef.get(), projectId, execution.get().getStatus(), buildInformationFilePath);
+        boolean incremental = settingService.getBoolean(projectId, Settings.EXECUTION_INDEXER_INCREMENTAL);
+        Map<ExecutionKey, Run> previousRuns = incremental ? getFingerprintedRuns(previousExecution) : Collections.emptyMap();
+        Pair<List<CountryDeployment>, List<Run>> countryDeploymentsAndRuns = getCountryDeploymentsAndRunsPair(rawExecutionFile, cycleDef.get(), projectId, project, execution.get().getStatus(), buildInformationFilePath, incremental, previousRuns);
 
         Set<CountryDeployment> countryDeployments = new TreeSet<>(countryDeploymentsAndRuns.getFirst());
         execution.get().addCountryDeployments(countryDeployments);
@@ -151,7 +169,9 @@ public class ExecutionFilesProcessorService {
         Set<Run> runs = new TreeSet<>(countryDeploymentsAndRuns.getSecond());
         execution.get().addRuns(runs);
 
+        Timer.Sample qualitySample = indexingMetricsService.start();
         qualityService.computeQuality(execution.get());
+        indexingMetricsService.recordStage(qualitySample, Stage.QUALITY, project, null);
 
         if (!executionIsComplete(execution.get(), cycleDef.get())) {
             execution.get().setQualityStatus(QualityStatus.INCOMPLETE);
@@ -176,15 +196,12 @@ public class ExecutionFilesProcessorService {
      * Create an execution from a build and the cycle definition (branch and cycle)
      * @param build the execution build
      * @param cycleDefinition the cycle definition
+     * @param previousExecution the execution previously indexed for the same build, if any
      * @return the execution
      */
-    private Optional<Execution> getExecutionFromBuildAndCycleDefinition(Build build, CycleDefinition cycleDefinition) {
+    private Optional<Execution> getExecutionFromBuildAndCycleDefinition(Build build, CycleDefinition cycleDefinition, Optional<Execution> previousExecution) {
         Execution execution = new Execution();
 
-        Optional<Execution> previousExecution = executionRepository.findByProjectIdAndJobUrlOrJobLink(
-                cycleDefinition.getProjectId(),
-                build.getUrl(),
-                build.getLink());
         if (previousExecution.isPresent()) {
             if (JobStatus.DONE.equals(previousExecution.get().getStatus())) {
                 LOG.warn("EXECUTION|Cycle-run is already DONE (requested to be indexed several times?): no further indexing");
@@ -261,22 +278,25 @@ public class ExecutionFilesProcessorService {
      * @param rawExecutionFile the root execution folder
      * @param cycleDef the cycleDef
      * @param projectId the project id
+     * @param project the project code, to tag the indexing metrics with
      * @param executionJobStatus the execution job status
      * @param buildInformationPath the relative path to the build information file
+     * @param incremental true to fingerprint the type folders, and reuse the executed scenarios of unchanged runs
+     * @param previousRuns the runs previously indexed for this execution, with their fingerprint (empty if none or not incremental)
      * @return country deployments and runs
      */
-    private Pair<List<CountryDeployment>, List<Run>> getCountryDeploymentsAndRunsPair(File rawExecutionFile, CycleDef cycleDef, Long projectId, JobStatus executionJobStatus, String buildInformationPath) {
+    private Pair<List<CountryDeployment>, List<Run>> getCountryDeploymentsAndRunsPair(File rawExecutionFile, CycleDef cycleDef, Long projectId, String project, JobStatus executionJobStatus, String buildInformationPath,
+            boolean incremental, Map<ExecutionKey, Run> previousRuns) {
         List<CountryDeployment> countryDeployments = new ArrayList<>();
         List<Run> runs = new ArrayList<>();
-        final File[] allExecutionFolderContents = rawExecutionFile.listFiles();
-        final File[] countryJobDirectories = Arrays.stream(allExecutionFolderContents).filter(File::isDirectory).toArray(File[]::new);
+        final Map<String, File> countryJobDirectories = getDirectoriesByLowerCaseName(rawExecutionFile.listFiles());
 
-        if (countryJobDirectories == null || countryJobDirectories.length == 0) {
+        if (countryJobDirectories.isEmpty()) {
             LOG.warn("EXECUTION|The folder {} doesn't contain any country", rawExecutionFile.getAbsolutePath());
         }
 
-        final List<Country> allCountries = countryRepository.findAllByProjectIdOrderByCode(projectId);
-        final List<Type> allTypes = typeRepository.findAllByProjectIdOrderByCode(projectId);
+        final Map<String, Country> allCountries = getCountriesByLowerCaseCode(countryRepository.findAllByProjectIdOrderByCode(projectId));
+        final Map<String, Type> allTypes = getTypesByLowerCaseCode(typeRepository.findAllByProjectIdOrderByCode(projectId));
 
         final Map<String, List<PlatformRule>> platformsRules = cycleDef.getPlatformsRules();
         for (final Entry<String, List<PlatformRule>> entry : platformsRules.entrySet()) {
@@ -287,16 +307,14 @@ public class ExecutionFilesProcessorService {
                     .toList();
             for (final PlatformRule rule : enabledRules) {
                 final String countryCode = rule.getCountry().toLowerCase();
-                final Optional<Country> country = getCountryFromCodeAndCountries(countryCode, allCountries);
+                final Optional<Country> country = Optional.ofNullable(allCountries.get(countryCode));
 
                 if (!country.isPresent()) {
                     LOG.warn("EXECUTION|The country {} is unknown. Please check your database", countryCode);
                     continue;
                 }
 
-                final Optional<File> countryJobFolder = Arrays.stream(countryJobDirectories)
-                        .filter(file -> countryCode.equals(file.getName().toLowerCase()))
-                        .findFirst();
+                final Optional<File> countryJobFolder = Optional.ofNullable(countryJobDirectories.get(countryCode));
 
                 CountryDeployment countryDeployment;
                 File[] allCountryJobFolderContents;
@@ -313,10 +331,10 @@ public class ExecutionFilesProcessorService {
                 countryDeployments.add(countryDeployment);
 
                 final String[] typeCodes = getTypeCodes(rule.getTestTypes());
-                final File[] typeJobFolders = Arrays.stream(allCountryJobFolderContents).filter(File::isDirectory).toArray(File[]::new);
+                final Map<String, File> typeJobFolders = getDirectoriesByLowerCaseName(allCountryJobFolderContents);
 
                 for (final String typeCode : typeCodes) {
-                    final Optional<Type> type = getTypeFromCodeAndTypes(typeCode, allTypes);
+                    final Optional<Type> type = Optional.ofNullable(allTypes.get(typeCode.toLowerCase()));
 
                     if (!type.isPresent()) {
                         LOG.warn("EXECUTION|The type {} is unknown. It maybe needs to inserted into the ARA database", typeCode);
@@ -325,9 +343,7 @@ public class ExecutionFilesProcessorService {
 
                     final Source source = type.get().getSource();
                     if (source != null) {
-                        final Optional<File> typeJobFolder = Arrays.stream(typeJobFolders)
-                                .filter(file -> typeCode.equalsIgnoreCase(file.getName()))
-                                .findFirst();
+                        final Optional<File> typeJobFolder = Optional.ofNullable(typeJobFolders.get(typeCode.toLowerCase()));
 
                         if (!typeJobFolder.isPresent()) {
                             Run run = getUnavailableRun(country.get(), type.get(), platformName, rule);
@@ -341,10 +357,23 @@ public class ExecutionFilesProcessorService {
 
                         Technology technology = source.getTechnology();
                         Optional<ScenariosIndexer> scenariosIndexer = scenariosIndexerStrategy.getScenariosIndexer(technology);
-                        scenariosIndexer.ifPresent(indexer -> {
-                            final List<ExecutedScenario> executedScenarios = indexer.getExecutedScenarios(typeJobFolder.get(), run, projectId);
-                            run.addExecutedScenarios(new TreeSet<>(executedScenarios));
-                        });
+                        if (scenariosIndexer.isPresent()) {
+                            final String fingerprint = incremental ? fileProcessorService.getDirectoryFingerprint(typeJobFolder.get(), buildInformationPath).orElse(null) : null;
+                            run.setIndexingFingerprint(fingerprint);
+
+                            final Run previousRun = previousRuns.get(ExecutionKey.of(platformName, countryCode, typeCode));
+                            if (fingerprint != null && previousRun != null && fingerprint.equals(previousRun.getIndexingFingerprint())) {
+                                LOG.info("EXECUTION|The files of the run {}/{}/{} did not change since the last indexing: keeping its executed scenarios", platformName, countryCode, typeCode);
+                                run.setId(previousRun.getId());
+                                run.addExecutedScenarios(new ArrayList<>(previousRun.getExecutedScenarios()));
+                            } else {
+                                Timer.Sample scenariosSample = indexingMetricsService.start();
+                                final List<ExecutedScenario> executedScenarios = scenariosIndexer.get().getExecutedScenarios(typeJobFolder.get(), run, projectId);
+                                indexingMetricsService.recordStage(scenariosSample, Stage.SCENARIOS, project, technology);
+                                indexingMetricsService.countScenarios(project, technology, executedScenarios.size());
+                                run.addExecutedScenarios(new TreeSet<>(executedScenarios));
+                            }
+                        }
 
                         runs.add(run);
                     }
@@ -367,49 +396,92 @@ public class ExecutionFilesProcessorService {
         return rawTypeString.split(PlatformRule.TEST_TYPES_SEPARATOR);
     }
 
+    /**
+     * Index the runs of the previously indexed execution that have a fingerprint (i.e. that were indexed incrementally).
+     * The runs of a done execution are never reused, as such an execution is not indexed again.
+     * @param previousExecution the execution previously indexed for the same build, if any
+     * @return the fingerprinted runs, by (platform, country, type)
+     */
+    private Map<ExecutionKey, Run> getFingerprintedRuns(Optional<Execution> previousExecution) {
+        if (!previousExecution.isPresent() || JobStatus.DONE.equals(previousExecution.get().getStatus())) {
+            return Collections.emptyMap();
+        }
+        Map<ExecutionKey, Run> runs = new HashMap<>();
+        for (Run run : previousExecution.get().getRuns()) {
+            if (run.getIndexingFingerprint() != null && run.getCountry() != null && run.getType() != null) {
+                runs.put(ExecutionKey.of(run.getPlatform(), run.getCountry().getCode(), run.getType().getCode()), run);
+            }
+        }
+        return runs;
+    }
+
+    /**
+     * Index the sub-folders of a folder by their lower-cased name.
+     * When several folders only differ by their case, the first one listed wins.
+     * @param files the folder contents (can be null if the folder could not be listed)
+     * @return the sub-folders, by lower-cased name
+     */
+    private Map<String, File> getDirectoriesByLowerCaseName(File[] files) {
+        Map<String, File> directories = new HashMap<>();
+        if (files != null) {
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    directories.putIfAbsent(StringUtils.lowerCase(file.getName()), file);
+                }
+            }
+        }
+        return directories;
+    }
+
     /**
      * Check whether an execution is complete or not.
      * An execution is complete if and only if all the rules has been handled.
+     * The country deployments and runs are indexed once by (platform, country, type), so that each rule is checked in constant time.
      * @param execution the execution to check
      * @param cycleDef the {@link CycleDef} containing the platform rules
-     * @return
+     * @return true if all the enabled rules have a matching country deployment and matching runs
      */
     private boolean executionIsComplete(Execution execution, CycleDef cycleDef) {
-        final Map<String, List<PlatformRule>> platformsRules = cycleDef.getPlatformsRules();
-        return platformsRules.entrySet()
+        final Set<ExecutionKey> countryDeploymentKeys = execution.getCountryDeployments()
+                .stream()
+                .map(cd -> ExecutionKey.of(cd.getPlatform(), cd.getCountry().getCode(), null))
+                .collect(Collectors.toSet());
+        final Set<ExecutionKey> runKeys = execution.getRuns()
                 .stream()
-                .map(entry -> Pair.of(
-                        entry.getKey(),
-                        entry.getValue().stream()
-                                .filter(PlatformRule::isEnabled)
-                                .map(rule -> Pair.of(
-                                        execution.getCountryDeployments().stream()
-                                                .anyMatch(
-                                                        cd -> cd.getCountry().getCode().equalsIgnoreCase(rule.getCountry()) &&
-                                                                cd.getPlatform().equalsIgnoreCase(entry.getKey())),
-                                        Arrays.stream(getTypeCodes(rule.getTestTypes()))
-                                                .map(type -> execution.getRuns().stream()
-                                                        .anyMatch(r -> r.getCountry().getCode().equalsIgnoreCase(rule.getCountry()) &&
-                                                                r.getType().getCode().equalsIgnoreCase(type) &&
-                                                                r.getPlatform().equalsIgnoreCase(entry.getKey())))))
-                                .map(pair -> Pair.of(pair.getFirst(), pair.getSecond().allMatch(b -> b)))
-                                .map(pair -> pair.getFirst() && pair.getSecond())
-                                .allMatch(b -> b)))
-                .map(Pair::getSecond)
-                .allMatch(b -> b);
+                .map(r -> ExecutionKey.of(r.getPlatform(), r.getCountry().getCode(), r.getType().getCode()))
+                .collect(Collectors.toSet());
+
+        final Map<String, List<PlatformRule>> platformsRules = cycleDef.getPlatformsRules();
+        for (final Entry<String, List<PlatformRule>> entry : platformsRules.entrySet()) {
+            final String platformName = entry.getKey();
+            for (final PlatformRule rule : entry.getValue()) {
+                if (!rule.isEnabled()) {
+                    continue;
+                }
+                if (!countryDeploymentKeys.contains(ExecutionKey.of(platformName, rule.getCountry(), null))) {
+                    return false;
+                }
+                for (final String typeCode : getTypeCodes(rule.getTestTypes())) {
+                    if (!runKeys.contains(ExecutionKey.of(platformName, rule.getCountry(), typeCode))) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
     }
 
     /**
-     * Get the country matching the country code, if found
-     * @param countryCode the country code
+     * Index the countries by their lower-cased code (countries without code are ignored)
      * @param countries all the countries available
-     * @return the matching country, if any
+     * @return the countries, by lower-cased code
      */
-    private Optional<Country> getCountryFromCodeAndCountries(String countryCode, List<Country> countries) {
-        return countries.stream()
+    private Map<String, Country> getCountriesByLowerCaseCode(List<Country> countries) {
+        Map<String, Country> countriesByCode = new HashMap<>();
+        countries.stream()
                 .filter(country -> StringUtils.isNotBlank(country.getCode()))
-                .filter(country -> countryCode.equals(country.getCode().toLowerCase()))
-                .findFirst();
+                .forEach(country -> countriesByCode.putIfAbsent(country.getCode().toLowerCase(), country));
+        return countriesByCode;
     }
 
     /**
@@ -465,16 +537,16 @@ public class ExecutionFilesProcessorService {
     }
 
     /**
-     * Get the type matching the type code, if found
-     * @param typeCode the type code
+     * Index the types by their lower-cased code (types without code are ignored)
      * @param types all the types available
-     * @return the matching type, if any
+     * @return the types, by lower-cased code
      */
-    private Optional<Type> getTypeFromCodeAndTypes(String typeCode, List<Type> types) {
-        return types.stream()
+    private Map<String, Type> getTypesByLowerCaseCode(List<Type> types) {
+        Map<String, Type> typesByCode = new HashMap<>();
+        types.stream()
                 .filter(type -> StringUtils.isNotBlank(type.getCode()))
-                .filter(type -> typeCode.equalsIgnoreCase(type.getCode()))
-                .findFirst();
+                .forEach(type -> typesByCode.putIfAbsent(type.getCode().toLowerCase(), type));
+        return typesByCode;
     }
 
     /**
@@ -565,4 +637,16 @@ public class ExecutionFilesProcessorService {
 
         return jobStatusToConvert;
     }
+
+    /**
+     * Case-insensitive (platform, country, type) key of a country deployment (without type) or of a run
+     */
+    private static final record ExecutionKey(String platform, String country, String type) {
+
+        static ExecutionKey of(String platform, String country, String type) {
+            return new ExecutionKey(StringUtils.lowerCase(platform), StringUtils.lowerCase(country), StringUtils.lowerCase(type));
+        }
+
+    }
+
 }
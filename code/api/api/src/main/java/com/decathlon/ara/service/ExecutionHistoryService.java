@@ -26,6 +26,8 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -37,10 +39,10 @@ import com.decathlon.ara.domain.Problem;
 import com.decathlon.ara.domain.Run;
 import com.decathlon.ara.domain.Severity;
 import com.decathlon.ara.domain.Team;
+import com.decathlon.ara.domain.projection.CompactedScenarioCount;
 import com.decathlon.ara.domain.projection.ExecutedScenarioWithErrorAndProblemJoin;
 import com.decathlon.ara.repository.ExecutedScenarioRepository;
 import com.decathlon.ara.repository.ExecutionRepository;
-import com.decathlon.ara.repository.FunctionalityRepository;
 import com.decathlon.ara.scenario.cucumber.util.ScenarioExtractorUtil;
 import com.decathlon.ara.service.dto.execution.ExecutionHistoryPointDTO;
 import com.decathlon.ara.service.dto.quality.QualitySeverityDTO;
@@ -50,29 +52,37 @@ import com.decathlon.ara.service.dto.run.RunWithQualitiesDTO;
 import com.decathlon.ara.service.dto.severity.SeverityDTO;
 import com.decathlon.ara.service.exception.NotFoundException;
 import com.decathlon.ara.service.mapper.GenericMapper;
+import com.decathlon.ara.util.JsonUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 
 @Service
 @Transactional
 public class ExecutionHistoryService {
 
+    private static final Logger LOG = LoggerFactory.getLogger(ExecutionHistoryService.class);
+
+    private static final TypeReference<List<CompactedScenarioCount>> TYPE_REFERENCE_TO_LIST_COMPACTED_SCENARIO_COUNT = new TypeReference<>() {
+    };
+
     private final ExecutionRepository executionRepository;
 
     private final GenericMapper mapper;
 
     private final ExecutedScenarioRepository executedScenarioRepository;
 
-    private final FunctionalityRepository functionalityRepository;
+    private final FunctionalityTeamService functionalityTeamService;
 
     private final SeverityService severityService;
 
     public ExecutionHistoryService(ExecutionRepository executionRepository,
             GenericMapper mapper,
-            ExecutedScenarioRepository executedScenarioRepository, FunctionalityRepository functionalityRepository,
+            ExecutedScenarioRepository executedScenarioRepository, FunctionalityTeamService functionalityTeamService,
             SeverityService severityService) {
         this.executionRepository = executionRepository;
         this.mapper = mapper;
         this.executedScenarioRepository = executedScenarioRepository;
-        this.functionalityRepository = functionalityRepository;
+        this.functionalityTeamService = functionalityTeamService;
         this.severityService = severityService;
     }
 
@@ -110,13 +120,14 @@ public class ExecutionHistoryService {
     private List<ExecutionHistoryPointDTO> computeExecutionHistoryPointDTOS(long projectId, List<Execution> executions) {
         final List<ExecutionHistoryPointDTO> dtoList = mapper.mapCollection(executions, ExecutionHistoryPointDTO.class);
 
-        Map<Long, Long> functionalityTeamIds = functionalityRepository.getFunctionalityTeamIds(projectId);
+        Map<Long, Long> functionalityTeamIds = functionalityTeamService.getFunctionalityTeamIds(projectId);
 
         final Set<Long> runIds = dtoList.stream()
                 .flatMap(executionHistoryPointDTO -> executionHistoryPointDTO.getRuns().stream())
                 .map(RunDTO::getId)
                 .collect(Collectors.toSet());
         final List<ExecutedScenarioWithErrorAndProblemJoin> allErrorCounts = executedScenarioRepository.findAllErrorAndProblemCounts(runIds);
+        final Map<Long, List<CompactedScenarioCount>> compactedScenarioCounts = getCompactedScenarioCounts(executions);
 
         final List<Long> executionIds = executions.stream().map(Execution::getId).toList();
 
@@ -124,7 +135,7 @@ public class ExecutionHistoryService {
         List<Execution> previousExecutions = executionRepository.findPreviousOf(executionIds);
 
         for (ExecutionHistoryPointDTO dto : dtoList) {
-            fillExecutionHistoryPoint(dto, allErrorCounts, functionalityTeamIds);
+            fillExecutionHistoryPoint(dto, allErrorCounts, compactedScenarioCounts, functionalityTeamIds);
             dto.setNextId(findExecutionByBranchAndName(nextExecutions, dto.getBranch(), dto.getName()));
             dto.setPreviousId(findExecutionByBranchAndName(previousExecutions, dto.getBranch(), dto.getName()));
         }
@@ -148,10 +159,36 @@ public class ExecutionHistoryService {
         for (ExecutedScenarioWithErrorAndProblemJoin executedScenarioJoin : executedScenarioRepository.findAllErrorAndProblemCounts(runIds)) {
             incrementCountsByHandling(executedScenarioJoin, executedScenarioHandlingCounts);
         }
+        for (List<CompactedScenarioCount> compactedCounts : getCompactedScenarioCounts(Collections.singletonList(execution)).values()) {
+            for (CompactedScenarioCount compactedCount : compactedCounts) {
+                addPassed(executedScenarioHandlingCounts, compactedCount.count());
+            }
+        }
         return executedScenarioHandlingCounts;
     }
 
-    private void fillExecutionHistoryPoint(ExecutionHistoryPointDTO execution, List<ExecutedScenarioWithErrorAndProblemJoin> allErrorCounts, Map<Long, Long> functionalityTeamIds) {
+    /**
+     * @param executions executions, some of their runs being maybe compacted
+     * @return the counts of the passed scenarios removed by the compaction of the runs, by run ID (only for compacted
+     * runs)
+     */
+    Map<Long, List<CompactedScenarioCount>> getCompactedScenarioCounts(List<Execution> executions) {
+        Map<Long, List<CompactedScenarioCount>> compactedScenarioCounts = new HashMap<>();
+        for (Execution execution : executions) {
+            for (Run run : execution.getRuns()) {
+                if (run.getCompactedScenarioCounts() != null) {
+                    try {
+                        compactedScenarioCounts.put(run.getId(), JsonUtil.parse(run.getCompactedScenarioCounts(), TYPE_REFERENCE_TO_LIST_COMPACTED_SCENARIO_COUNT));
+                    } catch (JsonProcessingException e) {
+                        LOG.warn("EXECUTION|Cannot parse the compacted scenario counts of run {}, doing without them", run.getId(), e);
+                    }
+                }
+            }
+        }
+        return compactedScenarioCounts;
+    }
+
+    private void fillExecutionHistoryPoint(ExecutionHistoryPointDTO execution, List<ExecutedScenarioWithErrorAndProblemJoin> allErrorCounts, Map<Long, List<CompactedScenarioCount>> compactedScenarioCounts, Map<Long, Long> functionalityTeamIds) {
         List<SeverityDTO> activeSeverities = execution.getQualitySeverities().stream()
                 .map(QualitySeverityDTO::getSeverity)
                 .toList();
@@ -159,6 +196,7 @@ public class ExecutionHistoryService {
 
         for (RunWithQualitiesDTO run : execution.getRuns()) {
             fillQualities(allErrorCounts, run, functionalityTeamIds, defaultSeverityCode);
+            addCompactedScenarios(compactedScenarioCounts.getOrDefault(run.getId(), Collections.emptyList()), run, functionalityTeamIds, defaultSeverityCode);
         }
     }
 
@@ -188,19 +226,62 @@ public class ExecutionHistoryService {
             // Do the same for the teams of the scenario
             final List<Long> functionalityIds = ScenarioExtractorUtil
                     .extractFunctionalityIds(executedScenarioJoin.getName());
-            final Set<Long> teamIds = functionalityIds.stream()
-                    .map(functionalityTeamIds::get)
-                    .filter(Objects::nonNull) // Unknown functionality IDs have null team IDs
-                    .collect(Collectors.toSet());
-            if (teamIds.isEmpty()) {
-                addScenarioForTeamAndSeverity(run, defaultSeverityCode, executedScenarioJoin, Team.NOT_ASSIGNED.getId());
-            }
-            for (Long teamId : teamIds) {
+            for (Long teamId : getTeamIds(functionalityIds, functionalityTeamIds)) {
                 addScenarioForTeamAndSeverity(run, defaultSeverityCode, executedScenarioJoin, teamId);
             }
         }
     }
 
+    /**
+     * Add the passed scenarios removed by the compaction of a run to its quality aggregates (counts of scenarios per
+     * severity and per team+severity), as if they were still there.
+     *
+     * @param compactedCounts      the counts of the passed scenarios removed by the compaction of the run
+     * @param run                  this method will increment {@code qualitiesPerSeverity} and
+     *                             {@code qualitiesPerTeamAndSeverity} in it
+     * @param functionalityTeamIds a map of key functionality.id and value functionality.teamId
+     * @param defaultSeverityCode  the default severity code to use if the scenarios have none
+     */
+    void addCompactedScenarios(List<CompactedScenarioCount> compactedCounts,
+                               RunWithQualitiesDTO run,
+                               Map<Long, Long> functionalityTeamIds,
+                               String defaultSeverityCode) {
+        for (CompactedScenarioCount compactedCount : compactedCounts) {
+            final String effectiveSeverityCode = (StringUtils.isEmpty(compactedCount.severity()) ? defaultSeverityCode : compactedCount.severity());
+            addPassed(run.getQualitiesPerSeverity(), effectiveSeverityCode, compactedCount.count());
+            for (Long teamId : getTeamIds(compactedCount.functionalityIds(), functionalityTeamIds)) {
+                addPassed(run.getQualitiesPerTeamAndSeverity().computeIfAbsent(teamId.toString(), k -> new HashMap<>()), effectiveSeverityCode, compactedCount.count());
+            }
+        }
+    }
+
+    /**
+     * @param functionalityIds     the IDs of the functionalities covered by a scenario
+     * @param functionalityTeamIds a map of key functionality.id and value functionality.teamId
+     * @return the IDs of the teams of the functionalities, or the not-assigned team if none is known
+     */
+    private Set<Long> getTeamIds(List<Long> functionalityIds, Map<Long, Long> functionalityTeamIds) {
+        final Set<Long> teamIds = functionalityIds.stream()
+                .map(functionalityTeamIds::get)
+                .filter(Objects::nonNull) // Unknown functionality IDs have null team IDs
+                .collect(Collectors.toSet());
+        if (teamIds.isEmpty()) {
+            return Collections.singleton(Team.NOT_ASSIGNED.getId());
+        }
+        return teamIds;
+    }
+
+    private void addPassed(Map<String, ExecutedScenarioHandlingCountsDTO> qualitiesPerSeverity, String severityCode, long count) {
+        if (severityCode != null) { // when no mandatory severity was asked to run => no default severity to find => null
+            addPassed(qualitiesPerSeverity.computeIfAbsent(severityCode, k -> new ExecutedScenarioHandlingCountsDTO()), count);
+        }
+        addPassed(qualitiesPerSeverity.computeIfAbsent(Severity.ALL.getCode(), k -> new ExecutedScenarioHandlingCountsDTO()), count);
+    }
+
+    private static void addPassed(ExecutedScenarioHandlingCountsDTO executedScenarioHandlingCounts, long count) {
+        executedScenarioHandlingCounts.setPassed(executedScenarioHandlingCounts.getPassed() + Math.toIntExact(count));
+    }
+
     private void addScenarioForTeamAndSeverity(RunWithQualitiesDTO run,
                                                String defaultSeverityCode,
                                                ExecutedScenarioWithErrorAndProblemJoin executedScenarioJoin,
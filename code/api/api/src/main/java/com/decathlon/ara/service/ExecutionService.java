@@ -27,9 +27,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.ArrayUtils;
@@ -47,6 +45,9 @@ import com.decathlon.ara.Entities;
 import com.decathlon.ara.Messages;
 import com.decathlon.ara.ci.bean.PlannedIndexation;
 import com.decathlon.ara.ci.service.ExecutionIndexerService;
+import com.decathlon.ara.ci.service.IndexingMetricsService;
+import com.decathlon.ara.ci.service.IndexingMetricsService.Outcome;
+import com.decathlon.ara.ci.service.IndexingMetricsService.Stage;
 import com.decathlon.ara.domain.CycleDefinition;
 import com.decathlon.ara.domain.Error;
 import com.decathlon.ara.domain.ExecutedScenario;
@@ -62,8 +63,6 @@ import com.decathlon.ara.domain.enumeration.QualityStatus;
 import com.decathlon.ara.repository.CycleDefinitionRepository;
 import com.decathlon.ara.repository.ExecutionCompletionRequestRepository;
 import com.decathlon.ara.repository.ExecutionRepository;
-import com.decathlon.ara.repository.FunctionalityRepository;
-import com.decathlon.ara.scenario.cucumber.util.ScenarioExtractorUtil;
 import com.decathlon.ara.service.dto.error.ErrorWithProblemsDTO;
 import com.decathlon.ara.service.dto.executedscenario.ExecutedScenarioWithTeamIdsAndErrorsAndProblemsDTO;
 import com.decathlon.ara.service.dto.execution.ExecutionCriteriaDTO;
@@ -76,6 +75,8 @@ import com.decathlon.ara.service.exception.NotFoundException;
 import com.decathlon.ara.service.mapper.GenericMapper;
 import com.decathlon.ara.service.support.Settings;
 
+import io.micrometer.core.instrument.Timer;
+
 /**
  * Service for managing Execution.
  */
@@ -91,7 +92,7 @@ public class ExecutionService {
 
     private final ExecutionCompletionRequestRepository executionCompletionRequestRepository;
 
-    private final FunctionalityRepository functionalityRepository;
+    private final FunctionalityTeamService functionalityTeamService;
 
     private final GenericMapper mapper;
 
@@ -107,15 +108,18 @@ public class ExecutionService {
 
     private final ProblemService problemService;
 
+    private final IndexingMetricsService indexingMetricsService;
+
     @Autowired
     public ExecutionService(ExecutionRepository executionRepository,
             ExecutionCompletionRequestRepository executionCompletionRequestRepository,
-            FunctionalityRepository functionalityRepository, GenericMapper mapper, ExecutionHistoryService executionHistoryService,
+            FunctionalityTeamService functionalityTeamService, GenericMapper mapper, ExecutionHistoryService executionHistoryService,
             ArchiveService archiveService, SettingService settingService,
-            ExecutionIndexerService executionIndexerService, CycleDefinitionRepository cycleDefinitionRepository, ProblemService problemService) {
+            ExecutionIndexerService executionIndexerService, CycleDefinitionRepository cycleDefinitionRepository, ProblemService problemService,
+            IndexingMetricsService indexingMetricsService) {
         this.executionRepository = executionRepository;
         this.executionCompletionRequestRepository = executionCompletionRequestRepository;
-        this.functionalityRepository = functionalityRepository;
+        this.functionalityTeamService = functionalityTeamService;
         this.mapper = mapper;
         this.executionHistoryService = executionHistoryService;
         this.archiveService = archiveService;
@@ -123,6 +127,7 @@ public class ExecutionService {
         this.executionIndexerService = executionIndexerService;
         this.cycleDefinitionRepository = cycleDefinitionRepository;
         this.problemService = problemService;
+        this.indexingMetricsService = indexingMetricsService;
     }
 
     /**
@@ -163,14 +168,11 @@ public class ExecutionService {
 
     private void mapExecutionProblem(Long projectId, Execution execution, ExecutionWithCountryDeploymentsAndRunsAndExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO dto) {
         int[] positions = { 0, 0, 0 };
-        final Map<Long, Long> functionalityTeamIds = functionalityRepository.getFunctionalityTeamIds(projectId);
+        final Map<Long, Long> functionalityTeamIds = functionalityTeamService.getFunctionalityTeamIds(projectId);
         for (Run run : safeToIterate(execution.getRuns())) {
             for (ExecutedScenario executedScenario : safeToIterate(run.getExecutedScenarios())) {
                 ExecutedScenarioWithTeamIdsAndErrorsAndProblemsDTO executedScenarioDto = dto.getRuns().get(positions[0]).getExecutedScenarios().get(positions[1]);
-                executedScenarioDto.setTeamIds(ScenarioExtractorUtil.extractFunctionalityIds(executedScenario.getName()).stream()
-                        .map(functionalityTeamIds::get)
-                        .filter(Objects::nonNull) // Unknown functionality IDs have null team IDs
-                        .collect(Collectors.toSet()));
+                executedScenarioDto.setTeamIds(FunctionalityTeamService.getTeamIds(functionalityTeamIds, executedScenario.getName()));
                 for (Error error : safeToIterate(executedScenario.getErrors())) {
                     List<Problem> problems = error.getProblemOccurrences().stream()
                             .map(ProblemOccurrence::getProblemPattern)
@@ -351,7 +353,9 @@ public class ExecutionService {
                 .replace(Settings.CYCLE_VARIABLE, cycle);
         File destinationDirectory = new File(path, "incoming");
         String buildInformationFilePath = settingService.get(projectId, Settings.EXECUTION_INDEXER_FILE_BUILD_INFORMATION_PATH);
+        Timer.Sample unzipSample = indexingMetricsService.start();
         List<File> executionDirectories = unzipExecutions(destinationDirectory, zipFile, buildInformationFilePath);
+        indexingMetricsService.recordStage(unzipSample, Stage.UNZIP, projectCode, null);
         launchExecutionDirectoriesProcessingThread(projectId, executionDirectories, cycleDefinition);
     }
 
@@ -372,6 +376,7 @@ public class ExecutionService {
                     processSpecificDirectory(cycleDefinition, executionDirectory);
                 } catch (Exception e) {
                     LOG.warn("EXECUTION|A problem occurred while indexing this execution [{}]", executionDirectory.getPath(), e);
+                    indexingMetricsService.countExecution(indexingMetricsService.getProjectTag(projectId), Outcome.FAILED);
                 } finally {
                     LOG.info("EXECUTION|Cleaning the incoming folder: {}", executionDirectory.getAbsolutePath());
                     cleanExecutionFiles(projectId, executionDirectory);
@@ -17,7 +17,12 @@
 
 package com.decathlon.ara.service;
 
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.decathlon.ara.common.NotGonnaHappenException;
+import com.decathlon.ara.util.ParsingUtil;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,10 +32,18 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
 public class FileProcessorService {
@@ -69,20 +82,17 @@ public class FileProcessorService {
 
     /**
      * Transform a file into an object
+     * @param reader the reader of the objects to map
      * @param rawFile the file to transform
-     * @param objectClass the class of the object to map
      * @param <T> the type of the object to map
      * @return the mapped object
      */
-    private <T> Optional<T> getMappedObjectFromRawFile(File rawFile, Class<T> objectClass) {
-        if (rawFile == null || !rawFile.isFile() || objectClass == null) {
-            return Optional.empty();
-        }
+    private <T> Optional<T> getMappedObjectFromRawFile(ObjectReader reader, Path rawFile) {
         T mappedObject = null;
         try {
-            mappedObject = objectMapper.readValue(rawFile, objectClass);
+            mappedObject = reader.readValue(rawFile.toFile());
         } catch (IOException e) {
-            LOG.warn("Unable to process the file {}", rawFile.getAbsolutePath(), e);
+            LOG.warn("Unable to process the file {}", rawFile.toAbsolutePath(), e);
         }
         return Optional.ofNullable(mappedObject);
     }
@@ -125,14 +135,48 @@ public class FileProcessorService {
         }
 
         final File directory = matchingDirectory.get();
-        final File[] allFilesFromDirectory = directory.listFiles();
-        return Arrays.stream(allFilesFromDirectory)
-                .map(file -> getMappedObjectFromRawFile(file, objectClass))
+        final List<Path> allFilesFromDirectory = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory.toPath(), Files::isRegularFile)) {
+            files.forEach(allFilesFromDirectory::add);
+        } catch (IOException e) {
+            LOG.warn("Unable to list the files of the directory {}", directory.getAbsolutePath(), e);
+            return new ArrayList<>();
+        }
+
+        // Directories can hold one small file per scenario: parse them in parallel, with a reader created only once
+        final ObjectReader reader = objectMapper.readerFor(objectClass);
+        return ParsingUtil.parseInParallel(allFilesFromDirectory, file -> this.<T> getMappedObjectFromRawFile(reader, file))
+                .stream()
                 .filter(Optional::isPresent)
                 .map(Optional::get)
                 .toList();
     }
 
+    /**
+     * Create mapped objects from a file of concatenated JSON objects (eg. one object per line, as in NDJSON), streamed
+     * one object at a time. An object that cannot be mapped is skipped, while a malformed file stops the parsing (the
+     * objects read until then are kept).
+     * @param file the file containing the objects to map
+     * @param objectClass the class of the objects to map
+     * @param <T> the type of the objects to map
+     * @return the mapped objects
+     */
+    public <T> List<T> getMappedObjectsFromConcatenatedFile(File file, Class<T> objectClass) {
+        final List<T> mappedObjects = new ArrayList<>();
+        try (MappingIterator<T> iterator = objectMapper.readerFor(objectClass).readValues(file)) {
+            while (iterator.hasNextValue()) {
+                try {
+                    mappedObjects.add(iterator.nextValue());
+                } catch (JsonMappingException e) {
+                    LOG.warn("Unable to process the object #{} of the file {}", mappedObjects.size() + 1, file.getAbsolutePath(), e);
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to process the file {} after {} objects", file.getAbsolutePath(), mappedObjects.size(), e);
+        }
+        return mappedObjects;
+    }
+
     /**
      * Get a file from a parent directory and a path starting from the parent directory
      * @param parentDirectory the folder in which the file is searched
@@ -183,4 +227,45 @@ public class FileProcessorService {
 
         return Optional.ofNullable(matchingFile);
     }
+
+    /**
+     * Compute a fingerprint of all the files contained in a directory (recursively), from their relative paths, sizes and
+     * last modification dates: the fingerprint changes as soon as a file is added, removed or rewritten.<br>
+     * The file contents are not read, so that fingerprinting stays cheap even for big reports, screenshots or videos.
+     * For the uploaded executions, the modification dates come from the zip entries (see {@link ArchiveService}): a run
+     * uploaded again without change only keeps its fingerprint if the zip stores these dates (as most zip tools do).
+     * @param directory the directory to fingerprint
+     * @param excludedFilePath the relative path (from the directory) of a file to ignore (eg. a file rewritten at each
+     *                         crawl without impacting the reports), if any
+     * @return the fingerprint (a SHA-256 hexadecimal string), if the directory could be read
+     */
+    public Optional<String> getDirectoryFingerprint(File directory, String excludedFilePath) {
+        if (directory == null || !directory.isDirectory()) {
+            return Optional.empty();
+        }
+        final Path root = directory.toPath();
+        final Path excludedPath = StringUtils.isBlank(excludedFilePath) ? null : root.resolve(StringUtils.removeStart(excludedFilePath, File.separator)).normalize();
+        final MessageDigest digest = getSha256Digest();
+        try (Stream<Path> paths = Files.walk(root)) {
+            for (Path path : paths.filter(p -> !p.equals(excludedPath)).sorted().toList()) {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                if (attributes.isRegularFile()) {
+                    String entry = root.relativize(path) + "|" + attributes.size() + "|" + attributes.lastModifiedTime().toMillis() + "\n";
+                    digest.update(entry.getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to fingerprint the directory {}", directory.getAbsolutePath(), e);
+            return Optional.empty();
+        }
+        return Optional.of(HexFormat.of().formatHex(digest.digest()));
+    }
+
+    private static MessageDigest getSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new NotGonnaHappenException("SHA-256 is available in all Java platforms", e);
+        }
+    }
 }
@@ -95,15 +95,18 @@ public class FunctionalityService {
 
     private final GenericMapper mapper;
 
+    private final FunctionalityTeamService functionalityTeamService;
+
     public FunctionalityService(FunctionalityRepository repository, CountryRepository countryRepository,
             TeamRepository teamRepository, TeamService teamService, ProjectService projectService,
-            GenericMapper mapper) {
+            GenericMapper mapper, FunctionalityTeamService functionalityTeamService) {
         this.repository = repository;
         this.countryRepository = countryRepository;
         this.teamRepository = teamRepository;
         this.teamService = teamService;
         this.projectService = projectService;
         this.mapper = mapper;
+        this.functionalityTeamService = functionalityTeamService;
     }
 
     private static boolean isFolder(FunctionalityDTO functionality) {
@@ -173,7 +176,9 @@ public class FunctionalityService {
         entityToUpdate.setCoveredCountryScenarios(dataBaseEntity.getCoveredCountryScenarios());
         entityToUpdate.setIgnoredScenarios(dataBaseEntity.getIgnoredScenarios());
         entityToUpdate.setIgnoredCountryScenarios(dataBaseEntity.getIgnoredCountryScenarios());
-        return mapper.map(repository.save(entityToUpdate), FunctionalityDTO.class);
+        final Functionality updatedEntity = repository.save(entityToUpdate);
+        functionalityTeamService.evict(projectId);
+        return mapper.map(updatedEntity, FunctionalityDTO.class);
     }
 
     private void validateBusinessRules(long projectId, FunctionalityDTO functionality) throws BadRequestException {
@@ -242,7 +247,9 @@ public class FunctionalityService {
         entity.setIgnoredScenarios(isFolder ? null : 0);
         entity.setIgnoredCountryScenarios(null);
 
-        return mapper.map(repository.save(entity), FunctionalityDTO.class);
+        final Functionality createdEntity = repository.save(entity);
+        functionalityTeamService.evict(projectId.longValue());
+        return mapper.map(createdEntity, FunctionalityDTO.class);
     }
 
     /**
@@ -260,6 +267,7 @@ public class FunctionalityService {
                 .orElseThrow(() -> new NotFoundException(Messages.NOT_FOUND_FUNCTIONALITY_OR_FOLDER, Entities.FUNCTIONALITY));
         // Will cascade delete children
         repository.delete(entity);
+        functionalityTeamService.evict(projectId.longValue());
     }
 
     /**
@@ -281,6 +289,7 @@ public class FunctionalityService {
         }
 
         repository.deleteAll(functionalitiesToDelete);
+        functionalityTeamService.evict(projectId.longValue());
         return findAllAsTree(projectId);
     }
 
@@ -454,6 +463,7 @@ public class FunctionalityService {
             LOG.info("FEATURE|import|Saving {} child functionalities into the project {}", childFunctionalities.size(), projectCode);
             childFunctionalities.forEach(f -> this.saveNewFunctionality(f, oldIdsToNewIds, true));
         }
+        functionalityTeamService.evict(projectId);
     }
 
     private String extractExistingCountriesCodes(String functionalityCountries, List<String> existingCodes) {
@@ -0,0 +1,96 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.service;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+
+import com.decathlon.ara.repository.FunctionalityRepository;
+import com.decathlon.ara.repository.custom.util.TransactionAppenderUtil;
+import com.decathlon.ara.scenario.cucumber.util.ScenarioExtractorUtil;
+
+/**
+ * Resolve the teams of executed scenarios, from the functionalities they cover.<br>
+ * The functionality/team assignments of each project are loaded once and kept in memory until a functionality is
+ * created, modified or deleted, instead of being loaded by each execution, history or executed-scenario request.
+ */
+@Service
+public class FunctionalityTeamService {
+
+    /**
+     * Functionalities can be modified by other instances of the application: their assignments are reloaded after this
+     * delay, even if this instance did not modify any functionality
+     */
+    static final long MAX_SNAPSHOT_AGE_MILLIS = 5 * 60 * 1000L;
+
+    private final FunctionalityRepository functionalityRepository;
+
+    // Snapshots are immutable, and ConcurrentHashMap.compute makes the lazy-loading thread-safe
+    private final Map<Long, Snapshot> snapshotsByProjectId = new ConcurrentHashMap<>();
+
+    public FunctionalityTeamService(FunctionalityRepository functionalityRepository) {
+        this.functionalityRepository = functionalityRepository;
+    }
+
+    /**
+     * @param projectId the ID of the project in which to work
+     * @return an unmodifiable map of key functionality.id and value functionality.teamId
+     */
+    public Map<Long, Long> getFunctionalityTeamIds(long projectId) {
+        long now = System.currentTimeMillis();
+        return snapshotsByProjectId.compute(Long.valueOf(projectId), (id, snapshot) -> {
+            if (snapshot == null || now - snapshot.loadedAt() > MAX_SNAPSHOT_AGE_MILLIS) {
+                return new Snapshot(Collections.unmodifiableMap(functionalityRepository.getFunctionalityTeamIds(projectId)), now);
+            }
+            return snapshot;
+        }).functionalityTeamIds();
+    }
+
+    /**
+     * @param functionalityTeamIds a map of key functionality.id and value functionality.teamId
+     * @param scenarioName         the name of an executed scenario, like "Functionalities 1, 2 &amp; 3: Title"
+     * @return the IDs of the teams of the functionalities covered by the scenario (unknown functionalities are ignored)
+     */
+    public static Set<Long> getTeamIds(Map<Long, Long> functionalityTeamIds, String scenarioName) {
+        return ScenarioExtractorUtil.extractFunctionalityIds(scenarioName).stream()
+                .map(functionalityTeamIds::get)
+                .filter(Objects::nonNull) // Unknown functionality IDs have null team IDs
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Forget the functionality/team assignments of a project, for them to be reloaded on next use.<br>
+     * If called in a transaction, they are forgotten again once it is committed, for concurrent requests to not reload
+     * the assignments from before the transaction in between.
+     *
+     * @param projectId the ID of the project whose functionalities were created, modified or deleted
+     */
+    public void evict(long projectId) {
+        TransactionAppenderUtil.doNowAndAfterCommit(() -> snapshotsByProjectId.remove(Long.valueOf(projectId)));
+    }
+
+    private record Snapshot(Map<Long, Long> functionalityTeamIds, long loadedAt) {
+    }
+
+}
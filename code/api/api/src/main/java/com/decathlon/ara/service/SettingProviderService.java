@@ -140,6 +140,19 @@ public class SettingProviderService {
                         "with big Postman and/or Cucumber report files, " +
                         "and you will have to manually delete the directories yourself or use a cron job.").build());
 
+        settings.add(new SettingDTOBuilder()
+                .withCode(Settings.EXECUTION_INDEXER_INCREMENTAL)
+                .withName("Incremental indexing")
+                .withType(SettingType.BOOLEAN)
+                .withDefaultValue(Boolean.TRUE.toString())
+                .withHelp("" +
+                        "While an execution is running, it is indexed again at each crawl. " +
+                        "If checked, the report files of each run are fingerprinted (paths, sizes and modification dates) " +
+                        "and only the runs whose files changed since the previous indexing are parsed and saved again. " +
+                        "Uploaded executions keep the modification dates stored in their zip: " +
+                        "runs uploaded again are only skipped if their zip stores these dates. " +
+                        "Uncheck it to always index all the runs from scratch.").build());
+
         return settings;
     }
 
@@ -163,7 +176,24 @@ public class SettingProviderService {
                 .withRequired(true)
                 .withOptions(options)
                 .withHelp("Define what kind of duration (i.e. day, week, month or year). If the duration unit value above is negative, just select any option.").build();
-        var settings = List.of(durationValueSetting, durationTypeSetting);
+        var compactionDurationValueSetting = new SettingDTOBuilder()
+                .withCode(Settings.EXECUTION_COMPACTION_DURATION_VALUE)
+                .withName("Compaction duration value")
+                .withType(SettingType.INT)
+                .withRequired(true)
+                .withDefaultValue("-1")
+                .withHelp("Define after how many unit the executions are compacted instead of being kept in full: " +
+                        "the passed scenarios are replaced by their counts (the quality trends are kept), " +
+                        "and the contents, exceptions and asset links of the failed scenarios are removed (their errors and problems are kept). " +
+                        "It should be lower than the purge duration. If -1 is selected, then no compaction is applied.").build();
+        var compactionDurationTypeSetting = new SettingDTOBuilder()
+                .withCode(Settings.EXECUTION_COMPACTION_DURATION_TYPE)
+                .withName("Compaction duration type")
+                .withType(SettingType.SELECT)
+                .withRequired(true)
+                .withOptions(options)
+                .withHelp("Define what kind of compaction duration (i.e. day, week, month or year). If the compaction duration unit value above is negative, just select any option.").build();
+        var settings = List.of(durationValueSetting, durationTypeSetting, compactionDurationValueSetting, compactionDurationTypeSetting);
         return new SettingGroupDTO("Execution purge", settings);
     }
 
@@ -22,6 +22,7 @@ import com.decathlon.ara.Messages;
 import com.decathlon.ara.domain.TechnologySetting;
 import com.decathlon.ara.domain.enumeration.Technology;
 import com.decathlon.ara.repository.TechnologySettingRepository;
+import com.decathlon.ara.repository.custom.util.TransactionAppenderUtil;
 import com.decathlon.ara.scenario.common.settings.AvailableTechnologySettings;
 import com.decathlon.ara.service.dto.setting.SettingDTO;
 import com.decathlon.ara.service.dto.setting.SettingDTO.SettingDTOBuilder;
@@ -38,8 +39,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 @Transactional
@@ -51,6 +56,10 @@ public class TechnologySettingService {
 
     private final SettingService settingService;
 
+    // Indexers resolve several technology settings per run: keep a snapshot of the values of each project in memory.
+    // Snapshots are immutable, and ConcurrentHashMap.computeIfAbsent makes the lazy-loading thread-safe
+    private final Map<Long, Map<String, String>> projectsValuesCache = new ConcurrentHashMap<>();
+
     public TechnologySettingService(TechnologySettingRepository technologySettingRepository,
             SettingService settingService) {
         this.technologySettingRepository = technologySettingRepository;
@@ -187,20 +196,43 @@ public class TechnologySettingService {
      */
     @Transactional(readOnly = true)
     public Optional<String> getSettingValue(Long projectId, AvailableTechnologySettings availableTechnologySettings) {
-        String code = availableTechnologySettings.getCode();
-        Technology technology = availableTechnologySettings.getTechnology();
-        Optional<TechnologySetting> savedSetting = technologySettingRepository.findByProjectIdAndCodeAndTechnology(projectId, code, technology);
-        String value = null;
-        if (savedSetting.isPresent()) {
-            return Optional.of(savedSetting.get().getValue());
-        }
+        String key = getCacheKey(availableTechnologySettings.getTechnology(), availableTechnologySettings.getCode());
+        return Optional.ofNullable(getValues(projectId).get(key));
+    }
+
+    /**
+     * Get the values of all the technology settings of a project, making only one database access and keeping the
+     * values in a memory cache, invalidated when a setting of the project is updated.
+     * @param projectId the project id
+     * @return the saved values of the project, or the default values of the settings that were not saved, by
+     * {@link #getCacheKey(Technology, String)}
+     */
+    private Map<String, String> getValues(Long projectId) {
+        return projectsValuesCache.computeIfAbsent(projectId, this::loadValues);
+    }
 
-        Optional<SettingDTO> setting = getSettingDefinitionFromTechnologyAndCode(technology, code);
-        if (setting.isPresent()) {
-            value = setting.get().getDefaultValue();
+    private Map<String, String> loadValues(Long projectId) {
+        Map<String, String> values = new HashMap<>();
+        for (TechnologySettingGroupDTO group : getTechnologySettingGroupDefinition()) {
+            for (SettingDTO setting : group.getSettings()) {
+                values.put(getCacheKey(group.getTechnology(), setting.getCode()), setting.getDefaultValue());
+            }
+        }
+        for (TechnologySetting savedSetting : technologySettingRepository.findByProjectId(projectId)) {
+            values.put(getCacheKey(savedSetting.getTechnology(), savedSetting.getCode()), savedSetting.getValue());
         }
+        return Collections.unmodifiableMap(values);
+    }
+
+    private static String getCacheKey(Technology technology, String code) {
+        return technology + "." + code;
+    }
 
-        return Optional.ofNullable(value);
+    /**
+     * Clear the technology settings code/value contained in cache
+     */
+    public void clearProjectsValuesCache() {
+        projectsValuesCache.clear();
     }
 
     /**
@@ -244,6 +276,10 @@ public class TechnologySettingService {
                         new TechnologySetting(projectId, code, technology));
         settingToSave.setValue(newValue);
         technologySettingRepository.save(settingToSave);
+
+        // Save was successful: the next lookups will reload the values of the project (once committed, for concurrent
+        // lookups to not cache the values from before this transaction)
+        TransactionAppenderUtil.doNowAndAfterCommit(() -> projectsValuesCache.remove(projectId));
     }
 
 }
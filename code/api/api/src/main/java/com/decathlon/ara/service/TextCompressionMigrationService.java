@@ -0,0 +1,180 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.decathlon.ara.domain.converter.TextCompression;
+
+/**
+ * Compress, in background, the large text columns of the rows written before the compression was enabled (see
+ * {@link TextCompression}).<br>
+ * Rows are read and updated in plain SQL: the JPA converters would decompress the values on read, and Hibernate would
+ * then see nothing to update.<br>
+ * The last migrated ID of each column is saved in the {@code text_compression_progress} table, for the next startups
+ * to only read the rows inserted since: the rows inserted while the compression is enabled are already compressed, and
+ * the ones inserted while it was disabled get higher IDs. The values updated while the compression is disabled stay
+ * plain (and are read as is).
+ */
+@Service
+public class TextCompressionMigrationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TextCompressionMigrationService.class);
+
+    /**
+     * @param table       the table of the column
+     * @param column      the compressed column
+     * @param isException true to keep the beginning of the values as plain text (see
+     *                    {@link TextCompression#getExceptionPlainLength()})
+     */
+    record CompressedColumn(String table, String column, boolean isException) {
+
+        int plainLength() {
+            return isException ? TextCompression.getExceptionPlainLength() : 0;
+        }
+
+    }
+
+    private record Row(long id, String value) {
+    }
+
+    static final List<CompressedColumn> COMPRESSED_COLUMNS = List.of(
+            new CompressedColumn("executed_scenario", "content", false),
+            new CompressedColumn("error", "exception", true),
+            new CompressedColumn("scenario", "content", false),
+            new CompressedColumn("functionality", "comment", false));
+
+    /**
+     * Number of rows compressed per transaction
+     */
+    @Value("${ara.database.compression.migration-chunk-size:500}")
+    private int chunkSize;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public TextCompressionMigrationService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startMigration() {
+        if (TextCompression.isEnabled()) {
+            var thread = new CustomizableThreadFactory("Compression-").newThread(this::compressAllColumns);
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Compress the existing rows of all the compressed columns.
+     */
+    public void compressAllColumns() {
+        for (CompressedColumn column : COMPRESSED_COLUMNS) {
+            try {
+                compressColumn(column);
+            } catch (DataAccessException e) {
+                LOG.error("DATABASE|Cannot compress the existing values of {}.{}: will retry at next startup", column.table(), column.column(), e);
+            }
+        }
+    }
+
+    /**
+     * @param column the column to compress, by chunks of rows, from its last migrated row
+     * @return the number of compressed values
+     */
+    int compressColumn(CompressedColumn column) {
+        var select = String.format("SELECT id, %s FROM %s WHERE id > ? AND length(%1$s) >= ? ORDER BY id LIMIT ?",
+                column.column(), column.table());
+        var update = String.format("UPDATE %s SET %s = ? WHERE id = ? AND %2$s = ?", column.table(), column.column());
+        long start = System.currentTimeMillis();
+        int compressedCount = 0;
+        long afterId = getLastMigratedId(column);
+        List<Row> rows;
+        do {
+            rows = jdbcTemplate.query(select, (resultSet, rowNum) -> new Row(resultSet.getLong(1), resultSet.getString(2)),
+                    afterId, TextCompression.getMinLength(), chunkSize);
+            if (!rows.isEmpty()) {
+                var chunk = rows;
+                afterId = rows.get(rows.size() - 1).id();
+                long lastId = afterId;
+                Integer updated = transactionTemplate.execute(status -> {
+                    int count = compressRows(update, column, chunk);
+                    saveLastMigratedId(column, lastId);
+                    return Integer.valueOf(count);
+                });
+                compressedCount += updated == null ? 0 : updated.intValue();
+            }
+        } while (rows.size() == chunkSize);
+        LOG.info("DATABASE|Compressed {} values of {}.{} in {} ms",
+                compressedCount, column.table(), column.column(), System.currentTimeMillis() - start);
+        return compressedCount;
+    }
+
+    private long getLastMigratedId(CompressedColumn column) {
+        List<Long> lastIds = jdbcTemplate.queryForList("SELECT last_id FROM text_compression_progress WHERE table_name = ? AND column_name = ?",
+                Long.class, column.table(), column.column());
+        return lastIds.isEmpty() ? 0 : lastIds.get(0).longValue();
+    }
+
+    private void saveLastMigratedId(CompressedColumn column, long lastId) {
+        int updated = jdbcTemplate.update("UPDATE text_compression_progress SET last_id = ? WHERE table_name = ? AND column_name = ?",
+                Long.valueOf(lastId), column.table(), column.column());
+        if (updated == 0) {
+            jdbcTemplate.update("INSERT INTO text_compression_progress (table_name, column_name, last_id) VALUES (?, ?, ?)",
+                    column.table(), column.column(), Long.valueOf(lastId));
+        }
+    }
+
+    private int compressRows(String update, CompressedColumn column, List<Row> rows) {
+        List<Object[]> batchArguments = new ArrayList<>();
+        for (Row row : rows) {
+            if (!TextCompression.isCompressed(row.value())) {
+                var compressed = TextCompression.compress(row.value(), column.plainLength());
+                if (!compressed.equals(row.value())) {
+                    // Only update the row if it did not change in the meantime
+                    batchArguments.add(new Object[] { compressed, row.id(), row.value() });
+                }
+            }
+        }
+        if (batchArguments.isEmpty()) {
+            return 0;
+        }
+        int updated = 0;
+        for (int count : jdbcTemplate.batchUpdate(update, batchArguments)) {
+            // Some drivers do not report the count of each statement of a batch
+            updated += count < 0 ? 1 : count;
+        }
+        return updated;
+    }
+
+}
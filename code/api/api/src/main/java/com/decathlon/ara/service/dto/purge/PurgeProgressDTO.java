@@ -0,0 +1,74 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.service.dto.purge;
+
+import java.util.Date;
+
+public class PurgeProgressDTO {
+
+    private long totalExecutions;
+    private long deletedExecutions;
+    private int percentage;
+    private boolean done;
+    private Date startDateTime;
+    private Date endDateTime;
+    private Date estimatedEndDateTime;
+
+    public PurgeProgressDTO() {
+    }
+
+    public PurgeProgressDTO(long totalExecutions, long deletedExecutions, int percentage, boolean done,
+            Date startDateTime, Date endDateTime, Date estimatedEndDateTime) {
+        this.totalExecutions = totalExecutions;
+        this.deletedExecutions = deletedExecutions;
+        this.percentage = percentage;
+        this.done = done;
+        this.startDateTime = startDateTime;
+        this.endDateTime = endDateTime;
+        this.estimatedEndDateTime = estimatedEndDateTime;
+    }
+
+    public long getTotalExecutions() {
+        return totalExecutions;
+    }
+
+    public long getDeletedExecutions() {
+        return deletedExecutions;
+    }
+
+    public int getPercentage() {
+        return percentage;
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    public Date getStartDateTime() {
+        return startDateTime;
+    }
+
+    public Date getEndDateTime() {
+        return endDateTime;
+    }
+
+    public Date getEstimatedEndDateTime() {
+        return estimatedEndDateTime;
+    }
+
+}
@@ -34,6 +34,17 @@ public class ExecutedScenarioHistoryInputDTO {
 
     private ExecutedScenarioHistoryDuration duration;
 
+    /**
+     * The maximum number of executed scenarios to return (the most recent ones), or null to return the whole history
+     */
+    private Integer limit;
+
+    /**
+     * The ID of the first (oldest) executed scenario of the previous page, to return the page of the executed scenarios
+     * before it, or null to return the first page
+     */
+    private Long beforeId;
+
     public Optional<Period> getDuration() {
         if (duration == null) {
             return Optional.empty();
@@ -61,6 +72,14 @@ public class ExecutedScenarioHistoryInputDTO {
         return runTypeCode;
     }
 
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public Long getBeforeId() {
+        return beforeId;
+    }
+
     private class ExecutedScenarioHistoryDuration {
         private int value;
         private ExecutedScenarioHistoryDurationType type;
@@ -58,8 +58,11 @@ public class Settings {
     public static final String EXECUTION_INDEXER_FILE_CYCLE_DEFINITION_PATH = "execution.indexer.file.cycleDefinitionPath";
     public static final String EXECUTION_INDEXER_FILE_BUILD_INFORMATION_PATH = "execution.indexer.file.buildInformationPath";
     public static final String EXECUTION_INDEXER_FILE_DELETE_AFTER_INDEXING_AS_DONE = "execution.indexer.file.deleteAfterIndexingAsDone";
+    public static final String EXECUTION_INDEXER_INCREMENTAL = "execution.indexer.incremental";
     public static final String EXECUTION_PURGE_DURATION_VALUE = "execution.purge.duration.value";
     public static final String EXECUTION_PURGE_DURATION_TYPE = "execution.purge.duration.type";
+    public static final String EXECUTION_COMPACTION_DURATION_VALUE = "execution.compaction.duration.value";
+    public static final String EXECUTION_COMPACTION_DURATION_TYPE = "execution.compaction.duration.type";
 
     public static final String EMAIL_FROM = "email.from";
     public static final String EMAIL_TO_EXECUTION_CRASHED = "email.to.execution.crashed";
@@ -0,0 +1,44 @@
+package com.decathlon.ara.util;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.Function;
+
+/**
+ * Parse independent report files in parallel.<br>
+ * The parsing runs on a pool bounded to the number of processors and shared by all the indexers, rather than on the
+ * common ForkJoinPool, so that big runs cannot starve the other parallel streams of the application.
+ */
+public class ParsingUtil {
+
+    private static final ForkJoinPool PARSING_POOL = new ForkJoinPool(
+            Runtime.getRuntime().availableProcessors(),
+            pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("Parsing-" + thread.getPoolIndex());
+                thread.setDaemon(true);
+                return thread;
+            },
+            null,
+            false);
+
+    private ParsingUtil() {
+    }
+
+    /**
+     * @param items  the items to parse (files, paths...)
+     * @param parser the function parsing one item: it must not depend on the other items
+     * @param <T>    the type of the items to parse
+     * @param <R>    the type of the parsed objects
+     * @return the parsed objects, in the order of the items
+     */
+    public static <T, R> List<R> parseInParallel(Collection<T> items, Function<? super T, R> parser) {
+        if (items.size() < 2) {
+            return items.stream().map(parser).toList();
+        }
+        return PARSING_POOL.submit(() -> items.parallelStream().map(parser).toList()).join();
+    }
+
+}
@@ -4,11 +4,15 @@ import static com.decathlon.ara.web.rest.util.RestConstants.PROJECT_API_PATH;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.decathlon.ara.purge.service.PurgeService;
+import com.decathlon.ara.service.ProjectService;
+import com.decathlon.ara.service.dto.purge.PurgeProgressDTO;
+import com.decathlon.ara.service.exception.NotFoundException;
 import com.decathlon.ara.web.rest.util.ResponseUtil;
 
 @RestController
@@ -17,12 +21,15 @@ public class PurgeResource {
 
     private final PurgeService purgeService;
 
-    public PurgeResource(PurgeService purgeService) {
+    private final ProjectService projectService;
+
+    public PurgeResource(PurgeService purgeService, ProjectService projectService) {
         this.purgeService = purgeService;
+        this.projectService = projectService;
     }
 
     /**
-     * Force a project executions purge
+     * Force a project executions purge (then compaction)
      * @param projectCode the project code
      * @return an http response
      */
@@ -32,4 +39,15 @@ public class PurgeResource {
         return ResponseUtil.deleted("Purge", projectCode);
     }
 
+    /**
+     * Get the progress of the running (or last) purge of a project executions
+     * @param projectCode the project code
+     * @return the progress and estimated end of the purge, or a 404 if no purge ran since the application started
+     * @throws NotFoundException if the project is unknown
+     */
+    @GetMapping("/progress")
+    public ResponseEntity<PurgeProgressDTO> getProgress(@PathVariable String projectCode) throws NotFoundException {
+        return ResponseEntity.of(purgeService.getProgress(projectService.toId(projectCode)));
+    }
+
 }
@@ -0,0 +1,149 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.ci.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestExecutionListeners;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.support.DependencyInjectionTestExecutionListener;
+import org.springframework.test.context.transaction.TransactionalTestExecutionListener;
+
+import com.decathlon.ara.ci.bean.PlannedIndexation;
+import com.decathlon.ara.domain.CycleDefinition;
+import com.decathlon.ara.repository.CycleDefinitionRepository;
+import com.github.springtestdbunit.DbUnitTestExecutionListener;
+import com.github.springtestdbunit.annotation.DatabaseOperation;
+import com.github.springtestdbunit.annotation.DatabaseSetup;
+import com.github.springtestdbunit.annotation.DatabaseTearDown;
+
+/**
+ * Not transactional: each indexing commits, as when the crawler indexes a running execution again and again.
+ */
+@SpringBootTest
+@TestExecutionListeners({
+        TransactionalTestExecutionListener.class,
+        DependencyInjectionTestExecutionListener.class,
+        DbUnitTestExecutionListener.class
+})
+@TestPropertySource(properties = {
+        "ara.database.target=h2"
+})
+class ExecutionIndexerServiceIT {
+
+    private static final String BUILD_INFORMATION = "{ \"url\": \"%s\", \"building\": %s, \"timestamp\": 1525442442556 }";
+
+    private static final String CYCLE_DEFINITION = "{ \"platforms_rules\": { \"euin\": [ " +
+            "{ \"country\": \"NL\", \"testTypes\": \"api\", \"severityTags\": \"all\", \"enabled\": true } ] } }";
+
+    private static final String REPORT = "[ { \"name\": \"Feature\", \"uri\": \"feature.feature\", \"elements\": [ " +
+            "{ \"id\": \"feature;passed\", \"name\": \"Passed\", \"type\": \"scenario\", \"keyword\": \"Scenario\", \"line\": 3, \"steps\": [ " +
+            "{ \"name\": \"a passing step\", \"keyword\": \"Given \", \"line\": 4, \"result\": { \"status\": \"passed\" } } ] }, " +
+            "{ \"id\": \"feature;failed\", \"name\": \"Failed\", \"type\": \"scenario\", \"keyword\": \"Scenario\", \"line\": 6, \"steps\": [ " +
+            "{ \"name\": \"a failing step\", \"keyword\": \"Given \", \"line\": 7, \"result\": { \"status\": \"failed\", \"error_message\": \"Boom\" } } ] } ] } ]";
+
+    private static final String SCENARIO_IDS = "select id from executed_scenario order by id";
+
+    private static final String ERROR_IDS = "select id from error order by id";
+
+    @TempDir
+    Path executionFolder;
+
+    @Autowired
+    private ExecutionIndexerService cut;
+
+    @Autowired
+    private CycleDefinitionRepository cycleDefinitionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DatabaseSetup("/dbunit/ExecutionIndexerServiceIT-indexExecution.xml")
+    @DatabaseTearDown(value = "/dbunit/ExecutionIndexerServiceIT-indexExecution.xml", type = DatabaseOperation.DELETE_ALL)
+    void indexExecution_should_keep_the_executed_scenarios_and_errors_of_an_unchanged_run() throws IOException {
+        // GIVEN
+        write("buildInformation.json", String.format(BUILD_INFORMATION, "http://build/1/", "true"));
+        write("cycleDefinition.json", CYCLE_DEFINITION);
+        write("nl/buildInformation.json", String.format(BUILD_INFORMATION, "http://build/1/nl/", "false"));
+        write("nl/api/buildInformation.json", String.format(BUILD_INFORMATION, "http://build/1/nl/api/", "false"));
+        write("nl/api/report.json", REPORT);
+        CycleDefinition cycleDefinition = cycleDefinitionRepository.findById(Long.valueOf(1)).orElseThrow();
+        cut.indexExecution(new PlannedIndexation(cycleDefinition, executionFolder.toFile()));
+        List<Long> scenarioIds = jdbcTemplate.queryForList(SCENARIO_IDS, Long.class);
+        List<Long> errorIds = jdbcTemplate.queryForList(ERROR_IDS, Long.class);
+        List<Long> runIds = jdbcTemplate.queryForList("select id from run", Long.class);
+        String fingerprint = jdbcTemplate.queryForObject("select indexing_fingerprint from run", String.class);
+
+        // WHEN
+        cut.indexExecution(new PlannedIndexation(cycleDefinition, executionFolder.toFile()));
+
+        // THEN
+        assertThat(scenarioIds).hasSize(2);
+        assertThat(errorIds).hasSize(1);
+        assertThat(fingerprint).isNotNull();
+        assertThat(jdbcTemplate.queryForList(SCENARIO_IDS, Long.class)).isEqualTo(scenarioIds);
+        assertThat(jdbcTemplate.queryForList(ERROR_IDS, Long.class)).isEqualTo(errorIds);
+        assertThat(jdbcTemplate.queryForList("select id from run", Long.class)).isEqualTo(runIds);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from execution", Long.class)).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from executed_scenario where run_id not in (select id from run)", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from error where executed_scenario_id not in (select id from executed_scenario)", Long.class)).isZero();
+    }
+
+    @Test
+    @DatabaseSetup("/dbunit/ExecutionIndexerServiceIT-indexExecution.xml")
+    @DatabaseTearDown(value = "/dbunit/ExecutionIndexerServiceIT-indexExecution.xml", type = DatabaseOperation.DELETE_ALL)
+    void indexExecution_should_replace_the_executed_scenarios_of_a_changed_run() throws IOException {
+        // GIVEN
+        write("buildInformation.json", String.format(BUILD_INFORMATION, "http://build/1/", "true"));
+        write("cycleDefinition.json", CYCLE_DEFINITION);
+        write("nl/buildInformation.json", String.format(BUILD_INFORMATION, "http://build/1/nl/", "false"));
+        write("nl/api/buildInformation.json", String.format(BUILD_INFORMATION, "http://build/1/nl/api/", "false"));
+        write("nl/api/report.json", REPORT);
+        CycleDefinition cycleDefinition = cycleDefinitionRepository.findById(Long.valueOf(1)).orElseThrow();
+        cut.indexExecution(new PlannedIndexation(cycleDefinition, executionFolder.toFile()));
+        write("nl/api/report.json", REPORT.replace("\"failed\", \"error_message\": \"Boom\"", "\"passed\""));
+
+        // WHEN
+        cut.indexExecution(new PlannedIndexation(cycleDefinition, executionFolder.toFile()));
+
+        // THEN
+        assertThat(jdbcTemplate.queryForObject("select count(*) from executed_scenario", Long.class)).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from error", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from run", Long.class)).isEqualTo(1);
+    }
+
+    private void write(String path, String content) throws IOException {
+        File file = executionFolder.resolve(path).toFile();
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.writeString(file.toPath(), content, StandardCharsets.UTF_8);
+    }
+
+}
@@ -75,6 +75,9 @@ class ExecutionIndexerServiceTest {
     @Mock
     private ExecutionFilesProcessorService executionFilesProcessorService;
 
+    @Mock
+    private IndexingMetricsService indexingMetricsService;
+
     @Spy
     @InjectMocks
     private ExecutionIndexerService cut;
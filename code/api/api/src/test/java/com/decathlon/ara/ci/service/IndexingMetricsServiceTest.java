@@ -0,0 +1,121 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.ci.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.decathlon.ara.ci.service.IndexingMetricsService.Outcome;
+import com.decathlon.ara.ci.service.IndexingMetricsService.Stage;
+import com.decathlon.ara.domain.Project;
+import com.decathlon.ara.domain.enumeration.Technology;
+import com.decathlon.ara.repository.ProjectRepository;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class IndexingMetricsServiceTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private IndexingMetricsService cut;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cut = new IndexingMetricsService(meterRegistry, projectRepository);
+    }
+
+    @Test
+    void getProjectTag_should_return_the_project_code() {
+        // Given
+        Project project = new Project("prj", "Project");
+        when(projectRepository.findById(1L)).thenReturn(Optional.of(project));
+
+        // When / Then
+        assertThat(cut.getProjectTag(1L)).isEqualTo("prj");
+    }
+
+    @Test
+    void getProjectTag_should_return_the_id_when_the_project_is_not_found() {
+        // Given
+        when(projectRepository.findById(2L)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThat(cut.getProjectTag(2L)).isEqualTo("2");
+        assertThat(cut.getProjectTag(null)).isEqualTo(IndexingMetricsService.NONE);
+    }
+
+    @Test
+    void recordStage_should_time_the_stage_by_project_and_technology() {
+        // When
+        Timer.Sample sample = cut.start();
+        cut.recordStage(sample, Stage.SCENARIOS, "prj", Technology.CUCUMBER);
+        cut.recordStage(cut.start(), Stage.SAVE, "prj", null);
+
+        // Then
+        Timer scenarios = meterRegistry.find(IndexingMetricsService.STAGE_TIMER)
+                .tags("stage", "scenarios", "project", "prj", "technology", "cucumber")
+                .timer();
+        assertThat(scenarios).isNotNull();
+        assertThat(scenarios.count()).isEqualTo(1);
+        Timer save = meterRegistry.find(IndexingMetricsService.STAGE_TIMER)
+                .tags("stage", "save", "project", "prj", "technology", "none")
+                .timer();
+        assertThat(save).isNotNull();
+        assertThat(save.count()).isEqualTo(1);
+    }
+
+    @Test
+    void countExecution_and_countScenarios_should_increment_the_counters() {
+        // When
+        cut.countExecution("prj", Outcome.INDEXED);
+        cut.countExecution("prj", Outcome.INDEXED);
+        cut.countExecution("prj", Outcome.FAILED);
+        cut.countScenarios("prj", Technology.POSTMAN, 42);
+
+        // Then
+        assertThat(meterRegistry.get(IndexingMetricsService.EXECUTIONS_COUNTER).tags("project", "prj", "outcome", "indexed").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(IndexingMetricsService.EXECUTIONS_COUNTER).tags("project", "prj", "outcome", "failed").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(IndexingMetricsService.SCENARIOS_COUNTER).tags("project", "prj", "technology", "postman").counter().count()).isEqualTo(42);
+    }
+
+    @Test
+    void recordAsset_should_time_the_asset_by_technology_storage_and_outcome() {
+        // When
+        cut.recordAsset(cut.start(), Technology.CUCUMBER, "file", true);
+        cut.recordAsset(cut.start(), Technology.POSTMAN, "ssh", false);
+
+        // Then
+        assertThat(meterRegistry.get(IndexingMetricsService.ASSETS_TIMER).tags("technology", "cucumber", "storage", "file", "outcome", "saved").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(IndexingMetricsService.ASSETS_TIMER).tags("technology", "postman", "storage", "ssh", "outcome", "failed").timer().count()).isEqualTo(1);
+    }
+
+}
@@ -0,0 +1,111 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ReadReplicaRoutingDataSourceTest {
+
+    private static final DataSource PRIMARY = h2("primary");
+    private static final DataSource REPLICA_1 = h2("replica1");
+    private static final DataSource REPLICA_2 = h2("replica2");
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void getConnection_should_route_only_the_read_only_transactions_to_the_replicas() throws SQLException {
+        // GIVEN
+        ReadReplicaRoutingDataSource cut = new ReadReplicaRoutingDataSource(PRIMARY, List.of(REPLICA_1, REPLICA_2), null, null, 10, 0);
+        cut.checkReplicationLags();
+
+        // WHEN / THEN
+        assertThat(databaseOf(cut)).isEqualTo("primary");
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertThat(databaseOf(cut)).isEqualTo("primary");
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(List.of(databaseOf(cut), databaseOf(cut), databaseOf(cut))).containsExactly("replica1", "replica2", "replica1");
+    }
+
+    @Test
+    void getConnection_should_stay_on_the_primary_until_the_replicas_lags_are_checked() throws SQLException {
+        // GIVEN
+        ReadReplicaRoutingDataSource cut = new ReadReplicaRoutingDataSource(PRIMARY, List.of(REPLICA_1), null, null, 10, 0);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // WHEN / THEN
+        assertThat(databaseOf(cut)).isEqualTo("primary");
+    }
+
+    @Test
+    void getConnection_should_stay_on_the_primary_when_the_replicas_lag_behind() throws SQLException {
+        // GIVEN
+        ReadReplicaRoutingDataSource lagging = new ReadReplicaRoutingDataSource(PRIMARY, List.of(REPLICA_1), "select 60 as lag", "lag", 10, 0);
+        ReadReplicaRoutingDataSource upToDate = new ReadReplicaRoutingDataSource(PRIMARY, List.of(REPLICA_1), "select 2", null, 10, 0);
+        ReadReplicaRoutingDataSource notReplicating = new ReadReplicaRoutingDataSource(PRIMARY, List.of(REPLICA_1), "select null", null, 10, 0);
+        lagging.checkReplicationLags();
+        upToDate.checkReplicationLags();
+        notReplicating.checkReplicationLags();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // WHEN / THEN
+        assertThat(databaseOf(lagging)).isEqualTo("primary");
+        assertThat(databaseOf(upToDate)).isEqualTo("replica1");
+        assertThat(databaseOf(notReplicating)).isEqualTo("primary");
+    }
+
+    @Test
+    void getConnection_should_skip_the_unreachable_replicas() throws SQLException {
+        // GIVEN
+        DataSource unreachable = new DriverManagerDataSource("jdbc:h2:mem:unreachable;IFEXISTS=TRUE");
+        ReadReplicaRoutingDataSource cut = new ReadReplicaRoutingDataSource(PRIMARY, List.of(unreachable, REPLICA_2), null, null, 10, 0);
+        cut.checkReplicationLags();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // WHEN / THEN
+        assertThat(List.of(databaseOf(cut), databaseOf(cut))).containsExactly("replica2", "replica2");
+    }
+
+    private static String databaseOf(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            String url = connection.getMetaData().getURL();
+            return url.substring("jdbc:h2:mem:".length(), url.indexOf(';') < 0 ? url.length() : url.indexOf(';'));
+        }
+    }
+
+}
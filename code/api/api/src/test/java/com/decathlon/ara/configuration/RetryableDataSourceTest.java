@@ -0,0 +1,208 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.decathlon.ara.configuration.RetryableDataSource.State;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class RetryableDataSourceTest {
+
+    private static final long OPEN_DURATION_MILLIS = 200;
+
+    @Mock
+    private DataSource delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RetryableDataSource cut;
+
+    @BeforeEach
+    void setUp() {
+        givenMaxWaitMillis(0);
+    }
+
+    private void givenMaxWaitMillis(long maxWaitMillis) {
+        meterRegistry = new SimpleMeterRegistry();
+        cut = new RetryableDataSource(delegate, new RetryableDataSource.Settings(maxWaitMillis, 500, 2, OPEN_DURATION_MILLIS));
+        cut.bindTo(meterRegistry);
+    }
+
+    @Test
+    void getConnection_should_retry_until_the_first_connection_at_startup() throws SQLException {
+        // GIVEN
+        Connection connection = mock(Connection.class);
+        when(delegate.getConnection())
+                .thenThrow(new SQLException("starting"))
+                .thenThrow(new SQLException("starting"))
+                .thenReturn(connection);
+
+        // WHEN / THEN
+        assertThat(cut.getConnection()).isSameAs(connection);
+        assertThat(cut.getState()).isEqualTo(State.CLOSED);
+        assertThat(meterRegistry.get(RetryableDataSource.ACQUISITION_TIMER).tag("outcome", "acquired").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void getConnection_should_fail_fast_once_the_circuit_is_open_then_probe_the_database() throws SQLException, InterruptedException {
+        // GIVEN
+        Connection connection = mock(Connection.class);
+        SQLException failure = new SQLException("down");
+        when(delegate.getConnection())
+                .thenReturn(connection)
+                .thenThrow(failure)
+                .thenThrow(failure)
+                .thenThrow(failure)
+                .thenReturn(connection);
+        cut.getConnection();
+
+        // WHEN the database goes down
+        assertThatThrownBy(cut::getConnection).isSameAs(failure);
+        assertThat(cut.getState()).isEqualTo(State.CLOSED);
+        assertThatThrownBy(cut::getConnection).isSameAs(failure);
+
+        // THEN the circuit is open, and the next acquisitions do not wait for the database
+        assertThat(cut.getState()).isEqualTo(State.OPEN);
+        assertThatThrownBy(cut::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        verify(delegate, times(3)).getConnection();
+        assertThat(meterRegistry.get(RetryableDataSource.BREAKER_STATE_GAUGE).tag("state", "open").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get(RetryableDataSource.ACQUISITION_TIMER).tag("outcome", "rejected").timer().count()).isEqualTo(1);
+
+        // WHEN the probe fails, THEN the circuit is open again
+        Thread.sleep(OPEN_DURATION_MILLIS + 50);
+        assertThatThrownBy(cut::getConnection).isSameAs(failure);
+        assertThat(cut.getState()).isEqualTo(State.OPEN);
+        assertThatThrownBy(cut::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        // WHEN the probe succeeds, THEN the circuit is closed
+        Thread.sleep(OPEN_DURATION_MILLIS + 50);
+        assertThat(cut.getConnection()).isSameAs(connection);
+        assertThat(cut.getState()).isEqualTo(State.CLOSED);
+        verify(delegate, times(5)).getConnection();
+    }
+
+    @Test
+    void getConnection_should_retry_within_the_max_wait_after_startup() throws SQLException {
+        // GIVEN
+        givenMaxWaitMillis(300);
+        Connection connection = mock(Connection.class);
+        when(delegate.getConnection())
+                .thenReturn(connection)
+                .thenThrow(new SQLException("restarting"))
+                .thenReturn(connection);
+        cut.getConnection();
+
+        // WHEN / THEN
+        assertThat(cut.getConnection()).isSameAs(connection);
+        assertThat(cut.getState()).isEqualTo(State.CLOSED);
+        verify(delegate, times(3)).getConnection();
+        assertThat(meterRegistry.get(RetryableDataSource.ACQUISITION_TIMER).tag("outcome", "acquired").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void getConnection_should_count_one_failure_per_acquisition_whatever_its_number_of_attempts() throws SQLException {
+        // GIVEN retries after 100 ms then 230 ms: only 2 attempts fit in 300 ms
+        givenMaxWaitMillis(300);
+        Connection connection = mock(Connection.class);
+        SQLException failure = new SQLException("down");
+        when(delegate.getConnection())
+                .thenReturn(connection)
+                .thenThrow(failure);
+        cut.getConnection();
+
+        // WHEN / THEN
+        assertThatThrownBy(cut::getConnection).isSameAs(failure);
+        verify(delegate, times(3)).getConnection();
+        assertThat(cut.getState()).isEqualTo(State.CLOSED);
+        assertThatThrownBy(cut::getConnection).isSameAs(failure);
+        verify(delegate, times(5)).getConnection();
+        assertThat(cut.getState()).isEqualTo(State.OPEN);
+        assertThat(meterRegistry.get(RetryableDataSource.ACQUISITION_TIMER).tag("outcome", "failed").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void getConnection_should_neither_retry_nor_count_the_timeouts_of_the_pool() throws SQLException {
+        // GIVEN all connections of the pool are in use, the database being reachable
+        givenMaxWaitMillis(300);
+        Connection connection = mock(Connection.class);
+        SQLTransientConnectionException poolTimeout = new SQLTransientConnectionException(
+                "HikariPool-1 - Connection is not available, request timed out after 30000ms.");
+        when(delegate.getConnection())
+                .thenReturn(connection)
+                .thenThrow(poolTimeout);
+        cut.getConnection();
+
+        // WHEN / THEN
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(cut::getConnection).isSameAs(poolTimeout);
+        }
+        verify(delegate, times(4)).getConnection();
+        assertThat(cut.getState()).isEqualTo(State.CLOSED);
+        assertThat(meterRegistry.get(RetryableDataSource.ACQUISITION_TIMER).tag("outcome", "failed").timer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void getConnection_should_count_the_timeouts_of_the_pool_caused_by_a_connection_failure() throws SQLException {
+        // GIVEN the pool cannot connect to the database
+        Connection connection = mock(Connection.class);
+        SQLTransientConnectionException poolTimeout = new SQLTransientConnectionException(
+                "HikariPool-1 - Connection is not available, request timed out after 30000ms.", "08001", new SQLException("Connection refused"));
+        when(delegate.getConnection())
+                .thenReturn(connection)
+                .thenThrow(poolTimeout);
+        cut.getConnection();
+
+        // WHEN / THEN
+        assertThatThrownBy(cut::getConnection).isSameAs(poolTimeout);
+        assertThatThrownBy(cut::getConnection).isSameAs(poolTimeout);
+        assertThat(cut.getState()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    void unwrap_should_unwrap_the_delegate() throws SQLException {
+        // GIVEN
+        when(delegate.isWrapperFor(String.class)).thenReturn(Boolean.TRUE);
+        when(delegate.unwrap(String.class)).thenReturn("pool");
+
+        // WHEN / THEN
+        assertThat(cut.unwrap(RetryableDataSource.class)).isSameAs(cut);
+        assertThat(cut.isWrapperFor(String.class)).isTrue();
+        assertThat(cut.unwrap(String.class)).isEqualTo("pool");
+    }
+
+}
@@ -0,0 +1,139 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.domain.converter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class TextCompressionTest {
+
+    private static final String STACK_TRACE = "java.lang.AssertionError: expected:<1> but was:<2>\n" +
+            "\tat org.junit.Assert.fail(Assert.java:88)\n".repeat(20) +
+            "\tat io.cucumber.java.JavaStepDefinition.execute(JavaStepDefinition.java:29)\n".repeat(20);
+
+    @AfterEach
+    void tearDown() {
+        TextCompression.configure(false, 1024, 2000);
+    }
+
+    @Test
+    void compress_should_keep_the_text_as_is_when_disabled() {
+        // Given
+        TextCompression.configure(false, 10, 0);
+
+        // When / Then
+        assertThat(TextCompression.compress(STACK_TRACE, 0)).isSameAs(STACK_TRACE);
+        assertThat(TextCompression.compress(null, 0)).isNull();
+    }
+
+    @Test
+    void compress_should_keep_the_text_as_is_when_it_is_too_short() {
+        // Given
+        TextCompression.configure(true, 1024, 0);
+
+        // When / Then
+        assertThat(TextCompression.compress("Short text", 0)).isEqualTo("Short text");
+        assertThat(TextCompression.compress(STACK_TRACE, STACK_TRACE.length() - 1000)).isEqualTo(STACK_TRACE);
+    }
+
+    @Test
+    void compress_should_keep_the_text_as_is_when_it_contains_the_marker() {
+        // Given
+        TextCompression.configure(true, 10, 0);
+        var text = STACK_TRACE + TextCompression.MARKER;
+
+        // When
+        var stored = TextCompression.compress(text, 0);
+
+        // Then
+        assertThat(stored).isEqualTo(text);
+        assertThat(TextCompression.decompress(stored)).isEqualTo(text);
+    }
+
+    @Test
+    void compress_then_decompress_should_restore_the_text() {
+        // Given
+        TextCompression.configure(true, 10, 0);
+        var text = STACK_TRACE + "Non-ASCII: é à 😀";
+
+        // When
+        var stored = TextCompression.compress(text, 0);
+
+        // Then
+        assertThat(stored).startsWith(TextCompression.MARKER + TextCompression.FORMAT_DEFLATE_V1);
+        assertThat(stored.length()).isLessThan(text.length() / 5);
+        assertThat(TextCompression.isCompressed(stored)).isTrue();
+        assertThat(TextCompression.decompress(stored)).isEqualTo(text);
+    }
+
+    @Test
+    void compress_should_keep_the_plain_head_searchable() {
+        // Given
+        TextCompression.configure(true, 10, 0);
+
+        // When
+        var stored = TextCompression.compress(STACK_TRACE, 50);
+
+        // Then
+        assertThat(stored).startsWith(STACK_TRACE.substring(0, 50) + TextCompression.MARKER);
+        assertThat(TextCompression.decompress(stored)).isEqualTo(STACK_TRACE);
+    }
+
+    @Test
+    void compress_should_not_split_a_surrogate_pair_in_the_plain_head() {
+        // Given
+        TextCompression.configure(true, 10, 0);
+        var text = "a😀" + STACK_TRACE;
+
+        // When
+        var stored = TextCompression.compress(text, 2);
+
+        // Then
+        assertThat(stored).startsWith("a" + TextCompression.MARKER);
+        assertThat(TextCompression.decompress(stored)).isEqualTo(text);
+    }
+
+    @Test
+    void decompress_should_return_the_values_not_compressed_as_is() {
+        // Given
+        var plain = "Plain text";
+        var unknownFormat = "Head" + TextCompression.MARKER + "z9:abc";
+        var corrupted = "Head" + TextCompression.MARKER + TextCompression.FORMAT_DEFLATE_V1 + "not base64!";
+
+        // When / Then
+        assertThat(TextCompression.decompress(null)).isNull();
+        assertThat(TextCompression.decompress(plain)).isEqualTo(plain);
+        assertThat(TextCompression.decompress(unknownFormat)).isEqualTo(unknownFormat);
+        assertThat(TextCompression.decompress(corrupted)).isEqualTo(corrupted);
+        assertThat(TextCompression.isCompressed(unknownFormat)).isFalse();
+    }
+
+    @Test
+    void decompress_should_still_work_once_compression_is_disabled() {
+        // Given
+        TextCompression.configure(true, 10, 0);
+        var stored = TextCompression.compress(STACK_TRACE, 0);
+        TextCompression.configure(false, 10, 0);
+
+        // When / Then
+        assertThat(TextCompression.decompress(stored)).isEqualTo(STACK_TRACE);
+    }
+
+}
@@ -0,0 +1,173 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Check the plans of the hottest lookup queries stay backed by their indexes, on each database target, as the schema
+ * evolves. The plans are requested on the schema created by Liquibase: the tables may be empty, so the checks only
+ * assert the indexes are usable by the queries (and do not depend on data statistics).
+ */
+@SpringBootTest
+public interface DatabaseIndexTestIT {
+
+    /**
+     * @return the statements to run on the connection before explaining the queries
+     */
+    default List<String> setUpStatements() {
+        return List.of();
+    }
+
+    /**
+     * @return the statements to run on the connection after having explained the queries
+     */
+    default List<String> tearDownStatements() {
+        return List.of();
+    }
+
+    /**
+     * @return the name of the unique index on execution (cycle_definition_id, test_date_time)
+     */
+    default String executionTestDateTimeIndex() {
+        return "UKt4jtnjbb0174aqe0gakcu6lpj";
+    }
+
+    /**
+     * @return by SQL query, the name of the index expected in its plan
+     */
+    default Map<String, String> indexedQueries() {
+        Map<String, String> queries = new LinkedHashMap<>();
+        queries.put("select id from execution where job_url = 'any'", "uk_lf72jkijc9ry9s3aa7pbdwd3c");
+        queries.put("select id from execution where job_link = 'any'", "idx_execution_job_link");
+        queries.put("select max(test_date_time) from execution where cycle_definition_id = 1 and test_date_time < timestamp '2018-01-01 00:00:00'", executionTestDateTimeIndex());
+        queries.put("select id from executed_scenario where cucumber_id = 'any'", "idx_executed_scenario_cucumber_id_run_id");
+        queries.put("select id from error where step like 'any%'", "idx_error_step");
+        queries.put("select id from error where step_definition like 'any%'", "idx_error_step_definition");
+        queries.put("select id from problem where project_id = 1 and defect_id = 'any'", "idx_problem_project_id_defect_id");
+        return queries;
+    }
+
+    @Test
+    default void checkQueriesAreIndexBacked(@Autowired DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String setUpStatement : setUpStatements()) {
+                statement.execute(setUpStatement);
+            }
+            try {
+                for (Map.Entry<String, String> query : indexedQueries().entrySet()) {
+                    assertThat(explain(statement, query.getKey()))
+                            .as("Plan of: %s", query.getKey())
+                            .contains(query.getValue().toLowerCase(Locale.ROOT));
+                }
+            } finally {
+                for (String tearDownStatement : tearDownStatements()) {
+                    statement.execute(tearDownStatement);
+                }
+            }
+        }
+    }
+
+    private static String explain(Statement statement, String query) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (ResultSet resultSet = statement.executeQuery("explain " + query)) {
+            int columnCount = resultSet.getMetaData().getColumnCount();
+            while (resultSet.next()) {
+                for (int column = 1; column <= columnCount; column++) {
+                    plan.append(resultSet.getString(column)).append(' ');
+                }
+                plan.append('\n');
+            }
+        }
+        return plan.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The whole plan is checked, so the possible_keys column is enough for the check to pass on empty tables.
+     */
+    @TestPropertySource(properties = {
+            "ara.database.target=mysql"
+    })
+    class MysqlDatabaseIndexTestIT implements DatabaseIndexTestIT {
+
+        @Override
+        public Map<String, String> indexedQueries() {
+            Map<String, String> queries = DatabaseIndexTestIT.super.indexedQueries();
+            queries.put("select id from error where exception like 'any%'", "idx_error_exception");
+            return queries;
+        }
+    }
+
+    /**
+     * Sequential scans are disabled for the session: on empty tables, PostgreSQL would always prefer them.<br>
+     * The steps are indexed by their prefix, matched by the queries as well (see SpecificationUtil.toErrorSpecification).
+     */
+    @TestPropertySource(properties = {
+            "ara.database.target=postgresql"
+    })
+    class PostgreSQLDatabaseIndexTestIT implements DatabaseIndexTestIT {
+
+        @Override
+        public List<String> setUpStatements() {
+            return List.of("set enable_seqscan = off");
+        }
+
+        @Override
+        public List<String> tearDownStatements() {
+            return List.of("reset enable_seqscan");
+        }
+
+        @Override
+        public Map<String, String> indexedQueries() {
+            Map<String, String> queries = DatabaseIndexTestIT.super.indexedQueries();
+            queries.remove("select id from error where step like 'any%'");
+            queries.remove("select id from error where step_definition like 'any%'");
+            queries.put("select id from error where step = 'any' and left(step, 255) like 'any%'", "idx_error_step");
+            queries.put("select id from error where step_definition like 'any%' and left(step_definition, 255) like 'any%'", "idx_error_step_definition");
+            return queries;
+        }
+    }
+
+    @TestPropertySource(properties = {
+            "ara.database.target=h2"
+    })
+    class H2DatabaseIndexTestIT implements DatabaseIndexTestIT {
+
+        @Override
+        public String executionTestDateTimeIndex() {
+            return "UKJ6P9GPWTEI10CN4DC6AJFHS70";
+        }
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.decathlon.ara.purge.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.decathlon.ara.domain.projection.CompactedScenarioCount;
+import com.decathlon.ara.repository.ErrorRepository;
+import com.decathlon.ara.repository.ExecutedScenarioRepository;
+import com.decathlon.ara.repository.RunRepository;
+
+@ExtendWith(MockitoExtension.class)
+class ExecutionCompactionServiceTest {
+
+    @Mock
+    private RunRepository runRepository;
+
+    @Mock
+    private ExecutedScenarioRepository executedScenarioRepository;
+
+    @Mock
+    private ErrorRepository errorRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private ExecutionCompactionService cut;
+
+    @Test
+    void countPassedScenarios_should_count_by_run_severity_and_functionalities() {
+        // Given
+        List<Object[]> passedScenarios = List.of(
+                new Object[] { 1L, 10L, "high", "Functionalities 1, 2: Scenario A" },
+                new Object[] { 2L, 10L, "high", "Functionalities 1, 2: Scenario B" },
+                new Object[] { 3L, 10L, "medium", "Functionalities 1, 2: Scenario C" },
+                new Object[] { 4L, 10L, "high", "Scenario without functionality" });
+
+        // When
+        Map<Long, List<CompactedScenarioCount>> counts = cut.countPassedScenarios(List.of(10L, 20L), passedScenarios);
+
+        // Then
+        assertThat(counts).containsOnlyKeys(10L, 20L);
+        assertThat(counts.get(10L)).containsExactly(
+                new CompactedScenarioCount("high", List.of(1L, 2L), 2),
+                new CompactedScenarioCount("medium", List.of(1L, 2L), 1),
+                new CompactedScenarioCount("high", List.of(), 1));
+        assertThat(counts.get(20L)).isEmpty();
+    }
+
+    @Test
+    void compactRuns_should_replace_passed_scenarios_by_counts_and_clear_failed_scenarios() {
+        // Given
+        var runIds = List.of(10L, 20L);
+        List<Object[]> passedScenarios = List.<Object[]>of(new Object[] { 1L, 10L, "high", "Functionality 1: Scenario A" });
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(executedScenarioRepository.findPassedByRunIds(runIds)).thenReturn(passedScenarios);
+
+        // When
+        int removedScenarios = cut.compactRuns(runIds);
+
+        // Then
+        assertThat(removedScenarios).isEqualTo(1);
+        var inOrder = inOrder(executedScenarioRepository, errorRepository, runRepository);
+        inOrder.verify(executedScenarioRepository).deleteAllByIdInBatch(List.of(1L));
+        inOrder.verify(errorRepository).clearExceptionByRunIds(runIds);
+        inOrder.verify(executedScenarioRepository).clearContentAndAssetsByRunIds(runIds);
+        inOrder.verify(runRepository).updateCompactedScenarioCounts(10L, "[{\"severity\":\"high\",\"functionalityIds\":[1],\"count\":1}]");
+        inOrder.verify(runRepository).updateCompactedScenarioCounts(20L, "[]");
+    }
+
+}
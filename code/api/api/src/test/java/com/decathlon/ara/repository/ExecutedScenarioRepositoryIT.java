@@ -17,18 +17,23 @@
 
 package com.decathlon.ara.repository;
 
+import java.sql.Timestamp;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.TestExecutionListeners;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.support.DependencyInjectionTestExecutionListener;
 import org.springframework.test.context.transaction.TransactionalTestExecutionListener;
 
+import com.decathlon.ara.domain.ExecutedScenario;
 import com.decathlon.ara.domain.projection.ExecutedScenarioWithErrorAndProblemJoin;
 import com.github.springtestdbunit.DbUnitTestExecutionListener;
 import com.github.springtestdbunit.annotation.DatabaseSetup;
@@ -80,6 +85,49 @@ class ExecutedScenarioRepositoryIT {
         Assertions.assertTrue(contains(allErrorAndProblemCounts, 115, 11, "high", "With identified, closed (with date), error", 0, 1));
     }
 
+    @Test
+    @DatabaseSetup({ "/dbunit/ExecutedScenarioRepositoryIT-findHistoryIds.xml" })
+    void testFindHistory_pages_from_the_most_recent() {
+        // GIVEN the cursor is the executed scenario 221, of execution 2
+        final Date cursorDateTime = Timestamp.valueOf("2018-01-02 10:00:00");
+
+        // WHEN
+        final List<ExecutedScenario> firstPage = cut.findHistory(1, "a;scenario-a", null, null, null, null, null,
+                null, null, null, null, null, PageRequest.of(0, 2));
+        final List<ExecutedScenario> secondPage = cut.findHistory(1, "a;scenario-a", null, null, null, null, null,
+                cursorDateTime, "cn", "api", Integer.valueOf(1), Long.valueOf(221), PageRequest.of(0, 2));
+
+        // THEN
+        Assertions.assertEquals(List.of(311L, 221L), ids(firstPage));
+        Assertions.assertEquals(List.of(211L, 111L), ids(secondPage));
+    }
+
+    @Test
+    @DatabaseSetup({ "/dbunit/ExecutedScenarioRepositoryIT-findHistoryIds.xml" })
+    void testFindHistory_applies_the_filters() {
+        // GIVEN the test date-time of executions 2 and 3
+        final Date startDate = Timestamp.valueOf("2018-01-02 10:00:00");
+
+        // WHEN
+        final List<ExecutedScenario> unpaged = cut.findHistory(1, "a;scenario-a", null, null, null, null, null,
+                null, null, null, null, null, Pageable.unpaged());
+        final List<ExecutedScenario> filtered = cut.findHistory(1, "a;scenario-a", "stab", "night", "be", "api", null,
+                null, null, null, null, null, Pageable.unpaged());
+        final List<ExecutedScenario> recent = cut.findHistory(1, "a;scenario-a", null, null, null, null, new Date(startDate.getTime() - 1),
+                null, null, null, null, null, Pageable.unpaged());
+
+        // THEN
+        Assertions.assertEquals(List.of(311L, 221L, 211L, 111L), ids(unpaged));
+        Assertions.assertEquals(List.of(211L), ids(filtered));
+        Assertions.assertEquals(List.of(311L, 221L, 211L), ids(recent));
+    }
+
+    private static List<Long> ids(List<ExecutedScenario> executedScenarios) {
+        return executedScenarios.stream()
+                .map(ExecutedScenario::getId)
+                .toList();
+    }
+
     private boolean contains(List<ExecutedScenarioWithErrorAndProblemJoin> results, long id, long runId, String severity, String name, long unhandledCount, long handledCount) {
         for (ExecutedScenarioWithErrorAndProblemJoin result : results) {
             if (equals(result, id, runId, severity, name, unhandledCount, handledCount)) {
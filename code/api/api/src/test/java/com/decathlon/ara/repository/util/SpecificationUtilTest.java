@@ -12,7 +12,6 @@ import org.hibernate.query.criteria.internal.expression.function.ParameterizedFu
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
@@ -22,10 +21,6 @@ import org.springframework.data.jpa.domain.Specification;
 
 import javax.persistence.EntityManager;
 import javax.persistence.criteria.*;
-import java.time.Instant;
-import java.time.LocalDateTime;
-import java.time.Period;
-import java.time.ZoneId;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -396,20 +391,23 @@ class SpecificationUtilTest {
         CriteriaQuery<Error> criteriaQuery = criteriaBuilder.createQuery(Error.class);
         Root<Error> root = criteriaQuery.from(Error.class);
         criteriaBuilder = Mockito.spy(criteriaBuilder);
-        prepareTest(criteriaBuilder);
+        prepareTest(criteriaBuilder, PredicateType.LIKE);
         ProblemPattern problemPattern = new ProblemPattern();
         TestUtil.setField(problemPattern, "step", "step");
         Specification<Error> errorSpecification = SpecificationUtil.toErrorSpecification(1, problemPattern, null);
         PredicateWithInfo predicate = (PredicateWithInfo) errorSpecification.toPredicate(root, null, criteriaBuilder);
         Assertions.assertEquals(PredicateType.AND, predicate.type());
         List<PredicateWithInfo> predicates = predicate.getElements();
-        Assertions.assertEquals(2, predicates.size());
+        Assertions.assertEquals(3, predicates.size());
         Assertions.assertEquals(1l, predicates.get(0).value());
         Assertions.assertEquals("root.executedScenario.run.execution.cycleDefinition.projectId", predicates.get(0).getName());
         Assertions.assertEquals(PredicateType.EQUAL, predicates.get(0).type());
         Assertions.assertEquals(problemPattern.getStep(), predicates.get(1).value());
         Assertions.assertEquals("root.step", predicates.get(1).getName());
         Assertions.assertEquals(PredicateType.EQUAL, predicates.get(1).type());
+        Assertions.assertEquals(problemPattern.getStep() + "%", predicates.get(2).value());
+        Assertions.assertEquals("root.left(step)", predicates.get(2).getName());
+        Assertions.assertEquals(PredicateType.LIKE, predicates.get(2).type());
     }
 
     @Test
@@ -426,13 +424,16 @@ class SpecificationUtilTest {
         PredicateWithInfo predicate = (PredicateWithInfo) errorSpecification.toPredicate(root, null, criteriaBuilder);
         Assertions.assertEquals(PredicateType.AND, predicate.type());
         List<PredicateWithInfo> predicates = predicate.getElements();
-        Assertions.assertEquals(2, predicates.size());
+        Assertions.assertEquals(3, predicates.size());
         Assertions.assertEquals(1l, predicates.get(0).value());
         Assertions.assertEquals("root.executedScenario.run.execution.cycleDefinition.projectId", predicates.get(0).getName());
         Assertions.assertEquals(PredicateType.EQUAL, predicates.get(0).type());
         Assertions.assertEquals(problemPattern.getStep() + "%", predicates.get(1).value());
         Assertions.assertEquals("root.step", predicates.get(1).getName());
         Assertions.assertEquals(PredicateType.LIKE, predicates.get(1).type());
+        Assertions.assertEquals(problemPattern.getStep() + "%", predicates.get(2).value());
+        Assertions.assertEquals("root.left(step)", predicates.get(2).getName());
+        Assertions.assertEquals(PredicateType.LIKE, predicates.get(2).type());
     }
 
     @Test
@@ -441,20 +442,23 @@ class SpecificationUtilTest {
         CriteriaQuery<Error> criteriaQuery = criteriaBuilder.createQuery(Error.class);
         Root<Error> root = criteriaQuery.from(Error.class);
         criteriaBuilder = Mockito.spy(criteriaBuilder);
-        prepareTest(criteriaBuilder);
+        prepareTest(criteriaBuilder, PredicateType.LIKE);
         ProblemPattern problemPattern = new ProblemPattern();
         TestUtil.setField(problemPattern, "stepDefinition", "stepDefinition");
         Specification<Error> errorSpecification = SpecificationUtil.toErrorSpecification(1, problemPattern, null);
         PredicateWithInfo predicate = (PredicateWithInfo) errorSpecification.toPredicate(root, null, criteriaBuilder);
         Assertions.assertEquals(PredicateType.AND, predicate.type());
         List<PredicateWithInfo> predicates = predicate.getElements();
-        Assertions.assertEquals(2, predicates.size());
+        Assertions.assertEquals(3, predicates.size());
         Assertions.assertEquals(1l, predicates.get(0).value());
         Assertions.assertEquals("root.executedScenario.run.execution.cycleDefinition.projectId", predicates.get(0).getName());
         Assertions.assertEquals(PredicateType.EQUAL, predicates.get(0).type());
         Assertions.assertEquals(problemPattern.getStepDefinition(), predicates.get(1).value());
         Assertions.assertEquals("root.stepDefinition", predicates.get(1).getName());
         Assertions.assertEquals(PredicateType.EQUAL, predicates.get(1).type());
+        Assertions.assertEquals(problemPattern.getStepDefinition() + "%", predicates.get(2).value());
+        Assertions.assertEquals("root.left(stepDefinition)", predicates.get(2).getName());
+        Assertions.assertEquals(PredicateType.LIKE, predicates.get(2).type());
     }
 
     @Test
@@ -471,13 +475,16 @@ class SpecificationUtilTest {
         PredicateWithInfo predicate = (PredicateWithInfo) errorSpecification.toPredicate(root, null, criteriaBuilder);
         Assertions.assertEquals(PredicateType.AND, predicate.type());
         List<PredicateWithInfo> predicates = predicate.getElements();
-        Assertions.assertEquals(2, predicates.size());
+        Assertions.assertEquals(3, predicates.size());
         Assertions.assertEquals(1l, predicates.get(0).value());
         Assertions.assertEquals("root.executedScenario.run.execution.cycleDefinition.projectId", predicates.get(0).getName());
         Assertions.assertEquals(PredicateType.EQUAL, predicates.get(0).type());
         Assertions.assertEquals(problemPattern.getStepDefinition() + "%", predicates.get(1).value());
         Assertions.assertEquals("root.stepDefinition", predicates.get(1).getName());
         Assertions.assertEquals(PredicateType.LIKE, predicates.get(1).type());
+        Assertions.assertEquals(problemPattern.getStepDefinition() + "%", predicates.get(2).value());
+        Assertions.assertEquals("root.left(stepDefinition)", predicates.get(2).getName());
+        Assertions.assertEquals(PredicateType.LIKE, predicates.get(2).type());
     }
 
     @Test
@@ -1028,6 +1035,17 @@ class SpecificationUtilTest {
         Assertions.assertEquals(PredicateType.EQUAL, predicates.get(1).type());
     }
 
+    @Test
+    void indexedPrefixOfShouldKeepTheLiteralBeginningOfTheValueShortEnoughForAnyLengthCounting() {
+        Assertions.assertEquals("", SpecificationUtil.indexedPrefixOf(null));
+        Assertions.assertEquals("I click on ", SpecificationUtil.indexedPrefixOf("I click on %s"));
+        Assertions.assertEquals("the ", SpecificationUtil.indexedPrefixOf("the _ button"));
+        Assertions.assertEquals("", SpecificationUtil.indexedPrefixOf("\\d+ items"));
+        Assertions.assertEquals("a".repeat(127), SpecificationUtil.indexedPrefixOf("a".repeat(300)));
+        // 127 code points, but 254 UTF-16 chars
+        Assertions.assertEquals("\uD83D\uDE00".repeat(127), SpecificationUtil.indexedPrefixOf("\uD83D\uDE00".repeat(200)));
+    }
+
     private void assertIsReapearedPredicate(PredicateWithInfo reappearedAndPredicate) {
         Assertions.assertEquals(PredicateType.AND, reappearedAndPredicate.type());
         List<PredicateWithInfo> reappearedAndPredicateElements = reappearedAndPredicate.getElements();
@@ -1044,155 +1062,4 @@ class SpecificationUtilTest {
         Assertions.assertEquals(PredicateType.LESS_THAN, reappearedAndPredicateElements.get(3).type());
     }
 
-    @Test
-    void executedScenarioSpecificationShouldHaveAtLeastEqualsPredicateOnProjectIdAndCucumnerIdAndOrderByOnTestDateTimeCountryCodeTypeCodeAndLineWhenNoAllOtherParametersAreNull() {
-        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<ExecutedScenario> criteriaQuery = criteriaBuilder.createQuery(ExecutedScenario.class);
-        Root<ExecutedScenario> root = criteriaQuery.from(ExecutedScenario.class);
-        criteriaBuilder = Mockito.spy(criteriaBuilder);
-        prepareTest(criteriaBuilder);
-        Specification<ExecutedScenario> problemSpecification = SpecificationUtil.toExecutedScenarioSpecification(1l, "cucumberId", null, null, null, null, Optional.ofNullable(null));
-        PredicateWithInfo predicate = (PredicateWithInfo) problemSpecification.toPredicate(root, criteriaQuery, criteriaBuilder);
-        Assertions.assertEquals(PredicateType.AND, predicate.type());
-        List<PredicateWithInfo> predicates = predicate.getElements();
-        Assertions.assertEquals(2, predicates.size());
-        Assertions.assertEquals(1l, predicates.get(0).value());
-        Assertions.assertEquals("root.run.execution.cycleDefinition.projectId", predicates.get(0).getName());
-        Assertions.assertEquals(PredicateType.EQUAL, predicates.get(0).type());
-        Assertions.assertEquals("cucumberId", predicates.get(1).value());
-        Assertions.assertEquals("root.cucumberId", predicates.get(1).getName());
-        Assertions.assertEquals(PredicateType.EQUAL, predicates.get(1).type());
-        List<Order> orderList = criteriaQuery.getOrderList();
-        Assertions.assertEquals(4, orderList.size());
-        Assertions.assertEquals("root.run.execution.testDateTime", getName(orderList.get(0).getExpression()));
-        Assertions.assertTrue(orderList.get(0).isAscending());
-        Assertions.assertEquals("root.run.country.code", getName(orderList.get(1).getExpression()));
-        Assertions.assertTrue(orderList.get(1).isAscending());
-        Assertions.assertEquals("root.run.type.code", getName(orderList.get(2).getExpression()));
-        Assertions.assertTrue(orderList.get(2).isAscending());
-        Assertions.assertEquals("root.line", getName(orderList.get(3).getExpression()));
-        Assertions.assertTrue(orderList.get(3).isAscending());
-    }
-
-    @Test
-    void executedScenarioSpecificationShouldHaveEqualsPredicateOnBranchWhenBranchParametersIsNotEmpty() {
-        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<ExecutedScenario> criteriaQuery = criteriaBuilder.createQuery(ExecutedScenario.class);
-        Root<ExecutedScenario> root = criteriaQuery.from(ExecutedScenario.class);
-        criteriaBuilder = Mockito.spy(criteriaBuilder);
-        prepareTest(criteriaBuilder);
-        Specification<ExecutedScenario> problemSpecification = SpecificationUtil.toExecutedScenarioSpecification(1l, "cucumberId", "branch", null, null, null, Optional.ofNullable(null));
-        PredicateWithInfo predicate = (PredicateWithInfo) problemSpecification.toPredicate(root, criteriaQuery, criteriaBuilder);
-        Assertions.assertEquals(PredicateType.AND, predicate.type());
-        List<PredicateWithInfo> predicates = predicate.getElements();
-        Assertions.assertEquals(3, predicates.size());
-        Assertions.assertEquals(1l, predicates.get(0).value());
-        Assertions.assertEquals("root.run.execution.cycleDefinition.projectId", predicates.get(0).getName());
-        Assertions.assertEquals(PredicateType.EQUAL, predicates.get(0).type());
-        Assertions.assertEquals("cucumberId", predicates.get(1).value());
-        Assertions.assertEquals("root.cucumberId", predicates.get(1).getName());
-        Assertions.assertEquals(PredicateType.EQUAL, predicates.get(1).type());
-        Assertions.assertEquals("branch", predicates.get(2).value());
-        Assertions.assertEquals("root.run.execution.branch", predicates.get(2).getName());
-        Assertions.assertEquals(PredicateType.EQUAL, predicates.get(2).type());
-    }
-
-    @Test
-    void executedScenarioSpecificationShouldHaveEqualsPredicateOnExecutionNameWhenCycleNameParametersIsNotEmpty() {
-        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<ExecutedScenario> criteriaQuery = criteriaBuilder.createQuery(ExecutedScenario.class);
-        Root<ExecutedScenario> root = criteriaQuery.from(ExecutedScenario.class);
-        criteriaBuilder = Mockito.spy(criteriaBuilder);
-        prepareTest(criteriaBuilder);
-        Specification<ExecutedScenario> problemSpecification = SpecificationUtil.toExecutedScenarioSpecification(1l, "cucumberId", null, "cycleName", null, null, Optional.ofNullable(null));
-        PredicateWithInfo predicate = (PredicateWithInfo) problemSpecification.toPredicate(root, criteriaQuery, criteriaBuilder);
-        Assertions.assertEquals(PredicateType.AND, predicate.type());
-        List<PredicateWithInfo> predicates = predicate.getElements();
-        Assertions.assertEquals(3, predicates.size());
-        Assertions.assertEquals(1l, predicates.get(0).value());
-        Assertions.assertEquals("root.run.execution.cycleDefinition.projectId", predicates.get(0).getName());
-        Assertions.assertEquals(PredicateType.EQUAL, predicates.get(0).type());
-        Assertions.assertEquals("cucumberId", predicates.get(1).value());
-        Assertions.assertEquals("root.cucumberId", predicates.get(1).getName());
-        Assertions.assertEquals(PredicateType.EQUAL, predicates.get(1).type());
-        Assertions.assertEquals("cycleName", predicates.get(2).value());
-        Assertions.assertEquals("root.run.execution.name", predicates.get(2).getName());
-        Assertions.assertEquals(PredicateType.EQUAL, predicates.get(2).type());
-    }
-
-    @Test
-    void executedScenarioSpecificationShouldHaveEqualsPredicateOnCountryCodeWhenCountryCodeParametersIsNotEmpty() {
-        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<ExecutedScenario> criteriaQuery = criteriaBuilder.createQuery(ExecutedScenario.class);
-        Root<ExecutedScenario> root = criteriaQuery.from(ExecutedScenario.class);
-        criteriaBuilder = Mockito.spy(criteriaBuilder);
-        prepareTest(criteriaBuilder);
-        Specification<ExecutedScenario> problemSpecification = SpecificationUtil.toExecutedScenarioSpecification(1l, "cucumberId", null, null, "countryCode", null, Optional.ofNullable(null));
-        PredicateWithInfo predicate = (PredicateWithInfo) problemSpecification.toPredicate(root, criteriaQuery, criteriaBuilder);
-        Assertions.assertEquals(PredicateType.AND, predicate.type());
-        List<PredicateWithInfo> predicates = predicate.getElements();
-        Assertions.assertEquals(3, predicates.size());
-        Assertions.assertEquals(1l, predicates.get(0).value());
-        Assertions.assertEquals("root.run.execution.cycleDefinition.projectId", predicates.get(0).getName());
-        Assertions.assertEquals(PredicateType.EQUAL, predicates.get(0).type());
-        Assertions.assertEquals("cucumberId", predicates.get(1).value());
-        Assertions.assertEquals("root.cucumberId", predicates.get(1).getName());
-        Assertions.assertEquals(PredicateType.EQUAL, predicates.get(1).type());
-        Assertions.assertEquals("countryCode", predicates.get(2).value());
-        Assertions.assertEquals("root.run.country.code", predicates.get(2).getName());
-        Assertions.assertEquals(PredicateType.EQUAL, predicates.get(2).type());
-    }
-
-    @Test
-    void executedScenarioSpecificationShouldHaveEqualsPredicateOnTypeCodeWhenTypeCodeParametersIsNotEmpty() {
-        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<ExecutedScenario> criteriaQuery = criteriaBuilder.createQuery(ExecutedScenario.class);
-        Root<ExecutedScenario> root = criteriaQuery.from(ExecutedScenario.class);
-        criteriaBuilder = Mockito.spy(criteriaBuilder);
-        prepareTest(criteriaBuilder);
-        Specification<ExecutedScenario> problemSpecification = SpecificationUtil.toExecutedScenarioSpecification(1l, "cucumberId", null, null, null, "typeCode", Optional.ofNullable(null));
-        PredicateWithInfo predicate = (PredicateWithInfo) problemSpecification.toPredicate(root, criteriaQuery, criteriaBuilder);
-        Assertions.assertEquals(PredicateType.AND, predicate.type());
-        List<PredicateWithInfo> predicates = predicate.getElements();
-        Assertions.assertEquals(3, predicates.size());
-        Assertions.assertEquals(1l, predicates.get(0).value());
-        Assertions.assertEquals("root.run.execution.cycleDefinition.projectId", predicates.get(0).getName());
-        Assertions.assertEquals(PredicateType.EQUAL, predicates.get(0).type());
-        Assertions.assertEquals("cucumberId", predicates.get(1).value());
-        Assertions.assertEquals("root.cucumberId", predicates.get(1).getName());
-        Assertions.assertEquals(PredicateType.EQUAL, predicates.get(1).type());
-        Assertions.assertEquals("typeCode", predicates.get(2).value());
-        Assertions.assertEquals("root.run.type.code", predicates.get(2).getName());
-        Assertions.assertEquals(PredicateType.EQUAL, predicates.get(2).type());
-    }
-
-    @Test
-    void executedScenarioSpecificationShouldHaveGreaterThanPredicateOnTestDateTimeWhendurationParametersIsNotNull() {
-        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<ExecutedScenario> criteriaQuery = criteriaBuilder.createQuery(ExecutedScenario.class);
-        Root<ExecutedScenario> root = criteriaQuery.from(ExecutedScenario.class);
-        criteriaBuilder = Mockito.spy(criteriaBuilder);
-        prepareTest(criteriaBuilder, PredicateType.GREATER_THAN);
-
-        LocalDateTime nowMockDateTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(0), ZoneId.systemDefault());
-        try (MockedStatic<LocalDateTime> localDateTimeMockStatic = Mockito.mockStatic(LocalDateTime.class)) {
-            localDateTimeMockStatic.when(LocalDateTime::now).thenReturn(nowMockDateTime);
-            Specification<ExecutedScenario> problemSpecification = SpecificationUtil.toExecutedScenarioSpecification(1l, "cucumberId", null, null, null, null, Optional.ofNullable(Period.ofDays(1)));
-            PredicateWithInfo predicate = (PredicateWithInfo) problemSpecification.toPredicate(root, criteriaQuery, criteriaBuilder);
-            Assertions.assertEquals(PredicateType.AND, predicate.type());
-            List<PredicateWithInfo> predicates = predicate.getElements();
-            Assertions.assertEquals(3, predicates.size());
-            Assertions.assertEquals(1l, predicates.get(0).value());
-            Assertions.assertEquals("root.run.execution.cycleDefinition.projectId", predicates.get(0).getName());
-            Assertions.assertEquals(PredicateType.EQUAL, predicates.get(0).type());
-            Assertions.assertEquals("cucumberId", predicates.get(1).value());
-            Assertions.assertEquals("root.cucumberId", predicates.get(1).getName());
-            Assertions.assertEquals(PredicateType.EQUAL, predicates.get(1).type());
-            Assertions.assertEquals(new Date(-24 * 3600000), predicates.get(2).value());
-            Assertions.assertEquals("root.run.execution.testDateTime", predicates.get(2).getName());
-            Assertions.assertEquals(PredicateType.GREATER_THAN, predicates.get(2).type());
-        }
-
-    }
-
 }
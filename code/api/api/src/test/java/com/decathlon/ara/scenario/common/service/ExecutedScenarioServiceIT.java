@@ -0,0 +1,104 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.common.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.transaction.Transactional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestExecutionListeners;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.support.DependencyInjectionTestExecutionListener;
+import org.springframework.test.context.transaction.TransactionalTestExecutionListener;
+
+import com.decathlon.ara.service.dto.executedscenario.ExecutedScenarioWithRunAndTeamIdsAndExecutionAndErrorsAndProblemsDTO;
+import com.decathlon.ara.service.dto.request.ExecutedScenarioHistoryInputDTO;
+import com.decathlon.ara.service.exception.BadRequestException;
+import com.decathlon.ara.service.exception.NotFoundException;
+import com.decathlon.ara.util.TestUtil;
+import com.github.springtestdbunit.DbUnitTestExecutionListener;
+import com.github.springtestdbunit.annotation.DatabaseSetup;
+
+@SpringBootTest
+@TestExecutionListeners({
+        TransactionalTestExecutionListener.class,
+        DependencyInjectionTestExecutionListener.class,
+        DbUnitTestExecutionListener.class
+})
+@TestPropertySource(properties = {
+        "ara.database.target=h2"
+})
+@Transactional
+class ExecutedScenarioServiceIT {
+
+    @Autowired
+    private ExecutedScenarioService cut;
+
+    @Test
+    @DatabaseSetup({ "/dbunit/ExecutedScenarioRepositoryIT-findHistoryIds.xml" })
+    void findHistory_should_return_the_whole_history_page_by_page_from_the_first_executed_scenario_of_each_page() throws BadRequestException {
+        // GIVEN
+        // Executions 2 and 3 have the same test date-time: a page can end in the middle of their executed scenarios
+        List<Long> wholeHistory = ids(cut.findHistory(1, input(null, null)));
+
+        for (int limit = 1; limit <= 3; limit++) {
+            // WHEN
+            List<Long> pagedHistory = new ArrayList<>();
+            Long beforeId = null;
+            List<ExecutedScenarioWithRunAndTeamIdsAndExecutionAndErrorsAndProblemsDTO> page;
+            do {
+                page = cut.findHistory(1, input(Integer.valueOf(limit), beforeId));
+                pagedHistory.addAll(0, ids(page));
+                beforeId = page.isEmpty() ? null : page.get(0).getId();
+            } while (page.size() == limit);
+
+            // THEN
+            assertThat(pagedHistory).as("history by pages of %d", Integer.valueOf(limit)).containsExactlyElementsOf(wholeHistory);
+        }
+        assertThat(wholeHistory).containsExactly(111L, 211L, 221L, 311L);
+    }
+
+    @Test
+    @DatabaseSetup({ "/dbunit/ExecutedScenarioRepositoryIT-findHistoryIds.xml" })
+    void findHistory_should_throw_not_found_when_the_cursor_is_not_in_the_project() {
+        assertThatThrownBy(() -> cut.findHistory(1, input(Integer.valueOf(2), Long.valueOf(411))))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    private static List<Long> ids(List<ExecutedScenarioWithRunAndTeamIdsAndExecutionAndErrorsAndProblemsDTO> executedScenarios) {
+        return executedScenarios.stream()
+                .map(ExecutedScenarioWithRunAndTeamIdsAndExecutionAndErrorsAndProblemsDTO::getId)
+                .toList();
+    }
+
+    private static ExecutedScenarioHistoryInputDTO input(Integer limit, Long beforeId) {
+        ExecutedScenarioHistoryInputDTO input = new ExecutedScenarioHistoryInputDTO();
+        TestUtil.setField(input, "cucumberId", "a;scenario-a");
+        TestUtil.setField(input, "limit", limit);
+        TestUtil.setField(input, "beforeId", beforeId);
+        return input;
+    }
+
+}
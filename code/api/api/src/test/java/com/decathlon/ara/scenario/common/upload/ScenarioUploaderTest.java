@@ -3,7 +3,11 @@ package com.decathlon.ara.scenario.common.upload;
 import com.decathlon.ara.domain.Functionality;
 import com.decathlon.ara.domain.Scenario;
 import com.decathlon.ara.domain.Source;
+import com.decathlon.ara.domain.enumeration.FunctionalityType;
+import com.decathlon.ara.domain.enumeration.Technology;
 import com.decathlon.ara.repository.*;
+import com.decathlon.ara.service.exception.BadRequestException;
+import com.decathlon.ara.util.TestUtil;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -14,9 +18,14 @@ import javax.persistence.EntityManager;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -105,6 +114,115 @@ class ScenarioUploaderTest {
         assertThat(scenarios.get(0).getWrongCountryCodes()).isNull();
     }
 
+    @Test
+    void assignWrongFunctionalityIds_ShouldSplitKnownAndWrongIds_WhenCalled() {
+        //GIVEN
+        Set<Long> functionalityIds = Set.of(1L, 2L, 3L);
+        final List<Scenario> scenarios = Arrays.asList(
+                named("Functionalities 1, 2 & 1: Title"),
+                named("Functionality 3, 42, abc: Title"),
+                named("No functionality"));
+
+        //WHEN
+        List<Set<Long>> coveredFunctionalityIds = ScenarioUploader.assignWrongFunctionalityIds(functionalityIds, scenarios);
+
+        //THEN
+        assertThat(coveredFunctionalityIds).hasSize(3);
+        assertThat(coveredFunctionalityIds.get(0)).containsExactly(1L, 2L);
+        assertThat(scenarios.get(0).getWrongFunctionalityIds()).isNull();
+        assertThat(coveredFunctionalityIds.get(1)).containsExactly(3L);
+        assertThat(scenarios.get(1).getWrongFunctionalityIds()).isEqualTo("42\nabc");
+        assertThat(coveredFunctionalityIds.get(2)).isEmpty();
+        assertThat(scenarios.get(2).getWrongFunctionalityIds()).isNull();
+    }
+
+    @Test
+    void indexScenariosByFunctionalityId_ShouldIndexEachScenarioUnderItsFunctionalities_WhenCalled() {
+        //GIVEN
+        Scenario first = named("first");
+        Scenario second = named("second");
+        List<Set<Long>> coveredFunctionalityIds = Arrays.asList(Set.of(1L, 2L), Set.of(2L));
+
+        //WHEN
+        Map<Long, List<Scenario>> index = ScenarioUploader.indexScenariosByFunctionalityId(Arrays.asList(first, second), coveredFunctionalityIds);
+
+        //THEN
+        assertThat(index).containsOnlyKeys(1L, 2L);
+        assertThat(index.get(1L)).containsExactly(first);
+        assertThat(index.get(2L)).containsExactly(first, second);
+    }
+
+    @Test
+    void processUploadedContent_ShouldOnlyApplyTheDifferenceWithTheExistingScenarios_WhenCalled() throws BadRequestException {
+        //GIVEN
+        Source source = new Source();
+        source.setId(10L);
+        source.setProjectId(1L);
+        source.setCode("api");
+        TestUtil.setField(source, "technology", Technology.CUCUMBER);
+        when(sourceRepository.findByProjectIdAndCode(1L, "api")).thenReturn(source);
+
+        Functionality renamedFunctionality = functionality(1L);
+        Functionality unchangedFunctionality = functionality(2L);
+        Functionality replacedFunctionality = functionality(3L);
+        Scenario renamed = existing(source, 100L, 1, "Functionality 1: Old name", renamedFunctionality);
+        Scenario unchanged = existing(source, 200L, 2, "Functionality 2: Unchanged", unchangedFunctionality);
+        Scenario removed = existing(source, 300L, 3, "Functionality 3: Removed", replacedFunctionality);
+        when(functionalityRepository.findAllByProjectIdAndType(1L, FunctionalityType.FUNCTIONALITY))
+                .thenReturn(new TreeSet<>(Set.of(renamedFunctionality, unchangedFunctionality, replacedFunctionality)));
+        when(scenarioRepository.findAllBySourceId(10L)).thenReturn(Arrays.asList(renamed, unchanged, removed));
+        when(scenarioRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Scenario> uploaded = Arrays.asList(
+                uploaded(source, 1, "Functionality 1: New name"),
+                uploaded(source, 2, "Functionality 2: Unchanged"),
+                uploaded(source, 4, "Functionality 3: Added"));
+
+        //WHEN
+        cut.processUploadedContent(1L, "api", Technology.CUCUMBER, s -> uploaded);
+
+        //THEN
+        assertThat(renamed.getName()).isEqualTo("Functionality 1: New name");
+        assertThat(renamedFunctionality.getScenarios()).containsExactly(renamed);
+        assertThat(unchangedFunctionality.getScenarios()).containsExactly(unchanged);
+        assertThat(replacedFunctionality.getScenarios()).containsExactly(uploaded.get(2));
+        assertThat(replacedFunctionality.getCoveredScenarios()).isEqualTo(1);
+        verify(scenarioRepository).deleteAll(List.of(removed));
+        verify(scenarioRepository).saveAll(List.of(uploaded.get(2)));
+        verify(functionalityRepository).saveAll(Set.of(renamedFunctionality, replacedFunctionality));
+    }
+
+    private Functionality functionality(long id) {
+        Functionality functionality = new Functionality();
+        functionality.setId(Long.valueOf(id));
+        functionality.setProjectId(Long.valueOf(1));
+        functionality.setParentId(Long.valueOf(0));
+        functionality.setType(FunctionalityType.FUNCTIONALITY);
+        TestUtil.setField(functionality, "name", "Functionality " + id);
+        return functionality;
+    }
+
+    private Scenario existing(Source source, long id, int line, String name, Functionality functionality) {
+        Scenario scenario = uploaded(source, line, name);
+        TestUtil.setField(scenario, "id", Long.valueOf(id));
+        functionality.addScenario(scenario);
+        return scenario;
+    }
+
+    private Scenario uploaded(Source source, int line, String name) {
+        Scenario scenario = named(name);
+        scenario.setSource(source);
+        scenario.setFeatureFile("a.feature");
+        scenario.setLine(line);
+        return scenario;
+    }
+
+    private Scenario named(String name) {
+        Scenario scenario = new Scenario();
+        scenario.setName(name);
+        return scenario;
+    }
+
     private Scenario scenario(String countryCodes, String severity) {
         Scenario scenario = new Scenario();
         scenario.setCountryCodes(countryCodes);
@@ -17,7 +17,9 @@
 
 package com.decathlon.ara.scenario.cucumber.asset;
 
+import com.decathlon.ara.ci.service.IndexingMetricsService;
 import com.decathlon.ara.configuration.AraConfiguration;
+import com.decathlon.ara.lib.embed.consumer.Base64CharactersInputStream;
 import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,8 +27,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
@@ -42,6 +46,9 @@ class FileAssetServiceTest {
     @Mock
     private FileNameService fileNameService;
 
+    @Mock
+    private IndexingMetricsService indexingMetricsService;
+
     @InjectMocks
     private FileAssetService cut;
 
@@ -55,7 +62,7 @@ class FileAssetServiceTest {
             when(araConfiguration.getFileScreenshotSubFolder()).thenReturn("/directory");
             when(araConfiguration.getFileHttpAccess()).thenReturn("http://access");
             when(fileNameService.generateReportFileName("Scenario Name", "png")).thenReturn("file");
-            byte[] screenshot = new byte[] { 0, 1, 2 };
+            InputStream screenshot = new ByteArrayInputStream(new byte[] { 0, 1, 2 });
 
             // WHEN
             final String url = cut.saveScreenshot(screenshot, "Scenario Name");
@@ -77,12 +84,36 @@ class FileAssetServiceTest {
         when(araConfiguration.getFileHomeFolder()).thenReturn("/bin/mkdir/?/not-writable"); // ... on Unix nor on Windows
 
         // WHEN
-        final String url = cut.saveScreenshot(new byte[] { 'a', 'n', 'y' }, "any");
+        final String url = cut.saveScreenshot(new ByteArrayInputStream(new byte[] { 'a', 'n', 'y' }), "any");
 
         // THEN
         assertThat(url).isNull();
     }
 
+    @Test
+    void saveScreenshot_should_return_null_and_not_keep_a_truncated_file_on_invalid_base64() throws IOException {
+        Path tempDirectory = null;
+        try {
+            // GIVEN
+            tempDirectory = Files.createTempDirectory("ara_temp_unit_test_directory_");
+            when(araConfiguration.getFileHomeFolder()).thenReturn(tempDirectory.toString());
+            when(araConfiguration.getFileScreenshotSubFolder()).thenReturn("/directory");
+            when(fileNameService.generateReportFileName("Scenario Name", "png")).thenReturn("file");
+            InputStream screenshot = Base64CharactersInputStream.decode("AAEC" + "#invalid");
+
+            // WHEN
+            final String url = cut.saveScreenshot(screenshot, "Scenario Name");
+
+            // THEN
+            assertThat(url).isNull();
+            assertThat(new File(tempDirectory + "/directory/file")).doesNotExist();
+        } finally {
+            if (tempDirectory != null) {
+                FileUtils.deleteQuietly(tempDirectory.toFile());
+            }
+        }
+    }
+
     @Test
     void saveHttpLogs_should_save_file_and_return_correct_url() throws IOException {
         Path tempDirectory = null;
@@ -17,6 +17,7 @@
 
 package com.decathlon.ara.scenario.cucumber.asset;
 
+import com.decathlon.ara.ci.service.IndexingMetricsService;
 import com.decathlon.ara.configuration.AraConfiguration;
 import com.decathlon.ara.scenario.cucumber.asset.ssh.SshClientHelper;
 import com.decathlon.ara.scenario.cucumber.asset.ssh.SshException;
@@ -27,6 +28,9 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
@@ -44,6 +48,9 @@ class SshAssetServiceTest {
     @Mock
     private SshClientHelper sshClientHelper;
 
+    @Mock
+    private IndexingMetricsService indexingMetricsService;
+
     @Spy
     @InjectMocks
     private SshAssetService cut;
@@ -56,7 +63,7 @@ class SshAssetServiceTest {
         when(araConfiguration.getSshScreenshotSubFolder()).thenReturn("/directory");
         when(araConfiguration.getSshHttpAccess()).thenReturn("http://access");
         when(fileNameService.generateReportFileName("Scenario Name", "png")).thenReturn("file");
-        byte[] screenshot = new byte[] { };
+        InputStream screenshot = new ByteArrayInputStream(new byte[] { });
 
         // WHEN
         final String url = cut.saveScreenshot(screenshot, "Scenario Name");
@@ -72,7 +79,7 @@ class SshAssetServiceTest {
         doReturn(sshClientHelper).when(cut).connect();
         when(araConfiguration.getSshRemoteHomeFolder()).thenReturn("/home");
         when(araConfiguration.getSshScreenshotSubFolder()).thenReturn("/directory");
-        byte[] screenshot = new byte[] {};
+        InputStream screenshot = new ByteArrayInputStream(new byte[] {});
 
         // WHEN
         cut.saveScreenshot(screenshot, "Scenario Name");
@@ -86,7 +93,7 @@ class SshAssetServiceTest {
     void saveScreenshot_should_not_fail_but_return_null_on_upload_failure() throws SshException {
         // GIVEN
         doThrow(SshException.class).when(cut).connect();
-        byte[] screenshot = new byte[] { 'a', 'n', 'y' };
+        InputStream screenshot = new ByteArrayInputStream(new byte[] { 'a', 'n', 'y' });
 
         // WHEN
         final String url = cut.saveScreenshot(screenshot, "any");
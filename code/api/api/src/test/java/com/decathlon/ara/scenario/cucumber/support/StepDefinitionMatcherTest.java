@@ -0,0 +1,81 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.cucumber.support;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class StepDefinitionMatcherTest {
+
+    @Test
+    void getLeadingLiteral_should_return_the_literal_characters_every_match_starts_with() {
+        assertThat(StepDefinitionMatcher.getLeadingLiteral("^User goes to (.*)$")).isEqualTo("User goes to ");
+        assertThat(StepDefinitionMatcher.getLeadingLiteral("^The price is \\$(\\d+)$")).isEqualTo("The price is $");
+        assertThat(StepDefinitionMatcher.getLeadingLiteral("^I have \\d+ cukes$")).isEqualTo("I have ");
+        assertThat(StepDefinitionMatcher.getLeadingLiteral("^I open the pages?$")).isEqualTo("I open the page");
+        assertThat(StepDefinitionMatcher.getLeadingLiteral("^Products+ are listed$")).isEqualTo("Products");
+        assertThat(StepDefinitionMatcher.getLeadingLiteral("^(?i)case insensitive$")).isEmpty();
+        assertThat(StepDefinitionMatcher.getLeadingLiteral("^a (b|c)$")).isEqualTo("a ");
+        assertThat(StepDefinitionMatcher.getLeadingLiteral("^a$|^b$")).isEmpty();
+        assertThat(StepDefinitionMatcher.getLeadingLiteral("^a [|] b$")).isEqualTo("a ");
+    }
+
+    @Test
+    void getMatchingStepDefinitions_should_return_the_matches_in_the_order_of_the_step_definitions() {
+        // Given
+        StepDefinitionMatcher cut = new StepDefinitionMatcher(List.of(
+                "^User goes to the (.*) page$",
+                "^User goes to (.*)$",
+                "^User logs in$",
+                "(.*)page$",
+                "^Something else$"));
+
+        // When / Then
+        assertThat(cut.getMatchingStepDefinitions("User goes to the home page"))
+                .containsExactly("^User goes to the (.*) page$", "^User goes to (.*)$", "(.*)page$");
+        assertThat(cut.getMatchingStepDefinitions("User logs in")).containsExactly("^User logs in$");
+        assertThat(cut.getMatchingStepDefinitions("Unknown step")).isEmpty();
+    }
+
+    @Test
+    void getMatchingStepDefinitions_should_ignore_the_invalid_regular_expressions() {
+        // Given
+        StepDefinitionMatcher cut = new StepDefinitionMatcher(List.of("I have {int} cukes", "^I have (\\d+) cukes$"));
+
+        // When / Then
+        assertThat(cut.getMatchingStepDefinitions("I have 3 cukes")).containsExactly("^I have (\\d+) cukes$");
+    }
+
+    @Test
+    void getMatchingStepDefinitions_should_memoize_the_matches_by_step_name() {
+        // Given
+        StepDefinitionMatcher cut = new StepDefinitionMatcher(List.of("^Step \"([^\"]*)\"$"));
+
+        // When
+        List<String> first = cut.getMatchingStepDefinitions("Step \"1\"");
+        List<String> second = cut.getMatchingStepDefinitions("Step \"1\"");
+
+        // Then
+        assertThat(first).containsExactly("^Step \"([^\"]*)\"$");
+        assertThat(second).isSameAs(first);
+    }
+
+}
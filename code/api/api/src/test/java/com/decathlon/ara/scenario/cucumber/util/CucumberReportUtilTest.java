@@ -0,0 +1,102 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.cucumber.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+
+import org.junit.jupiter.api.Test;
+
+import com.decathlon.ara.scenario.cucumber.bean.Element;
+
+class CucumberReportUtilTest {
+
+    private static Element parseScenario(String stepsJson) throws IOException {
+        String reportJson = """
+                [{"name": "Feature", "elements": [{
+                    "name": "Scenario",
+                    "keyword": "Scenario",
+                    "before": [{"result": {"status": "passed", "duration": 1}, "match": {"location": "Hooks.before()"}}],
+                    "steps": %s,
+                    "after": [{"result": {"status": "passed", "duration": 2}, "match": {"location": "Hooks.after()"}}]
+                }]}]
+                """.formatted(stepsJson);
+        return CucumberReportUtil.parseReportJson(reportJson).get(0).getElements()[0];
+    }
+
+    @Test
+    void extractScenarioContent_should_render_hooks_background_steps_and_rows() throws IOException {
+        // GIVEN
+        Element scenario = parseScenario("""
+                [{"line": 12, "keyword": "Given ", "name": "a table", "result": {"status": "passed", "duration": 3},
+                  "rows": [{"line": 13, "cells": ["Key", "42"]}, {"line": 14, "cells": ["Longer key", "7"]}]},
+                 {"line": 15, "keyword": "Then ", "name": "it fails", "result": {"status": "failed", "duration": 4}}]
+                """);
+
+        // WHEN
+        String content = CucumberReportUtil.extractScenarioContent(scenario, "5:passed:6:Given a background");
+
+        // THEN
+        assertThat(content).isEqualTo("""
+                -100000:passed:1:@Before Hooks.before()
+                0:element:Background:
+                5:passed:6:Given a background
+                0:element:Scenario:
+                12:passed:3:Given a table
+                13:passed:| Key        | 42 |
+                14:passed:| Longer key |  7 |
+                15:failed:4:Then it fails
+                100000:passed:2:@After Hooks.after()""");
+    }
+
+    @Test
+    void extractScenarioContent_should_render_doc_strings_line_by_line() throws IOException {
+        // GIVEN
+        Element scenario = parseScenario("""
+                [{"line": 7, "keyword": "When ", "name": "sending", "result": {"status": "skipped", "duration": 0},
+                  "doc_string": {"content_type": "json", "value": "{\\r\\n  \\"a\\": 1\\r\\n}\\n\\n"}},
+                 {"line": 9, "keyword": "And ", "name": "an empty one", "result": {"status": "skipped", "duration": 0},
+                  "doc_string": {"value": ""}},
+                 {"line": 11, "keyword": "And ", "name": "a blank one", "result": {"status": "skipped", "duration": 0},
+                  "doc_string": {"value": "\\r\\n"}}]
+                """);
+
+        // WHEN
+        String content = CucumberReportUtil.extractScenarioContent(scenario, null);
+
+        // THEN
+        assertThat(content).isEqualTo("""
+                -100000:passed:1:@Before Hooks.before()
+                7:skipped:0:When sending
+                7:skipped:\"""json
+                7:skipped:{
+                7:skipped:  "a": 1
+                7:skipped:}
+                7:skipped:\"""
+                9:skipped:0:And an empty one
+                9:skipped:\"""
+                9:skipped:
+                9:skipped:\"""
+                11:skipped:0:And a blank one
+                11:skipped:\"""
+                11:skipped:\"""
+                100000:passed:2:@After Hooks.after()""");
+    }
+
+}
@@ -19,6 +19,7 @@ package com.decathlon.ara.scenario.cucumber.util;
 
 import static com.decathlon.ara.util.TestUtil.longs;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.IOException;
 import java.util.Arrays;
@@ -196,6 +197,14 @@ class ScenarioExtractorUtilTest {
         assertFunctionalityIds("Functionality STRING and 42: Title", 42);
     }
 
+    @Test
+    void testExtractFunctionalityIdsIsCached() {
+        List<Long> ids = ScenarioExtractorUtil.extractFunctionalityIds("Functionalities 42 & 43: Cached title");
+
+        assertThat(ScenarioExtractorUtil.extractFunctionalityIds("Functionalities 42 & 43: Cached title")).isSameAs(ids);
+        assertThatThrownBy(() -> ids.add(Long.valueOf(44))).isInstanceOf(UnsupportedOperationException.class);
+    }
+
     @Test
     void testExtractWrongFunctionalityIds() {
         List<Functionality> functionalities = Arrays.asList(
@@ -36,9 +36,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -711,4 +714,172 @@ class CypressScenariosIndexerTest {
         verify(executedScenario23, never()).setVideoUrl(anyString());
         verify(executedScenario23, never()).setScreenshotUrl(anyString());
     }
+
+    @Test
+    void getExecutedScenarios_pairEachReportWithTheStepDefinitionsFileOfTheSamePrefix_skippingTheFilesOfTheSameName(){
+        // Given
+        File parentFolder = mock(File.class);
+        Run run = mock(Run.class);
+        Long projectId = 1L;
+
+        File cucumberFolder = mock(File.class);
+        File loginReport = file("login.cucumber.json");
+        File cartReport = file("cart.cucumber.json");
+        File searchReport = file("search.cucumber.json");
+
+        // Same suffixes: the reports are also listed as step definitions files, but must not be paired with themselves
+        File stepDefinitionFolder = mock(File.class);
+        File loginReportAsStepDefinitions = file("login.cucumber.json");
+        File loginStepDefinitions = file("login.steps.cucumber.json");
+        File cartReportAsStepDefinitions = file("cart.cucumber.json");
+
+        List<Feature> loginFeatures = List.of(mock(Feature.class));
+        List<Feature> cartFeatures = List.of(mock(Feature.class));
+        List<Feature> searchFeatures = List.of(mock(Feature.class));
+        List<String> loginSteps = List.of("login step");
+
+        // When
+        givenCucumberReports(projectId, parentFolder, cucumberFolder, "cucumber", loginReport, cartReport, searchReport);
+        givenStepDefinitions(projectId, parentFolder, stepDefinitionFolder, "cucumber", loginReportAsStepDefinitions, loginStepDefinitions, cartReportAsStepDefinitions);
+        when(cucumberScenariosIndexer.getCucumberFeaturesFromReport(loginReport)).thenReturn(loginFeatures);
+        when(cucumberScenariosIndexer.getCucumberFeaturesFromReport(cartReport)).thenReturn(cartFeatures);
+        when(cucumberScenariosIndexer.getCucumberFeaturesFromReport(searchReport)).thenReturn(searchFeatures);
+        when(cucumberScenariosIndexer.getCucumberStepDefinitions(loginStepDefinitions)).thenReturn(loginSteps);
+        when(run.getJobUrl()).thenReturn("run-job-url");
+
+        // Then
+        cypressScenariosIndexer.getExecutedScenarios(parentFolder, run, projectId);
+        verify(executedScenarioExtractorService).extractExecutedScenarios(loginFeatures, loginSteps, "run-job-url");
+        verify(executedScenarioExtractorService).extractExecutedScenarios(cartFeatures, List.of(), "run-job-url");
+        verify(executedScenarioExtractorService).extractExecutedScenarios(searchFeatures, List.of(), "run-job-url");
+        verify(cucumberScenariosIndexer).getCucumberStepDefinitions(loginStepDefinitions);
+        verify(cucumberScenariosIndexer, never()).getCucumberStepDefinitions(loginReportAsStepDefinitions);
+        verify(cucumberScenariosIndexer, never()).getCucumberStepDefinitions(cartReportAsStepDefinitions);
+    }
+
+    @Test
+    void getExecutedScenarios_keepTheOrderOfTheReports_evenWhenTheFirstReportsAreTheSlowestToParse_andExtractTheScenariosSerially(){
+        // Given
+        File parentFolder = mock(File.class);
+        Run run = mock(Run.class);
+        Long projectId = 1L;
+
+        File cucumberFolder = mock(File.class);
+        int reportCount = 8;
+        File[] reports = new File[reportCount];
+        List<ExecutedScenario> expectedScenarios = new ArrayList<>();
+        Set<Thread> extractionThreads = ConcurrentHashMap.newKeySet();
+
+        // When
+        for (int i = 0; i < reportCount; i++) {
+            reports[i] = file("report" + i + ".cucumber.json");
+            List<Feature> features = List.of(mock(Feature.class));
+            ExecutedScenario first = scenario("feature" + i, "scenario" + i + "1");
+            ExecutedScenario second = scenario("feature" + i, "scenario" + i + "2");
+            expectedScenarios.add(first);
+            expectedScenarios.add(second);
+            long parsingMillis = (reportCount - i) * 20L;
+            when(cucumberScenariosIndexer.getCucumberFeaturesFromReport(reports[i])).thenAnswer(invocation -> {
+                Thread.sleep(parsingMillis);
+                return features;
+            });
+            // The extraction uploads the screenshots: it must not run in the parsing threads
+            when(executedScenarioExtractorService.extractExecutedScenarios(eq(features), anyList(), isNull())).thenAnswer(invocation -> {
+                extractionThreads.add(Thread.currentThread());
+                return List.of(first, second);
+            });
+        }
+        givenCucumberReports(projectId, parentFolder, cucumberFolder, "cucumber", reports);
+
+        // Then
+        List<ExecutedScenario> executedScenarios = cypressScenariosIndexer.getExecutedScenarios(parentFolder, run, projectId);
+        assertThat(executedScenarios).containsExactlyElementsOf(expectedScenarios);
+        assertThat(extractionThreads).containsExactly(Thread.currentThread());
+    }
+
+    @Test
+    void getExecutedScenarios_setTheMediasOfTheFirstMatchingFeatureAndSnapshot(){
+        // Given
+        File parentFolder = mock(File.class);
+        Run run = mock(Run.class);
+        Long projectId = 1L;
+
+        File cucumberFolder = mock(File.class);
+        File report = file("report.cucumber.json");
+        List<Feature> features = List.of(mock(Feature.class));
+
+        ExecutedScenario withSnapshot = scenario("a.feature", "a;1");
+        ExecutedScenario withoutSnapshot = scenario("a.feature", "a;2");
+        ExecutedScenario withoutVideo = scenario("b.feature", "b;1");
+        ExecutedScenario withoutMedia = scenario("c.feature", "c;1");
+
+        CypressMedia firstMediaOfA = mock(CypressMedia.class);
+        CypressVideo videoOfA = mock(CypressVideo.class);
+        CypressSnapshot firstSnapshot = mock(CypressSnapshot.class);
+        CypressSnapshot duplicateSnapshot = mock(CypressSnapshot.class);
+        CypressMedia secondMediaOfA = mock(CypressMedia.class);
+        CypressMedia mediaOfB = mock(CypressMedia.class);
+
+        // When
+        givenCucumberReports(projectId, parentFolder, cucumberFolder, "cucumber", report);
+        when(cucumberScenariosIndexer.getCucumberFeaturesFromReport(report)).thenReturn(features);
+        when(executedScenarioExtractorService.extractExecutedScenarios(features, List.of(), null))
+                .thenReturn(List.of(withSnapshot, withoutSnapshot, withoutVideo, withoutMedia));
+
+        when(technologySettingService.getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FOLDER_PATH)).thenReturn(Optional.empty());
+        when(technologySettingService.getSettingValue(projectId, CypressSettings.MEDIA_FILE_PATH)).thenReturn(Optional.of("media.json"));
+        when(fileProcessorService.getMappedObjectListFromFile(parentFolder, "media.json", CypressMedia.class))
+                .thenReturn(List.of(firstMediaOfA, secondMediaOfA, mediaOfB));
+        when(firstMediaOfA.getFeature()).thenReturn("a.feature");
+        when(firstMediaOfA.getVideo()).thenReturn(videoOfA);
+        when(videoOfA.getUrl()).thenReturn("http://url.com/a.mp4");
+        when(firstMediaOfA.getSnapshots()).thenReturn(List.of(firstSnapshot, duplicateSnapshot));
+        when(firstSnapshot.getId()).thenReturn("a;1");
+        when(firstSnapshot.getUrl()).thenReturn("http://url.com/a-1.png");
+        when(duplicateSnapshot.getId()).thenReturn("a;1");
+        when(duplicateSnapshot.getUrl()).thenReturn("http://url.com/a-1-duplicate.png");
+        when(secondMediaOfA.getFeature()).thenReturn("a.feature");
+        when(mediaOfB.getFeature()).thenReturn("b.feature");
+
+        // Then
+        cypressScenariosIndexer.getExecutedScenarios(parentFolder, run, projectId);
+        assertThat(withSnapshot.getScreenshotUrl()).isEqualTo("http://url.com/a-1.png");
+        assertThat(withSnapshot.getVideoUrl()).isEqualTo("http://url.com/a.mp4");
+        assertThat(withoutSnapshot.getScreenshotUrl()).isNull();
+        assertThat(withoutSnapshot.getVideoUrl()).isEqualTo("http://url.com/a.mp4");
+        assertThat(withoutVideo.getScreenshotUrl()).isNull();
+        assertThat(withoutVideo.getVideoUrl()).isNull();
+        assertThat(withoutMedia.getScreenshotUrl()).isNull();
+        assertThat(withoutMedia.getVideoUrl()).isNull();
+        verify(secondMediaOfA, never()).getVideo();
+        verify(secondMediaOfA, never()).getSnapshots();
+    }
+
+    private void givenCucumberReports(Long projectId, File parentFolder, File cucumberFolder, String suffix, File... reports) {
+        when(technologySettingService.getSettingValue(projectId, CypressSettings.CUCUMBER_REPORTS_FOLDER_PATHS)).thenReturn(Optional.of("/cucumberFolder"));
+        when(fileProcessorService.getMatchingDirectory(parentFolder, "/cucumberFolder")).thenReturn(Optional.of(cucumberFolder));
+        when(technologySettingService.getSettingValue(projectId, CypressSettings.CUCUMBER_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of(suffix));
+        when(cucumberFolder.listFiles()).thenReturn(reports);
+    }
+
+    private void givenStepDefinitions(Long projectId, File parentFolder, File stepDefinitionFolder, String suffix, File... stepDefinitions) {
+        when(technologySettingService.getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FOLDER_PATH)).thenReturn(Optional.of("/stepDefinitionsFolder"));
+        when(fileProcessorService.getMatchingDirectory(parentFolder, "/stepDefinitionsFolder")).thenReturn(Optional.of(stepDefinitionFolder));
+        when(technologySettingService.getSettingValue(projectId, CypressSettings.STEP_DEFINITIONS_FILE_NAME_SUFFIX_VALUE)).thenReturn(Optional.of(suffix));
+        when(stepDefinitionFolder.listFiles()).thenReturn(stepDefinitions);
+    }
+
+    private static File file(String name) {
+        File file = mock(File.class);
+        when(file.isFile()).thenReturn(true);
+        when(file.getName()).thenReturn(name);
+        return file;
+    }
+
+    private static ExecutedScenario scenario(String featureFile, String cucumberId) {
+        ExecutedScenario scenario = new ExecutedScenario();
+        scenario.setFeatureFile(featureFile);
+        scenario.setCucumberId(cucumberId);
+        return scenario;
+    }
 }
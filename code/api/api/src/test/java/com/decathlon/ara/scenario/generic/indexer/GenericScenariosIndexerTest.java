@@ -48,6 +48,8 @@ import java.util.Set;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -291,4 +293,30 @@ class GenericScenariosIndexerTest {
         Set<Error> scenario2Errors = executedScenarios.get(1).getErrors();
         assertThat(scenario2Errors).isNotNull().isEmpty();
     }
+
+    @Test
+    void getExecutedScenarios_readConcatenatedReports_whenReportsLocationIsAFile() {
+        // Given
+        File parentFolder = mock(File.class);
+        Run run = mock(Run.class);
+        Long projectId = 1L;
+
+        String reportsLocation = "/reports.ndjson";
+        File reportsFile = mock(File.class);
+
+        GenericExecutedScenarioReport genericReport = mock(GenericExecutedScenarioReport.class);
+
+        // When
+        when(technologySettingService.getSettingValue(projectId, GenericSettings.REPORTS_LOCATION)).thenReturn(Optional.of(reportsLocation));
+        when(fileProcessorService.getMatchingSimpleFile(parentFolder, reportsLocation)).thenReturn(Optional.of(reportsFile));
+        when(fileProcessorService.getMappedObjectsFromConcatenatedFile(reportsFile, GenericExecutedScenarioReport.class)).thenReturn(List.of(genericReport));
+        when(genericReport.getCode()).thenReturn("feature_id1");
+
+        // Then
+        List<ExecutedScenario> executedScenarios = genericScenariosIndexer.getExecutedScenarios(parentFolder, run, projectId);
+        assertThat(executedScenarios)
+                .extracting("cucumberId", "run")
+                .containsExactly(tuple("feature_id1", run));
+        verify(fileProcessorService, never()).getMappedObjectsFromDirectory(parentFolder, reportsLocation, GenericExecutedScenarioReport.class);
+    }
 }
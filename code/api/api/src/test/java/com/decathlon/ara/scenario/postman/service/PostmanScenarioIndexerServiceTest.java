@@ -18,6 +18,7 @@
 package com.decathlon.ara.scenario.postman.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.AdditionalAnswers.returnsFirstArg;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -30,9 +31,11 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
 import java.nio.file.Path;
@@ -41,7 +44,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
+import org.apache.commons.io.FileUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -490,6 +496,43 @@ class PostmanScenarioIndexerServiceTest {
                 "/root-file2.json");
     }
 
+    @Test
+    void extractScenarios_should_parse_all_collections_and_keep_scenarios_ordered_by_file_and_position() throws IOException {
+        // GIVEN
+        Source source = new Source();
+        File zipFile = File.createTempFile("ara_temp_unit_test_file_", ".zip");
+        try {
+            try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(zipFile))) {
+                for (int i = 9; i >= 0; i--) {
+                    zip.putNextEntry(new ZipEntry("collections/collection" + i + ".json"));
+                    zip.write(("{\"info\":{\"name\":\"Collection " + i + "\"},\"item\":[{\"name\":\"all\",\"item\":[" +
+                            "{\"name\":\"Request 1\",\"request\":{}},{\"name\":\"Request 2\",\"request\":{}}]}]}").getBytes(StandardCharsets.UTF_8));
+                    zip.closeEntry();
+                }
+                zip.putNextEntry(new ZipEntry("collections/broken.json"));
+                zip.write("{\"item\":".getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+            doReturn(new ObjectMapper().readerFor(CollectionWithScripts.class)).when(objectMapper).readerFor(CollectionWithScripts.class);
+            doAnswer(returnsFirstArg()).when(postmanService).removeSeverityTag(anyString());
+
+            // WHEN
+            List<Scenario> scenarios = cut.extractScenarios(source, zipFile);
+
+            // THEN
+            assertThat(scenarios).hasSize(20);
+            for (int i = 0; i < 10; i++) {
+                assertThat(scenarios.subList(i * 2, i * 2 + 2))
+                        .extracting("featureFile", "featureName", "name", "line")
+                        .containsExactly(
+                                tuple("collections/collection" + i + ".json", "Collection " + i, "all" + PostmanService.FOLDER_DELIMITER + "Request 1", 1),
+                                tuple("collections/collection" + i + ".json", "Collection " + i, "all" + PostmanService.FOLDER_DELIMITER + "Request 2", 2));
+            }
+        } finally {
+            FileUtils.deleteQuietly(zipFile);
+        }
+    }
+
     private CollectionWithScripts collectionWithScripts(ItemWithScripts[] item, Info info) {
         CollectionWithScripts collectionWithScripts = new CollectionWithScripts();
         TestUtil.setField(collectionWithScripts, "item", item);
@@ -31,7 +31,6 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
-import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
@@ -50,7 +49,6 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.AdditionalMatchers;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
@@ -79,6 +77,7 @@ import com.decathlon.ara.scenario.postman.bean.Stream;
 import com.decathlon.ara.scenario.postman.bean.Url;
 import com.decathlon.ara.scenario.postman.model.NewmanParsingResult;
 import com.decathlon.ara.scenario.postman.model.NewmanScenario;
+import com.decathlon.ara.scenario.postman.model.ResponseBodySpool;
 import com.decathlon.ara.util.TestUtil;
 import com.decathlon.ara.util.builder.RunBuilder;
 import com.fasterxml.jackson.core.JsonFactory;
@@ -166,13 +165,13 @@ class PostmanServiceTest {
         JsonParser jsonParser = new JsonFactory().createParser(json);
         NewmanParsingResult result = new NewmanParsingResult();
 
-        doAnswer(invocation -> null).when(cut).saveExecutionStreamToFile(any(Execution.class));
+        doAnswer(invocation -> null).when(cut).saveExecutionStreamToSpool(any(Execution.class), same(result));
 
         // WHEN
         cut.parse(jsonParser, result);
 
         // THEN
-        verify(cut, times(2)).saveExecutionStreamToFile(any(Execution.class));
+        verify(cut, times(2)).saveExecutionStreamToSpool(any(Execution.class), same(result));
         assertThat(result.getCollection().getInfo().getName()).isEqualTo("collection-name");
         assertThat(result.getExecutions()).hasSize(2);
         assertThat(result.getExecutions().get(0).getItem().getId()).isEqualTo("execution-item-id");
@@ -183,51 +182,59 @@ class PostmanServiceTest {
     }
 
     @Test
-    void saveExecutionStreamToFile_should_not_crash_if_execution_has_null_response() throws IOException {
+    void saveExecutionStreamToSpool_should_not_crash_if_execution_has_null_response() throws IOException {
         // GIVEN
         Execution execution = new Execution();
 
         // WHEN
-        Assertions.assertDoesNotThrow(() -> cut.saveExecutionStreamToFile(execution));
+        Assertions.assertDoesNotThrow(() -> cut.saveExecutionStreamToSpool(execution, new NewmanParsingResult()));
         ;
     }
 
     @Test
-    void saveExecutionStreamToFile_should_not_crash_if_response_has_null_stream() throws IOException {
+    void saveExecutionStreamToSpool_should_not_crash_if_response_has_null_stream() throws IOException {
         // GIVEN
         Execution execution = execution(null, null, new Response(), null);
 
         // WHEN
-        Assertions.assertDoesNotThrow(() -> cut.saveExecutionStreamToFile(execution));
+        Assertions.assertDoesNotThrow(() -> cut.saveExecutionStreamToSpool(execution, new NewmanParsingResult()));
         ;
     }
 
     @Test
-    void saveExecutionStreamToFile_should_not_crash_if_stream_has_null_data() throws IOException {
+    void saveExecutionStreamToSpool_should_not_crash_if_stream_has_null_data() throws IOException {
         // GIVEN
         Execution execution = execution(null, null, response(0, null, new Stream(), 0, null), null);
 
         // WHEN
-        Assertions.assertDoesNotThrow(() -> cut.saveExecutionStreamToFile(execution));
+        Assertions.assertDoesNotThrow(() -> cut.saveExecutionStreamToSpool(execution, new NewmanParsingResult()));
         ;
     }
 
     @Test
-    void saveExecutionStreamToFile_should_save_execution_stream_to_file() throws IOException {
+    void saveExecutionStreamToSpool_should_append_execution_streams_to_one_spool_file() throws IOException {
         // GIVEN
-        final Stream stream = stream(new byte[] { 'a', 'b', 'c' }, null);
-        Execution execution = execution(null, null, response(0, null, stream, 0, null), null);
+        final Stream stream1 = stream(new byte[] { 'a', 'b', 'c' });
+        final Stream stream2 = stream(new byte[] { 'd', 'e' });
+        Execution execution1 = execution(null, null, response(0, null, stream1, 0, null), null);
+        Execution execution2 = execution(null, null, response(0, null, stream2, 0, null), null);
+        NewmanParsingResult result = new NewmanParsingResult();
 
         try {
             // WHEN
-            cut.saveExecutionStreamToFile(execution);
+            cut.saveExecutionStreamToSpool(execution1, result);
+            cut.saveExecutionStreamToSpool(execution2, result);
 
             // THEN
-            assertThat(stream.getData()).isNull();
-            assertThat(stream.getTempFile()).isNotNull();
-            assertThat(FileUtils.readFileToString(stream.getTempFile(), StandardCharsets.UTF_8)).isEqualTo("abc");
+            assertThat(result.getResponseBodySpool()).isNotNull();
+            assertThat(stream1.getData()).isNull();
+            assertThat(stream2.getData()).isNull();
+            assertThat(stream1.getSpooledData().spool()).isSameAs(result.getResponseBodySpool());
+            assertThat(stream2.getSpooledData().spool()).isSameAs(result.getResponseBodySpool());
+            assertThat(new String(stream1.getSpooledData().read(), StandardCharsets.UTF_8)).isEqualTo("abc");
+            assertThat(new String(stream2.getSpooledData().read(), StandardCharsets.UTF_8)).isEqualTo("de");
         } finally {
-            FileUtils.deleteQuietly(stream.getTempFile());
+            cut.deleteResponseBodySpool(result);
         }
     }
 
@@ -1141,7 +1148,6 @@ class PostmanServiceTest {
         doNothing().when(cut).mapFailuresToScenarios(same(failures), same(newmanScenarios));
         doNothing().when(cut).buildScenarioContents(same(newmanScenarios));
         doNothing().when(cut).buildScenarioErrors(same(newmanScenarios));
-        doNothing().when(cut).deleteTempFile(same(response1));
         doReturn("collection-file-name").when(cut).toCollectionFileName(source, newmanReportPath);
         doReturn("http-log-url-1").when(cut).uploadHttpLog(same(newmanScenarioWithExecution));
         doReturn("http-log-url-2").when(cut).uploadHttpLog(same(newmanScenarioWithExecutionAndFailure));
@@ -1156,8 +1162,6 @@ class PostmanServiceTest {
         verify(cut, times(1)).mapFailuresToScenarios(same(failures), same(newmanScenarios));
         verify(cut, times(1)).buildScenarioContents(same(newmanScenarios));
         verify(cut, times(1)).buildScenarioErrors(same(newmanScenarios));
-        verify(cut, times(1)).deleteTempFile(same(response1));
-        verify(cut, never()).deleteTempFile(same(response2));
 
         assertThat(executedScenarios).hasSize(2);
         assertThat(executedScenarios.get(0).getFeatureFile()).isEqualTo("collection-file-name");
@@ -1168,75 +1172,31 @@ class PostmanServiceTest {
     }
 
     @Test
-    void deleteTempFile_should_not_crash_if_response_is_null() {
-        // WHEN
-        Assertions.assertDoesNotThrow(() -> cut.deleteTempFile(null));
-    }
-
-    @Test
-    void deleteTempFile_should_not_crash_if_response_stream_is_null() {
+    void deleteResponseBodySpool_should_not_crash_if_spool_is_null() {
         // WHEN
-        Assertions.assertDoesNotThrow(() -> cut.deleteTempFile(new Response()));
+        Assertions.assertDoesNotThrow(() -> cut.deleteResponseBodySpool(new NewmanParsingResult()));
     }
 
     @Test
-    void deleteTempFile_should_not_crash_if_tempFile_is_null() {
-        // WHEN
-        Assertions.assertDoesNotThrow(() -> cut.deleteTempFile(response(0, null, new Stream(), 0, null)));
-    }
-
-    @Test
-    void deleteTempFile_should_delete_the_temporary_file_and_set_it_to_null() throws IOException {
+    void deleteResponseBodySpool_should_delete_the_spool_file_and_set_it_to_null() throws IOException {
         // GIVEN
-        File tempFile = File.createTempFile("ara_temp_unit_test_file_", ".bin");
-        tempFile.deleteOnExit();
-        Stream stream = new Stream();
-        stream.setTempFile(tempFile);
-        Response response = response(0, null, stream, 0, null);
+        ResponseBodySpool spool = new ResponseBodySpool();
+        spool.append(new byte[] { 'a' });
+        NewmanParsingResult newmanParsingResult = new NewmanParsingResult();
+        newmanParsingResult.setResponseBodySpool(spool);
 
         try {
             // WHEN
-            cut.deleteTempFile(response);
+            cut.deleteResponseBodySpool(newmanParsingResult);
 
             // THEN
-            assertThat(tempFile.exists()).isFalse();
-            assertThat(response.getStream().getTempFile()).isNull();
+            assertThat(spool.getFile()).doesNotExist();
+            assertThat(newmanParsingResult.getResponseBodySpool()).isNull();
         } finally {
-            FileUtils.deleteQuietly(tempFile);
+            FileUtils.deleteQuietly(spool.getFile().toFile());
         }
     }
 
-    @Test
-    void deleteTempFiles_should_so_nothing_on_null_executions() {
-        // GIVEN
-        NewmanParsingResult newmanParsingResult = new NewmanParsingResult();
-
-        // WHEN
-        cut.deleteTempFiles(newmanParsingResult);
-
-        // THEN
-        verify(cut, never()).deleteTempFile(any());
-    }
-
-    @Test
-    void deleteTempFiles_should_delete_all_files() {
-        // GIVEN
-        final Response response1 = new Response();
-        final Response response2 = new Response();
-        NewmanParsingResult newmanParsingResult = newmanParsingResult(null, Arrays.asList(
-                execution(null, null, response1, null),
-                execution(null, null, response2, null)), null);
-
-        ArgumentCaptor<Response> argument = ArgumentCaptor.forClass(Response.class);
-        doNothing().when(cut).deleteTempFile(argument.capture());
-
-        // WHEN
-        cut.deleteTempFiles(newmanParsingResult);
-
-        // THEN
-        assertThat(argument.getAllValues()).containsExactly(response1, response2);
-    }
-
     @Test
     void uploadHttpLog_should_do_nothing_and_return_null_on_empty_failures() {
         // GIVEN
@@ -1248,7 +1208,6 @@ class PostmanServiceTest {
         // THEN
         assertThat(url).isNull();
         verify(cut, never()).generateHttpLogHtml(any());
-        verify(cut, never()).deleteTempFile(any());
     }
 
     @Test
@@ -1258,7 +1217,6 @@ class PostmanServiceTest {
         newmanScenario.getFailures().add(new Failure());
         doReturn("html").when(cut).generateHttpLogHtml(same(newmanScenario));
         when(assetService.saveHttpLogs("html")).thenReturn("url");
-        doNothing().when(cut).deleteTempFile(any());
 
         // WHEN
         final String url = cut.uploadHttpLog(newmanScenario);
@@ -1267,23 +1225,6 @@ class PostmanServiceTest {
         assertThat(url).isEqualTo("url");
     }
 
-    @Test
-    void uploadHttpLog_should_delete_temp_file_after_upload() {
-        // GIVEN
-        final Response response = new Response();
-        NewmanScenario newmanScenario = newmanScenario(null, null, execution(null, null, response, null));
-        newmanScenario.getFailures().add(new Failure());
-        doReturn("any").when(cut).generateHttpLogHtml(any());
-        when(assetService.saveHttpLogs(any())).thenReturn("any");
-        doNothing().when(cut).deleteTempFile(any());
-
-        // WHEN
-        cut.uploadHttpLog(newmanScenario);
-
-        // THEN
-        verify(cut, times(1)).deleteTempFile(same(response));
-    }
-
     @Test
     void generateHttpLogHtml_should_return_the_generated_html() {
         // GIVEN
@@ -1578,14 +1519,13 @@ class PostmanServiceTest {
     @Test
     void appendResponseBody_should_append_pretty_file_content() throws IOException {
         // GIVEN
-        File tempFile = File.createTempFile("ara_temp_unit_test_file_", ".bin");
-        tempFile.deleteOnExit();
+        ResponseBodySpool spool = new ResponseBodySpool();
 
         try {
             StringBuilder html = new StringBuilder();
-            FileUtils.writeStringToFile(tempFile, "content", StandardCharsets.UTF_8);
+            spool.append("ignored".getBytes(StandardCharsets.UTF_8));
             Stream stream = new Stream();
-            stream.setTempFile(tempFile);
+            stream.setSpooledData(spool.append("content".getBytes(StandardCharsets.UTF_8)));
             doReturn("<p>pretty</p>").when(cut).prettyPrint(eq("content"), eq("application/json"));
 
             // WHEN
@@ -1594,23 +1534,25 @@ class PostmanServiceTest {
             // THEN
             assertThat(html.toString()).isEqualTo("<pre>&lt;p&gt;pretty&lt;/p&gt;</pre>\n");
         } finally {
-            FileUtils.deleteQuietly(tempFile);
+            spool.close();
         }
     }
 
     @Test
-    void appendResponseBody_should_append_error_message_when_file_read_error() {
+    void appendResponseBody_should_append_error_message_when_file_read_error() throws IOException {
         // GIVEN
         StringBuilder html = new StringBuilder();
+        ResponseBodySpool spool = new ResponseBodySpool();
         Stream stream = new Stream();
-        stream.setTempFile(new File("nonexistent"));
+        stream.setSpooledData(spool.append("content".getBytes(StandardCharsets.UTF_8)));
+        spool.close();
 
         // WHEN
         cut.appendResponseBody(html, stream, "any");
 
         // THEN
         assertThat(html.toString()).startsWith("<pre>Error in ARA while reading the content of the response received by Newman:\n" +
-                "java.io.FileNotFoundException: File");
+                "java.nio.channels.ClosedChannelException");
         assertThat(html.toString()).endsWith("</pre>\n");
     }
 
@@ -1774,10 +1716,9 @@ class PostmanServiceTest {
         return request;
     }
 
-    private Stream stream(byte[] data, File tempFile) {
+    private Stream stream(byte[] data) {
         Stream stream = new Stream();
         stream.setData(data);
-        stream.setTempFile(tempFile);
         return stream;
     }
 
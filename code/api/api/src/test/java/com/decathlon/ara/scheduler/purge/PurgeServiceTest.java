@@ -1,26 +1,40 @@
 package com.decathlon.ara.scheduler.purge;
 
-import com.decathlon.ara.domain.Execution;
+import com.decathlon.ara.purge.service.ExecutionCompactionService;
 import com.decathlon.ara.purge.service.PurgeService;
+import com.decathlon.ara.repository.CountryDeploymentRepository;
+import com.decathlon.ara.repository.ErrorRepository;
+import com.decathlon.ara.repository.ExecutedScenarioRepository;
 import com.decathlon.ara.repository.ExecutionRepository;
+import com.decathlon.ara.repository.ProblemOccurrenceRepository;
+import com.decathlon.ara.repository.RunRepository;
 import com.decathlon.ara.service.ProjectService;
 import com.decathlon.ara.service.SettingService;
 import com.decathlon.ara.service.dto.project.ProjectDTO;
 import com.decathlon.ara.service.exception.NotFoundException;
 import com.decathlon.ara.service.support.Settings;
 import com.decathlon.ara.service.util.DateService;
+import com.decathlon.ara.util.TestUtil;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,9 +52,37 @@ class PurgeServiceTest {
     @Mock
     private DateService dateService;
 
+    @Mock
+    private RunRepository runRepository;
+
+    @Mock
+    private CountryDeploymentRepository countryDeploymentRepository;
+
+    @Mock
+    private ExecutedScenarioRepository executedScenarioRepository;
+
+    @Mock
+    private ErrorRepository errorRepository;
+
+    @Mock
+    private ProblemOccurrenceRepository problemOccurrenceRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ExecutionCompactionService executionCompactionService;
+
     @InjectMocks
     private PurgeService purgeService;
 
+    @BeforeEach
+    void setUp() {
+        TestUtil.setField(purgeService, "chunkSize", 2);
+        TestUtil.setField(purgeService, "compactionChunkSize", 2);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
     @Test
     void purgeExecutionsByProjectCode_doNothing_whenProjectCodeUnknown() throws NotFoundException {
         // Given
@@ -140,111 +182,108 @@ class PurgeServiceTest {
     }
 
     @Test
-    void purgeExecutionsByProjectCode_purgeOlderExecutions_whenValueAndTypeSettingsFoundAndCorrect() throws NotFoundException {
+    void purgeExecutionsByProjectCode_purgeOlderExecutionsByChunks_whenValueAndTypeSettingsFoundAndCorrect() throws NotFoundException {
         // Given
         var projectCode = "project-code";
         var projectId = 1L;
         var value = "3";
         var type = "anyDurationType";
         var startDate = mock(Date.class);
-
-        Execution execution1 = mock(Execution.class);
-        Long executionId1 = 1L;
-        Execution execution2 = mock(Execution.class);
-        Long executionId2 = 2L;
-        Execution execution3 = mock(Execution.class);
-        Long executionId3 = 3L;
-        List<Execution> executionsToDelete = List.of(execution1, execution2, execution3);
+        var chunk = PageRequest.of(0, 2);
 
         // When
         when(projectService.toId(projectCode)).thenReturn(projectId);
         when(settingService.get(projectId, Settings.EXECUTION_PURGE_DURATION_VALUE)).thenReturn(value);
         when(settingService.get(projectId, Settings.EXECUTION_PURGE_DURATION_TYPE)).thenReturn(type);
         when(dateService.getTodayDateMinusPeriod(3, type)).thenReturn(Optional.of(startDate));
-        when(executionRepository.findByCycleDefinitionProjectIdAndTestDateTimeBefore(projectId, startDate)).thenReturn(executionsToDelete);
-        when(execution1.getId()).thenReturn(executionId1);
-        when(execution2.getId()).thenReturn(executionId2);
-        when(execution3.getId()).thenReturn(executionId3);
+        when(executionRepository.countByCycleDefinitionProjectIdAndTestDateTimeBefore(projectId, startDate)).thenReturn(3L);
+        when(executionRepository.findIdsByProjectIdAndTestDateTimeBefore(projectId, startDate, 0, chunk)).thenReturn(List.of(1L, 2L));
+        when(executionRepository.findIdsByProjectIdAndTestDateTimeBefore(projectId, startDate, 2, chunk)).thenReturn(List.of(3L));
+        when(executionRepository.findIdsByProjectIdAndTestDateTimeBefore(projectId, startDate, 3, chunk)).thenReturn(List.of());
 
         // Then
         purgeService.purgeExecutionsByProjectCode(projectCode);
-        var executionIdsToDeleteArgumentCaptor = ArgumentCaptor.forClass(List.class);
-        verify(executionRepository).deleteAllByIdInBatch(executionIdsToDeleteArgumentCaptor.capture());
-        assertThat(executionIdsToDeleteArgumentCaptor.getValue()).containsExactlyInAnyOrder(executionId1, executionId2, executionId3);
+        verify(transactionTemplate, times(2)).execute(any());
+        var inOrder = inOrder(problemOccurrenceRepository, errorRepository, executedScenarioRepository, runRepository, countryDeploymentRepository, executionRepository);
+        for (var executionIds : List.of(List.of(1L, 2L), List.of(3L))) {
+            inOrder.verify(problemOccurrenceRepository).deleteByExecutionIds(executionIds);
+            inOrder.verify(errorRepository).deleteByExecutionIds(executionIds);
+            inOrder.verify(executedScenarioRepository).deleteByExecutionIds(executionIds);
+            inOrder.verify(runRepository).deleteByExecutionIds(executionIds);
+            inOrder.verify(countryDeploymentRepository).deleteByExecutionIds(executionIds);
+            inOrder.verify(executionRepository).deleteAllByIdInBatch(executionIds);
+        }
+        assertThat(purgeService.getProgress(projectId)).hasValueSatisfying(progress -> {
+            assertThat(progress.getTotalExecutions()).isEqualTo(3);
+            assertThat(progress.getDeletedExecutions()).isEqualTo(3);
+            assertThat(progress.getPercentage()).isEqualTo(100);
+            assertThat(progress.isDone()).isTrue();
+            assertThat(progress.getStartDateTime()).isNotNull();
+            assertThat(progress.getEndDateTime()).isNotNull();
+            assertThat(progress.getEstimatedEndDateTime()).isEqualTo(progress.getEndDateTime());
+        });
     }
 
     @Test
-    void purgeAllProjects_purgeOlderExecutions_whenValueAndTypeSettingsFoundAndCorrect() {
+    void compactExecutionsByProjectId_doNothing_whenCompactionDurationIsNegative() {
+        // Given
+        var projectId = 1L;
+
+        // When
+        when(settingService.get(projectId, Settings.EXECUTION_COMPACTION_DURATION_VALUE)).thenReturn("-1");
+
+        // Then
+        purgeService.compactExecutionsByProjectId(projectId);
+        verify(executionCompactionService, never()).compactRuns(anyList());
+    }
+
+    @Test
+    void compactExecutionsByProjectId_compactOlderRunsByChunks_whenCompactionSettingsFoundAndCorrect() {
         // Given
+        var projectId = 1L;
+        var type = "anyDurationType";
+        var startDate = mock(Date.class);
+        var chunk = PageRequest.of(0, 2);
 
-        // Project 1
-        var project1 = mock(ProjectDTO.class);
-        var projectCode1 = "project-code-1";
-        var projectId1 = 1L;
-        var value1 = "1";
-        var type1 = "anyDurationType1";
-        var startDate1 = mock(Date.class);
-        Execution executionToDelete11 = mock(Execution.class);
-        Long executionId11 = 11L;
-        List<Execution> executionsToDelete1 = List.of(executionToDelete11);
-
-        // Project 2
-        var project2 = mock(ProjectDTO.class);
-        var projectCode2 = "project-code-2";
-        var projectId2 = 2L;
-        var value2 = "2";
-        var type2 = "anyDurationType2";
-        var startDate2 = mock(Date.class);
-        Execution executionToDelete21 = mock(Execution.class);
-        Execution executionToDelete22 = mock(Execution.class);
-        Long executionId21 = 21L;
-        Long executionId22 = 22L;
-        List<Execution> executionsToDelete2 = List.of(executionToDelete21, executionToDelete22);
-
-        // Project 3
-        var project3 = mock(ProjectDTO.class);
-        var projectCode3 = "project-code-3";
-        var projectId3 = 3L;
-        var value3 = "3";
-        var type3 = "anyDurationType3";
-        var startDate3 = mock(Date.class);
-        Execution executionToDelete31 = mock(Execution.class);
-        Execution executionToDelete32 = mock(Execution.class);
-        Execution executionToDelete33 = mock(Execution.class);
-        Long executionId31 = 31L;
-        Long executionId32 = 32L;
-        Long executionId33 = 33L;
-        List<Execution> executionsToDelete3 = List.of(executionToDelete31, executionToDelete32, executionToDelete33);
+        // When
+        when(settingService.get(projectId, Settings.EXECUTION_COMPACTION_DURATION_VALUE)).thenReturn("2");
+        when(settingService.get(projectId, Settings.EXECUTION_COMPACTION_DURATION_TYPE)).thenReturn(type);
+        when(dateService.getTodayDateMinusPeriod(2, type)).thenReturn(Optional.of(startDate));
+        when(runRepository.findIdsToCompactByProjectIdAndTestDateTimeBefore(projectId, startDate, 0, chunk)).thenReturn(List.of(10L, 11L));
+        when(runRepository.findIdsToCompactByProjectIdAndTestDateTimeBefore(projectId, startDate, 11, chunk)).thenReturn(List.of(12L));
+        when(runRepository.findIdsToCompactByProjectIdAndTestDateTimeBefore(projectId, startDate, 12, chunk)).thenReturn(List.of());
+
+        // Then
+        purgeService.compactExecutionsByProjectId(projectId);
+        verify(executionCompactionService).compactRuns(List.of(10L, 11L));
+        verify(executionCompactionService).compactRuns(List.of(12L));
+        verify(executionRepository, never()).deleteAllByIdInBatch(anyList());
+    }
+
+    @Test
+    void purgeAllProjects_purgeOlderExecutions_whenValueAndTypeSettingsFoundAndCorrect() {
+        // Given
+        TestUtil.setField(purgeService, "parallelism", 2);
+        var projects = new ArrayList<ProjectDTO>();
+        for (long id = 1; id <= 3; id++) {
+            var projectId = id;
+            var project = mock(ProjectDTO.class);
+            var type = "anyDurationType" + projectId;
+            var startDate = mock(Date.class);
+            var executionIds = LongStream.rangeClosed(1, projectId).map(index -> projectId * 10 + index).boxed().toList();
+            when(project.getId()).thenReturn(projectId);
+            when(project.getCode()).thenReturn("project-code-" + projectId);
+            when(settingService.get(projectId, Settings.EXECUTION_PURGE_DURATION_VALUE)).thenReturn(String.valueOf(projectId));
+            when(settingService.get(projectId, Settings.EXECUTION_PURGE_DURATION_TYPE)).thenReturn(type);
+            when(dateService.getTodayDateMinusPeriod((int) projectId, type)).thenReturn(Optional.of(startDate));
+            when(executionRepository.countByCycleDefinitionProjectIdAndTestDateTimeBefore(projectId, startDate)).thenReturn((long) executionIds.size());
+            when(executionRepository.findIdsByProjectIdAndTestDateTimeBefore(eq(projectId), same(startDate), anyLong(), any(Pageable.class)))
+                    .thenReturn(executionIds, List.of());
+            projects.add(project);
+        }
 
         // When
-        when(projectService.findAll()).thenReturn(List.of(project1, project2, project3));
-
-        when(project1.getId()).thenReturn(projectId1);
-        when(project1.getCode()).thenReturn(projectCode1);
-        when(settingService.get(projectId1, Settings.EXECUTION_PURGE_DURATION_VALUE)).thenReturn(value1);
-        when(settingService.get(projectId1, Settings.EXECUTION_PURGE_DURATION_TYPE)).thenReturn(type1);
-        when(dateService.getTodayDateMinusPeriod(1, type1)).thenReturn(Optional.of(startDate1));
-        when(executionRepository.findByCycleDefinitionProjectIdAndTestDateTimeBefore(projectId1, startDate1)).thenReturn(executionsToDelete1);
-        when(executionToDelete11.getId()).thenReturn(executionId11);
-
-        when(project2.getId()).thenReturn(projectId2);
-        when(project2.getCode()).thenReturn(projectCode2);
-        when(settingService.get(projectId2, Settings.EXECUTION_PURGE_DURATION_VALUE)).thenReturn(value2);
-        when(settingService.get(projectId2, Settings.EXECUTION_PURGE_DURATION_TYPE)).thenReturn(type2);
-        when(dateService.getTodayDateMinusPeriod(2, type2)).thenReturn(Optional.of(startDate2));
-        when(executionRepository.findByCycleDefinitionProjectIdAndTestDateTimeBefore(projectId2, startDate2)).thenReturn(executionsToDelete2);
-        when(executionToDelete21.getId()).thenReturn(executionId21);
-        when(executionToDelete22.getId()).thenReturn(executionId22);
-
-        when(project3.getId()).thenReturn(projectId3);
-        when(project3.getCode()).thenReturn(projectCode3);
-        when(settingService.get(projectId3, Settings.EXECUTION_PURGE_DURATION_VALUE)).thenReturn(value3);
-        when(settingService.get(projectId3, Settings.EXECUTION_PURGE_DURATION_TYPE)).thenReturn(type3);
-        when(dateService.getTodayDateMinusPeriod(3, type3)).thenReturn(Optional.of(startDate3));
-        when(executionRepository.findByCycleDefinitionProjectIdAndTestDateTimeBefore(projectId3, startDate3)).thenReturn(executionsToDelete3);
-        when(executionToDelete31.getId()).thenReturn(executionId31);
-        when(executionToDelete32.getId()).thenReturn(executionId32);
-        when(executionToDelete33.getId()).thenReturn(executionId33);
+        when(projectService.findAll()).thenReturn(projects);
 
         // Then
         purgeService.purgeAllProjects();
@@ -252,6 +291,29 @@ class PurgeServiceTest {
         verify(executionRepository, times(3)).deleteAllByIdInBatch(executionIdsToDeleteArgumentCaptor.capture());
         assertThat(executionIdsToDeleteArgumentCaptor.getAllValues())
                 .hasSize(3)
-                .containsExactlyInAnyOrder(List.of(executionId11), List.of(executionId21, executionId22), List.of(executionId31, executionId32, executionId33));
+                .containsExactlyInAnyOrder(List.of(11L), List.of(21L, 22L), List.of(31L, 32L, 33L));
+    }
+
+    @Test
+    void purgeAllProjects_purgeOtherProjects_whenOneProjectPurgeFails() {
+        // Given
+        var failingProject = mock(ProjectDTO.class);
+        var project = mock(ProjectDTO.class);
+        var startDate = mock(Date.class);
+        when(failingProject.getId()).thenReturn(1L);
+        when(project.getId()).thenReturn(2L);
+        when(settingService.get(1L, Settings.EXECUTION_PURGE_DURATION_VALUE)).thenThrow(new IllegalStateException("test"));
+        when(settingService.get(2L, Settings.EXECUTION_PURGE_DURATION_VALUE)).thenReturn("1");
+        when(settingService.get(2L, Settings.EXECUTION_PURGE_DURATION_TYPE)).thenReturn("anyDurationType");
+        when(dateService.getTodayDateMinusPeriod(1, "anyDurationType")).thenReturn(Optional.of(startDate));
+        when(executionRepository.findIdsByProjectIdAndTestDateTimeBefore(eq(2L), same(startDate), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(21L), List.of());
+
+        // When
+        when(projectService.findAll()).thenReturn(List.of(failingProject, project));
+
+        // Then
+        purgeService.purgeAllProjects();
+        verify(executionRepository).deleteAllByIdInBatch(List.of(21L));
     }
 }
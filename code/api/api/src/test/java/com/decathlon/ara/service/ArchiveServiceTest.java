@@ -33,6 +33,10 @@ import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.Date;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 
 @ExtendWith(MockitoExtension.class)
 class ArchiveServiceTest {
@@ -67,6 +71,33 @@ class ArchiveServiceTest {
         }
     }
 
+    @Test
+    void unzip_should_keep_the_modification_dates_of_the_zip_entries() throws IOException {
+        // GIVEN
+        File targetDir = new File(System.getProperty("java.io.tmpdir"),
+                "ara-unzip-modification-dates-" + new Date().getTime());
+        long modificationDate = 1546257598000L;
+        ByteArrayOutputStream zipContent = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(zipContent)) {
+            ZipEntry entry = new ZipEntry("folder/report.json");
+            entry.setTime(modificationDate);
+            zip.putNextEntry(entry);
+            zip.write("[]".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+        MultipartFile zipFile = new MockMultipartFile("zip", "report.zip", ZIP_TYPE, zipContent.toByteArray());
+
+        // WHEN
+        try {
+            this.cut.unzip(zipFile, targetDir);
+
+            // THEN
+            Assertions.assertThat(new File(targetDir, "folder/report.json").lastModified()).isEqualTo(modificationDate);
+        } finally {
+            FileUtils.deleteQuietly(targetDir);
+        }
+    }
+
     @Test
     void unzip_ShouldNotSendIOException_IfZipFileEmpty() throws IOException {
         File targetDir = new File(System.getProperty("java.io.tmpdir"),
@@ -20,6 +20,7 @@ package com.decathlon.ara.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -46,12 +47,15 @@ import com.decathlon.ara.ci.bean.CycleDef;
 import com.decathlon.ara.ci.bean.PlannedIndexation;
 import com.decathlon.ara.ci.bean.PlatformRule;
 import com.decathlon.ara.ci.bean.QualityThreshold;
+import com.decathlon.ara.ci.service.IndexingMetricsService;
 import com.decathlon.ara.ci.service.QualityService;
 import com.decathlon.ara.ci.util.JsonParserConsumer;
 import com.decathlon.ara.domain.Country;
 import com.decathlon.ara.domain.CycleDefinition;
+import com.decathlon.ara.domain.ExecutedScenario;
 import com.decathlon.ara.domain.Execution;
 import com.decathlon.ara.domain.ExecutionCompletionRequest;
+import com.decathlon.ara.domain.Run;
 import com.decathlon.ara.domain.Source;
 import com.decathlon.ara.domain.Type;
 import com.decathlon.ara.domain.enumeration.ExecutionAcceptance;
@@ -64,8 +68,12 @@ import com.decathlon.ara.repository.ExecutionCompletionRequestRepository;
 import com.decathlon.ara.repository.ExecutionRepository;
 import com.decathlon.ara.repository.ProjectRepository;
 import com.decathlon.ara.repository.TypeRepository;
+import com.decathlon.ara.scenario.common.indexer.ScenariosIndexer;
 import com.decathlon.ara.scenario.common.strategy.ScenariosIndexerStrategy;
 import com.decathlon.ara.service.support.Settings;
+import com.decathlon.ara.util.TestUtil;
+import com.decathlon.ara.util.factory.CountryFactory;
+import com.decathlon.ara.util.factory.TypeFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -115,6 +123,9 @@ class ExecutionFilesProcessorServiceTest {
     @Mock
     private FileProcessorService fileProcessorService;
 
+    @Mock
+    private IndexingMetricsService indexingMetricsService;
+
     @InjectMocks
     private ExecutionFilesProcessorService cut;
 
@@ -867,7 +878,6 @@ class ExecutionFilesProcessorServiceTest {
         when(platformRule12.isEnabled()).thenReturn(false);
         when(platformRule21.isEnabled()).thenReturn(true);
         when(platformRule21.getCountry()).thenReturn("fr");
-        when(platformRule21.getTestTypes()).thenReturn("");
 
         when(esCountry.getCode()).thenReturn("es");
         when(deCountry.getCode()).thenReturn("de");
@@ -1782,4 +1792,95 @@ class ExecutionFilesProcessorServiceTest {
         verify(scenariosIndexerStrategy).getScenariosIndexer(Technology.POSTMAN);
     }
 
+    @Test
+    void getExecution_keepPreviousExecutedScenarios_whenIncrementalAndRunFilesDidNotChange() {
+        // Given
+        PlannedIndexation plannedIndexation = mock(PlannedIndexation.class);
+        File executionFile = mock(File.class);
+        CycleDefinition cycleDefinition = mock(CycleDefinition.class);
+        Build executionBuild = mock(Build.class);
+        CycleDef cycleDef = mock(CycleDef.class);
+        PlatformRule platformRule = mock(PlatformRule.class);
+        File beFolder = mock(File.class);
+        File apiTypeFolder = mock(File.class);
+        File desktopTypeFolder = mock(File.class);
+        ScenariosIndexer scenariosIndexer = mock(ScenariosIndexer.class);
+
+        Source postmanSource = mock(Source.class);
+        Country beCountry = CountryFactory.get("be");
+        Type apiType = TypeFactory.get(1L, 1L, "api", "API", false, false, postmanSource);
+        Type desktopType = TypeFactory.get(2L, 1L, "desktop", "Desktop", true, false, postmanSource);
+
+        Execution previousExecution = new Execution();
+        previousExecution.setId(1L);
+        previousExecution.setStatus(JobStatus.RUNNING);
+        Run previousApiRun = new Run();
+        previousApiRun.setId(10L);
+        previousApiRun.setCountry(beCountry);
+        previousApiRun.setType(apiType);
+        previousApiRun.setPlatform("integration");
+        previousApiRun.setIndexingFingerprint("unchanged-api-fingerprint");
+        ExecutedScenario previousApiScenario = new ExecutedScenario();
+        TestUtil.setField(previousApiScenario, "id", 100L);
+        previousApiScenario.setName("Previously indexed scenario");
+        previousApiRun.addExecutedScenario(previousApiScenario);
+        Run previousDesktopRun = new Run();
+        previousDesktopRun.setId(20L);
+        previousDesktopRun.setCountry(beCountry);
+        previousDesktopRun.setType(desktopType);
+        previousDesktopRun.setPlatform("integration");
+        previousDesktopRun.setIndexingFingerprint("old-desktop-fingerprint");
+        previousExecution.addRuns(Arrays.asList(previousApiRun, previousDesktopRun));
+
+        ExecutedScenario newDesktopScenario = new ExecutedScenario();
+        newDesktopScenario.setName("Newly indexed scenario");
+
+        // When
+        when(plannedIndexation.getExecutionFolder()).thenReturn(executionFile);
+        when(plannedIndexation.getCycleDefinition()).thenReturn(cycleDefinition);
+        when(cycleDefinition.getProjectId()).thenReturn(1L);
+        when(settingService.get(1L, Settings.EXECUTION_INDEXER_FILE_BUILD_INFORMATION_PATH)).thenReturn(BUILD_INFORMATION_FILE_NAME);
+        when(settingService.get(1L, Settings.EXECUTION_INDEXER_FILE_CYCLE_DEFINITION_PATH)).thenReturn(CYCLE_DEFINITION_FILE_NAME);
+        when(settingService.getBoolean(1L, Settings.EXECUTION_INDEXER_INCREMENTAL)).thenReturn(true);
+        when(fileProcessorService.getMappedObjectFromFile(executionFile, BUILD_INFORMATION_FILE_NAME, Build.class)).thenReturn(Optional.of(executionBuild));
+        when(executionBuild.getUrl()).thenReturn("http://build.fr/execution");
+        when(executionBuild.getLink()).thenReturn("/execution/path/to/folder");
+        when(executionBuild.isBuilding()).thenReturn(true);
+        when(executionRepository.findByProjectIdAndJobUrlOrJobLink(1L, "http://build.fr/execution", "/execution/path/to/folder")).thenReturn(Optional.of(previousExecution));
+        when(executionCompletionRequestRepository.findById("http://build.fr/execution")).thenReturn(Optional.empty());
+        when(fileProcessorService.getMappedObjectFromFile(executionFile, CYCLE_DEFINITION_FILE_NAME, CycleDef.class)).thenReturn(Optional.of(cycleDef));
+        when(cycleDef.getPlatformsRules()).thenReturn(Map.of("integration", List.of(platformRule)));
+        when(platformRule.isEnabled()).thenReturn(true);
+        when(platformRule.getCountry()).thenReturn("be");
+        when(platformRule.getTestTypes()).thenReturn("api,desktop");
+        when(countryRepository.findAllByProjectIdOrderByCode(1L)).thenReturn(List.of(beCountry));
+        when(typeRepository.findAllByProjectIdOrderByCode(1L)).thenReturn(List.of(apiType, desktopType));
+        when(executionFile.listFiles()).thenReturn(new File[] { beFolder });
+        when(beFolder.isDirectory()).thenReturn(true);
+        when(beFolder.getName()).thenReturn("BE");
+        when(beFolder.listFiles()).thenReturn(new File[] { apiTypeFolder, desktopTypeFolder });
+        when(apiTypeFolder.isDirectory()).thenReturn(true);
+        when(apiTypeFolder.getName()).thenReturn("api");
+        when(desktopTypeFolder.isDirectory()).thenReturn(true);
+        when(desktopTypeFolder.getName()).thenReturn("desktop");
+        when(postmanSource.getTechnology()).thenReturn(Technology.POSTMAN);
+        when(scenariosIndexerStrategy.getScenariosIndexer(Technology.POSTMAN)).thenReturn(Optional.of(scenariosIndexer));
+        when(fileProcessorService.getDirectoryFingerprint(apiTypeFolder, BUILD_INFORMATION_FILE_NAME)).thenReturn(Optional.of("unchanged-api-fingerprint"));
+        when(fileProcessorService.getDirectoryFingerprint(desktopTypeFolder, BUILD_INFORMATION_FILE_NAME)).thenReturn(Optional.of("new-desktop-fingerprint"));
+        when(scenariosIndexer.getExecutedScenarios(any(File.class), any(Run.class), any(Long.class))).thenReturn(List.of(newDesktopScenario));
+
+        // Then
+        Optional<Execution> execution = cut.getExecution(plannedIndexation);
+        assertThat(execution).isNotEmpty();
+        assertThat(execution.get().getRuns())
+                .extracting(Run::getId, run -> run.getType().getCode(), Run::getIndexingFingerprint)
+                .containsOnly(
+                        tuple(10L, "api", "unchanged-api-fingerprint"),
+                        tuple(null, "desktop", "new-desktop-fingerprint"));
+        Run apiRun = execution.get().getRuns().stream().filter(run -> run.getId() != null).findFirst().get();
+        assertThat(apiRun.getExecutedScenarios()).containsExactly(previousApiScenario);
+        assertThat(previousApiScenario.getId()).isEqualTo(100L);
+        verify(scenariosIndexer, never()).getExecutedScenarios(eq(apiTypeFolder), any(Run.class), any(Long.class));
+        verify(scenariosIndexer).getExecutedScenarios(eq(desktopTypeFolder), any(Run.class), eq(1L));
+    }
 }
@@ -30,10 +30,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.decathlon.ara.domain.Execution;
+import com.decathlon.ara.domain.Run;
+import com.decathlon.ara.domain.projection.CompactedScenarioCount;
 import com.decathlon.ara.domain.projection.ExecutedScenarioWithErrorAndProblemJoin;
 import com.decathlon.ara.repository.ExecutedScenarioRepository;
 import com.decathlon.ara.repository.ExecutionRepository;
-import com.decathlon.ara.repository.FunctionalityRepository;
 import com.decathlon.ara.service.dto.run.ExecutedScenarioHandlingCountsDTO;
 import com.decathlon.ara.service.dto.run.RunDTO;
 import com.decathlon.ara.service.dto.run.RunWithQualitiesDTO;
@@ -49,7 +51,7 @@ class ExecutionHistoryServiceTest {
     private ExecutedScenarioRepository executedScenarioRepository;
 
     @Mock
-    private FunctionalityRepository functionalityRepository;
+    private FunctionalityTeamService functionalityTeamService;
 
     @Mock
     private SeverityService severityService;
@@ -85,6 +87,56 @@ class ExecutionHistoryServiceTest {
         assertThat(run.getQualitiesPerTeamAndSeverity().get("-404").get("*").getTotal()).isEqualTo(1);
     }
 
+    @Test
+    void addCompactedScenarios_should_add_passed_counts_to_qualitiesPerSeverity_and_qualitiesPerTeamAndSeverity() {
+        // GIVEN
+        RunWithQualitiesDTO run = new RunWithQualitiesDTO();
+        TestUtil.setField(run, RunDTO.class, "id", Long.valueOf(8));
+        run.setQualitiesPerSeverity(new HashMap<>());
+        run.setQualitiesPerTeamAndSeverity(new HashMap<>());
+        Map<Long, Long> functionalityTeamIds = new HashMap<>();
+        functionalityTeamIds.put(Long.valueOf(1), Long.valueOf(11));
+        List<CompactedScenarioCount> compactedCounts = Arrays.asList(
+                new CompactedScenarioCount("high", List.of(Long.valueOf(1)), 3),
+                new CompactedScenarioCount(null, List.of(), 2));
+
+        // WHEN
+        cut.addCompactedScenarios(compactedCounts, run, functionalityTeamIds, "medium");
+
+        // THEN
+        assertThat(run.getQualitiesPerSeverity().get("high").getPassed()).isEqualTo(3);
+        assertThat(run.getQualitiesPerSeverity().get("medium").getPassed()).isEqualTo(2);
+        assertThat(run.getQualitiesPerSeverity().get("*").getPassed()).isEqualTo(5);
+        assertThat(run.getQualitiesPerSeverity().get("*").getTotal()).isEqualTo(5);
+
+        assertThat(run.getQualitiesPerTeamAndSeverity().get("11").get("high").getPassed()).isEqualTo(3);
+        assertThat(run.getQualitiesPerTeamAndSeverity().get("11").get("*").getPassed()).isEqualTo(3);
+
+        assertThat(run.getQualitiesPerTeamAndSeverity().get("-404").get("medium").getPassed()).isEqualTo(2);
+        assertThat(run.getQualitiesPerTeamAndSeverity().get("-404").get("*").getPassed()).isEqualTo(2);
+    }
+
+    @Test
+    void getCompactedScenarioCounts_should_parse_the_counts_of_compacted_runs_only() {
+        // GIVEN
+        Run compactedRun = new Run();
+        TestUtil.setField(compactedRun, "id", Long.valueOf(1));
+        compactedRun.setCompactedScenarioCounts("[{\"severity\":\"high\",\"functionalityIds\":[12],\"count\":4}]");
+        Run run = new Run();
+        TestUtil.setField(run, "id", Long.valueOf(2));
+        Execution compactedExecution = new Execution();
+        compactedExecution.addRun(compactedRun);
+        Execution execution = new Execution();
+        execution.addRun(run);
+
+        // WHEN
+        Map<Long, List<CompactedScenarioCount>> compactedScenarioCounts = cut.getCompactedScenarioCounts(List.of(compactedExecution, execution));
+
+        // THEN
+        assertThat(compactedScenarioCounts).containsOnlyKeys(Long.valueOf(1));
+        assertThat(compactedScenarioCounts.get(Long.valueOf(1))).containsExactly(new CompactedScenarioCount("high", List.of(Long.valueOf(12)), 4));
+    }
+
     @Test
     void addScenario_should_increment_severity_and_global() {
         // GIVEN
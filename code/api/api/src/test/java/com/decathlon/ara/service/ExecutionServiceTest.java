@@ -51,6 +51,7 @@ import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.decathlon.ara.ci.service.ExecutionIndexerService;
+import com.decathlon.ara.ci.service.IndexingMetricsService;
 import com.decathlon.ara.domain.CycleDefinition;
 import com.decathlon.ara.domain.Execution;
 import com.decathlon.ara.domain.ExecutionCompletionRequest;
@@ -59,7 +60,6 @@ import com.decathlon.ara.domain.enumeration.QualityStatus;
 import com.decathlon.ara.repository.CycleDefinitionRepository;
 import com.decathlon.ara.repository.ExecutionCompletionRequestRepository;
 import com.decathlon.ara.repository.ExecutionRepository;
-import com.decathlon.ara.repository.FunctionalityRepository;
 import com.decathlon.ara.service.mapper.GenericMapper;
 import com.decathlon.ara.service.support.Settings;
 import com.decathlon.ara.util.factory.CycleDefinitionFactory;
@@ -75,7 +75,7 @@ class ExecutionServiceTest {
     private ExecutionCompletionRequestRepository executionCompletionRequestRepository;
 
     @Mock
-    private FunctionalityRepository functionalityRepository;
+    private FunctionalityTeamService functionalityTeamService;
 
     @Mock
     private GenericMapper mapper;
@@ -101,6 +101,9 @@ class ExecutionServiceTest {
     @Mock
     private ProblemService problemService;
 
+    @Mock
+    private IndexingMetricsService indexingMetricsService;
+
     @Spy
     @InjectMocks
     private ExecutionService cut;
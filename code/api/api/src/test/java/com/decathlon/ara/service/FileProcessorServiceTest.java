@@ -0,0 +1,87 @@
+package com.decathlon.ara.service;
+
+import com.decathlon.ara.scenario.generic.bean.GenericExecutedScenarioReport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileProcessorServiceTest {
+
+    private final FileProcessorService cut = new FileProcessorService(new ObjectMapper());
+
+    @Test
+    void getMappedObjectsFromDirectory_mapEveryValidFile_whenFilesFound() throws IOException {
+        Path tempDirectory = null;
+        try {
+            // GIVEN
+            tempDirectory = Files.createTempDirectory("ara_temp_unit_test_directory_");
+            Path reports = Files.createDirectory(tempDirectory.resolve("reports"));
+            for (int i = 1; i <= 20; i++) {
+                Files.writeString(reports.resolve("scenario" + i + ".json"), "{\"code\":\"scenario" + i + "\"}", StandardCharsets.UTF_8);
+            }
+            Files.writeString(reports.resolve("broken.json"), "{\"code\":", StandardCharsets.UTF_8);
+            Files.createDirectory(reports.resolve("sub-folder"));
+
+            // WHEN
+            List<GenericExecutedScenarioReport> mappedObjects = cut.getMappedObjectsFromDirectory(tempDirectory.toFile(), "/reports", GenericExecutedScenarioReport.class);
+
+            // THEN
+            assertThat(mappedObjects)
+                    .hasSize(20)
+                    .extracting(GenericExecutedScenarioReport::getCode)
+                    .contains("scenario1", "scenario20");
+        } finally {
+            FileUtils.deleteQuietly(tempDirectory == null ? null : tempDirectory.toFile());
+        }
+    }
+
+    @Test
+    void getMappedObjectsFromConcatenatedFile_mapEveryObject_whenObjectsAreConcatenated() throws IOException {
+        File tempFile = null;
+        try {
+            // GIVEN
+            tempFile = File.createTempFile("ara_temp_unit_test_file_", ".ndjson");
+            Files.writeString(tempFile.toPath(), "{\"code\":\"scenario1\"}\n{\"code\":[]}\n{\"code\":\"scenario3\"} {\"code\":\"scenario4\"}\n", StandardCharsets.UTF_8);
+
+            // WHEN
+            List<GenericExecutedScenarioReport> mappedObjects = cut.getMappedObjectsFromConcatenatedFile(tempFile, GenericExecutedScenarioReport.class);
+
+            // THEN
+            assertThat(mappedObjects)
+                    .extracting(GenericExecutedScenarioReport::getCode)
+                    .containsExactly("scenario1", "scenario3", "scenario4");
+        } finally {
+            FileUtils.deleteQuietly(tempFile);
+        }
+    }
+
+    @Test
+    void getMappedObjectsFromConcatenatedFile_keepTheObjectsReadSoFar_whenFileIsMalformed() throws IOException {
+        File tempFile = null;
+        try {
+            // GIVEN
+            tempFile = File.createTempFile("ara_temp_unit_test_file_", ".ndjson");
+            Files.writeString(tempFile.toPath(), "{\"code\":\"scenario1\"}\n{\"code\":\"scen", StandardCharsets.UTF_8);
+
+            // WHEN
+            List<GenericExecutedScenarioReport> mappedObjects = cut.getMappedObjectsFromConcatenatedFile(tempFile, GenericExecutedScenarioReport.class);
+
+            // THEN
+            assertThat(mappedObjects)
+                    .extracting(GenericExecutedScenarioReport::getCode)
+                    .containsExactly("scenario1");
+        } finally {
+            FileUtils.deleteQuietly(tempFile);
+        }
+    }
+
+}
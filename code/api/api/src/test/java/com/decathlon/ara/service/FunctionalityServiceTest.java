@@ -72,6 +72,9 @@ class FunctionalityServiceTest {
     @Mock
     private GenericMapper mapper;
 
+    @Mock
+    private FunctionalityTeamService functionalityTeamService;
+
     @InjectMocks
     private FunctionalityService functionalityService;
 
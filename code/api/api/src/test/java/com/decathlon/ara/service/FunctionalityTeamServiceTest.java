@@ -0,0 +1,87 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.decathlon.ara.repository.FunctionalityRepository;
+
+@ExtendWith(MockitoExtension.class)
+class FunctionalityTeamServiceTest {
+
+    @Mock
+    private FunctionalityRepository functionalityRepository;
+
+    @InjectMocks
+    private FunctionalityTeamService cut;
+
+    @Test
+    void getFunctionalityTeamIds_should_load_the_assignments_of_a_project_only_once() {
+        // Given
+        when(functionalityRepository.getFunctionalityTeamIds(1)).thenReturn(Map.of(11L, 101L));
+
+        // When
+        Map<Long, Long> first = cut.getFunctionalityTeamIds(1);
+        Map<Long, Long> second = cut.getFunctionalityTeamIds(1);
+
+        // Then
+        assertThat(first).containsExactly(Map.entry(11L, 101L));
+        assertThat(second).isSameAs(first);
+        verify(functionalityRepository, times(1)).getFunctionalityTeamIds(1);
+    }
+
+    @Test
+    void evict_should_reload_the_assignments_of_the_project_on_next_use() {
+        // Given
+        when(functionalityRepository.getFunctionalityTeamIds(1)).thenReturn(Map.of(11L, 101L), Map.of(11L, 102L));
+        when(functionalityRepository.getFunctionalityTeamIds(2)).thenReturn(Map.of(21L, 201L));
+        cut.getFunctionalityTeamIds(1);
+        cut.getFunctionalityTeamIds(2);
+
+        // When
+        cut.evict(1);
+
+        // Then
+        assertThat(cut.getFunctionalityTeamIds(1)).containsExactly(Map.entry(11L, 102L));
+        assertThat(cut.getFunctionalityTeamIds(2)).containsExactly(Map.entry(21L, 201L));
+        verify(functionalityRepository, times(1)).getFunctionalityTeamIds(2);
+    }
+
+    @Test
+    void getTeamIds_should_return_the_teams_of_the_known_functionalities_of_the_scenario() {
+        // Given
+        Map<Long, Long> functionalityTeamIds = Map.of(1L, 101L, 2L, 102L, 3L, 101L);
+
+        // When / Then
+        assertThat(FunctionalityTeamService.getTeamIds(functionalityTeamIds, "Functionalities 1, 3 & 4: Title")).containsOnly(101L);
+        assertThat(FunctionalityTeamService.getTeamIds(functionalityTeamIds, "Functionalities 1 & 2: Title")).containsOnly(101L, 102L);
+        assertThat(FunctionalityTeamService.getTeamIds(functionalityTeamIds, "No functionality")).isEmpty();
+    }
+
+}
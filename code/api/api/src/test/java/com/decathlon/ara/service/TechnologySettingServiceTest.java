@@ -33,6 +33,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Arrays;
 import java.util.List;
@@ -169,7 +171,9 @@ class TechnologySettingServiceTest {
         TechnologySetting savedSetting = mock(TechnologySetting.class);
 
         // When
-        when(technologySettingRepository.findByProjectIdAndCodeAndTechnology(projectId, CucumberSettings.REPORT_PATH.getCode(), Technology.CUCUMBER)).thenReturn(Optional.of(savedSetting));
+        when(technologySettingRepository.findByProjectId(projectId)).thenReturn(List.of(savedSetting));
+        when(savedSetting.getTechnology()).thenReturn(Technology.CUCUMBER);
+        when(savedSetting.getCode()).thenReturn(CucumberSettings.REPORT_PATH.getCode());
         when(savedSetting.getValue()).thenReturn("/new/cucumber/path");
 
         // Then
@@ -183,10 +187,8 @@ class TechnologySettingServiceTest {
         // Given
         Long projectId = 1L;
 
-        TechnologySetting savedSetting = mock(TechnologySetting.class);
-
         // When
-        when(technologySettingRepository.findByProjectIdAndCodeAndTechnology(projectId, CucumberSettings.REPORT_PATH.getCode(), Technology.CUCUMBER)).thenReturn(Optional.empty());
+        when(technologySettingRepository.findByProjectId(projectId)).thenReturn(List.of());
 
         // Then
         Optional<String> value = technologySettingService.getSettingValue(projectId, CucumberSettings.REPORT_PATH);
@@ -194,6 +196,57 @@ class TechnologySettingServiceTest {
         assertThat(value).hasValue(CucumberSettings.REPORT_PATH.getDefaultValue());
     }
 
+    @Test
+    void getSettingValue_loadTheProjectSettingsOnce_untilASettingIsUpdated() throws BadRequestException {
+        // Given
+        Long projectId = 1L;
+
+        TechnologySetting savedSetting = new TechnologySetting(projectId, CucumberSettings.REPORT_PATH.getCode(), Technology.CUCUMBER);
+        savedSetting.setValue("/old/cucumber/path");
+
+        // When
+        when(technologySettingRepository.findByProjectId(projectId)).thenReturn(List.of(savedSetting));
+        when(technologySettingRepository.findByProjectIdAndCodeAndTechnology(projectId, CucumberSettings.REPORT_PATH.getCode(), Technology.CUCUMBER)).thenReturn(Optional.of(savedSetting));
+
+        // Then
+        assertThat(technologySettingService.getSettingValue(projectId, CucumberSettings.REPORT_PATH)).hasValue("/old/cucumber/path");
+        assertThat(technologySettingService.getSettingValue(projectId, CucumberSettings.STEP_DEFINITIONS_PATH)).hasValue(CucumberSettings.STEP_DEFINITIONS_PATH.getDefaultValue());
+        verify(technologySettingRepository, times(1)).findByProjectId(projectId);
+
+        technologySettingService.update(projectId, CucumberSettings.REPORT_PATH.getCode(), Technology.CUCUMBER, "/new/cucumber/path");
+        assertThat(technologySettingService.getSettingValue(projectId, CucumberSettings.REPORT_PATH)).hasValue("/new/cucumber/path");
+        verify(technologySettingRepository, times(2)).findByProjectId(projectId);
+    }
+
+    @Test
+    void update_evictTheProjectSettingsAgain_onceTheTransactionIsCommitted() throws BadRequestException {
+        // Given
+        Long projectId = 1L;
+
+        TechnologySetting oldSetting = new TechnologySetting(projectId, CucumberSettings.REPORT_PATH.getCode(), Technology.CUCUMBER);
+        oldSetting.setValue("/old/cucumber/path");
+        TechnologySetting newSetting = new TechnologySetting(projectId, CucumberSettings.REPORT_PATH.getCode(), Technology.CUCUMBER);
+        newSetting.setValue("/new/cucumber/path");
+
+        // When
+        when(technologySettingRepository.findByProjectId(projectId)).thenReturn(List.of(oldSetting), List.of(oldSetting), List.of(newSetting));
+        when(technologySettingRepository.findByProjectIdAndCodeAndTechnology(projectId, CucumberSettings.REPORT_PATH.getCode(), Technology.CUCUMBER)).thenReturn(Optional.of(new TechnologySetting(projectId, CucumberSettings.REPORT_PATH.getCode(), Technology.CUCUMBER)));
+
+        // Then
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            technologySettingService.getSettingValue(projectId, CucumberSettings.REPORT_PATH);
+            technologySettingService.update(projectId, CucumberSettings.REPORT_PATH.getCode(), Technology.CUCUMBER, "/new/cucumber/path");
+            // A concurrent lookup, before the commit, still sees and caches the old value
+            assertThat(technologySettingService.getSettingValue(projectId, CucumberSettings.REPORT_PATH)).hasValue("/old/cucumber/path");
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(technologySettingService.getSettingValue(projectId, CucumberSettings.REPORT_PATH)).hasValue("/new/cucumber/path");
+        verify(technologySettingRepository, times(3)).findByProjectId(projectId);
+    }
+
     @Test
     void update_throwNotFoundException_whenCodeIsUnknown() throws BadRequestException {
         // Given
@@ -0,0 +1,153 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestExecutionListeners;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.support.DependencyInjectionTestExecutionListener;
+import org.springframework.test.context.transaction.TransactionalTestExecutionListener;
+
+import com.decathlon.ara.domain.converter.TextCompression;
+import com.decathlon.ara.repository.ErrorRepository;
+import com.decathlon.ara.repository.ExecutedScenarioRepository;
+import com.decathlon.ara.service.TextCompressionMigrationService.CompressedColumn;
+import com.github.springtestdbunit.DbUnitTestExecutionListener;
+import com.github.springtestdbunit.annotation.DatabaseSetup;
+
+@SpringBootTest
+@TestExecutionListeners({
+        TransactionalTestExecutionListener.class,
+        DependencyInjectionTestExecutionListener.class,
+        DbUnitTestExecutionListener.class
+})
+@TestPropertySource(properties = {
+        "ara.database.target=h2",
+        // Several chunks even with a few rows
+        "ara.database.compression.migration-chunk-size=1"
+})
+@Transactional
+class TextCompressionMigrationServiceIT {
+
+    private static final String LONG_CONTENT = "1:passed:Given a step with a long enough text to compress\n".repeat(20);
+
+    private static final String LONG_EXCEPTION = "java.lang.AssertionError: expected [true] but found [false]\n" +
+            "\tat org.junit.Assert.fail(Assert.java:88)\n".repeat(50);
+
+    @Autowired
+    private TextCompressionMigrationService cut;
+
+    @Autowired
+    private ExecutedScenarioRepository executedScenarioRepository;
+
+    @Autowired
+    private ErrorRepository errorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        TextCompression.configure(true, 100, 200);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TextCompression.configure(false, 1024, 2000);
+    }
+
+    @Test
+    @DatabaseSetup("/dbunit/TextCompressionMigrationServiceIT-compressColumn.xml")
+    void compressColumn_should_compress_the_long_values_and_let_the_converters_read_them_back() {
+        // GIVEN
+        jdbcTemplate.update("UPDATE executed_scenario SET content = ? WHERE id IN (111, 112)", LONG_CONTENT);
+        jdbcTemplate.update("UPDATE error SET exception = ? WHERE id = 1111", LONG_EXCEPTION);
+
+        // WHEN
+        int compressedContents = cut.compressColumn(new CompressedColumn("executed_scenario", "content", false));
+        int compressedExceptions = cut.compressColumn(new CompressedColumn("error", "exception", true));
+
+        // THEN
+        assertThat(compressedContents).isEqualTo(2);
+        assertThat(compressedExceptions).isEqualTo(1);
+
+        String storedContent = jdbcTemplate.queryForObject("SELECT content FROM executed_scenario WHERE id = 111", String.class);
+        assertThat(TextCompression.isCompressed(storedContent)).isTrue();
+        assertThat(storedContent.length()).isLessThan(LONG_CONTENT.length());
+        assertThat(jdbcTemplate.queryForObject("SELECT content FROM executed_scenario WHERE id = 113", String.class))
+                .isEqualTo("1:passed:Given a short scenario");
+        String storedException = jdbcTemplate.queryForObject("SELECT exception FROM error WHERE id = 1111", String.class);
+        assertThat(storedException).startsWith(LONG_EXCEPTION.substring(0, 200));
+
+        entityManager.clear();
+        assertThat(executedScenarioRepository.findById(Long.valueOf(111)).orElseThrow().getContent()).isEqualTo(LONG_CONTENT);
+        assertThat(executedScenarioRepository.findById(Long.valueOf(112)).orElseThrow().getContent()).isEqualTo(LONG_CONTENT);
+        assertThat(executedScenarioRepository.findById(Long.valueOf(113)).orElseThrow().getContent()).isEqualTo("1:passed:Given a short scenario");
+        assertThat(errorRepository.findById(Long.valueOf(1111)).orElseThrow().getException()).isEqualTo(LONG_EXCEPTION);
+    }
+
+    @Test
+    @DatabaseSetup("/dbunit/TextCompressionMigrationServiceIT-compressColumn.xml")
+    void compressColumn_should_not_compress_the_values_twice() {
+        // GIVEN
+        jdbcTemplate.update("UPDATE executed_scenario SET content = ? WHERE id IN (111, 112)", LONG_CONTENT);
+        CompressedColumn column = new CompressedColumn("executed_scenario", "content", false);
+        cut.compressColumn(column);
+        String compressed = jdbcTemplate.queryForObject("SELECT content FROM executed_scenario WHERE id = 111", String.class);
+
+        // WHEN
+        int compressedAgain = cut.compressColumn(column);
+
+        // THEN
+        assertThat(compressedAgain).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT content FROM executed_scenario WHERE id = 111", String.class)).isEqualTo(compressed);
+    }
+
+    @Test
+    @DatabaseSetup("/dbunit/TextCompressionMigrationServiceIT-compressColumn.xml")
+    void compressColumn_should_resume_after_the_last_migrated_row() {
+        // GIVEN
+        jdbcTemplate.update("UPDATE executed_scenario SET content = ? WHERE id = 112", LONG_CONTENT);
+        CompressedColumn column = new CompressedColumn("executed_scenario", "content", false);
+        cut.compressColumn(column);
+        jdbcTemplate.update("UPDATE executed_scenario SET content = ? WHERE id = 111", LONG_CONTENT);
+
+        // WHEN
+        int compressedAfterwards = cut.compressColumn(column);
+
+        // THEN the row 111 was inserted before the last migrated one: it is not read again
+        assertThat(compressedAfterwards).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT last_id FROM text_compression_progress WHERE table_name = 'executed_scenario' AND column_name = 'content'",
+                Long.class)).isEqualTo(112L);
+        assertThat(jdbcTemplate.queryForObject("SELECT content FROM executed_scenario WHERE id = 111", String.class)).isEqualTo(LONG_CONTENT);
+    }
+
+}
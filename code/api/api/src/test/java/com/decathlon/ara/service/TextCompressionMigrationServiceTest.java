@@ -0,0 +1,148 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.decathlon.ara.domain.converter.TextCompression;
+import com.decathlon.ara.service.TextCompressionMigrationService.CompressedColumn;
+import com.decathlon.ara.util.TestUtil;
+
+@ExtendWith(MockitoExtension.class)
+class TextCompressionMigrationServiceTest {
+
+    private static final String LONG_TEXT = "\tat org.junit.Assert.fail(Assert.java:88)\n".repeat(50);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> batchArguments;
+
+    @InjectMocks
+    private TextCompressionMigrationService cut;
+
+    @BeforeEach
+    void setUp() {
+        TextCompression.configure(true, 10, 20);
+        TestUtil.setField(cut, "chunkSize", 2);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TextCompression.configure(false, 1024, 2000);
+    }
+
+    @Test
+    void compressColumn_should_compress_the_rows_not_compressed_yet_by_chunks() throws SQLException {
+        // Given
+        var column = new CompressedColumn("error", "exception", true);
+        var compressed = TextCompression.compress(LONG_TEXT, 20);
+        when(jdbcTemplate.query(anyString(), anyRowMapper(), eq(0L), eq(10), eq(2)))
+                .thenAnswer(invocation -> List.of(row(invocation, 1, LONG_TEXT), row(invocation, 2, compressed)));
+        when(jdbcTemplate.query(anyString(), anyRowMapper(), eq(2L), eq(10), eq(2)))
+                .thenAnswer(invocation -> List.of(row(invocation, 3, "Not worth it")));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] { 1 });
+        // No progress saved yet: the first chunk inserts it, the next ones update it
+        when(jdbcTemplate.update(anyString(), any(), any(), any())).thenReturn(0, 1);
+
+        // When
+        var compressedCount = cut.compressColumn(column);
+
+        // Then
+        assertThat(compressedCount).isEqualTo(1);
+        verify(jdbcTemplate).batchUpdate(eq("UPDATE error SET exception = ? WHERE id = ? AND exception = ?"), batchArguments.capture());
+        assertThat(batchArguments.getValue()).hasSize(1);
+        assertThat(batchArguments.getValue().get(0)).containsExactly(compressed, 1L, LONG_TEXT);
+        verify(jdbcTemplate).update("INSERT INTO text_compression_progress (table_name, column_name, last_id) VALUES (?, ?, ?)",
+                "error", "exception", Long.valueOf(2));
+        verify(jdbcTemplate).update("UPDATE text_compression_progress SET last_id = ? WHERE table_name = ? AND column_name = ?",
+                Long.valueOf(3), "error", "exception");
+    }
+
+    @Test
+    void compressColumn_should_only_read_the_rows_after_the_last_migrated_one() {
+        // Given
+        var column = new CompressedColumn("executed_scenario", "content", false);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), eq("executed_scenario"), eq("content"))).thenReturn(List.of(Long.valueOf(42)));
+        when(jdbcTemplate.query(anyString(), anyRowMapper(), eq(42L), eq(10), eq(2))).thenReturn(List.of());
+
+        // When
+        var compressedCount = cut.compressColumn(column);
+
+        // Then
+        assertThat(compressedCount).isZero();
+        verify(transactionTemplate, never()).execute(any());
+    }
+
+    @Test
+    void startMigration_should_do_nothing_when_compression_is_disabled() {
+        // Given
+        TextCompression.configure(false, 10, 20);
+
+        // When
+        cut.startMigration();
+
+        // Then
+        verify(jdbcTemplate, never()).query(anyString(), anyRowMapper(), any(Object[].class));
+    }
+
+    private static RowMapper<Object> anyRowMapper() {
+        return any();
+    }
+
+    private static Object row(InvocationOnMock invocation, long id, String value) throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong(1)).thenReturn(id);
+        when(resultSet.getString(2)).thenReturn(value);
+        return invocation.<RowMapper<?>>getArgument(1).mapRow(resultSet, 0);
+    }
+
+}
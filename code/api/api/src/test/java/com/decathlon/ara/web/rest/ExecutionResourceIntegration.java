@@ -76,6 +76,7 @@ import com.decathlon.ara.repository.TechnologySettingRepository;
 import com.decathlon.ara.scenario.cucumber.settings.CucumberSettings;
 import com.decathlon.ara.scenario.postman.settings.PostmanSettings;
 import com.decathlon.ara.service.SettingService;
+import com.decathlon.ara.service.TechnologySettingService;
 import com.decathlon.ara.service.support.Settings;
 import com.decathlon.ara.util.builder.RunBuilder;
 import com.decathlon.ara.util.factory.CountryFactory;
@@ -126,6 +127,9 @@ class ExecutionResourceIntegration {
     @Autowired
     private TechnologySettingRepository technologySettingRepository;
 
+    @Autowired
+    private TechnologySettingService technologySettingService;
+
     private static final String ARA_DATA_BASE_FOLDER_PATH = "/opt/ara/data";
 
     private MultipartFile readZip(String zipPath) throws IOException {
@@ -152,6 +156,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheExecution_whenNoErrorFound() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -1874,6 +1879,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheExecutionWithErrors_whenErrorsFound() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -2556,6 +2562,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheExecutionAsBlocked_whenNoExecutionFoundAndNoCycleDefinitionFileFound() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -2654,6 +2661,7 @@ class ExecutionResourceIntegration {
     void upload_doNotUpdateTheExecution_whenExecutionFoundAsDone() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -2910,6 +2918,7 @@ class ExecutionResourceIntegration {
     void upload_updateTheExecution_whenExecutionFoundButNotDoneAndDoesNotHaveRuns() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -3179,6 +3188,7 @@ class ExecutionResourceIntegration {
     void upload_updateTheExecutionAndAddRuns_whenExecutionFoundButNotDoneAndHasSomeRuns() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -3511,6 +3521,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheExecutionAsBlocked_whenExecutionFoundButNotDoneAndNoCycleDefinitionFileFound() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -3624,6 +3635,7 @@ class ExecutionResourceIntegration {
     void upload_deleteExecutionCompletionRequest_whenExecutionCompletionRequestUrlFound() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -3653,6 +3665,7 @@ class ExecutionResourceIntegration {
     void upload_deleteExecutionDirectory_whenIndexingSettingIsSetToTrue() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         Setting setting = settingRepository.findByProjectIdAndCode(1L, Settings.EXECUTION_INDEXER_FILE_DELETE_AFTER_INDEXING_AS_DONE);
         assertThat(setting.getValue()).isEqualTo(Boolean.FALSE.toString());
@@ -3707,6 +3720,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheExecutionWithRunningCountryDeploymentsAndRuns_whenNoErrorFound() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -4006,6 +4020,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheExecutionWithUnavailableCountryDeploymentsAndRuns_whenNoErrorFound() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -4305,6 +4320,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheExecutionWithPendingCountryDeploymentsAndRuns_whenNoErrorFound() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -4603,6 +4619,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheExecution_whenBuildInformationIsRenamedInSettings() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -4923,6 +4940,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheExecution_whenCycleDefinitionIsRenamedInSettings() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -5216,6 +5234,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheExecution_whenCucumberStepDefinitionsIsRenamedInSettings() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -5509,6 +5528,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheExecution_whenCucumberReportFileIsRenamedInSettings() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -5802,6 +5822,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheExecution_whenPostmanReportsFolderIsRenamedInSettings() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -6095,6 +6116,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheExecution_whenCountryNotFoundInDB() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -6309,6 +6331,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheExecution_whenCountryFolderNotFound() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -6567,6 +6590,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheExecution_whenTypeNotFoundInDB() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -6825,6 +6849,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheExecution_whenTypeFolderNotFound() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -7093,6 +7118,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheExecution_whenNoRulesFound() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -7215,6 +7241,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheExecution_whenATestTypesFieldIsMissingFromCycleDefinition() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -7439,6 +7466,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheExecution_whenCountryFolderIsEmptyButContainsBuildInformationFile() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -7699,6 +7727,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheExecution_whenCountryFolderIsEmpty() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -7958,6 +7987,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheExecution_whenNoCountryFolderFound() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -8199,6 +8229,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheExecution_whenTypeFolderEmptyWithBuildInformationFile() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -8469,6 +8500,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheExecution_whenTypeFolderIsEmpty() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -8738,6 +8770,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheCypressExecution_whenCucumberReport() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -9041,6 +9074,7 @@ class ExecutionResourceIntegration {
     void upload_saveTheCypressExecution_whenCucumberReportMissAStepDefinitions() throws IOException {
         deleteARADataFolder();
         settingService.clearProjectsValuesCache();
+        technologySettingService.clearProjectsValuesCache();
 
         List<Execution> executions = executionRepository.findAll();
         List<CountryDeployment> countryDeployments = countryDeploymentRepository.findAll();
@@ -0,0 +1,279 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.util.ReflectionUtils;
+
+import com.decathlon.ara.domain.CycleDefinition;
+import com.decathlon.ara.domain.Error;
+import com.decathlon.ara.domain.ExecutedScenario;
+import com.decathlon.ara.domain.Execution;
+import com.decathlon.ara.domain.Functionality;
+import com.decathlon.ara.domain.Run;
+import com.decathlon.ara.domain.Severity;
+import com.decathlon.ara.domain.enumeration.FunctionalitySeverity;
+import com.decathlon.ara.domain.enumeration.FunctionalityType;
+import com.decathlon.ara.domain.enumeration.JobStatus;
+import com.decathlon.ara.domain.projection.ExecutedScenarioWithErrorAndProblemJoin;
+
+/**
+ * Deterministic data sets fed to the benchmarks: a fixed seed is used so that two runs on two commits measure the same
+ * work, and the demo datasets shipped with the API are read from the classpath.
+ */
+public final class SyntheticData {
+
+    public static final long PROJECT_ID = 1;
+
+    public static final List<String> COUNTRY_CODES = List.of("be", "cn", "de", "es", "fr", "it", "nl", "us");
+
+    public static final List<String> SEVERITY_CODES = List.of("sanity-check", "high", "medium");
+
+    private static final String[] STATUSES = { "passed", "passed", "passed", "failed", "skipped" };
+
+    private SyntheticData() {
+    }
+
+    /**
+     * @return the content of the Newman reports of the demo project, keyed by their path in the classpath
+     */
+    public static Map<String, byte[]> demoNewmanReports() {
+        try {
+            Map<String, byte[]> reports = new TreeMap<>();
+            Resource[] resources = new PathMatchingResourcePatternResolver().getResources("classpath*:demo/newman-reports-*/*.json");
+            for (Resource resource : resources) {
+                try (InputStream input = resource.getInputStream()) {
+                    String path = resource.getURL().getPath();
+                    reports.put(path.substring(path.lastIndexOf("demo/")), input.readAllBytes());
+                }
+            }
+            if (reports.isEmpty()) {
+                throw new IllegalStateException("No demo Newman report found in the classpath");
+            }
+            return reports;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param scenarioCount the number of scenarios of the single feature of the report
+     * @param stepCount     the number of steps of each scenario (the first one has a data-table, the second one a doc-string)
+     * @return a Cucumber report.json, as produced by Cucumber-JVM
+     */
+    public static String cucumberReport(int scenarioCount, int stepCount) {
+        Random random = new Random(42);
+        StringBuilder json = new StringBuilder(scenarioCount * stepCount * 256);
+        json.append("[{\"id\":\"feature\",\"name\":\"Feature\",\"uri\":\"feature.feature\",\"keyword\":\"Feature\",\"line\":1,\"elements\":[");
+        for (int s = 0; s < scenarioCount; s++) {
+            if (s > 0) {
+                json.append(',');
+            }
+            int line = 10 + s * (stepCount + 10);
+            json.append("{\"id\":\"feature;scenario-").append(s).append("\",\"name\":\"Functionality ").append(s % 100 + 1)
+                    .append(": Scenario ").append(s).append("\",\"type\":\"scenario\",\"keyword\":\"Scenario\",\"line\":").append(line)
+                    .append(",\"tags\":[{\"name\":\"@severity-high\"},{\"name\":\"@country-all\"}]")
+                    .append(",\"before\":[").append(hook(random, "Hooks.before()")).append(']')
+                    .append(",\"after\":[").append(hook(random, "Hooks.after()")).append(']')
+                    .append(",\"steps\":[");
+            for (int i = 0; i < stepCount; i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append("{\"keyword\":\"Given \",\"name\":\"the step number ").append(i).append(" with \\\"some\\\" parameter\"")
+                        .append(",\"line\":").append(line + 1 + i)
+                        .append(",\"match\":{\"location\":\"StepDefinitions.step").append(i).append("(String)\"}")
+                        .append(",\"result\":{\"status\":\"").append(STATUSES[random.nextInt(STATUSES.length)])
+                        .append("\",\"duration\":").append(random.nextInt(1_000_000_000)).append('}');
+                if (i == 0) {
+                    json.append(",\"rows\":[{\"cells\":[\"Key\",\"Value\"]},{\"cells\":[\"key-1\",\"value-1\"]},{\"cells\":[\"key-2\",\"value-2\"]}]");
+                } else if (i == 1) {
+                    json.append(",\"doc_string\":{\"content_type\":\"json\",\"line\":").append(line + 2)
+                            .append(",\"value\":\"{\\n  \\\"key\\\": \\\"value\\\"\\n}\"}");
+                }
+                json.append('}');
+            }
+            json.append("]}");
+        }
+        json.append("]}]");
+        return json.toString();
+    }
+
+    private static String hook(Random random, String location) {
+        return "{\"match\":{\"location\":\"" + location + "\"},\"result\":{\"status\":\"passed\",\"duration\":" + random.nextInt(1_000_000) + "}}";
+    }
+
+    /**
+     * @param count     the number of functionalities to create
+     * @param teamCount the number of teams to which the functionalities get assigned
+     * @return functionalities spread across countries, teams, severities and coverage levels
+     */
+    public static List<Functionality> functionalities(int count, int teamCount) {
+        Random random = new Random(42);
+        FunctionalitySeverity[] severities = FunctionalitySeverity.values();
+        List<Functionality> functionalities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Functionality functionality = new Functionality();
+            functionality.setId(Long.valueOf(i + 1L));
+            functionality.setProjectId(Long.valueOf(PROJECT_ID));
+            functionality.setType(FunctionalityType.FUNCTIONALITY);
+            functionality.setTeamId(Long.valueOf(random.nextInt(teamCount) + 1L));
+            functionality.setCountryCodes(String.join(",", COUNTRY_CODES.subList(0, random.nextInt(COUNTRY_CODES.size()) + 1)));
+            functionality.setStarted(Boolean.valueOf(random.nextBoolean()));
+            functionality.setNotAutomatable(Boolean.valueOf(random.nextInt(10) == 0));
+            functionality.setCoveredScenarios(Integer.valueOf(random.nextInt(4)));
+            functionality.setIgnoredScenarios(Integer.valueOf(random.nextInt(2)));
+            setField(functionality, "severity", severities[random.nextInt(severities.length)]);
+            setField(functionality, "name", "Functionality " + (i + 1));
+            functionalities.add(functionality);
+        }
+        return functionalities;
+    }
+
+    /**
+     * @param runCount            the number of runs
+     * @param scenarioCountPerRun the number of executed-scenarios per run
+     * @param functionalityCount  the number of functionalities the scenarios are spread across
+     * @return the executed-scenarios of the runs, joined with their error and problem counts
+     */
+    public static List<ExecutedScenarioWithErrorAndProblemJoin> executedScenarioJoins(int runCount, int scenarioCountPerRun, int functionalityCount) {
+        Random random = new Random(42);
+        List<ExecutedScenarioWithErrorAndProblemJoin> joins = new ArrayList<>(runCount * scenarioCountPerRun);
+        long id = 1;
+        for (int run = 1; run <= runCount; run++) {
+            for (int s = 0; s < scenarioCountPerRun; s++) {
+                String name = "Functionality " + (random.nextInt(functionalityCount) + 1) + ", " + (random.nextInt(functionalityCount) + 1) + ": Scenario " + s;
+                long unhandled = random.nextInt(5) == 0 ? 1 : 0;
+                long handled = random.nextInt(5) == 0 ? 1 : 0;
+                joins.add(new ExecutedScenarioWithErrorAndProblemJoin(id++, run, SEVERITY_CODES.get(random.nextInt(SEVERITY_CODES.size())), name, unhandled, handled));
+            }
+        }
+        return joins;
+    }
+
+    /**
+     * @param functionalityCount the number of functionalities
+     * @param teamCount          the number of teams
+     * @return a map of key functionality.id and value functionality.teamId
+     */
+    public static Map<Long, Long> functionalityTeamIds(int functionalityCount, int teamCount) {
+        Map<Long, Long> teamIds = new HashMap<>();
+        for (long id = 1; id <= functionalityCount; id++) {
+            teamIds.put(Long.valueOf(id), Long.valueOf(id % teamCount + 1));
+        }
+        return teamIds;
+    }
+
+    /**
+     * @return the severities of the demo project
+     */
+    public static List<Severity> severities() {
+        List<Severity> severities = new ArrayList<>();
+        for (int i = 0; i < SEVERITY_CODES.size(); i++) {
+            String code = SEVERITY_CODES.get(i);
+            severities.add(new Severity(Long.valueOf(i + 1L), PROJECT_ID, code, i + 1, code, code, code.substring(0, 1).toUpperCase(), i == SEVERITY_CODES.size() - 1));
+        }
+        return severities;
+    }
+
+    /**
+     * @param runCount            the number of runs of the execution, all included in thresholds
+     * @param scenarioCountPerRun the number of executed-scenarios per run
+     * @return a DONE execution with quality thresholds for all severities
+     */
+    public static Execution execution(int runCount, int scenarioCountPerRun) {
+        Random random = new Random(42);
+        CycleDefinition cycleDefinition = new CycleDefinition();
+        cycleDefinition.setProjectId(PROJECT_ID);
+
+        Execution execution = new Execution();
+        execution.setId(Long.valueOf(1));
+        execution.setCycleDefinition(cycleDefinition);
+        execution.setStatus(JobStatus.DONE);
+        execution.setQualityThresholds("{\"sanity-check\":{\"failure\":100,\"warning\":100}," +
+                "\"high\":{\"failure\":95,\"warning\":98},\"medium\":{\"failure\":90,\"warning\":95}}");
+
+        long scenarioId = 1;
+        for (int r = 0; r < runCount; r++) {
+            Run run = new Run();
+            run.setId(Long.valueOf(r + 1L));
+            run.setStatus(JobStatus.DONE);
+            run.setIncludeInThresholds(Boolean.TRUE);
+            run.setSeverityTags("all");
+            run.setStartDateTime(new Date(0));
+            for (int s = 0; s < scenarioCountPerRun; s++) {
+                ExecutedScenario executedScenario = new ExecutedScenario();
+                setField(executedScenario, "id", Long.valueOf(scenarioId++));
+                executedScenario.setName("Functionality " + (s % 100 + 1) + ": Scenario " + s);
+                executedScenario.setSeverity(SEVERITY_CODES.get(random.nextInt(SEVERITY_CODES.size())));
+                executedScenario.setCucumberId("feature;scenario-" + s);
+                if (random.nextInt(10) == 0) {
+                    Error error = new Error();
+                    error.setStep("the step number 0");
+                    error.setException("java.lang.AssertionError: expected:<true> but was:<false>");
+                    executedScenario.addError(error);
+                }
+                run.addExecutedScenario(executedScenario);
+            }
+            execution.addRun(run);
+        }
+        return execution;
+    }
+
+    /**
+     * @param repositoryInterface a Spring Data repository interface
+     * @param answers             the answer of each called method, by method name: any other method throws
+     * @param <T>                 the type of the repository
+     * @return an in-memory implementation of the repository, to benchmark services without any database
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T repository(Class<T> repositoryInterface, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(repositoryInterface.getClassLoader(), new Class<?>[] { repositoryInterface }, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer == null) {
+                throw new UnsupportedOperationException(repositoryInterface.getSimpleName() + "." + method.getName() + " is not available in benchmarks");
+            }
+            return answer.apply(args);
+        });
+    }
+
+    private static void setField(Object target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        if (field == null) {
+            throw new IllegalArgumentException("No field " + fieldName + " in " + target.getClass().getName());
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+}
@@ -0,0 +1,79 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.ci.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.decathlon.ara.benchmark.SyntheticData;
+import com.decathlon.ara.domain.Execution;
+import com.decathlon.ara.domain.Severity;
+import com.decathlon.ara.repository.SeverityRepository;
+import com.decathlon.ara.service.mapper.GenericMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Computation of the quality of an execution against its thresholds, as done at the end of each indexing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QualityServiceBenchmark {
+
+    @Param({ "10" })
+    private int runCount;
+
+    @Param({ "100", "1000" })
+    private int scenarioCountPerRun;
+
+    private QualityService qualityService;
+
+    private Execution execution;
+
+    @Setup
+    public void setUp() {
+        List<Severity> severities = SyntheticData.severities();
+        SeverityRepository severityRepository = SyntheticData.repository(SeverityRepository.class,
+                Map.of("findAllByProjectIdOrderByPosition", args -> severities));
+        qualityService = new QualityService(new ObjectMapper(), severityRepository, new GenericMapper());
+        execution = SyntheticData.execution(runCount, scenarioCountPerRun);
+    }
+
+    @Benchmark
+    public String computeQuality() {
+        qualityService.computeQuality(execution);
+        return execution.getQualitySeverities();
+    }
+
+}
@@ -0,0 +1,98 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.coverage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.decathlon.ara.benchmark.SyntheticData;
+import com.decathlon.ara.domain.Functionality;
+import com.decathlon.ara.service.dto.coverage.AxisDTO;
+import com.decathlon.ara.service.dto.coverage.AxisPointDTO;
+
+/**
+ * Computation of the multi-dimensional coverage array of the functionality cartography.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CoverageServiceBenchmark {
+
+    @Param({ "1000", "10000" })
+    private int functionalityCount;
+
+    @Param({ "20" })
+    private int teamCount;
+
+    private CoverageService coverageService;
+
+    private List<Functionality> functionalities;
+
+    private List<AxisDTO> axes;
+
+    private List<AxisGenerator> generators;
+
+    @Setup
+    public void setUp() {
+        // Repositories are only used to get the points of the axes, built here from the synthetic data instead
+        CountryAxisGenerator countryAxisGenerator = new CountryAxisGenerator(null);
+        SeverityAxisGenerator severityAxisGenerator = new SeverityAxisGenerator();
+        TeamAxisGenerator teamAxisGenerator = new TeamAxisGenerator(null);
+        CoverageAxisGenerator coverageAxisGenerator = new CoverageAxisGenerator();
+        coverageService = new CoverageService(null, countryAxisGenerator, severityAxisGenerator, teamAxisGenerator, coverageAxisGenerator);
+        generators = List.of(countryAxisGenerator, severityAxisGenerator, teamAxisGenerator, coverageAxisGenerator);
+
+        List<AxisPointDTO> countryPoints = new ArrayList<>();
+        countryPoints.add(AxisPointDTO.ALL);
+        SyntheticData.COUNTRY_CODES.forEach(code -> countryPoints.add(new AxisPointDTO(code, code.toUpperCase(), code)));
+        List<AxisPointDTO> teamPoints = new ArrayList<>();
+        teamPoints.add(AxisPointDTO.ALL);
+        for (long teamId = 1; teamId <= teamCount; teamId++) {
+            teamPoints.add(new AxisPointDTO(String.valueOf(teamId), "Team " + teamId, null));
+        }
+        axes = List.of(
+                new AxisDTO(countryAxisGenerator.getCode(), countryAxisGenerator.getName(), countryPoints),
+                new AxisDTO(severityAxisGenerator.getCode(), severityAxisGenerator.getName(), coverageService.getAllPoints(severityAxisGenerator, SyntheticData.PROJECT_ID)),
+                new AxisDTO(teamAxisGenerator.getCode(), teamAxisGenerator.getName(), teamPoints),
+                new AxisDTO(coverageAxisGenerator.getCode(), coverageAxisGenerator.getName(), coverageService.getAllPoints(coverageAxisGenerator, SyntheticData.PROJECT_ID)));
+
+        functionalities = SyntheticData.functionalities(functionalityCount, teamCount);
+    }
+
+    @Benchmark
+    public int[] computeValues() {
+        return coverageService.computeValues(functionalities, axes, generators);
+    }
+
+}
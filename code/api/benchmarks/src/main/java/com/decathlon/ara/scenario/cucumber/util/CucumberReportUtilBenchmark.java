@@ -0,0 +1,84 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.cucumber.util;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.decathlon.ara.benchmark.SyntheticData;
+import com.decathlon.ara.scenario.cucumber.bean.Element;
+import com.decathlon.ara.scenario.cucumber.bean.Feature;
+
+/**
+ * Parsing of a Cucumber report.json and rendering of the content of all its scenarios, as done while indexing a run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CucumberReportUtilBenchmark {
+
+    @Param({ "100", "1000" })
+    private int scenarioCount;
+
+    @Param({ "20" })
+    private int stepCount;
+
+    private String reportJson;
+
+    private List<Element> scenarios;
+
+    @Setup
+    public void setUp() throws IOException {
+        reportJson = SyntheticData.cucumberReport(scenarioCount, stepCount);
+        scenarios = CucumberReportUtil.parseReportJson(reportJson).stream()
+                .map(Feature::getElements)
+                .flatMap(Arrays::stream)
+                .toList();
+    }
+
+    @Benchmark
+    public List<Feature> parseReportJson() throws IOException {
+        return CucumberReportUtil.parseReportJson(reportJson);
+    }
+
+    @Benchmark
+    public void extractScenarioContent(Blackhole blackhole) {
+        for (Element scenario : scenarios) {
+            blackhole.consume(CucumberReportUtil.extractScenarioContent(scenario, null));
+        }
+    }
+
+}
@@ -0,0 +1,79 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.scenario.postman.service;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.decathlon.ara.benchmark.SyntheticData;
+import com.decathlon.ara.scenario.postman.model.NewmanParsingResult;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Streaming parsing of the Newman reports of the demo project, response bodies being spooled to temporary files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostmanServiceBenchmark {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    private PostmanService postmanService;
+
+    private Map<String, byte[]> reports;
+
+    @Setup
+    public void setUp() {
+        // The asset service is only used while post-processing, to upload the HTTP logs of failed requests
+        postmanService = new PostmanService(new ObjectMapper(), null);
+        reports = SyntheticData.demoNewmanReports();
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) throws IOException {
+        for (byte[] report : reports.values()) {
+            NewmanParsingResult result = new NewmanParsingResult();
+            try (JsonParser parser = jsonFactory.createParser(report)) {
+                postmanService.parse(parser, result);
+                blackhole.consume(result);
+            } finally {
+                postmanService.deleteResponseBodySpool(result);
+            }
+        }
+    }
+
+}
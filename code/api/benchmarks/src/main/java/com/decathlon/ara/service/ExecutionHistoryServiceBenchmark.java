@@ -0,0 +1,90 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.decathlon.ara.benchmark.SyntheticData;
+import com.decathlon.ara.domain.projection.ExecutedScenarioWithErrorAndProblemJoin;
+import com.decathlon.ara.service.dto.run.RunWithQualitiesDTO;
+import com.decathlon.ara.service.mapper.GenericMapper;
+
+/**
+ * Aggregation of the scenario counts per severity and per team of each run, as done for each execution of the history.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutionHistoryServiceBenchmark {
+
+    @Param({ "10" })
+    private int runCount;
+
+    @Param({ "100", "1000" })
+    private int scenarioCountPerRun;
+
+    @Param({ "500" })
+    private int functionalityCount;
+
+    @Param({ "20" })
+    private int teamCount;
+
+    private ExecutionHistoryService executionHistoryService;
+
+    private List<ExecutedScenarioWithErrorAndProblemJoin> executedScenarioJoins;
+
+    private List<RunWithQualitiesDTO> runs;
+
+    private Map<Long, Long> functionalityTeamIds;
+
+    @Setup
+    public void setUp() {
+        GenericMapper mapper = new GenericMapper();
+        executionHistoryService = new ExecutionHistoryService(null, mapper, null, null, null);
+        executedScenarioJoins = SyntheticData.executedScenarioJoins(runCount, scenarioCountPerRun, functionalityCount);
+        functionalityTeamIds = SyntheticData.functionalityTeamIds(functionalityCount, teamCount);
+        runs = mapper.mapCollection(SyntheticData.execution(runCount, 0).getRuns(), RunWithQualitiesDTO.class);
+    }
+
+    @Benchmark
+    public void fillQualities(Blackhole blackhole) {
+        for (RunWithQualitiesDTO run : runs) {
+            executionHistoryService.fillQualities(executedScenarioJoins, run, functionalityTeamIds, SyntheticData.SEVERITY_CODES.get(2));
+            blackhole.consume(run.getQualitiesPerTeamAndSeverity());
+        }
+    }
+
+}
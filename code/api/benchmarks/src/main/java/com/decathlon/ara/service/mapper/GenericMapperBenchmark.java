@@ -0,0 +1,80 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.service.mapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.decathlon.ara.benchmark.SyntheticData;
+import com.decathlon.ara.domain.ExecutedScenario;
+import com.decathlon.ara.domain.Execution;
+import com.decathlon.ara.service.dto.execution.ExecutionWithCountryDeploymentsAndRunsAndExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO;
+import com.decathlon.ara.service.dto.executedscenario.ExecutedScenarioDTO;
+
+/**
+ * Entity to DTO mapping of the execution details screen and of the executed-scenario lists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GenericMapperBenchmark {
+
+    @Param({ "10" })
+    private int runCount;
+
+    @Param({ "100", "1000" })
+    private int scenarioCountPerRun;
+
+    private final GenericMapper mapper = new GenericMapper();
+
+    private Execution execution;
+
+    private List<ExecutedScenario> executedScenarios;
+
+    @Setup
+    public void setUp() {
+        execution = SyntheticData.execution(runCount, scenarioCountPerRun);
+        executedScenarios = List.copyOf(execution.getRuns().iterator().next().getExecutedScenarios());
+    }
+
+    @Benchmark
+    public List<ExecutedScenarioDTO> mapCollectionOfExecutedScenarios() {
+        return mapper.mapCollection(executedScenarios, ExecutedScenarioDTO.class);
+    }
+
+    @Benchmark
+    public ExecutionWithCountryDeploymentsAndRunsAndExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO mapExecutionDetails() {
+        return mapper.map(execution, ExecutionWithCountryDeploymentsAndRunsAndExecutedScenariosAndTeamIdsAndErrorsAndProblemsDTO.class);
+    }
+
+}
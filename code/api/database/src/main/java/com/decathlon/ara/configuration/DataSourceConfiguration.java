@@ -17,38 +17,116 @@
 
 package com.decathlon.ara.configuration;
 
+import java.io.Closeable;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
 import javax.sql.DataSource;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.jdbc.DataSourceBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
-import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
 
 /**
  * When starting ARA server at the same time as the database (with eg. Docker Compose), make sure the application waits
- * for a live database connection during a few seconds before failing to start up.
+ * for a live database connection during a few seconds before failing to start up. Later on, the connection acquisitions
+ * fail fast while the database is unreachable (see {@link RetryableDataSource}).<br>
+ * When read replicas are configured, the read-only transactions are routed to them (see
+ * {@link ReadReplicaRoutingDataSource}).
  */
 @Configuration
-@EnableRetry
 @ComponentScan("com.decathlon.ara.domain")
 @ComponentScan("com.decathlon.ara.repository")
 @ComponentScan("com.decathlon.ara.configuration")
 public class DataSourceConfiguration {
 
+    private static final Logger LOG = LoggerFactory.getLogger(DataSourceConfiguration.class);
+
     @Bean
-    public BeanPostProcessor dataSourceWrapper() {
-        return new RetryableDataSourceBeanPostProcessor();
+    public BeanPostProcessor dataSourceWrapper(@Value("${ara.database.connection.max-wait-millis:5000}") long maxWaitMillis,
+            @Value("${ara.database.connection.startup-max-wait-millis:60000}") long startupMaxWaitMillis,
+            @Value("${ara.database.connection.failure-threshold:5}") int failureThreshold,
+            @Value("${ara.database.connection.open-duration-millis:10000}") long openDurationMillis,
+            @Value("${ara.database.replicas.urls:}") String replicaUrls,
+            @Value("${ara.database.replicas.lag-query:}") String lagQuery,
+            @Value("${ara.database.replicas.lag-column:}") String lagColumn,
+            @Value("${ara.database.replicas.max-lag-seconds:10}") long maxLagSeconds,
+            @Value("${ara.database.replicas.lag-check-delay-millis:5000}") long lagCheckDelayMillis) {
+        List<String> urls = Arrays.stream(StringUtils.split(StringUtils.defaultString(replicaUrls), ','))
+                .map(String::trim)
+                .filter(StringUtils::isNotEmpty)
+                .toList();
+        RetryableDataSource.Settings settings = new RetryableDataSource.Settings(maxWaitMillis, startupMaxWaitMillis, failureThreshold, openDurationMillis);
+        return new RetryableDataSourceBeanPostProcessor(settings, urls, lagQuery, lagColumn, maxLagSeconds, lagCheckDelayMillis);
+    }
+
+    /**
+     * @param dataSource the data source of the application
+     * @return the binder of the metrics of the connection acquisitions and of their circuit breaker
+     */
+    @Bean
+    public MeterBinder connectionCircuitBreakerMetrics(DataSource dataSource) {
+        return registry -> {
+            try {
+                if (dataSource.isWrapperFor(RetryableDataSource.class)) {
+                    dataSource.unwrap(RetryableDataSource.class).bindTo(registry);
+                }
+            } catch (SQLException e) {
+                LOG.warn("DATABASE|Cannot bind the metrics of the database connections", e);
+            }
+        };
     }
 
     @Order(Ordered.HIGHEST_PRECEDENCE)
     private class RetryableDataSourceBeanPostProcessor implements BeanPostProcessor {
 
+        private final RetryableDataSource.Settings settings;
+
+        private final List<String> replicaUrls;
+
+        private final String lagQuery;
+
+        private final String lagColumn;
+
+        private final long maxLagSeconds;
+
+        private final long lagCheckDelayMillis;
+
+        RetryableDataSourceBeanPostProcessor(RetryableDataSource.Settings settings, List<String> replicaUrls, String lagQuery, String lagColumn,
+                long maxLagSeconds, long lagCheckDelayMillis) {
+            this.settings = settings;
+            this.replicaUrls = replicaUrls;
+            this.lagQuery = lagQuery;
+            this.lagColumn = lagColumn;
+            this.maxLagSeconds = maxLagSeconds;
+            this.lagCheckDelayMillis = lagCheckDelayMillis;
+        }
+
         @Override
         public Object postProcessBeforeInitialization(Object bean, String beanName) {
             if (bean instanceof DataSource) {
-                bean = new RetryableDataSource((DataSource) bean);
+                DataSource primary = (DataSource) bean;
+                bean = new RetryableDataSource(primary, settings);
+                if (!replicaUrls.isEmpty()) {
+                    // The replicas share the driver and credentials of the primary
+                    List<DataSource> replicas = replicaUrls.stream()
+                            .map(url -> (DataSource) DataSourceBuilder.derivedFrom(primary).url(url).build())
+                            .toList();
+                    bean = new LazyReadReplicaRoutingDataSource(new ReadReplicaRoutingDataSource(
+                            (DataSource) bean, replicas, lagQuery, lagColumn, maxLagSeconds, lagCheckDelayMillis));
+                }
             }
             return bean;
         }
@@ -60,4 +138,24 @@ public class DataSourceConfiguration {
 
     }
 
+    /**
+     * Only get the routed connection once it is used, when the transaction is known to be read-only or not.
+     */
+    private static class LazyReadReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+        private final ReadReplicaRoutingDataSource routingDataSource;
+
+        LazyReadReplicaRoutingDataSource(ReadReplicaRoutingDataSource routingDataSource) {
+            // The default auto-commit and isolation are read from the first connection, rather than at startup
+            setTargetDataSource(routingDataSource);
+            this.routingDataSource = routingDataSource;
+        }
+
+        @Override
+        public void close() {
+            routingDataSource.close();
+        }
+
+    }
+
 }
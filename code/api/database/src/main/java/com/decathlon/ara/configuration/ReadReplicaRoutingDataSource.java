@@ -0,0 +1,238 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.configuration;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Route the read-only transactions to the read replicas (in turn), as long as their replication lag is below the
+ * configured maximum: the other connections (writes, indexing, connections outside transactions) stay on the primary.
+ * The replication lags are checked in background, and a replica is left aside until its next check if it cannot give a
+ * connection.<br>
+ * The transaction is only known to be read-only once it began: wrap this data source in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy} for the connection to be routed on its
+ * first use.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    private static final int LAG_CHECK_TIMEOUT_SECONDS = 5;
+
+    private final DataSource primary;
+
+    private final List<Replica> replicas = new ArrayList<>();
+
+    private final String lagQuery;
+
+    private final String lagColumn;
+
+    private final long maxLagSeconds;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final ScheduledExecutorService lagChecker;
+
+    /**
+     * @param primary             the data source of the primary database
+     * @param replicas            the data sources of the read replicas
+     * @param lagQuery            the query returning the replication lag (in seconds) of a replica, or null to only
+     *                            check the replica is reachable
+     * @param lagColumn           the column of the lag in the result of lagQuery, or null to read the first column
+     * @param maxLagSeconds       the maximum replication lag for a replica to receive read-only transactions
+     * @param lagCheckDelayMillis the delay between two checks of the replication lags, or 0 to not check them in
+     *                            background (see {@link #checkReplicationLags()})
+     */
+    public ReadReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, String lagQuery, String lagColumn,
+            long maxLagSeconds, long lagCheckDelayMillis) {
+        this.primary = primary;
+        this.lagQuery = StringUtils.trimToNull(lagQuery);
+        this.lagColumn = StringUtils.trimToNull(lagColumn);
+        this.maxLagSeconds = maxLagSeconds;
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.add(new Replica("replica-" + (i + 1), replicas.get(i)));
+        }
+
+        if (lagCheckDelayMillis > 0) {
+            lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ReplicationLagChecker");
+                thread.setDaemon(true);
+                return thread;
+            });
+            lagChecker.scheduleWithFixedDelay(this::checkReplicationLags, 0, lagCheckDelayMillis, TimeUnit.MILLISECONDS);
+        } else {
+            lagChecker = null;
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Replica replica = nextUpToDateReplica();
+            if (replica != null) {
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    LOG.warn("DATABASE|Read replica {} cannot give a connection: falling back to the primary until its next lag check", replica.key, e);
+                    replica.upToDate = false;
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // The replicas share the credentials of the primary: connections with other credentials stay on the primary
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Also unwrap the primary data source, for the metrics of its pool of connections to be exported.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+
+    private Replica nextUpToDateReplica() {
+        if (replicas.isEmpty()) {
+            return null;
+        }
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.upToDate) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Check the replication lag of each replica, and only route the read-only transactions to the replicas that are
+     * reachable and whose lag is below the maximum.<br>
+     * A replica left aside is logged as a warning at its first check and each time it becomes unavailable again, for a
+     * replica that never passes its checks (unreachable, missing privilege...) not to be silently unused.
+     */
+    void checkReplicationLags() {
+        for (Replica replica : replicas) {
+            boolean upToDate;
+            Exception failure = null;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                upToDate = isUpToDate(connection);
+            } catch (SQLException | RuntimeException e) {
+                LOG.debug("DATABASE|Cannot check the replication lag of read replica {}", replica.key, e);
+                failure = e;
+                upToDate = false;
+            }
+            if (!replica.checked || upToDate != replica.upToDate) {
+                if (upToDate) {
+                    LOG.info("DATABASE|Read replica {} now receives read-only transactions", replica.key);
+                } else if (failure != null) {
+                    LOG.warn("DATABASE|Read replica {} does not receive read-only transactions: cannot check its replication lag", replica.key, failure);
+                } else {
+                    LOG.warn("DATABASE|Read replica {} does not receive read-only transactions: its replication is not running or lags more than {} seconds behind",
+                            replica.key, Long.valueOf(maxLagSeconds));
+                }
+                replica.upToDate = upToDate;
+                replica.checked = true;
+            }
+        }
+    }
+
+    private boolean isUpToDate(Connection connection) throws SQLException {
+        if (lagQuery == null) {
+            return connection.isValid(LAG_CHECK_TIMEOUT_SECONDS);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(LAG_CHECK_TIMEOUT_SECONDS);
+            try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                if (!resultSet.next()) {
+                    return false;
+                }
+                long lagSeconds = lagColumn == null ? resultSet.getLong(1) : resultSet.getLong(lagColumn);
+                // A null lag means the replication is not running
+                return !resultSet.wasNull() && lagSeconds <= maxLagSeconds;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof Closeable closeable) {
+                try {
+                    closeable.close();
+                } catch (IOException e) {
+                    LOG.warn("DATABASE|Cannot close the data source of read replica {}", replica.key, e);
+                }
+            }
+        }
+    }
+
+    private static class Replica {
+
+        private final String key;
+
+        private final DataSource dataSource;
+
+        private volatile boolean upToDate;
+
+        private volatile boolean checked;
+
+        private Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+
+    }
+
+}
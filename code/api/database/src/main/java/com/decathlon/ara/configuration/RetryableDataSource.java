@@ -1,30 +1,246 @@
 package com.decathlon.ara.configuration;
 
-import org.springframework.jdbc.datasource.AbstractDataSource;
-import javax.sql.DataSource;
-import org.springframework.retry.annotation.Retryable;
-import org.springframework.retry.annotation.Backoff;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Retry the connection acquisitions during a bounded time, behind a circuit breaker: once too many acquisitions failed
+ * in a row, the next ones fail fast (instead of blocking the request threads) until a single probe acquisition is let
+ * through to check whether the database is back.<br>
+ * Until a first connection is acquired, the acquisitions are retried for longer and do not open the circuit, for ARA to
+ * wait for a database starting at the same time (eg. with Docker Compose).<br>
+ * The timeouts of the pool of connections (all connections in use, the database being reachable) are neither retried
+ * nor counted as failures: the pool already waited for a connection, and the database is not down.
+ */
+public class RetryableDataSource extends AbstractDataSource implements MeterBinder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RetryableDataSource.class);
+
+    /**
+     * Timer of the connection acquisitions (retries included), tagged by outcome
+     */
+    public static final String ACQUISITION_TIMER = "ara.database.connection.acquisition";
+
+    /**
+     * Gauge of the state of the circuit breaker: 1 for the current state, 0 for the others
+     */
+    public static final String BREAKER_STATE_GAUGE = "ara.database.connection.breaker.state";
+
+    private static final long FIRST_RETRY_DELAY_MILLIS = 100;
+
+    private static final double RETRY_DELAY_MULTIPLIER = 2.3;
+
+    public enum State {
+        CLOSED("closed"),
+        OPEN("open"),
+        HALF_OPEN("half-open");
 
-public class RetryableDataSource extends AbstractDataSource {
+        private final String tag;
 
-    private DataSource delegate;
+        State(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * @param maxWaitMillis        the maximum time spent retrying a connection acquisition: no attempt is started
+     *                             past it, but an attempt can still block for the connection timeout of the pool
+     *                             ({@code spring.datasource.hikari.connection-timeout}, 30 s by default)
+     * @param startupMaxWaitMillis the maximum time spent retrying a connection acquisition, until a first connection
+     *                             is acquired
+     * @param failureThreshold     the number of acquisitions failing in a row (whatever their number of attempts)
+     *                             that opens the circuit
+     * @param openDurationMillis   the time during which the acquisitions fail fast, before a probe acquisition
+     */
+    public record Settings(long maxWaitMillis, long startupMaxWaitMillis, int failureThreshold, long openDurationMillis) {
+    }
+
+    private final DataSource delegate;
+
+    private final Settings settings;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
 
-    RetryableDataSource(DataSource delegate) {
+    private volatile long openedAtNanos;
+
+    private volatile boolean started;
+
+    private volatile Timer acquiredTimer;
+
+    private volatile Timer failedTimer;
+
+    private volatile Timer rejectedTimer;
+
+    RetryableDataSource(DataSource delegate, Settings settings) {
         this.delegate = delegate;
+        this.settings = settings;
     }
 
     @Override
-    @Retryable(maxAttempts=10, backoff=@Backoff(multiplier=2.3, maxDelay=30000))
     public Connection getConnection() throws SQLException {
-        return delegate.getConnection();
+        return acquire(delegate::getConnection);
     }
 
     @Override
-    @Retryable(maxAttempts=10, backoff=@Backoff(multiplier=2.3, maxDelay=30000))
     public Connection getConnection(String username, String password) throws SQLException {
-        return delegate.getConnection(username, password);
+        return acquire(() -> delegate.getConnection(username, password));
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    private Connection acquire(ConnectionSupplier supplier) throws SQLException {
+        long startNanos = System.nanoTime();
+        boolean probe = false;
+        if (started && state.get() != State.CLOSED) {
+            probe = tryProbe(startNanos);
+            if (!probe) {
+                record(rejectedTimer, startNanos);
+                throw new SQLTransientConnectionException("The database is unavailable: the connections fail fast until the next probe", "08001");
+            }
+        }
+
+        long deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(started ? settings.maxWaitMillis() : settings.startupMaxWaitMillis());
+        long delayMillis = FIRST_RETRY_DELAY_MILLIS;
+        while (true) {
+            try {
+                Connection connection = supplier.get();
+                onSuccess();
+                record(acquiredTimer, startNanos);
+                return connection;
+            } catch (SQLException | RuntimeException e) {
+                if (isPoolTimeout(e)) {
+                    // Inconclusive probe: let the next acquisition probe the database again
+                    state.compareAndSet(State.HALF_OPEN, State.OPEN);
+                    record(failedTimer, startNanos);
+                    throw e;
+                }
+                // A failed probe opens the circuit again right away: do not retry it
+                if (probe
+                        || (started && state.get() != State.CLOSED)
+                        || System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis) > deadlineNanos) {
+                    onFailure(probe);
+                    record(failedTimer, startNanos);
+                    throw e;
+                }
+                LOG.debug("DATABASE|Cannot get a connection: retrying in {} ms", Long.valueOf(delayMillis), e);
+                sleep(delayMillis);
+                delayMillis = (long) (delayMillis * RETRY_DELAY_MULTIPLIER);
+            }
+        }
+    }
+
+    /**
+     * @return true if the circuit has been open for long enough, and this acquisition is the one probing the database
+     */
+    private boolean tryProbe(long nowNanos) {
+        return state.get() == State.OPEN
+                && nowNanos - openedAtNanos >= TimeUnit.MILLISECONDS.toNanos(settings.openDurationMillis())
+                && state.compareAndSet(State.OPEN, State.HALF_OPEN);
+    }
+
+    private void onSuccess() {
+        started = true;
+        consecutiveFailures.set(0);
+        if (state.getAndSet(State.CLOSED) != State.CLOSED) {
+            LOG.info("DATABASE|The database is available again: circuit closed");
+        }
+    }
+
+    /**
+     * Called once per failed acquisition, after its last attempt.
+     */
+    private void onFailure(boolean probe) {
+        if (started && (probe || consecutiveFailures.incrementAndGet() >= settings.failureThreshold())) {
+            openedAtNanos = System.nanoTime();
+            if (state.getAndSet(State.OPEN) == State.CLOSED) {
+                LOG.error("DATABASE|{} connection acquisitions failed in a row: circuit open, the connections fail fast for {} ms",
+                        Integer.valueOf(consecutiveFailures.get()), Long.valueOf(settings.openDurationMillis()));
+            }
+        }
+    }
+
+    /**
+     * @return true if the pool of connections timed out without any failure to connect to the database: Hikari then
+     * throws a {@link SQLTransientConnectionException} without cause
+     */
+    private static boolean isPoolTimeout(Exception e) {
+        return e instanceof SQLTransientConnectionException && e.getCause() == null;
+    }
+
+    private static void sleep(long millis) throws SQLTransientConnectionException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", "08001", e);
+        }
+    }
+
+    private static void record(Timer timer, long startNanos) {
+        if (timer != null) {
+            timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        acquiredTimer = acquisitionTimer(registry, "acquired");
+        failedTimer = acquisitionTimer(registry, "failed");
+        rejectedTimer = acquisitionTimer(registry, "rejected");
+        for (State gaugedState : State.values()) {
+            Gauge.builder(BREAKER_STATE_GAUGE, this, dataSource -> dataSource.getState() == gaugedState ? 1 : 0)
+                    .description("State of the circuit breaker of the database connections")
+                    .tag("state", gaugedState.tag)
+                    .register(registry);
+        }
+    }
+
+    private static Timer acquisitionTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder(ACQUISITION_TIMER)
+                .description("Time spent getting a database connection, retries included")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * Also unwrap the pool of connections, for its own metrics to be exported.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || delegate.isWrapperFor(iface);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
     }
 
-}
\ No newline at end of file
+}
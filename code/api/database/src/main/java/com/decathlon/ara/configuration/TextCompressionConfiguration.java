@@ -0,0 +1,47 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.configuration;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+import com.decathlon.ara.domain.converter.TextCompression;
+
+/**
+ * The JPA converters compressing the large text columns are instantiated by Hibernate: give them their settings.
+ */
+@Configuration
+public class TextCompressionConfiguration {
+
+    @Value("${ara.database.compression.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ara.database.compression.min-length:1024}")
+    private int minLength;
+
+    @Value("${ara.database.compression.exception-plain-length:2000}")
+    private int exceptionPlainLength;
+
+    @PostConstruct
+    public void configureTextCompression() {
+        TextCompression.configure(enabled, minLength, exceptionPlainLength);
+    }
+
+}
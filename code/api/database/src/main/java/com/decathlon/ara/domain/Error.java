@@ -28,6 +28,7 @@ import java.util.Set;
 
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
@@ -35,7 +36,6 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Index;
 import javax.persistence.JoinColumn;
-import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.SequenceGenerator;
@@ -44,6 +44,8 @@ import javax.persistence.Table;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
+import com.decathlon.ara.domain.converter.CompressedExceptionConverter;
+
 @Entity
 @Table(indexes = @Index(columnList = "executed_scenario_id"))
 public class Error implements Comparable<Error> {
@@ -67,8 +69,8 @@ public class Error implements Comparable<Error> {
 
     private int stepLine;
 
-    @Lob
-    @org.hibernate.annotations.Type(type = "org.hibernate.type.TextType")
+    @Column(length = Integer.MAX_VALUE)
+    @Convert(converter = CompressedExceptionConverter.class)
     private String exception;
 
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, mappedBy = "error", orphanRemoval = true)
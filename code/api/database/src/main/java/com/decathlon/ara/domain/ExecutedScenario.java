@@ -29,6 +29,7 @@ import java.util.TreeSet;
 
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
+import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
@@ -36,7 +37,6 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Index;
 import javax.persistence.JoinColumn;
-import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.SequenceGenerator;
@@ -50,6 +50,7 @@ import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 import org.hibernate.annotations.SortNatural;
 
+import com.decathlon.ara.domain.converter.CompressedTextConverter;
 import com.decathlon.ara.domain.enumeration.Handling;
 
 @Entity
@@ -86,8 +87,8 @@ public class ExecutedScenario implements Comparable<ExecutedScenario> {
 
     private int line;
 
-    @Lob
-    @org.hibernate.annotations.Type(type = "org.hibernate.type.TextType")
+    @Column(length = Integer.MAX_VALUE)
+    @Convert(converter = CompressedTextConverter.class)
     private String content;
 
     @Column(name = "start_date_time")
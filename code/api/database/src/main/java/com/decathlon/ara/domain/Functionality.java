@@ -17,6 +17,7 @@
 
 package com.decathlon.ara.domain;
 
+import com.decathlon.ara.domain.converter.CompressedTextConverter;
 import com.decathlon.ara.domain.enumeration.CoverageLevel;
 import com.decathlon.ara.domain.enumeration.FunctionalitySeverity;
 import com.decathlon.ara.domain.enumeration.FunctionalityType;
@@ -88,8 +89,8 @@ public class Functionality implements Comparable<Functionality> {
     @Transient
     private CoverageLevel lazyLoadedCoverageLevel;
 
-    @Lob
-    @org.hibernate.annotations.Type(type = "org.hibernate.type.TextType")
+    @Column(length = Integer.MAX_VALUE)
+    @Convert(converter = CompressedTextConverter.class)
     private String comment;
 
     @Column(name = "creation_date_time")
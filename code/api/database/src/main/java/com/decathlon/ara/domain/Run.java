@@ -38,6 +38,7 @@ import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Index;
 import javax.persistence.JoinColumn;
+import javax.persistence.Lob;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToMany;
 import javax.persistence.SequenceGenerator;
@@ -145,6 +146,24 @@ public class Run implements Comparable<Run> {
      */
     private Boolean includeInThresholds;
 
+    /**
+     * Fingerprint of the report files of this run (relative paths, sizes and modification dates), as they were when the
+     * executed scenarios were last indexed: while the execution is running, an unchanged fingerprint means the
+     * executed scenarios do not need to be indexed again.<br>
+     * Null if the run was indexed without incremental indexing.
+     */
+    @Column(length = 64)
+    private String indexingFingerprint;
+
+    /**
+     * JSON list of {@link com.decathlon.ara.domain.projection.CompactedScenarioCount}: the counts of the passed
+     * executed scenarios that were removed when this run was compacted, to keep the quality trends of old executions.<br>
+     * Null if the run was not compacted.
+     */
+    @Lob
+    @org.hibernate.annotations.Type(type = "org.hibernate.type.TextType")
+    private String compactedScenarioCounts;
+
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, mappedBy = "run", orphanRemoval = true)
     @OnDelete(action = OnDeleteAction.CASCADE)
     @SortNatural
@@ -318,6 +337,22 @@ public class Run implements Comparable<Run> {
         this.includeInThresholds = includeInThresholds;
     }
 
+    public String getIndexingFingerprint() {
+        return indexingFingerprint;
+    }
+
+    public void setIndexingFingerprint(String indexingFingerprint) {
+        this.indexingFingerprint = indexingFingerprint;
+    }
+
+    public String getCompactedScenarioCounts() {
+        return compactedScenarioCounts;
+    }
+
+    public void setCompactedScenarioCounts(String compactedScenarioCounts) {
+        this.compactedScenarioCounts = compactedScenarioCounts;
+    }
+
     public Set<ExecutedScenario> getExecutedScenarios() {
         return executedScenarios;
     }
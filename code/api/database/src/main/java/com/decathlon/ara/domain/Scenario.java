@@ -17,6 +17,8 @@
 
 package com.decathlon.ara.domain;
 
+import com.decathlon.ara.domain.converter.CompressedTextConverter;
+
 import javax.persistence.*;
 import java.util.Comparator;
 import java.util.HashSet;
@@ -82,8 +84,8 @@ public class Scenario implements Comparable<Scenario> {
 
     private int line;
 
-    @Lob
-    @org.hibernate.annotations.Type(type = "org.hibernate.type.TextType")
+    @Column(length = Integer.MAX_VALUE)
+    @Convert(converter = CompressedTextConverter.class)
     private String content;
 
     @ManyToMany(fetch = FetchType.LAZY, mappedBy = "scenarios")
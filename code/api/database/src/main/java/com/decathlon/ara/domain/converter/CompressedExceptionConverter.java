@@ -0,0 +1,40 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.domain.converter;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Compress an exception trace, if enabled (see {@link TextCompression}), but keep its beginning as plain text: the
+ * problem patterns match the errors on the beginning of their exception, with a SQL LIKE.
+ */
+@Converter
+public class CompressedExceptionConverter implements AttributeConverter<String, String> {
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        return TextCompression.compress(attribute, TextCompression.getExceptionPlainLength());
+    }
+
+    @Override
+    public String convertToEntityAttribute(String dbData) {
+        return TextCompression.decompress(dbData);
+    }
+
+}
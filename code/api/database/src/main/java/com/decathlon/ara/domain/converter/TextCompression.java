@@ -0,0 +1,230 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.domain.converter;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Base64;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Transparent compression of the large text columns (scenario contents, exception traces...).<br>
+ * A compressed value is stored as its plain head (possibly empty), followed by {@link #MARKER}, the format version and
+ * the Base64 of the deflated tail. The deflater is primed with a dictionary of the strings repeated in Cucumber
+ * contents and Java stack traces, so that even the medium-sized values get a good ratio.<br>
+ * The columns stay text columns, and the values not compressed (older rows, compression disabled, too short texts) are
+ * read as is: compression can be enabled or disabled at any time.
+ */
+public final class TextCompression {
+
+    /**
+     * Separates the plain head from the compressed tail (a control character that never appears in the compressed
+     * columns, and that is allowed in the text columns of all the supported databases)
+     */
+    static final char MARKER = '\u0001';
+
+    /**
+     * Deflate with {@link #DICTIONARY_V1}: a new dictionary requires a new format, to keep reading the older values
+     */
+    static final String FORMAT_DEFLATE_V1 = "z1:";
+
+    /**
+     * Deflate only uses the last 32 KB of the dictionary, and favors its end: the most frequent strings come last
+     */
+    private static final byte[] DICTIONARY_V1 = ("""
+            org.openqa.selenium.NoSuchElementException: no such element: Unable to locate element: \
+            org.openqa.selenium.TimeoutException: Expected condition failed: waiting for \
+            org.openqa.selenium.StaleElementReferenceException: stale element reference: \
+            java.lang.NullPointerException
+            java.lang.IllegalStateException: \
+            java.lang.AssertionError: expected:< but was:<
+            org.junit.ComparisonFailure: expected:<
+            org.opentest4j.AssertionFailedError: expected: <
+            \tat org.openqa.selenium.remote.RemoteWebDriver.execute(RemoteWebDriver.java:
+            \tat org.openqa.selenium.remote.RemoteWebElement.execute(RemoteWebElement.java:
+            \tat org.openqa.selenium.support.ui.FluentWait.until(FluentWait.java:
+            \tat org.junit.runners.ParentRunner.runChildren(ParentRunner.java:
+            \tat org.junit.runners.ParentRunner.run(ParentRunner.java:
+            \tat org.junit.Assert.assertEquals(Assert.java:
+            \tat org.junit.Assert.fail(Assert.java:
+            \tat io.cucumber.core.runner.PickleStepDefinitionMatch.runStep(PickleStepDefinitionMatch.java:
+            \tat io.cucumber.core.runner.TestStep.executeStep(TestStep.java:
+            \tat io.cucumber.core.runner.TestStep.run(TestStep.java:
+            \tat io.cucumber.java.JavaStepDefinition.execute(JavaStepDefinition.java:
+            \tat cucumber.runtime.StepDefinitionMatch.runStep(StepDefinitionMatch.java:
+            \tat cucumber.runtime.Runtime.runStep(Runtime.java:
+            \tat sun.reflect.NativeMethodAccessorImpl.invoke0(Native Method)
+            \tat sun.reflect.NativeMethodAccessorImpl.invoke(NativeMethodAccessorImpl.java:62)
+            \tat sun.reflect.DelegatingMethodAccessorImpl.invoke(DelegatingMethodAccessorImpl.java:43)
+            \tat java.lang.reflect.Method.invoke(Method.java:498)
+            \tat java.base/jdk.internal.reflect.NativeMethodAccessorImpl.invoke0(Native Method)
+            \tat java.base/jdk.internal.reflect.NativeMethodAccessorImpl.invoke(NativeMethodAccessorImpl.java:62)
+            \tat java.base/jdk.internal.reflect.DelegatingMethodAccessorImpl.invoke(DelegatingMethodAccessorImpl.java:43)
+            \tat java.base/java.lang.reflect.Method.invoke(Method.java:566)
+            \tat java.base/java.lang.Thread.run(Thread.java:829)
+            Caused by: \
+            \t... more
+            0:element:Background:
+            0:element:Scenario:
+            -100000:passed:\
+            100000:passed:\
+            :passed:\
+            :failed:\
+            :skipped:\
+            :undefined:\
+            @Before \
+            @After \
+            :Given \
+            :When \
+            :Then \
+            :And \
+            """).getBytes(UTF_8);
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static volatile boolean enabled;
+
+    private static volatile int minLength = 1024;
+
+    private static volatile int exceptionPlainLength = 2000;
+
+    private TextCompression() {
+    }
+
+    /**
+     * @param enabled              true to compress the values written from now on (the compressed values are always
+     *                             decompressed, whatever this flag)
+     * @param minLength            the texts (or their tail, for exceptions) shorter than this are not compressed
+     * @param exceptionPlainLength the number of characters of the exceptions kept as plain text, so the problem
+     *                             patterns can still match them by prefix in SQL
+     */
+    public static void configure(boolean enabled, int minLength, int exceptionPlainLength) {
+        TextCompression.enabled = enabled;
+        TextCompression.minLength = minLength;
+        TextCompression.exceptionPlainLength = exceptionPlainLength;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static int getMinLength() {
+        return minLength;
+    }
+
+    public static int getExceptionPlainLength() {
+        return exceptionPlainLength;
+    }
+
+    /**
+     * @param text        the text to compress
+     * @param plainLength the number of leading characters to keep as plain text
+     * @return the value to store: the compressed text, or the text itself if compression is disabled or not worth it
+     */
+    public static String compress(String text, int plainLength) {
+        if (!enabled || text == null || text.indexOf(MARKER) >= 0) {
+            return text;
+        }
+        int headLength = Math.min(plainLength, text.length());
+        if (headLength > 0 && Character.isHighSurrogate(text.charAt(headLength - 1))) {
+            headLength--;
+        }
+        if (text.length() - headLength < minLength) {
+            return text;
+        }
+        String compressed = text.substring(0, headLength) +
+                MARKER +
+                FORMAT_DEFLATE_V1 +
+                Base64.getEncoder().encodeToString(deflate(text.substring(headLength).getBytes(UTF_8)));
+        return compressed.length() < text.length() ? compressed : text;
+    }
+
+    /**
+     * @param value a stored value, compressed or not
+     * @return the original text
+     */
+    public static String decompress(String value) {
+        if (!isCompressed(value)) {
+            return value;
+        }
+        int markerIndex = value.indexOf(MARKER);
+        try {
+            byte[] deflated = Base64.getDecoder().decode(value.substring(markerIndex + 1 + FORMAT_DEFLATE_V1.length()));
+            return value.substring(0, markerIndex) + new String(inflate(deflated), UTF_8);
+        } catch (IllegalArgumentException | DataFormatException e) {
+            // Not written by this class: a plain text that really contains the marker
+            return value;
+        }
+    }
+
+    /**
+     * @param value a stored value
+     * @return true if the value was compressed by {@link #compress(String, int)}
+     */
+    public static boolean isCompressed(String value) {
+        if (value == null) {
+            return false;
+        }
+        int markerIndex = value.indexOf(MARKER);
+        return markerIndex >= 0 && value.startsWith(FORMAT_DEFLATE_V1, markerIndex + 1);
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setDictionary(DICTIONARY_V1);
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(input.length / 4 + 64);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream output = new ByteArrayOutputStream(input.length * 4);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0) {
+                    if (inflater.needsDictionary()) {
+                        inflater.setDictionary(DICTIONARY_V1);
+                    } else if (inflater.needsInput()) {
+                        throw new DataFormatException("Truncated compressed text");
+                    }
+                }
+                output.write(buffer, 0, length);
+            }
+            return output.toByteArray();
+        } finally {
+            inflater.end();
+        }
+    }
+
+}
@@ -0,0 +1,36 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.domain.projection;
+
+import java.util.List;
+
+import com.decathlon.ara.domain.ExecutedScenario;
+import com.decathlon.ara.domain.Run;
+
+/**
+ * The number of passed {@link ExecutedScenario}s of a compacted {@link Run} sharing the same severity and
+ * functionalities: the executed scenarios themselves are removed by the compaction, but their counts are kept for the
+ * quality trends.
+ *
+ * @param severity         the severity code of the scenarios (can be null or a code not existing in database: it is
+ *                         user-provided)
+ * @param functionalityIds the IDs of the functionalities covered by the scenarios, as extracted from their names
+ * @param count            the number of passed executed scenarios with this severity and these functionalities
+ */
+public record CompactedScenarioCount(String severity, List<Long> functionalityIds, long count) {
+}
@@ -18,7 +18,11 @@
 package com.decathlon.ara.repository;
 
 import com.decathlon.ara.domain.CountryDeployment;
+import java.util.Collection;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -29,4 +33,8 @@ public interface CountryDeploymentRepository extends JpaRepository<CountryDeploy
 
     boolean existsByCountryId(long countryId);
 
+    @Modifying
+    @Query("DELETE FROM CountryDeployment countryDeployment WHERE countryDeployment.execution.id IN :executionIds")
+    int deleteByExecutionIds(@Param("executionIds") Collection<Long> executionIds);
+
 }
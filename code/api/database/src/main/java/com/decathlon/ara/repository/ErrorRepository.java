@@ -18,6 +18,7 @@
 package com.decathlon.ara.repository;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +27,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -89,4 +91,21 @@ public interface ErrorRepository extends JpaRepository<Error, Long>, JpaSpecific
         return errorProblems;
     }
 
+    @Modifying
+    @Query("""
+            update Error error
+            set error.exception = null
+            where error.executedScenario.id in (select executedScenario.id from ExecutedScenario executedScenario
+              where executedScenario.run.id in (:runIds))
+            """)
+    int clearExceptionByRunIds(@Param("runIds") Collection<Long> runIds);
+
+    @Modifying
+    @Query("""
+            delete from Error error
+            where error.executedScenario.id in (select executedScenario.id from ExecutedScenario executedScenario
+              where executedScenario.run.execution.id in (:executionIds))
+            """)
+    int deleteByExecutionIds(@Param("executionIds") Collection<Long> executionIds);
+
 }
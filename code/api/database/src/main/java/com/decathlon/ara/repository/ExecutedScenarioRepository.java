@@ -17,20 +17,21 @@
 
 package com.decathlon.ara.repository;
 
-import java.time.Period;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
-import java.util.Optional;
 import java.util.Set;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.decathlon.ara.domain.ExecutedScenario;
 import com.decathlon.ara.domain.projection.ExecutedScenarioWithErrorAndProblemJoin;
-import com.decathlon.ara.repository.util.SpecificationUtil;
 
 /**
  * Spring Data JPA repository for the ExecutedScenario entity.
@@ -96,8 +97,101 @@ public interface ExecutedScenarioRepository extends JpaRepository<ExecutedScenar
             """)
     List<ExecutedScenarioWithErrorAndProblemJoin> findAllErrorAndProblemCounts(@Param("runIds") Set<Long> runIds);
 
-    default List<ExecutedScenario> findHistory(long projectId, String cucumberId, String branch, String cycleName, String countryCode, String runTypeCode, Optional<Period> duration) {
-        return findAll(SpecificationUtil.toExecutedScenarioSpecification(projectId, cucumberId, branch, cycleName, countryCode, runTypeCode, duration));
-    }
+    /**
+     * Keyset-paginated history of a scenario, with the runs, executions, countries and types of the page fetched in the
+     * same query (the executed_scenario table is accessed by its (cucumber_id, run_id) index). The cursor is the
+     * executed scenario the page must start after, in the order of this query: the page never shares nor misses a row
+     * with the previous one, even when several executions have the same test date-time.
+     *
+     * @param projectId         the ID of the project in which to work
+     * @param cucumberId        the Cucumber ID of the scenario
+     * @param branch            the branch of the executions, or null for all branches
+     * @param cycleName         the cycle of the executions, or null for all cycles
+     * @param countryCode       the country of the runs, or null for all countries
+     * @param runTypeCode       the type of the runs, or null for all types
+     * @param startDate         only return the executions tested after this date, or null for no limit
+     * @param beforeDateTime    the test date-time of the execution of the cursor, or null to get the first page
+     * @param beforeCountryCode the country of the run of the cursor, or null to get the first page
+     * @param beforeRunTypeCode the type of the run of the cursor, or null to get the first page
+     * @param beforeLine        the line of the cursor, or null to get the first page
+     * @param beforeId          the ID of the cursor, or null to get the first page
+     * @param pageable          the size of the page
+     * @return the matching executed scenarios after the cursor, by test date-time, country, type, line then ID, the
+     * most recent first
+     */
+    @Query("""
+            select executedScenario
+            from ExecutedScenario executedScenario
+            join fetch executedScenario.run run
+            join fetch run.execution execution
+            join fetch run.country country
+            join fetch run.type type
+            where execution.cycleDefinition.projectId = :projectId
+              and executedScenario.cucumberId = :cucumberId
+              and (:branch is null or execution.branch = :branch)
+              and (:cycleName is null or execution.name = :cycleName)
+              and (:countryCode is null or country.code = :countryCode)
+              and (:runTypeCode is null or type.code = :runTypeCode)
+              and (:startDate is null or execution.testDateTime > :startDate)
+              and (:beforeId is null
+                or execution.testDateTime < :beforeDateTime
+                or (execution.testDateTime = :beforeDateTime and (country.code < :beforeCountryCode
+                  or (country.code = :beforeCountryCode and (type.code < :beforeRunTypeCode
+                    or (type.code = :beforeRunTypeCode and (executedScenario.line < :beforeLine
+                      or (executedScenario.line = :beforeLine and executedScenario.id < :beforeId))))))))
+            order by execution.testDateTime desc, country.code desc, type.code desc, executedScenario.line desc, executedScenario.id desc
+            """)
+    List<ExecutedScenario> findHistory(@Param("projectId") long projectId,
+                                       @Param("cucumberId") String cucumberId,
+                                       @Param("branch") String branch,
+                                       @Param("cycleName") String cycleName,
+                                       @Param("countryCode") String countryCode,
+                                       @Param("runTypeCode") String runTypeCode,
+                                       @Param("startDate") Date startDate,
+                                       @Param("beforeDateTime") Date beforeDateTime,
+                                       @Param("beforeCountryCode") String beforeCountryCode,
+                                       @Param("beforeRunTypeCode") String beforeRunTypeCode,
+                                       @Param("beforeLine") Integer beforeLine,
+                                       @Param("beforeId") Long beforeId,
+                                       Pageable pageable);
+
+    /**
+     * @param runIds the IDs of the runs
+     * @return the ID, run ID, severity and name of the executed scenarios without error of these runs
+     */
+    @Query("""
+            select executedScenario.id, executedScenario.run.id, executedScenario.severity, executedScenario.name
+            from ExecutedScenario executedScenario
+            where executedScenario.run.id in (:runIds)
+              and not exists (select error.id from Error error where error.executedScenario.id = executedScenario.id)
+            """)
+    List<Object[]> findPassedByRunIds(@Param("runIds") Collection<Long> runIds);
+
+    /**
+     * Remove the content and the asset URLs of all the executed scenarios of the given runs.
+     *
+     * @param runIds the IDs of the runs
+     * @return the number of updated executed scenarios
+     */
+    @Modifying
+    @Query("""
+            update ExecutedScenario executedScenario
+            set executedScenario.content = null,
+                executedScenario.screenshotUrl = null,
+                executedScenario.videoUrl = null,
+                executedScenario.logsUrl = null,
+                executedScenario.httpRequestsUrl = null,
+                executedScenario.javaScriptErrorsUrl = null,
+                executedScenario.diffReportUrl = null
+            where executedScenario.run.id in (:runIds)
+            """)
+    int clearContentAndAssetsByRunIds(@Param("runIds") Collection<Long> runIds);
+
+    @Modifying
+    @Query("""
+            delete from ExecutedScenario executedScenario
+            where executedScenario.run.id in (select run.id from Run run where run.execution.id in (:executionIds))
+            """)
+    int deleteByExecutionIds(@Param("executionIds") Collection<Long> executionIds);
 
 }
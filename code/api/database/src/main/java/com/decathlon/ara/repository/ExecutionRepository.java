@@ -80,7 +80,20 @@ public interface ExecutionRepository extends JpaRepository<Execution, Long> {
 
     boolean existsByCycleDefinitionId(Long id);
 
-    List<Execution> findByCycleDefinitionProjectIdAndTestDateTimeBefore(long projectId, Date startDate);
+    long countByCycleDefinitionProjectIdAndTestDateTimeBefore(long projectId, Date startDate);
+
+    /**
+     * @param projectId the ID of the project
+     * @param startDate the executions strictly before this date are returned
+     * @param afterId   only the executions with an ID strictly greater than this one are returned (keyset pagination)
+     * @param pageable  the maximum number of IDs to return
+     * @return the IDs of the matching executions, sorted by ID
+     */
+    @Query("SELECT execution.id " +
+            "FROM Execution execution " +
+            "WHERE execution.cycleDefinition.projectId = ?1 AND execution.testDateTime < ?2 AND execution.id > ?3 " +
+            "ORDER BY execution.id")
+    List<Long> findIdsByProjectIdAndTestDateTimeBefore(long projectId, Date startDate, long afterId, Pageable pageable);
 
     List<Execution> findTop10ByCycleDefinitionProjectIdAndCycleDefinitionBranchAndCycleDefinitionNameOrderByTestDateTimeDesc(long projectId, String branch, String name);
 
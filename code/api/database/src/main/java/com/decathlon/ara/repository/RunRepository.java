@@ -20,9 +20,14 @@ package com.decathlon.ara.repository;
 import com.decathlon.ara.domain.Country;
 import com.decathlon.ara.domain.Run;
 import com.decathlon.ara.domain.Type;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -53,4 +58,26 @@ public interface RunRepository extends JpaRepository<Run, Long> {
 
     boolean existsByTypeId(long typeId);
 
+    /**
+     * @param projectId the ID of the project
+     * @param startDate the runs of the executions strictly before this date are returned
+     * @param afterId   only the runs with an ID strictly greater than this one are returned (keyset pagination)
+     * @param pageable  the maximum number of IDs to return
+     * @return the IDs of the matching runs that are not compacted yet, sorted by ID
+     */
+    @Query("SELECT run.id " +
+            "FROM Run run " +
+            "WHERE run.execution.cycleDefinition.projectId = ?1 AND run.execution.testDateTime < ?2 AND run.id > ?3 " +
+            "AND run.compactedScenarioCounts IS NULL " +
+            "ORDER BY run.id")
+    List<Long> findIdsToCompactByProjectIdAndTestDateTimeBefore(long projectId, Date startDate, long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Run run SET run.compactedScenarioCounts = ?2 WHERE run.id = ?1")
+    int updateCompactedScenarioCounts(long runId, String compactedScenarioCounts);
+
+    @Modifying
+    @Query("DELETE FROM Run run WHERE run.execution.id IN :executionIds")
+    int deleteByExecutionIds(@Param("executionIds") Collection<Long> executionIds);
+
 }
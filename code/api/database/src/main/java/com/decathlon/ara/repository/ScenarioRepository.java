@@ -19,7 +19,6 @@ package com.decathlon.ara.repository;
 
 import com.decathlon.ara.domain.Country;
 import com.decathlon.ara.domain.Scenario;
-import com.decathlon.ara.domain.Source;
 import com.decathlon.ara.domain.projection.CountryCodeCheck;
 import com.decathlon.ara.domain.projection.IgnoredScenario;
 import com.decathlon.ara.domain.projection.ScenarioIgnoreCount;
@@ -38,8 +37,6 @@ public interface ScenarioRepository extends JpaRepository<Scenario, Long> {
 
     List<Scenario> findAllBySourceId(Long sourceId);
 
-    void deleteAllBySource(Source source);
-
     boolean existsBySourceId(Long sourceId);
 
     List<CountryCodeCheck> findDistinctBySourceProjectIdAndCountryCodesContaining(long projectId, String countryCode);
@@ -55,4 +55,25 @@ public class TransactionAppenderUtil {
                     "(OK for tests, but not for production environment!)");
         }
     }
+
+    /**
+     * Run the given code now and, if called in a transaction, once again after it is committed.<br>
+     * Used to evict in-memory caches: a concurrent request could otherwise reload the data from before the
+     * transaction in between, and keep it until the next eviction.
+     *
+     * @param runnable the code to run now and after transaction commit
+     */
+    public static void doNowAndAfterCommit(Runnable runnable) {
+        runnable.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            @SuppressWarnings("squid:S1604") // Anonymous inner classes containing only one method should become lambdas
+            final TransactionSynchronization synchronization = new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    runnable.run();
+                }
+            };
+            TransactionSynchronizationManager.registerSynchronization(synchronization);
+        }
+    }
 }
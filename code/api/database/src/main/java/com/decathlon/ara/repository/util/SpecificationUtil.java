@@ -13,14 +13,9 @@ import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.Expression;
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
-import java.time.LocalDateTime;
-import java.time.Period;
-import java.time.ZoneId;
-import java.time.chrono.ChronoZonedDateTime;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.Optional;
 import java.util.function.BiFunction;
 
 public class SpecificationUtil {
@@ -29,6 +24,11 @@ public class SpecificationUtil {
     private static final String CODE_ATTRIBUTE = "code";
     private static final String PROJECT_ID_ATTRIBUTE = "projectId";
     private static final char LIKE_CHAR = '%';
+    /**
+     * PostgreSQL cannot index the whole steps of the errors (an index row is limited to about 2.7 KB): it indexes
+     * left(step, 255) and left(step_definition, 255)
+     */
+    private static final int INDEXED_PREFIX_LENGTH = 255;
 
     private SpecificationUtil() {
     }
@@ -71,6 +71,33 @@ public class SpecificationUtil {
         }
     }
 
+    /**
+     * Also match the indexed prefix of the column, for PostgreSQL to use its index (see {@link #INDEXED_PREFIX_LENGTH}):
+     * the other databases still use the predicate on the whole column.
+     */
+    private static void addIndexedPrefixPredicate(List<Predicate> predicates, CriteriaBuilder criteriaBuilder, Expression<String> expression, String value) {
+        String prefix = indexedPrefixOf(value);
+        if (!prefix.isEmpty()) {
+            Expression<String> indexedPrefix = criteriaBuilder.function("left", String.class, expression, criteriaBuilder.literal(INDEXED_PREFIX_LENGTH));
+            predicates.add(criteriaBuilder.like(indexedPrefix, prefix + LIKE_CHAR));
+        }
+    }
+
+    /**
+     * @param value an equals or starts-with value
+     * @return the literal beginning of the value (before its first LIKE special character), short enough to begin the
+     * indexed prefix of the column whether the database counts its length in code points or in UTF-16 chars
+     */
+    static String indexedPrefixOf(String value) {
+        if (StringUtils.isEmpty(value)) {
+            return "";
+        }
+        int literalEnd = StringUtils.indexOfAny(value, LIKE_CHAR, '_', '\\');
+        String literal = literalEnd < 0 ? value : value.substring(0, literalEnd);
+        int codePointCount = Math.min(literal.codePointCount(0, literal.length()), INDEXED_PREFIX_LENGTH / 2);
+        return literal.substring(0, literal.offsetByCodePoints(0, codePointCount));
+    }
+
     private static void addEqualsPredicate(List<Predicate> predicates, CriteriaBuilder criteriaBuilder, Expression<String> expression, String value) {
         if (StringUtils.isNotEmpty(value)) {
             predicates.add(criteriaBuilder.equal(expression, value));
@@ -141,39 +168,6 @@ public class SpecificationUtil {
         };
     }
 
-    public static Specification<ExecutedScenario> toExecutedScenarioSpecification(long projectId, String cucumberId, String branch, String cycleName, String countryCode, String runTypeCode, Optional<Period> duration) {
-        return (root, criteriaQuery, criteriaBuilder) -> {
-            List<Predicate> predicates = new ArrayList<>();
-            Path<Run> run = root.get("run");
-            Path<Execution> execution = run.get("execution");
-            Path<Country> country = run.get("country");
-            Path<Type> type = run.get("type");
-            predicates.add(criteriaBuilder.equal(execution.get("cycleDefinition").get(PROJECT_ID_ATTRIBUTE), projectId));
-            predicates.add(criteriaBuilder.equal(root.get("cucumberId"), cucumberId));
-            addEqualsPredicate(predicates, criteriaBuilder, execution.get("branch"), branch);
-            addEqualsPredicate(predicates, criteriaBuilder, execution.get(NAME_ATTRIBUTE), cycleName);
-            addEqualsPredicate(predicates, criteriaBuilder, country.get(CODE_ATTRIBUTE), countryCode);
-            addEqualsPredicate(predicates, criteriaBuilder, type.get(CODE_ATTRIBUTE), runTypeCode);
-
-            var today = LocalDateTime.now();
-            var startDate = duration
-                    .map(today::minus)
-                    .map(localDateTime -> localDateTime.atZone(ZoneId.systemDefault()))
-                    .map(ChronoZonedDateTime::toInstant)
-                    .map(Date::from);
-            if (startDate.isPresent()) {
-                predicates.add(criteriaBuilder.greaterThan(execution.get("testDateTime"), startDate.get()));
-            }
-
-            criteriaQuery.orderBy(criteriaBuilder.asc(execution.get("testDateTime")),
-                    criteriaBuilder.asc(country.get(CODE_ATTRIBUTE)),
-                    criteriaBuilder.asc(type.get(CODE_ATTRIBUTE)),
-                    criteriaBuilder.asc(root.get("line")));
-
-            return criteriaBuilder.and(predicates.toArray(new Predicate[predicates.size()]));
-        };
-    }
-
     public static Specification<Error> toErrorSpecification(long projectId, ProblemPattern problemPattern, List<Long> errorIds) {
         return (root, criteriaQuery, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -186,7 +180,9 @@ public class SpecificationUtil {
             addEqualsPredicate(predicates, criteriaBuilder, executedScenario.get("featureName"), problemPattern.getFeatureName());
             addEqualsOrStartWithPredicate(predicates, criteriaBuilder, executedScenario.get(NAME_ATTRIBUTE), problemPattern.getScenarioName(), problemPattern.isScenarioNameStartsWith());
             addEqualsOrStartWithPredicate(predicates, criteriaBuilder, root.get("step"), problemPattern.getStep(), problemPattern.isStepStartsWith());
+            addIndexedPrefixPredicate(predicates, criteriaBuilder, root.get("step"), problemPattern.getStep());
             addEqualsOrStartWithPredicate(predicates, criteriaBuilder, root.get("stepDefinition"), problemPattern.getStepDefinition(), problemPattern.isStepDefinitionStartsWith());
+            addIndexedPrefixPredicate(predicates, criteriaBuilder, root.get("stepDefinition"), problemPattern.getStepDefinition());
             addEqualsOrStartWithPredicate(predicates, criteriaBuilder, root.get("exception"), problemPattern.getException(), true);
             addEqualsPredicate(predicates, criteriaBuilder, execution.get("release"), problemPattern.getRelease());
             Country country = problemPattern.getCountry();
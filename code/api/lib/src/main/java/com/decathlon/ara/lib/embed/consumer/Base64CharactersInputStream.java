@@ -0,0 +1,75 @@
+/******************************************************************************
+ * Copyright (C) 2019 by the ARA Contributors                                 *
+ *                                                                            *
+ * Licensed under the Apache License, Version 2.0 (the "License");            *
+ * you may not use this file except in compliance with the License.           *
+ * You may obtain a copy of the License at                                    *
+ *                                                                            *
+ * 	 http://www.apache.org/licenses/LICENSE-2.0                               *
+ *                                                                            *
+ * Unless required by applicable law or agreed to in writing, software        *
+ * distributed under the License is distributed on an "AS IS" BASIS,          *
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.   *
+ * See the License for the specific language governing permissions and        *
+ * limitations under the License.                                             *
+ *                                                                            *
+ ******************************************************************************/
+
+package com.decathlon.ara.lib.embed.consumer;
+
+import java.io.InputStream;
+import java.util.Base64;
+
+/**
+ * Give the characters of a Base64 String to a decoder, without copying them into a byte array first.
+ */
+public final class Base64CharactersInputStream extends InputStream {
+
+    /**
+     * Not a Base64 character: makes the decoder fail on non-ASCII characters
+     */
+    private static final int INVALID_CHARACTER = '!';
+
+    private final String base64;
+
+    private int position;
+
+    public Base64CharactersInputStream(String base64) {
+        this.base64 = base64;
+    }
+
+    /**
+     * @param base64 a Base64 String (eg. the data of an embedding in a Cucumber report)
+     * @return a stream of the decoded bytes: they are decoded while the stream is read, so the whole decoded content is
+     * never held in memory (an IOException is thrown while reading if the Base64 is invalid)
+     */
+    public static InputStream decode(String base64) {
+        return Base64.getDecoder().wrap(new Base64CharactersInputStream(base64));
+    }
+
+    @Override
+    public int read() {
+        if (position >= base64.length()) {
+            return -1;
+        }
+        char character = base64.charAt(position++);
+        return character < 0x80 ? character : INVALID_CHARACTER;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        int count = Math.min(length, base64.length() - position);
+        if (count <= 0) {
+            return -1;
+        }
+        for (int i = 0; i < count; i++) {
+            char character = base64.charAt(position++);
+            bytes[offset + i] = (byte) (character < 0x80 ? character : INVALID_CHARACTER);
+        }
+        return count;
+    }
+
+}
@@ -17,6 +17,13 @@
 
 package com.decathlon.ara.lib.embed.consumer;
 
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -30,7 +37,7 @@ import net.minidev.json.parser.JSONParser;
 import net.minidev.json.parser.ParseException;
 
 /**
- * Read an HTML String, parse it and extract all structured embeddings it contains.
+ * Read an HTML String (or its Base64), parse it and extract all structured embeddings it contains.
  */
 public class StructuredEmbeddingsExtractor {
 	
@@ -40,6 +47,13 @@ public class StructuredEmbeddingsExtractor {
     private static final Pattern MAGIC_HEADER_PATTERN = Pattern.compile("^(<!--StructuredEmbeddings_v1(.[0-9]+)?.([0-9]+)?=).*$", Pattern.DOTALL);
     private static final String JSON_STOP = "-->";
 
+    private static final String MAGIC_HEADER_START = "<!--StructuredEmbeddings_v1";
+
+    /**
+     * The magic header ends with '=': searched in that many characters only (eg. "<!--StructuredEmbeddings_v1.2.3=")
+     */
+    private static final int MAGIC_HEADER_MAX_LENGTH = 64;
+
     /**
      * Read an HTML String, parse it and extract all structured embeddings it contains.
      *
@@ -57,16 +71,108 @@ public class StructuredEmbeddingsExtractor {
             return Optional.empty();
         }
 
-        String json = html.substring(jsonStartIndex, jsonStopIndex).replace("&#x2d;", "-").replace("&amp;", "&");
+        String json = html.substring(jsonStartIndex, jsonStopIndex);
         String htmlParts = html.substring(jsonStopIndex + JSON_STOP.length());
+        return parse(json, htmlParts);
+    }
+
+    /**
+     * Read a Base64-encoded HTML (as embedded in Cucumber reports), parse it and extract all structured embeddings it
+     * contains.<br>
+     * The Base64 is decoded as a stream, and only as far as needed: an HTML not starting with the magic header is
+     * rejected after decoding its first bytes, and the decoding stops at the end of the JSON. The HTML representations
+     * of the embeddings are thus not extracted: {@link ParsedStructuredEmbedding#getHtml()} is always null.
+     *
+     * @param base64Html the Base64 of the UTF-8 HTML to parse
+     * @return the read embeddings, or empty if the HTML is not of the supported format
+     */
+    public Optional<StructuredEmbeddingsHolder> extractFromBase64(String base64Html) {
+        if (base64Html == null || base64Html.isEmpty()) {
+            return Optional.empty();
+        }
+        try (InputStream html = Base64CharactersInputStream.decode(base64Html)) {
+            String magicHeader = readMagicHeader(html);
+            if (magicHeader == null || magicHeaderLength(magicHeader) != magicHeader.length()) {
+                return Optional.empty();
+            }
+
+            byte[] json = readJson(new BufferedInputStream(html));
+            if (json == null) {
+                return Optional.empty();
+            }
+            return parse(new String(json, UTF_8), null);
+        } catch (IOException e) {
+            LOG.error("Cannot decode StructuredEmbeddings Base64", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @param html the decoded HTML stream, at its beginning
+     * @return the magic header (up to its '=' included), or null if the HTML does not start with a magic header
+     * @throws IOException if the Base64 is invalid
+     */
+    private String readMagicHeader(InputStream html) throws IOException {
+        byte[] start = html.readNBytes(MAGIC_HEADER_START.length());
+        if (!MAGIC_HEADER_START.equals(new String(start, US_ASCII))) {
+            return null;
+        }
+        StringBuilder header = new StringBuilder(MAGIC_HEADER_START);
+        int character;
+        while (header.length() < MAGIC_HEADER_MAX_LENGTH && (character = html.read()) != -1) {
+            header.append((char) character);
+            if (character == '=') {
+                return header.toString();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param html the decoded HTML stream, just after the magic header
+     * @return the bytes of the JSON, up to the {@link #JSON_STOP} excluded, or null if the JSON does not end
+     * @throws IOException if the Base64 is invalid
+     */
+    private byte[] readJson(InputStream html) throws IOException {
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        int pendingDashes = 0; // The dashes read just before, that can be the beginning of "-->"
+        int character;
+        while ((character = html.read()) != -1) {
+            if (character == '>' && pendingDashes == 2) {
+                return json.toByteArray();
+            } else if (character == '-') {
+                if (pendingDashes == 2) {
+                    json.write('-'); // In "--->", the first dash is part of the JSON
+                } else {
+                    pendingDashes++;
+                }
+            } else {
+                for (; pendingDashes > 0; pendingDashes--) {
+                    json.write('-');
+                }
+                json.write(character);
+            }
+        }
+        return null;
+    }
 
-        JSONArray array;
+    /**
+     * @param escapedJson the JSON of the magic header, with HTML-escaped characters
+     * @param htmlParts   the HTML following the JSON, or null to not extract the HTML of the embeddings
+     * @return the read embeddings, or empty if the JSON is invalid
+     */
+    private Optional<StructuredEmbeddingsHolder> parse(String escapedJson, String htmlParts) {
+        Object json;
         try {
-            array = (JSONArray) new JSONParser(JSONParser.MODE_PERMISSIVE).parse(json);
+            json = new JSONParser(JSONParser.MODE_PERMISSIVE).parse(unescape(escapedJson));
         } catch (ParseException e) {
         	LOG.error("Cannot parse StructuredEmbeddings JSON", e);
             return Optional.empty();
         }
+        if (!(json instanceof JSONArray array)) {
+            LOG.error("StructuredEmbeddings JSON is not an array");
+            return Optional.empty();
+        }
 
         StructuredEmbeddingsHolder embeddings = new StructuredEmbeddingsHolder();
         for (int i = 0; i < array.size(); i++) {
@@ -79,12 +185,37 @@ public class StructuredEmbeddingsExtractor {
                     object.get("data"),
                     (String) object.get("priority"),
                     (priorityOrder == null ? 0 : priorityOrder.intValue()),
-                    extractHtml(htmlParts, i));
+                    htmlParts == null ? null : extractHtml(htmlParts, i));
             embeddings.getEmbeddings().add(embedding);
         }
         return Optional.of(embeddings);
     }
 
+    /**
+     * @param escapedJson a JSON in an HTML comment, where dashes and ampersands are escaped
+     * @return the JSON, unescaped in one pass
+     */
+    private static String unescape(String escapedJson) {
+        if (escapedJson.indexOf('&') == -1) {
+            return escapedJson;
+        }
+        StringBuilder json = new StringBuilder(escapedJson.length());
+        int length = escapedJson.length();
+        for (int i = 0; i < length; i++) {
+            char character = escapedJson.charAt(i);
+            if (character == '&' && escapedJson.startsWith("&#x2d;", i)) {
+                json.append('-');
+                i += "&#x2d;".length() - 1;
+            } else if (character == '&' && escapedJson.startsWith("&amp;", i)) {
+                json.append('&');
+                i += "&amp;".length() - 1;
+            } else {
+                json.append(character);
+            }
+        }
+        return json.toString();
+    }
+
     /**
      * @param html an HTML that can begin with a special comment containing machine-readable JSON
      * @return the length of the recognized magic header, or <= 0 if not found/recognized
@@ -19,6 +19,8 @@ package com.decathlon.ara.lib.embed.consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.Optional;
 
 import org.junit.jupiter.api.Test;
@@ -143,6 +145,55 @@ class StructuredEmbeddingsExtractorTest {
         assertThat(embedding.getData()).isEqualTo("&amp;-- <test> & \"checked'");
     }
 
+    @Test
+    void extractFromBase64_ShouldParseTheJsonOnly_WhenAStructuredEmbeddingIsPresent() {
+        // GIVEN
+        final String html = "" +
+                "<!--StructuredEmbeddings_v1.0.0=[" +
+                "  {" +
+                "    \"kind\":\"someKind\"," +
+                "    \"data\":\"&amp;amp;&#x2d;&#x2d;-> <test> é\"," +
+                "    \"priorityOrder\":4" +
+                "  }" +
+                "]--->" +
+                "anyTitle<!--START:index=0-->someHtml<!--STOP:index=0-->anyTailHtml";
+
+        // WHEN
+        ParsedStructuredEmbedding embedding = cut.extractFromBase64(base64(html))
+                .orElseThrow(() -> new AssertionError("There is no embedding!"))
+                .getEmbeddings().get(0);
+
+        // THEN
+        assertThat(embedding.getKind()).isEqualTo("someKind");
+        assertThat(embedding.getData()).isEqualTo("&amp;---> <test> é");
+        assertThat(embedding.getPriorityOrder()).isEqualTo(4);
+        assertThat(embedding.getHtml()).isNull();
+    }
+
+    @Test
+    void extractFromBase64_ShouldReturnEmpty_WhenTheHtmlIsNotAStructuredEmbedding() {
+        assertThat(cut.extractFromBase64(base64("<p>Some HTML</p>"))).isEmpty();
+        assertThat(cut.extractFromBase64(base64("<!--StructuredEmbeddings_v2.0.0=[{}]-->"))).isEmpty();
+        assertThat(cut.extractFromBase64(base64("<!--StructuredEmbeddings_v1.0.0=[{}]"))).isEmpty();
+        assertThat(cut.extractFromBase64(base64("<!--StructuredEmbeddings_v1.0.0=not json-->"))).isEmpty();
+        assertThat(cut.extractFromBase64("Not Base64 é")).isEmpty();
+        assertThat(cut.extractFromBase64("")).isEmpty();
+        assertThat(cut.extractFromBase64(null)).isEmpty();
+    }
+
+    @Test
+    void extractFromBase64_ShouldNotDecodeTheRestOfTheHtml_WhenTheMagicHeaderIsNotFound() {
+        // GIVEN
+        final String base64 = base64("<p>Some HTML</p>") + "followed by invalid Base64!";
+
+        // WHEN / THEN
+        assertThat(cut.extractFromBase64(base64)).isEmpty();
+    }
+
+    private static String base64(String html) {
+        return Base64.getEncoder().encodeToString(html.getBytes(StandardCharsets.UTF_8));
+    }
+
     private StructuredEmbeddingsHolder extract(String html) {
         return cut.extract(html)
                 .orElseThrow(() -> new AssertionError("There is no embedding!"));
@@ -0,0 +1,183 @@
+package load;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import com.jayway.jsonpath.JsonPath;
+
+import net.minidev.json.JSONValue;
+
+/**
+ * The few ARA REST calls needed by the load test: login, project set-up, upload, indexing status and metrics.
+ */
+public class AraClient {
+
+    static final String STILL_COMPUTING = "STILL_COMPUTING";
+
+    private final LoadTestSettings settings;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private String accessToken;
+
+    public AraClient(LoadTestSettings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Get an access token with the client credentials flow, as done by the Karate tests. Does nothing if no
+     * authentication URL is configured.
+     */
+    public void login() throws IOException, InterruptedException {
+        if (settings.authBaseUrl().isBlank()) {
+            return;
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(settings.authBaseUrl()))
+                .header("Authorization", "Basic " + settings.authToken())
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("grant_type=client_credentials"))
+                .build();
+        accessToken = JsonPath.read(send(request, 200), "$.access_token");
+    }
+
+    /**
+     * Create (or update) the project, its countries, severities, sources, types and cycle, so that the generated
+     * executions can be indexed on an empty database (H2 or PostgreSQL alike).
+     */
+    public void setUpProject(List<String> countryCodes) throws IOException, InterruptedException {
+        List<String> projectCodes = JsonPath.read(send(api("GET", "/api/projects", null), 200), "$[*].code");
+        if (!projectCodes.contains(settings.project())) {
+            send(api("POST", "/api/projects", Map.of("code", settings.project(), "name", "Load test")), 201);
+        }
+        String projectPath = "/api/projects/" + settings.project();
+        for (String country : countryCodes) {
+            send(api("PUT", projectPath + "/countries/" + country, Map.of("code", country, "name", "Country " + country.toUpperCase())), 200, 201);
+        }
+        for (int i = 0; i < ExecutionZipGenerator.SEVERITY_CODES.size(); i++) {
+            String severity = ExecutionZipGenerator.SEVERITY_CODES.get(i);
+            send(api("PUT", projectPath + "/severities/" + severity, Map.of("code", severity, "position", i + 1, "name", severity,
+                    "shortName", severity, "initials", severity.substring(0, 1).toUpperCase(), "defaultOnMissing", i == 1)), 200, 201);
+        }
+        setUpSourceAndType(projectPath, ExecutionZipGenerator.CUCUMBER_TYPE, "W", "CUCUMBER", true);
+        setUpSourceAndType(projectPath, ExecutionZipGenerator.POSTMAN_TYPE, "A", "POSTMAN", false);
+        setUpSourceAndType(projectPath, ExecutionZipGenerator.GENERIC_TYPE, "G", "GENERIC", false);
+
+        List<String> cycles = JsonPath.read(send(api("GET", projectPath + "/cycle-definitions", null), 200),
+                "$[?(@.branch == '" + settings.branch() + "')].name");
+        if (!cycles.contains(settings.cycle())) {
+            send(api("POST", projectPath + "/cycle-definitions", Map.of("branch", settings.branch(), "name", settings.cycle(), "branchPosition", 1)), 201);
+        }
+    }
+
+    private void setUpSourceAndType(String projectPath, String code, String letter, String technology, boolean browser) throws IOException, InterruptedException {
+        send(api("PUT", projectPath + "/sources/" + code, Map.of("code", code, "name", code, "letter", letter, "technology", technology,
+                "vcsUrl", "https://build.company.com/load-test/{{branch}}/", "defaultBranch", settings.branch(),
+                "postmanCountryRootFolders", Boolean.TRUE)), 200, 201);
+        send(api("PUT", projectPath + "/types/" + code, Map.of("code", code, "name", code, "browser", browser, "mobile", Boolean.FALSE,
+                "sourceCode", code)), 200, 201);
+    }
+
+    /**
+     * @param zip the content of the execution ZIP to upload
+     * @throws IOException if ARA does not accept the ZIP
+     */
+    public void upload(byte[] zip) throws IOException, InterruptedException {
+        String boundary = UUID.randomUUID().toString();
+        ByteArrayOutputStream body = new ByteArrayOutputStream(zip.length + 512);
+        writePart(body, boundary, "branch", null, settings.branch().getBytes(StandardCharsets.UTF_8));
+        writePart(body, boundary, "cycle", null, settings.cycle().getBytes(StandardCharsets.UTF_8));
+        writePart(body, boundary, "zip", "execution.zip", zip);
+        body.write(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        HttpRequest request = authenticated(URI.create(settings.baseUrl() + "/api/projects/" + settings.project() + "/executions/upload"))
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+        send(request, 202);
+    }
+
+    private static void writePart(ByteArrayOutputStream body, String boundary, String name, String fileName, byte[] content) throws IOException {
+        StringBuilder header = new StringBuilder("--").append(boundary).append("\r\n")
+                .append("Content-Disposition: form-data; name=\"").append(name).append('"');
+        if (fileName != null) {
+            header.append("; filename=\"").append(fileName).append("\"\r\nContent-Type: application/zip");
+        }
+        header.append("\r\n\r\n");
+        body.write(header.toString().getBytes(StandardCharsets.UTF_8));
+        body.write(content);
+        body.write("\r\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param jobUrl the URL of the execution build
+     * @return the quality status of the execution, or {@link #STILL_COMPUTING} while it is not indexed yet
+     */
+    public String getQualityStatus(String jobUrl) throws IOException, InterruptedException {
+        String path = "/api/projects/" + settings.project() + "/executions/quality-status?jobUrl=" + URLEncoder.encode(jobUrl, StandardCharsets.UTF_8);
+        return send(api("GET", path, null), 200);
+    }
+
+    /**
+     * @param name the name of the metric
+     * @param tag  an optional tag filter, eg. "area:heap"
+     * @return the value of the metric exposed by the actuator, or empty if the metrics endpoint is not exposed
+     */
+    public OptionalDouble getMetric(String name, String tag) {
+        String url = settings.managementUrl() + "/actuator/metrics/" + name + (tag == null ? "" : "?tag=" + URLEncoder.encode(tag, StandardCharsets.UTF_8));
+        try {
+            HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(url)).GET().build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                return OptionalDouble.empty();
+            }
+            List<Number> values = JsonPath.read(response.body(), "$.measurements[?(@.statistic == 'VALUE' || @.statistic == 'COUNT')].value");
+            return values.isEmpty() ? OptionalDouble.empty() : OptionalDouble.of(values.get(0).doubleValue());
+        } catch (IOException e) {
+            return OptionalDouble.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return OptionalDouble.empty();
+        }
+    }
+
+    private HttpRequest api(String method, String path, Object body) {
+        HttpRequest.Builder builder = authenticated(URI.create(settings.baseUrl() + path))
+                .header("Accept", "application/json");
+        if (body == null) {
+            return builder.method(method, HttpRequest.BodyPublishers.noBody()).build();
+        }
+        return builder.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(JSONValue.toJSONString(body)))
+                .build();
+    }
+
+    private HttpRequest.Builder authenticated(URI uri) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(Duration.ofMinutes(5));
+        if (accessToken != null) {
+            builder.header("Authorization", "Bearer " + accessToken);
+        }
+        return builder;
+    }
+
+    private String send(HttpRequest request, int... expectedStatuses) throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (IntStream.of(expectedStatuses).noneMatch(status -> status == response.statusCode())) {
+            throw new IOException(request.method() + " " + request.uri() + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+}
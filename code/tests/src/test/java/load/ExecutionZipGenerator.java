@@ -0,0 +1,252 @@
+package load;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import net.minidev.json.JSONValue;
+
+/**
+ * Builds the ZIP of an execution, as uploaded to {@code /executions/upload} by a CI: {@code cycleDefinition.json} and
+ * {@code buildInformation.json} at the root, then one folder per country, each containing one Cucumber, one Postman
+ * and one generic run.
+ */
+public class ExecutionZipGenerator {
+
+    static final List<String> COUNTRY_CODES = List.of("fr", "us", "de", "es", "it", "nl", "be", "cn");
+
+    static final List<String> SEVERITY_CODES = List.of("sanity-check", "high", "medium");
+
+    static final String PLATFORM = "integ";
+
+    static final String CUCUMBER_TYPE = "web";
+
+    static final String POSTMAN_TYPE = "api";
+
+    static final String GENERIC_TYPE = "generic";
+
+    private final LoadTestSettings settings;
+
+    public ExecutionZipGenerator(LoadTestSettings settings) {
+        this.settings = settings;
+        if (settings.countries() < 1 || settings.countries() > COUNTRY_CODES.size()) {
+            throw new IllegalArgumentException("ara.load.countries must be between 1 and " + COUNTRY_CODES.size());
+        }
+    }
+
+    List<String> countryCodes() {
+        return COUNTRY_CODES.subList(0, settings.countries());
+    }
+
+    /**
+     * @param index     the index of the execution, used as the seed of its content
+     * @param timestamp the build timestamp, also used as the root folder of the ZIP
+     * @param jobUrl    the URL of the execution build, that identifies the execution once indexed
+     * @return the content of the ZIP file
+     */
+    public byte[] generate(int index, long timestamp, String jobUrl) {
+        Random random = new Random(index);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            String root = timestamp + "/";
+            add(zip, root + "cycleDefinition.json", cycleDefinition());
+            add(zip, root + "buildInformation.json", buildInformation(jobUrl, timestamp, true));
+            for (String country : countryCodes()) {
+                String countryFolder = root + country + "/";
+                add(zip, countryFolder + "buildInformation.json", buildInformation(jobUrl + country + "/", timestamp, false));
+
+                String cucumberFolder = countryFolder + CUCUMBER_TYPE + "/";
+                add(zip, cucumberFolder + "buildInformation.json", buildInformation(jobUrl + country + "/" + CUCUMBER_TYPE + "/", timestamp, false));
+                add(zip, cucumberFolder + "report.json", cucumberReport(random));
+
+                String postmanFolder = countryFolder + POSTMAN_TYPE + "/";
+                add(zip, postmanFolder + "buildInformation.json", buildInformation(jobUrl + country + "/" + POSTMAN_TYPE + "/", timestamp, false));
+                add(zip, postmanFolder + "reports/collection.json", newmanReport(random));
+                add(zip, postmanFolder + "reports/result.txt", "SUCCESS");
+
+                String genericFolder = countryFolder + GENERIC_TYPE + "/";
+                add(zip, genericFolder + "buildInformation.json", buildInformation(jobUrl + country + "/" + GENERIC_TYPE + "/", timestamp, false));
+                for (int i = 0; i < settings.genericScenarios(); i++) {
+                    add(zip, genericFolder + "reports/scenario-" + i + ".json", genericReport(random, i, timestamp));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void add(ZipOutputStream zip, String path, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(path));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private String cycleDefinition() {
+        List<Object> rules = new ArrayList<>();
+        for (String country : countryCodes()) {
+            rules.add(map(
+                    "country", country,
+                    "testTypes", String.join(",", CUCUMBER_TYPE, POSTMAN_TYPE, GENERIC_TYPE),
+                    "countryTags", "all",
+                    "severityTags", "all",
+                    "blockingValidation", Boolean.TRUE,
+                    "enabled", Boolean.TRUE));
+        }
+        Map<String, Object> thresholds = new LinkedHashMap<>();
+        thresholds.put("sanity-check", map("failure", 90, "warning", 95));
+        thresholds.put("high", map("failure", 85, "warning", 90));
+        thresholds.put("medium", map("failure", 80, "warning", 85));
+        return JSONValue.toJSONString(map(
+                "blockingValidation", Boolean.TRUE,
+                "platforms_rules", map(PLATFORM, rules),
+                "qualityThresholds", thresholds));
+    }
+
+    private static String buildInformation(String url, long timestamp, boolean withVersion) {
+        Map<String, Object> build = map("url", url, "result", "SUCCESS", "timestamp", timestamp);
+        if (withVersion) {
+            build.put("release", "v1");
+            build.put("version", Long.toHexString(timestamp));
+            build.put("versionTimestamp", timestamp);
+        }
+        return JSONValue.toJSONString(build);
+    }
+
+    private String cucumberReport(Random random) {
+        List<Object> elements = new ArrayList<>();
+        for (int s = 0; s < settings.cucumberScenarios(); s++) {
+            int line = 3 + s * (settings.cucumberSteps() + 2);
+            boolean failed = random.nextDouble() < settings.failureRate();
+            int failedStep = failed ? random.nextInt(settings.cucumberSteps()) : -1;
+            List<Object> steps = new ArrayList<>();
+            for (int i = 0; i < settings.cucumberSteps(); i++) {
+                String status = i < failedStep || failedStep < 0 ? "passed" : (i == failedStep ? "failed" : "skipped");
+                Map<String, Object> result = map("status", status, "duration", 1_000_000L + random.nextInt(100_000_000));
+                if (i == failedStep) {
+                    result.put("error_message", "java.lang.AssertionError: expected <" + random.nextInt(10) + "> but was <" + random.nextInt(10) + ">\n\tat steps.Steps.step" + i + "(Steps.java:" + (10 + i) + ")");
+                }
+                steps.add(map(
+                        "keyword", i == 0 ? "Given " : (i == settings.cucumberSteps() - 1 ? "Then " : "And "),
+                        "name", "the step number " + i + " with \"parameter " + random.nextInt(100) + "\"",
+                        "line", line + 1 + i,
+                        "match", map("location", "Steps.step" + i + "(String)"),
+                        "result", result));
+            }
+            elements.add(map(
+                    "id", "load-test-feature;scenario-" + s,
+                    "name", "Functionality " + (s % 50 + 1) + ": Scenario number " + s,
+                    "type", "scenario",
+                    "keyword", "Scenario",
+                    "line", line,
+                    "tags", List.of(map("name", "@severity-" + severity(random)), map("name", "@country-all")),
+                    "steps", steps));
+        }
+        return JSONValue.toJSONString(List.of(map(
+                "id", "load-test-feature",
+                "name", "Load test feature",
+                "uri", "features/load-test.feature",
+                "keyword", "Feature",
+                "line", 1,
+                "elements", elements)));
+    }
+
+    private String newmanReport(Random random) {
+        List<Object> items = new ArrayList<>();
+        List<Object> executions = new ArrayList<>();
+        List<Object> failures = new ArrayList<>();
+        for (int r = 0; r < settings.postmanRequests(); r++) {
+            String id = new UUID(random.nextLong(), random.nextLong()).toString();
+            String name = "@severity-" + severity(random) + " Functionality " + (r % 50 + 1) + ": Request number " + r;
+            Map<String, Object> request = map(
+                    "url", map("host", List.of("{{baseUrl}}"), "path", List.of("requests", String.valueOf(r)), "query", List.of(), "variable", List.of()),
+                    "method", "GET");
+            items.add(map("id", id, "name", name, "request", request, "response", List.of(),
+                    "event", List.of(map("listen", "test", "script", map("type", "text/javascript",
+                            "exec", List.of("pm.test(\"Status code is 200\", function () {", "    pm.response.to.have.status(200);", "});"))))));
+
+            boolean failed = random.nextDouble() < settings.failureRate();
+            Map<String, Object> assertion = map("assertion", "Status code is 200", "skipped", Boolean.FALSE);
+            if (failed) {
+                Map<String, Object> error = map("name", "AssertionError", "index", 0, "test", "Status code is 200",
+                        "message", "expected response to have status code 200 but got 500", "stack", "AssertionError: expected response to have status code 200 but got 500\n   at Object.eval test.js:2:25)");
+                assertion.put("error", error);
+                failures.add(map("error", error, "at", "assertion:0 in test-script", "source", map("id", id, "name", name)));
+            }
+            byte[] body = ("{\"id\":" + r + ",\"value\":\"" + "x".repeat(64 + random.nextInt(256)) + "\"}").getBytes(StandardCharsets.UTF_8);
+            List<Integer> data = new ArrayList<>(body.length);
+            for (byte b : body) {
+                data.add(Integer.valueOf(b & 0xFF));
+            }
+            executions.add(map(
+                    "id", id,
+                    "item", map("id", id, "name", name),
+                    "request", request,
+                    "response", map(
+                            "id", new UUID(random.nextLong(), random.nextLong()).toString(),
+                            "status", failed ? "Internal Server Error" : "OK",
+                            "code", failed ? 500 : 200,
+                            "header", List.of(map("key", "Content-Type", "value", "application/json; charset=utf-8")),
+                            "stream", map("type", "Buffer", "data", data),
+                            "responseTime", 10 + random.nextInt(500),
+                            "responseSize", body.length),
+                    "assertions", List.of(assertion)));
+        }
+        return JSONValue.toJSONString(map(
+                "collection", map(
+                        "info", map("name", "Load test collection", "schema", "https://schema.getpostman.com/json/collection/v2.1.0/collection.json"),
+                        "item", List.of(map("id", new UUID(random.nextLong(), random.nextLong()).toString(), "name", "all", "item", items))),
+                "run", map(
+                        "timings", map("started", System.currentTimeMillis(), "completed", System.currentTimeMillis()),
+                        "executions", executions,
+                        "failures", failures)));
+    }
+
+    private String genericReport(Random random, int index, long timestamp) {
+        boolean failed = random.nextDouble() < settings.failureRate();
+        List<Object> steps = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            steps.add(map("line", i + 1, "status", failed && i == 4 ? "failed" : "passed", "value", random.nextInt(1000), "content", "Generic step " + i));
+        }
+        String severity = severity(random);
+        Map<String, Object> report = map(
+                "code", "generic-scenario-" + index,
+                "name", "Functionality " + (index % 50 + 1) + ": Generic scenario " + index,
+                "ignored", Boolean.FALSE,
+                "feature", map("name", "Generic feature", "file", "generic.test", "tags", List.of("country-all")),
+                "description", map("steps", steps, "start_line", 1),
+                "start", new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss").format(new Date(timestamp)),
+                "cartography", List.of(index % 50 + 1),
+                "tags", List.of("severity-" + severity),
+                "severity", severity);
+        if (failed) {
+            report.put("errors", List.of(map("line_number", 5, "trace", "java.lang.IllegalStateException: generic failure " + random.nextInt(10),
+                    "scenario_line", "Generic step 4", "scenario_line_description", "^Generic step %d$")));
+        }
+        return JSONValue.toJSONString(report);
+    }
+
+    private static String severity(Random random) {
+        return SEVERITY_CODES.get(random.nextInt(SEVERITY_CODES.size()));
+    }
+
+    private static Map<String, Object> map(Object... keysAndValues) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+
+}
@@ -0,0 +1,119 @@
+package load;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.DoubleAccumulator;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Uploads generated executions to a running ARA (H2 or PostgreSQL) and measures how fast they get indexed.
+ * Run with {@code make test-load} (see the README for the settings and for exposing the metrics).
+ */
+class IngestionThroughputTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IngestionThroughputTest.class);
+
+    private static final String HEAP_METRIC = "jvm.memory.used";
+
+    private static final String SQL_METRIC = "hibernate.statements";
+
+    @Test
+    void uploadedExecutionsAreAllIndexed() throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        ExecutionZipGenerator generator = new ExecutionZipGenerator(settings);
+        AraClient client = new AraClient(settings);
+        LoadTestReport report = new LoadTestReport();
+
+        client.login();
+        client.setUpProject(generator.countryCodes());
+
+        OptionalDouble sqlStatementsBefore = client.getMetric(SQL_METRIC, "status:prepared");
+        DoubleAccumulator heapPeak = new DoubleAccumulator(Math::max, -1);
+        ScheduledExecutorService heapSampler = Executors.newSingleThreadScheduledExecutor();
+        heapSampler.scheduleAtFixedRate(() -> client.getMetric(HEAP_METRIC, "area:heap").ifPresent(heapPeak::accumulate),
+                0, settings.pollMillis(), TimeUnit.MILLISECONDS);
+
+        long runId = System.currentTimeMillis();
+        AtomicBoolean timedOut = new AtomicBoolean();
+        ExecutorService uploaders = Executors.newFixedThreadPool(settings.concurrency());
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < settings.executions(); i++) {
+                int index = i;
+                futures.add(uploaders.submit(() -> uploadAndWait(settings, generator, client, report, runId, index, timedOut)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            report.setWallClockMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            uploaders.shutdownNow();
+            heapSampler.shutdownNow();
+        }
+
+        OptionalDouble sqlStatementsAfter = client.getMetric(SQL_METRIC, "status:prepared");
+        if (sqlStatementsBefore.isPresent() && sqlStatementsAfter.isPresent()) {
+            report.setSqlStatements(OptionalDouble.of(sqlStatementsAfter.getAsDouble() - sqlStatementsBefore.getAsDouble()));
+        }
+        if (heapPeak.get() >= 0) {
+            report.setHeapPeakBytes(OptionalDouble.of(heapPeak.get()));
+        }
+
+        LOG.info(report.toText(settings));
+        report.write(settings, Path.of("target", "load-test-report.json"));
+
+        assertTrue(report.getFailures().isEmpty(), () -> report.getFailures().size() + " executions were not indexed: " + report.getFailures());
+    }
+
+    private static void uploadAndWait(LoadTestSettings settings, ExecutionZipGenerator generator, AraClient client, LoadTestReport report,
+                                      long runId, int index, AtomicBoolean timedOut) {
+        // Each execution gets its own job URL and timestamp, so that ARA never considers it as an already indexed one
+        long timestamp = runId + index * 1000L;
+        String jobUrl = "https://build.company.com/" + settings.project() + "/" + settings.branch() + "/" + settings.cycle() + "/" + runId + "-" + index + "/";
+        byte[] zip = generator.generate(index, timestamp, jobUrl);
+        try {
+            long uploadStart = System.nanoTime();
+            client.upload(zip);
+            long uploaded = System.nanoTime();
+
+            long deadline = uploaded + TimeUnit.SECONDS.toNanos(settings.timeoutSeconds());
+            String status = AraClient.STILL_COMPUTING;
+            while (AraClient.STILL_COMPUTING.equals(status) && !timedOut.get()) {
+                if (System.nanoTime() > deadline) {
+                    timedOut.set(true);
+                    report.addFailure(jobUrl + " was not indexed after " + settings.timeoutSeconds() + " seconds");
+                    return;
+                }
+                Thread.sleep(settings.pollMillis());
+                status = client.getQualityStatus(jobUrl);
+            }
+            if (timedOut.get()) {
+                report.addFailure(jobUrl + " was abandoned after a previous timeout");
+                return;
+            }
+            long indexed = System.nanoTime();
+            report.addExecution(TimeUnit.NANOSECONDS.toMillis(uploaded - uploadStart), TimeUnit.NANOSECONDS.toMillis(indexed - uploaded), zip.length);
+            LOG.debug("Execution {} indexed with quality {}", jobUrl, status);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            report.addFailure(jobUrl + " was interrupted");
+        } catch (Exception e) {
+            report.addFailure(jobUrl + ": " + e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package load;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+
+import net.minidev.json.JSONStyle;
+import net.minidev.json.JSONValue;
+
+/**
+ * Measures of one load test run, printed to the console and written as JSON to be compared between runs.
+ */
+public class LoadTestReport {
+
+    private final List<Long> uploadMillis = Collections.synchronizedList(new ArrayList<>());
+
+    private final List<Long> indexingMillis = Collections.synchronizedList(new ArrayList<>());
+
+    private final List<String> failures = Collections.synchronizedList(new ArrayList<>());
+
+    private long totalZipBytes;
+
+    private long wallClockMillis;
+
+    private OptionalDouble heapPeakBytes = OptionalDouble.empty();
+
+    private OptionalDouble sqlStatements = OptionalDouble.empty();
+
+    public void addExecution(long uploadDuration, long indexingDuration, int zipBytes) {
+        uploadMillis.add(Long.valueOf(uploadDuration));
+        indexingMillis.add(Long.valueOf(indexingDuration));
+        synchronized (this) {
+            totalZipBytes += zipBytes;
+        }
+    }
+
+    public void addFailure(String failure) {
+        failures.add(failure);
+    }
+
+    public List<String> getFailures() {
+        return failures;
+    }
+
+    public void setWallClockMillis(long wallClockMillis) {
+        this.wallClockMillis = wallClockMillis;
+    }
+
+    public void setHeapPeakBytes(OptionalDouble heapPeakBytes) {
+        this.heapPeakBytes = heapPeakBytes;
+    }
+
+    public void setSqlStatements(OptionalDouble sqlStatements) {
+        this.sqlStatements = sqlStatements;
+    }
+
+    /**
+     * @return the number of indexed executions per minute, from the first upload to the last indexed execution
+     */
+    public double getThroughputPerMinute() {
+        return wallClockMillis == 0 ? 0 : indexingMillis.size() * 60_000.0 / wallClockMillis;
+    }
+
+    static long percentile(List<Long> values, double percentile) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, rank - 1)).longValue();
+    }
+
+    public Map<String, Object> toMap(LoadTestSettings settings) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("settings", settings.toString());
+        map.put("indexedExecutions", indexingMillis.size());
+        map.put("failedExecutions", failures.size());
+        map.put("averageZipBytes", indexingMillis.isEmpty() ? 0 : totalZipBytes / indexingMillis.size());
+        map.put("wallClockMillis", wallClockMillis);
+        map.put("throughputPerMinute", getThroughputPerMinute());
+        map.put("uploadP50Millis", percentile(uploadMillis, 50));
+        map.put("uploadP99Millis", percentile(uploadMillis, 99));
+        map.put("indexingP50Millis", percentile(indexingMillis, 50));
+        map.put("indexingP99Millis", percentile(indexingMillis, 99));
+        map.put("indexingMaxMillis", percentile(indexingMillis, 100));
+        map.put("heapPeakBytes", heapPeakBytes.isPresent() ? (Object) Long.valueOf((long) heapPeakBytes.getAsDouble()) : null);
+        map.put("sqlStatements", sqlStatements.isPresent() ? (Object) Long.valueOf((long) sqlStatements.getAsDouble()) : null);
+        map.put("sqlStatementsPerExecution", sqlStatements.isPresent() && !indexingMillis.isEmpty() ? (Object) Long.valueOf((long) sqlStatements.getAsDouble() / indexingMillis.size()) : null);
+        map.put("failures", failures);
+        return map;
+    }
+
+    public void write(LoadTestSettings settings, Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, JSONValue.toJSONString(toMap(settings), JSONStyle.NO_COMPRESS));
+    }
+
+    public String toText(LoadTestSettings settings) {
+        StringBuilder text = new StringBuilder("\n===== ARA ingestion load test =====\n");
+        toMap(settings).forEach((key, value) -> {
+            if (!"failures".equals(key)) {
+                text.append(String.format("%-26s %s%n", key, value == null ? "n/a (expose /actuator/metrics, see README)" : value));
+            }
+        });
+        failures.forEach(failure -> text.append("FAILURE: ").append(failure).append('\n'));
+        return text.toString();
+    }
+
+}
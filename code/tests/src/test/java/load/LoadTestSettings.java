@@ -0,0 +1,56 @@
+package load;
+
+/**
+ * Settings of the ingestion load test, read from the {@code ara.load.*} system properties (see the README).
+ */
+public record LoadTestSettings(
+        String baseUrl,
+        String managementUrl,
+        String authBaseUrl,
+        String authToken,
+        String project,
+        String branch,
+        String cycle,
+        int executions,
+        int concurrency,
+        int countries,
+        int cucumberScenarios,
+        int cucumberSteps,
+        int postmanRequests,
+        int genericScenarios,
+        double failureRate,
+        int timeoutSeconds,
+        int pollMillis) {
+
+    private static final String PREFIX = "ara.load.";
+
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                string("baseUrl", "http://localhost:8000"),
+                string("managementUrl", "http://localhost:8001"),
+                string("authBaseUrl", "http://localhost:9000/oauth2/token"),
+                string("authToken", "b3RoZXItY2xpZW50Om90aGVyLWNsaWVudA=="),
+                string("project", "load-test"),
+                string("branch", "develop"),
+                string("cycle", "day"),
+                integer("executions", 20),
+                integer("concurrency", 4),
+                integer("countries", 2),
+                integer("cucumberScenarios", 200),
+                integer("cucumberSteps", 10),
+                integer("postmanRequests", 100),
+                integer("genericScenarios", 100),
+                Double.parseDouble(string("failureRate", "0.1")),
+                integer("timeoutSeconds", 600),
+                integer("pollMillis", 250));
+    }
+
+    private static String string(String name, String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+
+    private static int integer(String name, int defaultValue) {
+        return Integer.parseInt(string(name, String.valueOf(defaultValue)));
+    }
+
+}